@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.gradesave"
@@ -26,12 +27,34 @@ dependencies {
     implementation("org.postgresql:postgresql")
     implementation("org.apache.commons:commons-csv:1.14.1")
     implementation("com.github.librepdf:openpdf:1.3.30")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("com.h2database:h2")
     testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmh("org.mockito:mockito-core")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    // forward -Dbenchmark=true and benchmark.* settings to the opt-in benchmark tests
+    System.getProperties().stringPropertyNames()
+        .filter { it == "benchmark" || it.startsWith("benchmark.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    // ./gradlew jmh -PjmhIncludes=CsvServiceBenchmark runs a subset
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
 }
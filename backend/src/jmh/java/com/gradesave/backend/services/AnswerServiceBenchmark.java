@@ -0,0 +1,61 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.project.ProjectGradeAveragesDTO;
+import com.gradesave.backend.models.Answer;
+import com.gradesave.backend.models.Project;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AnswerRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Grade averages of a whole project from the peer assessment answers,
+ * the repository is stubbed so only the aggregation is measured; the stub does
+ * not record its invocations, which would grow with every call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AnswerServiceBenchmark {
+
+    private static final int GROUP_SIZE = 5;
+    private static final int GRADE_QUESTIONS = 10;
+    private static final int TEXT_QUESTIONS = 2;
+
+    @Param({"30", "120"})
+    private int students;
+
+    private AnswerService answerService;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        project = new Project();
+        project.setId(UUID.randomUUID());
+        project.setName("Lernfeld 5");
+
+        List<User> users = BenchmarkFixtures.users(students, Role.STUDENT, random);
+        List<Answer> answers = BenchmarkFixtures.peerAssessment(project, users, GROUP_SIZE,
+                GRADE_QUESTIONS, TEXT_QUESTIONS, random);
+
+        AnswerRepository answerRepository = mock(AnswerRepository.class, withSettings().stubOnly());
+        when(answerRepository.findByProjectId(project.getId())).thenReturn(answers);
+
+        answerService = new AnswerService(answerRepository, null, null, null);
+    }
+
+    @Benchmark
+    public ProjectGradeAveragesDTO getGradeAveragesForProject() {
+        return answerService.getGradeAveragesForProject(project);
+    }
+}
@@ -0,0 +1,137 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.models.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic data shaped like a school year, generated from a fixed seed so
+ * that every run of a benchmark works on the same data
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 20260901L;
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Clara", "David", "Elif", "Finn", "Greta", "Hannah", "Jonas", "Lea",
+            "Leon", "Lina", "Luca", "Marie", "Mats", "Mia", "Noah", "Paul", "Sophie", "Yusuf"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Becker", "Fischer", "Hoffmann", "Klein", "Koch", "Meyer", "Müller", "Neumann", "Richter", "Schmidt",
+            "Schneider", "Schulz", "Schwarz", "Wagner", "Weber", "Wolf", "Yilmaz", "Zimmermann"
+    };
+
+    private static final String[] COURSES = {"BE11", "BE12", "BE13", "IT21", "IT22", "IT23"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<User> users(int count, Role role, Random random) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId(new UUID(random.nextLong(), random.nextLong()));
+            user.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            user.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            user.setUsername(user.getFirstName().toLowerCase() + "." + user.getLastName().toLowerCase() + i);
+            user.setRole(role);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static Course course(Random random) {
+        Course course = new Course();
+        course.setId(new UUID(random.nextLong(), random.nextLong()));
+        course.setCourseName(COURSES[random.nextInt(COURSES.length)]);
+        return course;
+    }
+
+    /**
+     * Every student assesses every member of their group, including themselves, on every question.
+     * Some grade answers are left at "no grade selected".
+     */
+    static List<Answer> peerAssessment(Project project, List<User> students, int groupSize,
+                                       int gradeQuestions, int textQuestions, Random random) {
+        List<ProjectQuestion> projectQuestions = new ArrayList<>();
+        for (int i = 0; i < gradeQuestions + textQuestions; i++) {
+            Question question = new Question();
+            question.setId(new UUID(random.nextLong(), random.nextLong()));
+            question.setText("Frage " + (i + 1));
+            question.setType(i < gradeQuestions ? QuestionType.GRADE : QuestionType.TEXT);
+
+            ProjectQuestion projectQuestion = new ProjectQuestion();
+            projectQuestion.setId(new UUID(random.nextLong(), random.nextLong()));
+            projectQuestion.setProject(project);
+            projectQuestion.setQuestion(question);
+            projectQuestions.add(projectQuestion);
+        }
+
+        List<Answer> answers = new ArrayList<>();
+        for (int start = 0; start < students.size(); start += groupSize) {
+            List<User> group = students.subList(start, Math.min(start + groupSize, students.size()));
+            for (User author : group) {
+                for (User recipient : group) {
+                    for (ProjectQuestion projectQuestion : projectQuestions) {
+                        Answer answer = new Answer();
+                        answer.setId(new UUID(random.nextLong(), random.nextLong()));
+                        answer.setAuthor(author);
+                        answer.setRecipient(recipient);
+                        answer.setProjectQuestion(projectQuestion);
+                        if (projectQuestion.getQuestion().getType() == QuestionType.TEXT) {
+                            answer.setAnswerText("Hat gut mitgearbeitet");
+                        } else {
+                            answer.setAnswerGrade(random.nextInt(20) == 0
+                                    ? AnswerService.NO_GRADE_SELECTED
+                                    : 1 + random.nextInt(6));
+                        }
+                        answers.add(answer);
+                    }
+                }
+            }
+        }
+        return answers;
+    }
+
+    /**
+     * An import file as exported from the school administration, names repeat so that usernames collide.
+     * Every tenth row is a teacher in two courses.
+     */
+    static String usersCsv(int rows, Random random) {
+        StringBuilder csv = new StringBuilder("name;lastname;classname;role\n");
+        for (int i = 0; i < rows; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            if (i % 10 == 9) {
+                csv.append(firstName).append(';').append(lastName).append(';')
+                        .append(COURSES[random.nextInt(COURSES.length)]).append(',')
+                        .append(COURSES[random.nextInt(COURSES.length)]).append(";TEACHER\n");
+            } else {
+                csv.append(firstName).append(';').append(lastName).append(';')
+                        .append(COURSES[random.nextInt(COURSES.length)]).append(";STUDENT\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Usernames already in the database, every combination of names is taken a few times
+     */
+    static List<String> takenUsernames(int perName) {
+        List<String> taken = new ArrayList<>();
+        for (String firstName : FIRST_NAMES) {
+            for (String lastName : LAST_NAMES) {
+                String base = firstName.toLowerCase() + "." + lastName.toLowerCase();
+                taken.add(base);
+                for (int i = 1; i < perName; i++) {
+                    taken.add(base + i);
+                }
+            }
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * CSV user import with colliding usernames, the services behind it are stubbed
+ * and the credentials PDF is measured on its own in {@link PdfServiceBenchmark}.
+ * The stubs do not record their invocations, otherwise every iteration would
+ * be slower than the one before. The import logs and swallows errors, so each
+ * iteration checks that every row was created.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CsvServiceBenchmark {
+
+    @Param({"30", "300"})
+    private int rows;
+
+    private CsvService csvService;
+    private MultipartFile file;
+
+    private final AtomicLong createdUsers = new AtomicLong();
+    private long imports;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        Set<String> takenUsernames = new HashSet<>(BenchmarkFixtures.takenUsernames(3));
+        Course course = BenchmarkFixtures.course(random);
+
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        when(userService.getByUsername(anyString())).thenAnswer(invocation ->
+                takenUsernames.contains(invocation.<String>getArgument(0))
+                        ? Optional.of(new User())
+                        : Optional.empty());
+        when(userService.create(any(User.class), eq(true))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(UUID.randomUUID());
+            createdUsers.incrementAndGet();
+            return user;
+        });
+
+        CourseService courseService = mock(CourseService.class, withSettings().stubOnly());
+        when(courseService.getByName(anyString())).thenReturn(Optional.of(course));
+
+        csvService = new CsvService(userService, courseService, new SecureRandom(),
+                mock(PdfService.class, withSettings().stubOnly()));
+
+        byte[] csv = BenchmarkFixtures.usersCsv(rows, random).getBytes(StandardCharsets.UTF_8);
+        file = mock(MultipartFile.class, withSettings().stubOnly());
+        when(file.getBytes()).thenReturn(csv);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        createdUsers.set(0);
+        imports = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkCreatedUsers() {
+        if (createdUsers.get() != imports * rows) {
+            throw new IllegalStateException("Expected " + imports * rows + " created users after " + imports
+                    + " imports, got " + createdUsers.get());
+        }
+    }
+
+    @Benchmark
+    public void importUsersFromCsv() {
+        csvService.importUsersFromCsv(file);
+        imports++;
+    }
+}
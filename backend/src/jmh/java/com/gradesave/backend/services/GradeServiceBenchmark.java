@@ -0,0 +1,44 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.grade.CalculateSubjectGradeDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted subject grade, computed for every student whenever the grade overview is saved
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GradeServiceBenchmark {
+
+    @Param({"5", "50"})
+    private int grades;
+
+    private GradeService gradeService;
+    private List<CalculateSubjectGradeDto> performances;
+
+    @Setup
+    public void setUp() {
+        // the calculation does not touch any repository
+        gradeService = new GradeService(null, null, null, null, null, null, null, null, null);
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        performances = new ArrayList<>(grades);
+        for (int i = 0; i < grades; i++) {
+            double grade = 1 + random.nextInt(21) * 0.25;
+            double weight = 5 + random.nextInt(20) * 5;
+            performances.add(new CalculateSubjectGradeDto(grade, weight));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateSubjectGrade() {
+        return gradeService.calculateSubjectGrade(performances);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.lowagie.text.DocumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the bulk credentials PDF after a CSV import, written to a
+ * null stream so that the disk does not end up in the measurement
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PdfServiceBenchmark {
+
+    @Param({"30", "300"})
+    private int users;
+
+    private PdfService pdfService;
+    private Map<User, String> usersWithPasswords;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        pdfService = new PdfService("pdfs/");
+
+        usersWithPasswords = new LinkedHashMap<>();
+        for (User user : BenchmarkFixtures.users(users, Role.STUDENT, random)) {
+            Course course = BenchmarkFixtures.course(random);
+            user.getCourses().add(course);
+            usersWithPasswords.put(user, Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+        }
+    }
+
+    @Benchmark
+    public void writeBulkUserCredentialsPdf() throws DocumentException {
+        pdfService.writeBulkUserCredentialsPdf(usersWithPasswords, OutputStream.nullOutputStream());
+    }
+}
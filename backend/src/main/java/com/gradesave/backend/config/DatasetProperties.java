@@ -0,0 +1,36 @@
+package com.gradesave.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Size of the synthetic school written by the {@code dataset} profile.
+ *
+ * @param seed                   seed of the generator, the same seed on an empty
+ *                               database gives the same school
+ * @param students               number of students, spread evenly over the courses
+ * @param teachers               number of teachers
+ * @param courses                number of courses
+ * @param projects               number of projects, spread evenly over the courses
+ * @param subjectsPerProject     subjects of every project
+ * @param performancesPerSubject graded performances per subject of a project
+ * @param teachersPerCourse      teachers in every course, the first is the class teacher
+ * @param groupSize              students per group
+ * @param questionsPerProject    questions of every questionnaire
+ * @param password               password of all generated users
+ */
+@ConfigurationProperties(prefix = "app.dataset")
+public record DatasetProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("2000") int students,
+        @DefaultValue("150") int teachers,
+        @DefaultValue("80") int courses,
+        @DefaultValue("400") int projects,
+        @DefaultValue("3") int subjectsPerProject,
+        @DefaultValue("2") int performancesPerSubject,
+        @DefaultValue("4") int teachersPerCourse,
+        @DefaultValue("5") int groupSize,
+        @DefaultValue("8") int questionsPerProject,
+        @DefaultValue("gradesave") String password
+) {
+}
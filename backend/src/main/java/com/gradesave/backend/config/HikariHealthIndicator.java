@@ -0,0 +1,48 @@
+package com.gradesave.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import javax.sql.DataSource;
+
+/**
+ * Reports the state of the connection pool. A busy pool stays up, threads
+ * waiting for a connection are only shown in the details; the pool is down
+ * once it has been closed.
+ */
+public class HikariHealthIndicator extends AbstractHealthIndicator {
+
+    private final DataSource dataSource;
+
+    public HikariHealthIndicator(DataSource dataSource) {
+        super("Connection pool health check failed");
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            builder.unknown();
+            return;
+        }
+
+        builder.withDetail("pool", hikari.getPoolName())
+                .withDetail("maximumPoolSize", hikari.getMaximumPoolSize());
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (hikari.isClosed()) {
+            builder.down();
+        } else if (pool == null) {
+            // the pool is started with the first connection
+            builder.unknown();
+        } else {
+            builder.up()
+                    .withDetail("active", pool.getActiveConnections())
+                    .withDetail("idle", pool.getIdleConnections())
+                    .withDetail("total", pool.getTotalConnections())
+                    .withDetail("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gradesave.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of logins that verify a password hash at the same time.
+ * Further logins wait in arrival order until a slot is free or the timeout
+ * is reached, so a burst of logins cannot occupy every servlet thread with
+ * hashing work.
+ */
+@Component
+public class LoginAdmissionLimiter {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final int maxConcurrent;
+
+    public LoginAdmissionLimiter(@Value("${app.security.login.max-concurrent:0}") int maxConcurrent,
+                                 @Value("${app.security.login.queue-timeout-ms:5000}") long timeoutMillis) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Waits for a free slot
+     *
+     * @return true if the caller was admitted and has to call {@link #release()}
+     */
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,68 @@
+package com.gradesave.backend.config;
+
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.CustomUserDetails;
+import com.gradesave.backend.repositories.UserRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Replaces the principal of the current session when the user was changed
+ * after login. Deleted users lose their session. Requests of unchanged users
+ * pass without touching the database.
+ */
+public class PrincipalRefreshFilter extends OncePerRequestFilter {
+
+    private final UserChangeTracker changeTracker;
+    private final UserRepository userRepository;
+    private final SecurityContextRepository securityContextRepository;
+
+    public PrincipalRefreshFilter(UserChangeTracker changeTracker, UserRepository userRepository,
+                                  SecurityContextRepository securityContextRepository) {
+        this.changeTracker = changeTracker;
+        this.userRepository = userRepository;
+        this.securityContextRepository = securityContextRepository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details
+                && changeTracker.isStale(details.getUser())) {
+            Optional<User> userOpt = userRepository.findById(details.getUser().id());
+
+            if (userOpt.isEmpty()) {
+                SecurityContextHolder.clearContext();
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.invalidate();
+                }
+            } else {
+                CustomUserDetails refreshed = new CustomUserDetails(userOpt.get());
+                refreshed.eraseCredentials();
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                        refreshed, null, refreshed.getAuthorities()));
+                SecurityContextHolder.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,62 @@
+package com.gradesave.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Reports the Hibernate statements of a request in the {@value #HEADER}
+ * header and records them per endpoint in the {@value #METRIC} summary.
+ * The header is written when the response is committed, statements run
+ * while the body is streamed only show up in the metric.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+    public static final String METRIC = "http.server.requests.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountingStatementInspector.start();
+        try {
+            chain.doFilter(request, new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    response.setHeader(HEADER, Integer.toString(QueryCountingStatementInspector.current()));
+                }
+            });
+        } finally {
+            int count = QueryCountingStatementInspector.stop();
+            if (!response.isCommitted())
+                response.setHeader(HEADER, Integer.toString(count));
+            record(request, response, count);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int count) {
+        // the route pattern keeps path variables out of the tags, unmatched requests share one series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Hibernate statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .tag("status", Integer.toString(response.getStatus()))
+                .register(meterRegistry)
+                .record(count);
+    }
+}
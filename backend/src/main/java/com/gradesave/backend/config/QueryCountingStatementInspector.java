@@ -0,0 +1,39 @@
+package com.gradesave.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread while a
+ * count is open. Statements outside of {@link #start()} and {@link #stop()}
+ * pass without being counted.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * @return the statements counted since {@link #start()}, 0 without an open count
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null)
+            count[0]++;
+        return sql;
+    }
+}
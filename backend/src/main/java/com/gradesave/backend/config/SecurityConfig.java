@@ -1,5 +1,7 @@
 package com.gradesave.backend.config;
 
+import com.gradesave.backend.repositories.UserRepository;
+import com.gradesave.backend.services.SessionTokenService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +12,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,7 +25,9 @@ import java.util.List;
 public class SecurityConfig {
 
         @Bean
-        public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain securityFilterChain(HttpSecurity http, UserChangeTracker userChangeTracker,
+                        UserRepository userRepository, SessionTokenService sessionTokenService,
+                        SessionTokenProperties tokenProperties) throws Exception {
                 http
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -33,11 +39,15 @@ public class SecurityConfig {
                                                                 "/api/users/me/update-password",
                                                                 "/api/users/verify-password"
                                                 ).authenticated()
+                                                .requestMatchers("/api/users/search")
+                                                .hasAnyAuthority("ROLE_ADMIN", "ROLE_TEACHER")
 
+                                                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                                                 .requestMatchers(
                                                                 "/api/users/**",
                                                                 "/api/csv/**",
-                                                                "/api/pdfs/**")
+                                                                "/api/pdfs/**",
+                                                                "/actuator/**")
                                                 .hasAuthority("ROLE_ADMIN")
                                                 .requestMatchers(
                                                                 "/api/courses/**",
@@ -45,7 +55,8 @@ public class SecurityConfig {
                                                                 "/api/groups/**",
                                                                 "/api/performance/**",
                                                                 "/api/projectSubject/**",
-                                                                "/api/questions/**")
+                                                                "/api/questions/**",
+                                                                "/api/report-cards/**")
                                                 .hasAnyAuthority("ROLE_ADMIN", "ROLE_TEACHER")
 
                                                 .requestMatchers(
@@ -59,10 +70,29 @@ public class SecurityConfig {
                                                 .logoutSuccessHandler(
                                                                 (request, response, authentication) -> response
                                                                                 .setStatus(HttpServletResponse.SC_OK))
+                                                .addLogoutHandler((request, response, authentication) -> {
+                                                        if (sessionTokenService.isEnabled()) {
+                                                                sessionTokenService.logout(request, response);
+                                                        }
+                                                })
                                                 .invalidateHttpSession(true)
-                                                .deleteCookies("JSESSIONID"))
-                                .sessionManagement(session -> session
-                                                .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED));
+                                                .deleteCookies("JSESSIONID"));
+
+                if (tokenProperties.stateless()) {
+                        // Signed token cookies, nothing is kept in a session
+                        http
+                                        .sessionManagement(session -> session
+                                                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                        .addFilterAfter(new SessionTokenAuthenticationFilter(sessionTokenService),
+                                                        SecurityContextHolderFilter.class);
+                } else {
+                        http
+                                        .sessionManagement(session -> session
+                                                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                                        .addFilterAfter(new PrincipalRefreshFilter(userChangeTracker, userRepository,
+                                                        new HttpSessionSecurityContextRepository()),
+                                                        SecurityContextHolderFilter.class);
+                }
 
                 return http.build();
         }
@@ -81,7 +111,7 @@ public class SecurityConfig {
                 configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
                 configuration.setAllowedHeaders(List.of("*"));
                 configuration.setAllowCredentials(true);
-                configuration.setExposedHeaders(List.of("Set-Cookie"));
+                configuration.setExposedHeaders(List.of("Set-Cookie", QueryCountFilter.HEADER));
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
                 source.registerCorsConfiguration("/**", configuration);
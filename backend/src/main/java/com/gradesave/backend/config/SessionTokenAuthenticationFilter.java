@@ -0,0 +1,40 @@
+package com.gradesave.backend.config;
+
+import com.gradesave.backend.repositories.CustomUserDetails;
+import com.gradesave.backend.services.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests of the stateless mode from the signed token cookie
+ */
+public class SessionTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final SessionTokenService sessionTokenService;
+
+    public SessionTokenAuthenticationFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        sessionTokenService.fromRequest(request).ifPresent(token -> {
+            CustomUserDetails details = new CustomUserDetails(token.user());
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+            SecurityContextHolder.setContext(context);
+        });
+
+        chain.doFilter(request, response);
+    }
+}
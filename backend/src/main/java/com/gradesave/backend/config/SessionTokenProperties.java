@@ -0,0 +1,29 @@
+package com.gradesave.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the stateless session mode.
+ *
+ * @param stateless    issue signed token cookies instead of HTTP sessions
+ * @param activeKey    id of the key new tokens are signed with
+ * @param keys         signing secrets by key id, old keys stay listed until
+ *                     their tokens expired
+ * @param ttl          lifetime of a token
+ * @param cookieName   name of the token cookie
+ * @param secureCookie only send the cookie over HTTPS
+ */
+@ConfigurationProperties(prefix = "app.security.token")
+public record SessionTokenProperties(
+        @DefaultValue("false") boolean stateless,
+        @DefaultValue("k1") String activeKey,
+        @DefaultValue Map<String, String> keys,
+        @DefaultValue("8h") Duration ttl,
+        @DefaultValue("GRADESAVE_SESSION") String cookieName,
+        @DefaultValue("false") boolean secureCookie
+) {
+}
@@ -0,0 +1,42 @@
+package com.gradesave.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers when each user was last changed, so principals stored in sessions
+ * can be refreshed on their next request instead of being reloaded every time.
+ * A change is kept for one session timeout: by then every session that loaded
+ * the user earlier has either made a request and been refreshed, or expired.
+ */
+@Component
+public class UserChangeTracker {
+
+    private final Cache<UUID, Long> changedAt;
+
+    public UserChangeTracker(@Value("${server.servlet.session.timeout:30m}") Duration retention) {
+        this.changedAt = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    // after commit, a request between the timestamp and the commit would otherwise reload the old row and count as fresh
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changedAt.put(event.userId(), System.currentTimeMillis());
+    }
+
+    public boolean isStale(AuthenticatedUser user) {
+        Long changed = changedAt.getIfPresent(user.id());
+        return changed != null && changed >= user.loadedAt();
+    }
+}
@@ -1,6 +1,7 @@
 package com.gradesave.backend.controller;
 
 import com.gradesave.backend.dto.course.*;
+import com.gradesave.backend.dto.page.CursorPage;
 import com.gradesave.backend.dto.user.StudentDTO;
 import com.gradesave.backend.models.Course;
 import com.gradesave.backend.models.Role;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -71,6 +73,15 @@ public class CourseController {
         return ResponseEntity.ok(courses.stream().map(CourseBareDTO::fromEntity).toList());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CourseBareDTO>> getCoursesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(courseService.getPage(cursor, limit, sort, q).map(CourseBareDTO::fromEntity));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Course> updateCourse(@PathVariable UUID id,
                                                @Valid @RequestBody UpdateCourseRequest req) {
@@ -117,24 +128,20 @@ public class CourseController {
             course.setClassTeacher(null);
         }
 
-        List<User> teachers = userService.getUsersByIds(req.teacherIds());
-        List<User> students = userService.getUsersByIds(req.studentIds());
-
-        course.getUsers().clear();
-        course.getUsers().addAll(teachers);
-        course.getUsers().addAll(students);
-
+        Set<UUID> memberIds = new HashSet<>(req.teacherIds());
+        memberIds.addAll(req.studentIds());
         if (classTeacher != null) {
-            course.getUsers().add(classTeacher);
+            memberIds.add(classTeacher.getId());
         }
 
         courseService.createOrUpdate(course);
+        courseService.replaceMembers(id, memberIds);
         return ResponseEntity.ok().build();
     }
 
     @PatchMapping("{id}")
     public ResponseEntity<Void> patchCourse(@PathVariable UUID id, @Valid @RequestBody CoursePatchRequestDTO req) {
-        Optional<Course> courseOpt = courseService.getById(id);
+        Optional<Course> courseOpt = courseService.getWithUsers(id);
         if (courseOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -151,12 +158,9 @@ public class CourseController {
 
     @PostMapping("{id}/teachers/add")
     public ResponseEntity<Void> addTeacher(@PathVariable UUID id, @Valid @RequestBody TeacherAddRemoveToGroupDTO req) {
-        Optional<Course> courseOpt = courseService.getById(id);
-        if (courseOpt.isEmpty())
+        if (!courseService.exists(id))
             return ResponseEntity.badRequest().build();
 
-        Course course = courseOpt.get();
-
         Optional<User> teacherOpt = userService.getById(req.teacherId());
         if (teacherOpt.isEmpty())
             return ResponseEntity.notFound().build();
@@ -165,10 +169,7 @@ public class CourseController {
         if (teacher.getRole() != Role.TEACHER && teacher.getRole() != Role.ADMIN)
             return ResponseEntity.badRequest().build();
 
-        if (!course.getUsers().contains(teacher)) {
-            course.getUsers().add(teacher);
-            courseService.createOrUpdate(course); // updates it but is bad name
-        }
+        courseService.addMembers(id, List.of(teacher.getId()));
 
         return ResponseEntity.ok().build();
     }
@@ -176,12 +177,9 @@ public class CourseController {
     @PostMapping("{id}/teachers/remove")
     public ResponseEntity<Void> removeTeacher(@PathVariable UUID id,
                                               @Valid @RequestBody TeacherAddRemoveToGroupDTO req) {
-        Optional<Course> courseOpt = courseService.getById(id);
-        if (courseOpt.isEmpty())
+        if (!courseService.exists(id))
             return ResponseEntity.notFound().build();
 
-        Course course = courseOpt.get();
-
         Optional<User> teacherOpt = userService.getById(req.teacherId());
         if (teacherOpt.isEmpty())
             return ResponseEntity.notFound().build();
@@ -190,22 +188,16 @@ public class CourseController {
         if (teacher.getRole() != Role.TEACHER && teacher.getRole() != Role.ADMIN)
             return ResponseEntity.badRequest().build();
 
-        boolean removed = course.getUsers().removeIf(t -> t.getId().equals(teacher.getId()));
-
-        if (removed)
-            courseService.createOrUpdate(course); // updates but is bad name
+        courseService.removeMembers(id, List.of(teacher.getId()));
 
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("{id}/students/add")
     public ResponseEntity<Void> addStudent(@PathVariable UUID id, @Valid @RequestBody StudentAddRemoveToGroupDTO req) {
-        Optional<Course> courseOpt = courseService.getById(id);
-        if (courseOpt.isEmpty())
+        if (!courseService.exists(id))
             return ResponseEntity.notFound().build();
 
-        Course course = courseOpt.get();
-
         Optional<User> studentOpt = userService.getById(req.studentId());
         if (studentOpt.isEmpty())
             return ResponseEntity.notFound().build();
@@ -214,10 +206,7 @@ public class CourseController {
         if (student.getRole() != Role.STUDENT)
             return ResponseEntity.badRequest().build();
 
-        if (!course.getUsers().contains(student)) {
-            course.getUsers().add(student);
-            courseService.createOrUpdate(course); // updates it but is bad name
-        }
+        courseService.addMembers(id, List.of(student.getId()));
 
         return ResponseEntity.ok().build();
     }
@@ -225,12 +214,9 @@ public class CourseController {
     @PostMapping("{id}/students/remove")
     public ResponseEntity<Void> removeStudent(@PathVariable UUID id,
                                               @Valid @RequestBody StudentAddRemoveToGroupDTO req) {
-        Optional<Course> courseOpt = courseService.getById(id);
-        if (courseOpt.isEmpty())
+        if (!courseService.exists(id))
             return ResponseEntity.notFound().build();
 
-        Course course = courseOpt.get();
-
         Optional<User> studentOpt = userService.getById(req.studentId());
         if (studentOpt.isEmpty())
             return ResponseEntity.notFound().build();
@@ -239,14 +225,51 @@ public class CourseController {
         if (student.getRole() != Role.STUDENT)
             return ResponseEntity.badRequest().build();
 
-        boolean removed = course.getUsers().removeIf(t -> t.getId().equals(student.getId()));
-
-        if (removed)
-            courseService.createOrUpdate(course); // updates but is bad name
+        courseService.removeMembers(id, List.of(student.getId()));
 
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("{id}/students/bulk-add")
+    public ResponseEntity<CourseMembershipChangeDTO> addStudents(@PathVariable UUID id,
+                                                                 @Valid @RequestBody CourseMembersRequestDTO req) {
+        if (!courseService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        int changed = courseService.addMembers(id, req.userIds(), List.of(Role.STUDENT));
+        return ResponseEntity.ok(new CourseMembershipChangeDTO(req.userIds().size(), changed));
+    }
+
+    @PostMapping("{id}/students/bulk-remove")
+    public ResponseEntity<CourseMembershipChangeDTO> removeStudents(@PathVariable UUID id,
+                                                                    @Valid @RequestBody CourseMembersRequestDTO req) {
+        if (!courseService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        int changed = courseService.removeMembers(id, req.userIds(), List.of(Role.STUDENT));
+        return ResponseEntity.ok(new CourseMembershipChangeDTO(req.userIds().size(), changed));
+    }
+
+    @PostMapping("{id}/teachers/bulk-add")
+    public ResponseEntity<CourseMembershipChangeDTO> addTeachers(@PathVariable UUID id,
+                                                                 @Valid @RequestBody CourseMembersRequestDTO req) {
+        if (!courseService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        int changed = courseService.addMembers(id, req.userIds(), List.of(Role.TEACHER, Role.ADMIN));
+        return ResponseEntity.ok(new CourseMembershipChangeDTO(req.userIds().size(), changed));
+    }
+
+    @PostMapping("{id}/teachers/bulk-remove")
+    public ResponseEntity<CourseMembershipChangeDTO> removeTeachers(@PathVariable UUID id,
+                                                                    @Valid @RequestBody CourseMembersRequestDTO req) {
+        if (!courseService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        int changed = courseService.removeMembers(id, req.userIds(), List.of(Role.TEACHER, Role.ADMIN));
+        return ResponseEntity.ok(new CourseMembershipChangeDTO(req.userIds().size(), changed));
+    }
+
     @GetMapping("/all/bare")
     public ResponseEntity<CourseBareDTO[]> getAllCoursesBare() {
         List<Course> courses = courseService.getAll();
@@ -265,7 +288,7 @@ public class CourseController {
 
     @GetMapping("/{id}/students")
     public ResponseEntity<StudentDTO[]> getStudents(@PathVariable UUID id) {
-        Optional<Course> courseOpt = courseService.getById(id);
+        Optional<Course> courseOpt = courseService.getWithUsers(id);
         if (courseOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -287,7 +310,7 @@ public class CourseController {
 
     @GetMapping("{id}")
     public ResponseEntity<CourseDetailResponseDTO> getCourseDetail(@Valid @PathVariable UUID id) {
-        Optional<Course> courseOpt = courseService.getById(id);
+        Optional<Course> courseOpt = courseService.getWithUsers(id);
         if (courseOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -301,18 +324,16 @@ public class CourseController {
         Course course = new Course();
         course.setCourseName(req.courseName());
 
-        List<User> students = userService.getUsersByIds(List.of(req.studentIds()));
-        List<User> teachers = userService.getUsersByIds(List.of(req.teacherIds()));
-
-        course.getUsers().addAll(students);
-        course.getUsers().addAll(teachers);
-
         if (req.classTeacherId() != null) {
             Optional<User> classTeacher = userService.getById(req.classTeacherId());
             classTeacher.ifPresent(course::setClassTeacher);
         }
 
-        courseService.createOrUpdate(course);
+        Set<UUID> memberIds = new HashSet<>(List.of(req.studentIds()));
+        memberIds.addAll(List.of(req.teacherIds()));
+
+        Course created = courseService.createOrUpdate(course);
+        courseService.addMembers(created.getId(), memberIds);
         return ResponseEntity.ok().build();
     }
 
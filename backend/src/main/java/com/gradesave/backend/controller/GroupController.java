@@ -7,6 +7,7 @@ import com.gradesave.backend.models.Group;
 import com.gradesave.backend.models.Project;
 import com.gradesave.backend.models.User;
 import com.gradesave.backend.services.CourseService;
+import com.gradesave.backend.services.GroupFormationService;
 import com.gradesave.backend.services.GroupService;
 import com.gradesave.backend.services.ProjectService;
 import com.gradesave.backend.services.UserService;
@@ -30,12 +31,15 @@ public class GroupController {
     private final CourseService courseService;
     private final ProjectService projectService;
     private final UserService userService;
+    private final GroupFormationService groupFormationService;
 
-    public GroupController(GroupService groupService, CourseService courseService, ProjectService projectService, UserService userService, UserService userService1) {
+    public GroupController(GroupService groupService, CourseService courseService, ProjectService projectService, UserService userService, UserService userService1,
+                           GroupFormationService groupFormationService) {
         this.groupService = groupService;
         this.courseService = courseService;
         this.projectService = projectService;
         this.userService = userService1;
+        this.groupFormationService = groupFormationService;
     }
 
     @PostMapping("create")
@@ -55,7 +59,7 @@ public class GroupController {
 
     @PostMapping("add")
     public ResponseEntity<GroupMembersDTO> addStudentToGroup(@RequestBody GroupAddStudentDTO req) {
-        Optional<Group> groupOpt = groupService.getById(req.groupId());
+        Optional<Group> groupOpt = groupService.getWithUsers(req.groupId());
         if (groupOpt.isEmpty())
             return ResponseEntity.badRequest().build();
 
@@ -81,7 +85,7 @@ public class GroupController {
 
     @PostMapping("create/fromClass")
     public ResponseEntity<List<GroupMembersDTO>> createGroupsFromClass(@Valid @RequestBody GroupCreationFromCourseRequestDTO req) {
-        Optional<Course> courseOpt = courseService.getById(req.courseId());
+        Optional<Course> courseOpt = courseService.getWithUsers(req.courseId());
         if (courseOpt.isEmpty())
             return ResponseEntity.badRequest().build();
 
@@ -91,28 +95,20 @@ public class GroupController {
 
         Project project = projectOpt.get();
 
-        groupService.deleteGroupsByProject(project.getId());
+        // formed first, so a request with unmet wishes keeps the existing groups
+        List<List<User>> members = groupFormationService.formGroups(courseOpt.get(), project.getId(), req);
 
-        Course course = courseOpt.get();
-        List<User> users = new ArrayList<>(course.getUsers());
-        Collections.shuffle(users);
+        groupService.deleteGroupsByProject(project.getId());
 
         List<Group> groups = new ArrayList<>();
-        for (int i = 1; i <= req.groupAmount(); ++i) {
+        for (int i = 0; i < members.size(); ++i) {
             Group group = new Group();
             group.setProject(project);
-            group.setName("Group " + i);
-            group.setUsers(new HashSet<>());
+            group.setName("Group " + (i + 1));
+            group.setUsers(new HashSet<>(members.get(i)));
             groups.add(group);
         }
 
-
-        int groupIndex = 0;
-        for (User user : users) {
-            groups.get(groupIndex).getUsers().add(user);
-            groupIndex = (groupIndex + 1) % req.groupAmount();
-        }
-
         List<Group> createdGroups = groupService.createGroups(groups);
 
         List<GroupMembersDTO> response = createdGroups.stream()
@@ -128,25 +124,38 @@ public class GroupController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Sets the members of several groups of a project at once, only the difference
+     * to the stored memberships is written
+     */
+    @PutMapping("project/{projectId}/members")
+    public ResponseEntity<GroupMembershipChangeDTO> setGroupMembers(@PathVariable UUID projectId,
+                                                                    @Valid @RequestBody GroupMembershipBatchDTO req) {
+        Optional<Project> projectOpt = projectService.getById(projectId);
+        if (projectOpt.isEmpty())
+            return ResponseEntity.notFound().build();
+
+        Project project = projectOpt.get();
+
+        Set<UUID> requested = new HashSet<>();
+        req.groups().forEach(group -> requested.addAll(group.memberIds()));
+        Set<UUID> students = courseService.getStudentIds(project.getCourse().getId(), requested);
+
+        return ResponseEntity.ok(groupService.applyMemberships(project, req.groups(), students));
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<Void> deleteGroup(@Valid @PathVariable UUID id) {
-        Optional<Group> groupOpt = groupService.getById(id);
-        if (groupOpt.isEmpty())
+        // deleting the owning side also removes the membership rows
+        if (!groupService.deleteIfExists(id))
             return ResponseEntity.badRequest().build();
 
-        Group group = groupOpt.get();
-        group.getUsers().clear();
-        Group updated = groupService.update(id, group);
-
-        if (!groupService.deleteIfExists(updated.getId()))
-            return ResponseEntity.internalServerError().build();
-
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("remove")
     public ResponseEntity<GroupMembersDTO> removeStudent(@Valid @RequestBody RemoveStudentDTO req) {
-        Optional<Group> groupOpt = groupService.getById(req.groupId());
+        Optional<Group> groupOpt = groupService.getWithUsers(req.groupId());
         if (groupOpt.isEmpty())
             return ResponseEntity.badRequest().build();
 
@@ -158,7 +167,7 @@ public class GroupController {
 
         User user = userOpt.get();
 
-        if (!group.getUsers().contains(user)) {
+        if (group.getUsers().stream().noneMatch(u -> u.getId().equals(user.getId()))) {
             return ResponseEntity.ok(
                     new GroupMembersDTO(
                             group.getId(),
@@ -176,7 +185,7 @@ public class GroupController {
             );
         }
 
-        group.getUsers().remove(user);
+        group.getUsers().removeIf(u -> u.getId().equals(user.getId()));
 
         Group updated = groupService.update(req.groupId(), group);
 
@@ -1,5 +1,7 @@
 package com.gradesave.backend.controller;
 
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.dto.pdf.PdfBundleRequestDTO;
 import com.gradesave.backend.services.PdfService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,10 +11,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
@@ -20,7 +25,7 @@ import java.util.Map;
  * @author Daniel Hess
  *         Controller for handling PDF file operations.
  *         Provides endpoints to list and download PDF files from the pdfs
- *         directory.
+ *         directory, one by one or streamed as a ZIP bundle.
  */
 @RestController
 @RequestMapping("/api/pdfs")
@@ -44,6 +49,19 @@ public class PdfController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Map<String, Object>>> listPdfsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String prefix) {
+        try {
+            return ResponseEntity.ok(pdfService.listPdfFilesPage(cursor, limit, prefix));
+        } catch (IOException ex) {
+            log.error("Error listing PDF files", ex);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/download/{filename:.+}")
     public ResponseEntity<Resource> downloadPdf(@PathVariable String filename) {
         try {
@@ -71,6 +89,25 @@ public class PdfController {
         }
     }
 
+    @PostMapping("/download/bundle")
+    public ResponseEntity<StreamingResponseBody> downloadPdfBundle(@RequestBody PdfBundleRequestDTO req) {
+        try {
+            pdfService.validatePdfBundleRequest(req);
+        } catch (SecurityException ex) {
+            log.warn("Security violation in PDF bundle request: {}", req.filenames());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        StreamingResponseBody body = out -> pdfService.writePdfBundle(req, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"pdfs_" + timestamp + ".zip\"")
+                .body(body);
+    }
+
     /**
      * Sanitizes a filename to prevent HTTP header injection attacks.
      * Removes or replaces characters that could be used for header injection.
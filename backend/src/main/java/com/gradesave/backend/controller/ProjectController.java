@@ -1,17 +1,17 @@
 package com.gradesave.backend.controller;
 
-import com.gradesave.backend.dto.group.GroupCreateWithMembersDTO;
+import com.gradesave.backend.dto.group.GroupLayout;
 import com.gradesave.backend.dto.group.GroupMembersDTO;
 import com.gradesave.backend.dto.group.ProjectDetailGroupDTO;
+import com.gradesave.backend.dto.page.CursorPage;
 import com.gradesave.backend.dto.project.*;
 import com.gradesave.backend.dto.user.StudentDTO;
 import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.AuthenticatedUser;
 import com.gradesave.backend.services.*;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -33,29 +33,16 @@ public class ProjectController {
     private final GroupService groupService;
     private final SubjectService subjectService;
     private final AnswerService answerService;
+    private final ProjectArchiveService projectArchiveService;
 
-    public ProjectController(ProjectService projectService, CourseService courseService, UserService userService, GroupService groupService, SubjectService subjectService, AnswerService answerService) {
+    public ProjectController(ProjectService projectService, CourseService courseService, UserService userService, GroupService groupService, SubjectService subjectService, AnswerService answerService, ProjectArchiveService projectArchiveService) {
         this.projectService = projectService;
         this.courseService = courseService;
         this.userService = userService;
         this.groupService = groupService;
         this.subjectService = subjectService;
         this.answerService = answerService;
-    }
-
-    private Integer getUnassignedStudentsAmount(Project project) {
-        Course course = project.getCourse();
-        long totalStudents = course.getUsers().stream()
-                .filter(u -> u.getRole() == Role.STUDENT)
-                .count();
-
-        long assignedStudents = project.getGroups().stream()
-                .flatMap(g -> g.getUsers().stream())
-                .map(User::getId)
-                .distinct()
-                .count();
-
-        return (int) (totalStudents - assignedStudents);
+        this.projectArchiveService = projectArchiveService;
     }
 
     @PostMapping("create")
@@ -77,24 +64,7 @@ public class ProjectController {
         project.setCourse(course.get());
         Project createdProject = projectService.create(project);
 
-        Course projectCourse = createdProject.getCourse();
-        User teacher = projectCourse.getClassTeacher();
-
-        ProjectSummaryDTO projectSummaryDTO = new ProjectSummaryDTO(
-                project.getId(),
-                project.getName(),
-                projectCourse.getId(),
-                projectCourse.getCourseName(),
-                teacher.getId(),
-                teacher.getFirstName() + " " + teacher.getLastName(),
-                project.getGroups().size(),
-                getUnassignedStudentsAmount(project),
-                new ProjectStartDateDTO(
-                        project.getProjectStart().getYear(),
-                        project.getProjectStart().getMonthValue(),
-                        project.getProjectStart().getDayOfMonth()
-                )
-        );
+        ProjectSummaryDTO projectSummaryDTO = projectService.getSummary(createdProject.getId()).orElseThrow();
 
         return ResponseEntity.status(201).body(new CreateProjectResponseDTO(projectSummaryDTO));
     }
@@ -128,7 +98,7 @@ public class ProjectController {
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDetailDTO> getProject(@PathVariable UUID id) {
-        Optional<Project> projectOpt = projectService.getById(id);
+        Optional<Project> projectOpt = projectService.getDetail(id);
 
         if (projectOpt.isEmpty())
             return ResponseEntity.notFound().build();
@@ -169,28 +139,44 @@ public class ProjectController {
 
     @GetMapping("/all")
     public ResponseEntity<ProjectSummaryDTO[]> getProjects() {
-        List<Project> projects = projectService.getAll();
-
-
-        ProjectSummaryDTO[] dto = projects.stream()
-                .map(p -> new ProjectSummaryDTO(
-                        p.getId(),
-                        p.getName(),
-                        p.getCourse().getId(),
-                        p.getCourse().getCourseName(),
-                        p.getCourse().getClassTeacher() != null ? p.getCourse().getClassTeacher().getId() : null,
-                        p.getCourse().getClassTeacher() != null ? p.getCourse().getClassTeacher().getFirstName() + " " + p.getCourse().getClassTeacher().getLastName() : "No Class Teacher",
-                        p.getGroups().size(),
-                        getUnassignedStudentsAmount(p),
-                        new ProjectStartDateDTO(
-                                p.getProjectStart().getYear(),
-                                p.getProjectStart().getMonthValue(),
-                                p.getProjectStart().getDayOfMonth()
-                        )
-                ))
-                .toArray(ProjectSummaryDTO[]::new);
+        return ResponseEntity.ok(projectService.getSummaries().toArray(ProjectSummaryDTO[]::new));
+    }
 
-        return ResponseEntity.ok(dto);
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ProjectSummaryDTO>> getProjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(required = false) String q) {
+        CursorPage<Project> page = projectService.getPage(cursor, limit, sort, courseId, q);
+        List<ProjectSummaryDTO> summaries = projectService.getSummaries(page.items().stream().map(Project::getId).toList());
+        return ResponseEntity.ok(new CursorPage<>(summaries, page.nextCursor(), page.hasMore()));
+    }
+
+    @PostMapping("{id}/clone")
+    public ResponseEntity<CreateProjectResponseDTO> cloneProject(@PathVariable UUID id, @Valid @RequestBody CloneProjectDTO req) {
+        if (!projectService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        Optional<Course> course = courseService.getById(req.courseId());
+        if (course.isEmpty())
+            return ResponseEntity.badRequest().body(new CreateProjectResponseDTO(List.of("Course not found: " + req.courseId())));
+
+        Project copy = projectService.cloneProject(id, course.get(), req.projectName(),
+                req.projectStart().toLocalDate(), req.includeGroups());
+
+        ProjectSummaryDTO projectSummaryDTO = projectService.getSummary(copy.getId()).orElseThrow();
+
+        return ResponseEntity.status(201).body(new CreateProjectResponseDTO(projectSummaryDTO));
+    }
+
+    @PostMapping("{id}/archive")
+    public ResponseEntity<ProjectArchiveResultDTO> archiveProject(@PathVariable UUID id) {
+        if (!projectService.exists(id))
+            return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok(projectArchiveService.archive(id));
     }
 
     @PostMapping("create/full")
@@ -207,32 +193,11 @@ public class ProjectController {
         project.setCourse(course);
         Project createdProject = projectService.create(project);
 
-        for (GroupCreateWithMembersDTO groupDto : req.groups()) {
-            Group group = new Group();
-            group.setProject(createdProject);
-            group.setName(groupDto.groupName());
-
-            Set<User> students = new HashSet<>();
-
-            for (UUID studentId : groupDto.memberIds()) {
-                Optional<User> userOpt = userService.getById(studentId);
-                if (userOpt.isEmpty())
-                    continue; // maybe catch and report error but for now skip
-
-                User user = userOpt.get();
-                if (user.getRole() != Role.STUDENT)
-                    continue; // maybe catch and report error but for now skip
-
-                if (user.getCourses().stream().noneMatch(c -> c.getId().equals(req.courseId())))
-                    continue; // maybe catch and report error but for now skip
-
-                students.add(user);
-            }
-
-            group.setUsers(students);
-
-            groupService.create(group);
-        }
+        List<GroupLayout> layout = req.groups().stream()
+                .map(groupDto -> new GroupLayout(null, groupDto.groupName(),
+                        groupDto.memberIds() != null ? groupDto.memberIds() : List.of()))
+                .toList();
+        groupService.applyLayout(createdProject, layout, courseService.getStudentIds(course.getId(), memberIds(layout)));
 
         CreateProjectResponseSimpleDTO dto = new CreateProjectResponseSimpleDTO(createdProject.getId());
         return ResponseEntity.ok(dto);
@@ -246,71 +211,34 @@ public class ProjectController {
 
         Project project = projectOpt.get();
 
-        project.setName(req.projectName());
-        project.setProjectStart(req.projectStartDate().toLocalDate());
-
-        Map<UUID, Group> existingGroupsMap = new HashMap<>();
-        for (Group group : project.getGroups()) {
-            existingGroupsMap.put(group.getId(), group);
-        }
-
-        Set<UUID> requestedGroupIds = new HashSet<>();
-        Set<Group> updatedGroups = new HashSet<>();
-
-        for (ProjectDetailGroupDTO groupDto : req.groups()) {
-            requestedGroupIds.add(groupDto.groupId());
-
-            Group group;
-            if (existingGroupsMap.containsKey(groupDto.groupId())) {
-                group = existingGroupsMap.get(groupDto.groupId());
-                group.setName(groupDto.groupName());
-            } else {
-                group = new Group();
-                group.setName(groupDto.groupName());
-                group.setProject(project);
-            }
-
-            Set<User> members = new HashSet<>();
-            for (var memberDto : groupDto.members()) {
-                Optional<User> userOpt = userService.getById(memberDto.studentId());
-                if (userOpt.isEmpty()) continue;
-
-                User user = userOpt.get();
-
-                if (user.getRole() != Role.STUDENT) continue;
-                if (user.getCourses().stream().noneMatch(c -> c.getId().equals(project.getCourse().getId())))
-                    continue;
-
-                members.add(user);
+        if (req.groups() != null) {
+            List<GroupLayout> layout = new ArrayList<>();
+            for (ProjectDetailGroupDTO groupDto : req.groups()) {
+                List<UUID> memberIds = groupDto.members() != null
+                        ? groupDto.members().stream().map(StudentDTO::studentId).toList()
+                        : List.of();
+                layout.add(new GroupLayout(groupDto.groupId(), groupDto.groupName(), memberIds));
             }
-            group.setUsers(members);
-
-            if (!existingGroupsMap.containsKey(groupDto.groupId())) {
-                group = groupService.create(group);
-            } else {
-                group = groupService.update(groupDto.groupId(), group);
-            }
-
-            updatedGroups.add(group);
+            groupService.applyLayout(project, layout, courseService.getStudentIds(project.getCourse().getId(), memberIds(layout)));
         }
 
-        for (UUID existingGroupId : existingGroupsMap.keySet()) {
-            if (!requestedGroupIds.contains(existingGroupId)) {
-                groupService.deleteById(existingGroupId);
-            }
-        }
-
-        project.getGroups().clear();
-        project.getGroups().addAll(updatedGroups);
+        // the collections of the detached project are not loaded, so update leaves them alone
+        project.setName(req.projectName());
+        project.setProjectStart(req.projectStartDate().toLocalDate());
         projectService.update(id, project);
 
         return ResponseEntity.ok().build();
     }
 
+    private static Set<UUID> memberIds(List<GroupLayout> layout) {
+        Set<UUID> ids = new HashSet<>();
+        layout.forEach(group -> ids.addAll(group.memberIds()));
+        return ids;
+    }
+
     @PostMapping("{projectId}/add/subject")
     public ResponseEntity<String> addSubjectToProject(@PathVariable UUID projectId, @Valid @RequestBody AddSubjectToProjectDTO req) {
-        Optional<Project> projectOpt = projectService.getById(projectId);
-        if (projectOpt.isEmpty())
+        if (!projectService.exists(projectId))
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Project not found: " + projectId);
 
@@ -334,77 +262,23 @@ public class ProjectController {
             subject = subjectService.create(s);
         }
 
-        Project project = projectOpt.get();
-
-        boolean alreadyExists = project.getProjectSubjects().stream()
-                .anyMatch(ps -> ps.getSubject().getId().equals(subject.getId()));
-
-        if (alreadyExists)
+        if (!projectService.addSubject(projectId, subject.getId(), req.duration()))
             return ResponseEntity.badRequest()
                     .body("Bildungsbereich ist bereits dem Projekt zugeordnet");
 
-        ProjectSubject projectSubject = new ProjectSubject();
-        projectSubject.setSubject(subject);
-        projectSubject.setProject(project);
-        projectSubject.setDuration(req.duration());
-
-
-        for (Question subjectQuestion : subject.getQuestions()) {
-            boolean alreadyInProject = project.getProjectQuestions().stream()
-                    .anyMatch(pq -> pq.getQuestion().getId() == subjectQuestion.getId());
-
-            if (alreadyInProject) continue;
-
-            ProjectQuestion projectQuestion = new ProjectQuestion();
-            projectQuestion.setQuestion(subjectQuestion);
-            projectQuestion.setProject(project);
-
-            project.getProjectQuestions().add(projectQuestion);
-        }
-
-        project.getProjectSubjects().add(projectSubject);
-
-        projectService.update(projectId, project);
-
         return ResponseEntity.ok("Bildungsbereich erfolgreich hinzugefügt");
     }
 
     @PostMapping("{projectId}/remove/subject/{subjectId}")
     public ResponseEntity<Map<String, String>> removeSubjectFromProject(@PathVariable UUID projectId, @PathVariable UUID subjectId) {
-        Optional<Project> projectOpt = projectService.getById(projectId);
-        if (projectOpt.isEmpty())
+        if (!projectService.exists(projectId))
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Project not found: " + projectId));
 
-        Project project = projectOpt.get();
-
-        Optional<ProjectSubject> projectSubjectOpt = project.getProjectSubjects().stream()
-                .filter(ps -> ps.getSubject().getId().equals(subjectId)).findFirst();
-
-        if (projectSubjectOpt.isEmpty())
+        if (!projectService.removeSubject(projectId, subjectId))
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Subject is not part of the project"));
 
-        ProjectSubject projectSubject = projectSubjectOpt.get();
-
-        project.getProjectSubjects().remove(projectSubject);
-
-
-        for (Question subjectQuestion : projectSubject.getSubject().getQuestions()) {
-
-            boolean questionUsedInAnotherSubject = project.getProjectSubjects().stream()
-                    .filter(ps -> !ps.getSubject().getId().equals(subjectId))
-                    .anyMatch(ps -> ps.getSubject().getQuestions().stream()
-                            .anyMatch(q -> q.getId().equals(subjectQuestion.getId())));
-
-            if (!questionUsedInAnotherSubject) {
-                project.getProjectQuestions()
-                        .removeIf(pq -> pq.getQuestion().getId().equals(subjectQuestion.getId()));
-            }
-        }
-
-        projectService.update(projectId, project);
-
         return ResponseEntity.ok(Map.of("message", "Subject removed successfully"));
     }
 
@@ -418,54 +292,47 @@ public class ProjectController {
     }
 
     @PutMapping("{projectId}/fragebogen")
-    public ResponseEntity<Void> putFragebogen(@PathVariable UUID projectId, @Valid @RequestBody FragebogenPutRequestDTO req) {
-        Optional<Project> projectOpt = projectService.getById(projectId);
-        if (projectOpt.isEmpty())
+    public ResponseEntity<FragebogenUpdateResultDTO> putFragebogen(@PathVariable UUID projectId, @Valid @RequestBody FragebogenPutRequestDTO req) {
+        if (!projectService.exists(projectId))
             return ResponseEntity.notFound().build();
 
-        projectService.updateFragebogen(projectOpt.get(), req.questions(), req.status());
-
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(projectService.updateFragebogen(projectId, req.questions(), req.status()));
     }
 
     @GetMapping("fragebögen")
     public ResponseEntity<FragebogenResponse> getAllFragebögen() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !authentication.isAuthenticated() ||
-                authentication.getPrincipal() instanceof String && authentication.getPrincipal().equals("anonymousUser")) {
+        Optional<AuthenticatedUser> userOpt = userService.getCurrentPrincipal();
+        if (userOpt.isEmpty())
             return ResponseEntity.status(401).build();
-        }
 
-        String username = authentication.getName();
-        User user = userService.findByUsername(username);
+        AuthenticatedUser user = userOpt.get();
+        Role role = user.role();
 
-        if (user == null)
-            return ResponseEntity.notFound().build();
-
-        Role role = user.getRole();
-
-        List<Course> courses = courseService.getAllWithUser(user);
+        List<Course> courses = courseService.getAllWithUser(user.id());
+        Map<UUID, List<ProjectSummaryRow>> projectsByCourse = projectService.getSummaryRowsByCourse(
+                courses.stream().map(Course::getId).toList());
+        Set<UUID> submittedProjectIds = role == Role.STUDENT
+                ? answerService.getSubmittedProjectIds(user.id())
+                : Set.of();
 
         List<FragebogenCourseDTO> dtoCourses = courses.stream()
                 .map(c -> new FragebogenCourseDTO(
                         c.getId(),
                         c.getCourseName(),
-                        c.getProjects().stream()
+                        projectsByCourse.getOrDefault(c.getId(), List.of()).stream()
                                 .filter(p -> {
                                     if (role == Role.STUDENT) {
-                                        return p.getActivityStatus() == QuestionnaireActivityStatus.READY_FOR_ANSWERING
-                                                && !answerService.hasUserSubmitted(p, user);
+                                        return p.activityStatus() == QuestionnaireActivityStatus.READY_FOR_ANSWERING
+                                                && !submittedProjectIds.contains(p.projectId());
                                     }
                                     return true;
                                 })
                                 .map(p -> new FragebogenProjectDTO(
-                                        p.getId(),
-                                        p.getName(),
-                                        p.getProjectQuestions().size(),
-                                        (int) c.getUsers().stream().filter(s -> s.getRole() == Role.STUDENT).count(),
-                                        (int) c.getUsers().stream().filter(s -> s.getRole() == Role.STUDENT)
-                                                .filter(s -> answerService.hasUserSubmitted(p, s)).count()
+                                        p.projectId(),
+                                        p.projectName(),
+                                        (int) p.questionCount(),
+                                        (int) p.studentCount(),
+                                        (int) p.submittedStudentCount()
                                 ))
                                 .toList()
                 ))
@@ -476,12 +343,12 @@ public class ProjectController {
 
     @GetMapping("{projectId}/myGroup")
     public ResponseEntity<ProjectQuestionnaireDetailDTO> getMyGroup(@PathVariable UUID projectId) {
-        Optional<User> userOpt = userService.getCurrentUser();
+        Optional<AuthenticatedUser> userOpt = userService.getCurrentPrincipal();
         if (userOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
-        User user = userOpt.get();
-        Optional<Project> projectOpt = projectService.getById(projectId);
+        AuthenticatedUser user = userOpt.get();
+        Optional<Project> projectOpt = projectService.getWithQuestionnaire(projectId);
         if (projectOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -489,7 +356,7 @@ public class ProjectController {
 
         Optional<Group> groupOpt = project.getGroups().stream()
                 .filter(g -> g.getUsers().stream()
-                        .anyMatch(u -> u.getId().equals(user.getId()))
+                        .anyMatch(u -> u.getId().equals(user.id()))
                 )
                 .findFirst();
 
@@ -500,7 +367,7 @@ public class ProjectController {
 
         QuestionnaireActivityStatus status = project.getActivityStatus();
 
-        if (status == QuestionnaireActivityStatus.READY_FOR_ANSWERING && answerService.hasUserSubmitted(project, user))
+        if (status == QuestionnaireActivityStatus.READY_FOR_ANSWERING && answerService.hasUserSubmitted(project, user.id()))
             status = QuestionnaireActivityStatus.ALREADY_ANSWERED;
 
         ProjectQuestionnaireDetailDTO dto = ProjectQuestionnaireDetailDTO.fromEntity(project, List.of(group), status);
@@ -510,7 +377,7 @@ public class ProjectController {
 
     @GetMapping("{projectId}/groups")
     public ResponseEntity<ProjectQuestionnaireDetailDTO> getGroups(@PathVariable UUID projectId) {
-        Optional<Project> projectOpt = projectService.getById(projectId);
+        Optional<Project> projectOpt = projectService.getWithQuestionnaire(projectId);
         if (projectOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -523,21 +390,26 @@ public class ProjectController {
 
     @PostMapping("{projectId}/fragebogenAnswers")
     public ResponseEntity<?> postUserAnswers(@PathVariable UUID projectId, @Valid @RequestBody ProjectQuestionAnswersDTO req) {
-        Optional<Project> projectOpt = projectService.getById(projectId);
+        Optional<Project> projectOpt = projectService.getWithQuestionnaire(projectId);
         if (projectOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
         Project project = projectOpt.get();
 
+        Optional<AuthenticatedUser> principalOpt = userService.getCurrentPrincipal();
+        if (principalOpt.isEmpty())
+            return ResponseEntity.notFound().build();
+
+        if (answerService.hasUserSubmitted(project, principalOpt.get().id()))
+            return ResponseEntity.status(401).body("Already Submitted");
+
+        // The entity is only needed to record the answers
         Optional<User> userOpt = userService.getCurrentUser();
         if (userOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
         User user = userOpt.get();
 
-        if (answerService.hasUserSubmitted(project, user))
-            return ResponseEntity.status(401).body("Already Submitted");
-
         if (!answerService.answerQuestions(project, user, req))
             return ResponseEntity.status(401).body("Failed to answer questions");
 
@@ -552,13 +424,13 @@ public class ProjectController {
 
         Project project = projectOpt.get();
 
-        Optional<Group> groupOpt = groupService.getById(groupId);
+        Optional<Group> groupOpt = groupService.getWithUsers(groupId);
         if (groupOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
         Group group = groupOpt.get();
 
-        if (!project.getGroups().contains(group))
+        if (!group.getProject().getId().equals(project.getId()))
             return ResponseEntity.badRequest().body("Gruppe gehört nicht zum projekt");
 
         DetailedProjectQuestionAnswersDTO answers = answerService.getDetailedAnswersForGroup(project, group);
@@ -573,7 +445,7 @@ public class ProjectController {
 
         Project project = projectOpt.get();
 
-        Optional<Group> groupOpt = groupService.getById(groupId);
+        Optional<Group> groupOpt = groupService.getWithUsers(groupId);
         if (groupOpt.isEmpty())
             return ResponseEntity.notFound().build();
 
@@ -1,6 +1,7 @@
 package com.gradesave.backend.controller;
 
 import com.gradesave.backend.models.Question;
+import com.gradesave.backend.services.CatalogCache;
 import com.gradesave.backend.services.QuestionService;
 
 import jakarta.validation.Valid;
@@ -37,8 +38,13 @@ public class QuestionController {
     }
 
     @GetMapping("/findAll")
-    public List<Question> getAllQuestions() {
-        return questionService.getAll();
+    public ResponseEntity<List<Question>> getAllQuestions() {
+        CatalogCache.Snapshot<Question> questions = questionService.getCatalog();
+        // a matching If-None-Match is answered with 304 and no body
+        return ResponseEntity.ok()
+                .cacheControl(CatalogCache.CACHE_CONTROL)
+                .eTag(questions.etag())
+                .body(questions.items());
     }
     
     @PutMapping("/{id}")
@@ -0,0 +1,79 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.dto.report.CourseReportCardsDTO;
+import com.gradesave.backend.dto.report.ReportCardFormat;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.services.CourseService;
+import com.gradesave.backend.services.ReportCardService;
+import com.gradesave.backend.services.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * @author Daniel Hess
+ *         Controller for the report cards of a course. Admins get every course,
+ *         teachers the courses they are member or class teacher of. The merged
+ *         PDF is rendered before the response starts, the ZIP archive is
+ *         streamed while the documents are rendered.
+ */
+@RestController
+@RequestMapping("/api/report-cards")
+public class ReportCardController {
+
+    private final ReportCardService reportCardService;
+    private final CourseService courseService;
+    private final UserService userService;
+
+    public ReportCardController(ReportCardService reportCardService, CourseService courseService, UserService userService) {
+        this.reportCardService = reportCardService;
+        this.courseService = courseService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/course/{courseId}")
+    public ResponseEntity<StreamingResponseBody> downloadCourseReportCards(
+            @PathVariable UUID courseId,
+            @RequestParam(defaultValue = "PDF") ReportCardFormat format) {
+        AuthenticatedUser user = userService.getCurrentPrincipal()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in"));
+        if (!courseService.canAccessCourse(courseId, user)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Optional<CourseReportCardsDTO> courseOpt = reportCardService.loadCourseReportCards(courseId);
+        if (courseOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CourseReportCardsDTO course = courseOpt.get();
+        StreamingResponseBody body;
+        if (format == ReportCardFormat.PDF) {
+            List<byte[]> documents = reportCardService.renderReportCards(course);
+            body = out -> reportCardService.writeReportCardPdf(documents, out);
+        } else {
+            body = out -> reportCardService.writeReportCardZip(course, out);
+        }
+
+        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String filename = "report_cards_" + date + (format == ReportCardFormat.PDF ? ".pdf" : ".zip");
+        MediaType mediaType = format == ReportCardFormat.PDF
+                ? MediaType.APPLICATION_PDF
+                : MediaType.parseMediaType("application/zip");
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
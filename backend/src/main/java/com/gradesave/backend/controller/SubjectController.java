@@ -3,6 +3,7 @@ package com.gradesave.backend.controller;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,9 +11,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.gradesave.backend.dto.page.CursorPage;
 import com.gradesave.backend.models.Subject;
+import com.gradesave.backend.services.CatalogCache;
 import com.gradesave.backend.services.SubjectService;
 
 import jakarta.validation.Valid;
@@ -51,7 +55,22 @@ public class SubjectController {
     }
 
     @GetMapping("/findAll")
-    public List<Subject> getAllSubjects() {
-        return subjectService.getAll();
+    public ResponseEntity<List<Subject>> getAllSubjects() {
+        CatalogCache.Snapshot<Subject> subjects = subjectService.getCatalog();
+        // a matching If-None-Match is answered with 304 and no body
+        return ResponseEntity.ok()
+                .cacheControl(CatalogCache.CACHE_CONTROL)
+                .eTag(subjects.etag())
+                .body(subjects.items());
+    }
+
+    @GetMapping("/page")
+    public CursorPage<Subject> getSubjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Boolean learningField,
+            @RequestParam(required = false) String q) {
+        return subjectService.getPage(cursor, limit, sort, learningField, q);
     }
 }
@@ -1,14 +1,22 @@
 package com.gradesave.backend.controller;
 
+import com.gradesave.backend.config.LoginAdmissionLimiter;
+import com.gradesave.backend.dto.page.CursorPage;
 import com.gradesave.backend.dto.user.*;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.repositories.CustomUserDetails;
+import com.gradesave.backend.services.SessionTokenService;
+import com.gradesave.backend.services.UserBulkService;
+import com.gradesave.backend.services.UserSearchIndex;
 import com.gradesave.backend.services.UserService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -41,29 +50,57 @@ public class UserController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
-
-    public UserController(UserService userService, AuthenticationManager authenticationManager) {
+    private final LoginAdmissionLimiter loginAdmissionLimiter;
+    private final SessionTokenService sessionTokenService;
+    private final UserSearchIndex userSearchIndex;
+    private final UserBulkService userBulkService;
+
+    public UserController(UserService userService, AuthenticationManager authenticationManager,
+                          LoginAdmissionLimiter loginAdmissionLimiter, SessionTokenService sessionTokenService,
+                          UserSearchIndex userSearchIndex, UserBulkService userBulkService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
+        this.loginAdmissionLimiter = loginAdmissionLimiter;
+        this.sessionTokenService = sessionTokenService;
+        this.userSearchIndex = userSearchIndex;
+        this.userBulkService = userBulkService;
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(
             @RequestParam String username,
             @RequestParam String password,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        // Password hashing is CPU bound, only let as many logins through as there are cores
+        if (!loginAdmissionLimiter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Too many concurrent logins, please retry"));
+        }
+
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(username, password)
-            );
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(username, password)
+                );
+            } finally {
+                loginAdmissionLimiter.release();
+            }
 
-            SecurityContext securityContext = SecurityContextHolder.getContext();
-            securityContext.setAuthentication(authentication);
+            if (sessionTokenService.isEnabled()) {
+                CustomUserDetails details = (CustomUserDetails) authentication.getPrincipal();
+                sessionTokenService.writeCookie(details.getUser(), response);
+            } else {
+                SecurityContext securityContext = SecurityContextHolder.getContext();
+                securityContext.setAuthentication(authentication);
 
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+                HttpSession session = request.getSession(true);
+                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+            }
 
-            User user = userService.findByUsername(username);
+            User user = userService.getWithCoursesByUsername(username).orElse(null);
             if (user == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
             }
@@ -76,41 +113,37 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Optional<AuthenticatedUser> principal = userService.getCurrentPrincipal();
 
-        if (authentication == null || !authentication.isAuthenticated() ||
-                authentication.getPrincipal() instanceof String && authentication.getPrincipal().equals("anonymousUser")) {
+        if (principal.isEmpty()) {
             return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
         }
 
-        String username = authentication.getName();
-        User user = userService.findByUsername(username);
+        Optional<User> user = userService.getWithCourses(principal.get().id());
 
-        if (user == null) {
+        if (user.isEmpty()) {
             return ResponseEntity.status(404).body(Map.of("error", "User not found"));
         }
 
-        return ResponseEntity.ok(MeDTO.fromEntity(user));
+        return ResponseEntity.ok(MeDTO.fromEntity(user.get()));
     }
 
     @PostMapping("/verify-password")
     public ResponseEntity<?> verifyPassword(@RequestBody Map<String, String> body) {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Optional<AuthenticatedUser> principal = userService.getCurrentPrincipal();
 
-        if (authentication == null || !authentication.isAuthenticated() ||
-                "anonymousUser".equals(authentication.getPrincipal())) {
+        if (principal.isEmpty()) {
             return ResponseEntity.status(401).body(Map.of("valid", false, "error", "Not authenticated"));
         }
 
-        String username = authentication.getName();
         String password = body.get("password");
 
         if (password == null || password.isBlank()) {
             return ResponseEntity.badRequest().body(Map.of("valid", false, "error", "Passwort fehlt!"));
         }
 
-        User user = userService.findByUsername(username);
+        User user = userService.getById(principal.get().id()).orElse(null);
 
         if (user == null) {
             return ResponseEntity.status(404).body(Map.of("valid", false, "error", "User not found"));
@@ -122,16 +155,14 @@ public class UserController {
     }
 
     @PutMapping("/me/update-password")
-    public ResponseEntity<?> updateOwnPassword(@RequestBody Map<String, String> body) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    public ResponseEntity<?> updateOwnPassword(@RequestBody Map<String, String> body, HttpServletResponse response) {
+        Optional<AuthenticatedUser> principal = userService.getCurrentPrincipal();
 
-        if (authentication == null || !authentication.isAuthenticated() ||
-            "anonymousUser".equals(authentication.getPrincipal())) {
+        if (principal.isEmpty()) {
             return ResponseEntity.status(401).build();
         }
 
-        String username = authentication.getName();
-        User user = userService.findByUsername(username);
+        User user = userService.getById(principal.get().id()).orElse(null);
 
         if (user == null) {
             return ResponseEntity.status(404).build();
@@ -153,7 +184,12 @@ public class UserController {
 
         user.setChangedDefaultPassword(true);
         user.setPassword(newPassword);
-        userService.update(user.getId(), user);
+        User updated = userService.update(user.getId(), user);
+
+        // The update revoked all older tokens, the caller keeps a fresh one
+        if (sessionTokenService.isEnabled()) {
+            sessionTokenService.writeCookie(AuthenticatedUser.fromEntity(updated), response);
+        }
 
         return ResponseEntity.ok(Map.of("message", "Password updated successfully"));
     }
@@ -228,6 +264,21 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkUserResultDTO> deleteUsers(@RequestBody BulkUserSelectionDTO selection) {
+        return ResponseEntity.ok(userBulkService.deleteUsers(selection));
+    }
+
+    @PostMapping("/bulk/role")
+    public ResponseEntity<BulkUserResultDTO> changeRoles(@Valid @RequestBody BulkRoleChangeRequestDTO req) {
+        return ResponseEntity.ok(userBulkService.changeRole(req.selection(), req.role()));
+    }
+
+    @PostMapping("/bulk/reset-password")
+    public ResponseEntity<BulkUserResultDTO> resetPasswords(@RequestBody BulkUserSelectionDTO selection) {
+        return ResponseEntity.ok(userBulkService.resetPasswords(selection));
+    }
+
     @GetMapping("/{id}/exists")
     public ResponseEntity<Boolean> userExists(@PathVariable UUID id) {
         return ResponseEntity.ok(userService.exists(id));
@@ -238,6 +289,26 @@ public class UserController {
         return ResponseEntity.ok(userService.count());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<UserDto>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(userService.getPage(cursor, limit, sort, role, q).map(this::toDto));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<UserDto>> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(defaultValue = "false") boolean unassigned,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userSearchIndex.search(q, role, courseId, unassigned, limit));
+    }
+
     @GetMapping(params = "role")
     public ResponseEntity<List<UserDto>> getAllUsersByRole(@RequestParam Role role) {
         List<UserDto> users = userService.GetUsersByRole(role).stream().map(this::toDto).toList();
@@ -0,0 +1,9 @@
+package com.gradesave.backend.dto.course;
+
+import java.util.UUID;
+
+/**
+ * One row of the course membership join table
+ */
+public record CourseMemberRow(UUID courseId, UUID userId) {
+}
@@ -0,0 +1,11 @@
+package com.gradesave.backend.dto.course;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CourseMembersRequestDTO(
+        @NotNull List<UUID> userIds
+) {
+}
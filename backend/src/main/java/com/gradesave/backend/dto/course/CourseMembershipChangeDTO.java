@@ -0,0 +1,11 @@
+package com.gradesave.backend.dto.course;
+
+/**
+ * Result of a bulk membership change. Unknown users, users with another
+ * role and unchanged memberships are not counted as changed.
+ */
+public record CourseMembershipChangeDTO(
+        int requested,
+        int changed
+) {
+}
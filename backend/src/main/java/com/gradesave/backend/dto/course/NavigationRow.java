@@ -0,0 +1,21 @@
+package com.gradesave.backend.dto.course;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One course/project/group combination of the grade overview navigation.
+ * Project and group columns are null for courses without projects or
+ * projects without groups.
+ */
+public record NavigationRow(
+        UUID courseId,
+        String courseName,
+        UUID classTeacherId,
+        UUID projectId,
+        String projectName,
+        LocalDate projectStart,
+        UUID groupId,
+        String groupName
+) {
+}
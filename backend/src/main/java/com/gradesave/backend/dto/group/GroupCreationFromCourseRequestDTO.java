@@ -1,9 +1,24 @@
 package com.gradesave.backend.dto.group;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Only the number of groups can be chosen, their sizes differ by at most one.
+ * Everything after groupAmount is optional; avoiding repeated pairs and balancing
+ * grades default to on, a missing seed gives a different result on every call.
+ * A keepApart or keepTogether pair the groups cannot meet fails the request.
+ */
 public record GroupCreationFromCourseRequestDTO (
     UUID courseId,
     UUID projectId,
-    int groupAmount
+    @Min(1) int groupAmount,
+    @Valid List<StudentPairDTO> keepApart,
+    @Valid List<StudentPairDTO> keepTogether,
+    Boolean avoidRepeatedPairs,
+    Boolean balanceGrades,
+    Long seed
 ) {}
@@ -0,0 +1,10 @@
+package com.gradesave.backend.dto.group;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One group of the project editor, groupId is null for groups that do not exist yet
+ */
+public record GroupLayout(UUID groupId, String name, List<UUID> memberIds) {
+}
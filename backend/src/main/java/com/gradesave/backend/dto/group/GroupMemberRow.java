@@ -0,0 +1,9 @@
+package com.gradesave.backend.dto.group;
+
+import java.util.UUID;
+
+/**
+ * One row of the group membership join table
+ */
+public record GroupMemberRow(UUID groupId, UUID userId) {
+}
@@ -0,0 +1,13 @@
+package com.gradesave.backend.dto.group;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Wanted members of the groups of one project, groups that are not listed keep their members
+ */
+public record GroupMembershipBatchDTO(
+        @NotNull @Valid List<GroupMembershipDTO> groups
+) { }
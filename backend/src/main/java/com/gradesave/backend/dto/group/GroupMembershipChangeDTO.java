@@ -0,0 +1,14 @@
+package com.gradesave.backend.dto.group;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What a membership batch changed: inserted and deleted rows and the groups they belong to
+ */
+public record GroupMembershipChangeDTO(
+        UUID projectId,
+        int added,
+        int removed,
+        List<UUID> changedGroupIds
+) { }
@@ -0,0 +1,14 @@
+package com.gradesave.backend.dto.group;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The complete member list one group should have
+ */
+public record GroupMembershipDTO(
+        @NotNull UUID groupId,
+        @NotNull List<@NotNull UUID> memberIds
+) { }
@@ -0,0 +1,10 @@
+package com.gradesave.backend.dto.group;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record StudentPairDTO(
+        @NotNull UUID first,
+        @NotNull UUID second
+) {}
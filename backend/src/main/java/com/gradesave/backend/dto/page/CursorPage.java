@@ -0,0 +1,16 @@
+package com.gradesave.backend.dto.page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a cursor paginated list. {@code nextCursor} is opaque to
+ * clients and has to be sent back unchanged to get the following page; it
+ * is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gradesave.backend.dto.pdf;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filter for a zipped PDF download. An explicit list of file names takes
+ * precedence over the date range and name prefix.
+ */
+public record PdfBundleRequestDTO(
+        LocalDate from,
+        LocalDate to,
+        String prefix,
+        List<String> filenames
+) {
+}
@@ -0,0 +1,19 @@
+package com.gradesave.backend.dto.project;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record CloneProjectDTO(
+        @NotNull
+        UUID courseId,
+
+        @NotBlank
+        String projectName,
+
+        @NotNull
+        ProjectStartDateDTO projectStart,
+
+        boolean includeGroups
+) {}
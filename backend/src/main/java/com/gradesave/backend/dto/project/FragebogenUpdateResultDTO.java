@@ -0,0 +1,20 @@
+package com.gradesave.backend.dto.project;
+
+import com.gradesave.backend.dto.question.QuestionChangeDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change summary of a questionnaire save, one entry per requested or unlinked question
+ */
+public record FragebogenUpdateResultDTO(
+        UUID projectId,
+        QuestionnaireActivityStatus status,
+        int created,
+        int updated,
+        int linked,
+        int unlinked,
+        List<QuestionChangeDTO> questions
+) {
+}
@@ -0,0 +1,9 @@
+package com.gradesave.backend.dto.project;
+
+import java.util.UUID;
+
+/**
+ * Number of rows moved to the archive tables
+ */
+public record ProjectArchiveResultDTO(UUID projectId, int answers, int grades) {
+}
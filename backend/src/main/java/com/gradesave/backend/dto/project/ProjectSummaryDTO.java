@@ -16,5 +16,32 @@ public record ProjectSummaryDTO(
 
         Integer unassignedStudentsAmount,
 
-        ProjectStartDateDTO projectStart
-) { }
+        ProjectStartDateDTO projectStart,
+
+        Integer studentsAmount,
+
+        Integer assignedStudentsAmount,
+
+        QuestionnaireActivityStatus activityStatus
+) {
+    public static ProjectSummaryDTO fromRow(ProjectSummaryRow row) {
+        return new ProjectSummaryDTO(
+                row.projectId(),
+                row.projectName(),
+                row.courseId(),
+                row.courseName(),
+                row.teacherId(),
+                row.teacherId() != null ? row.teacherFirstName() + " " + row.teacherLastName() : "No Class Teacher",
+                (int) row.groupCount(),
+                (int) (row.studentCount() - row.assignedStudentCount()),
+                new ProjectStartDateDTO(
+                        row.projectStart().getYear(),
+                        row.projectStart().getMonthValue(),
+                        row.projectStart().getDayOfMonth()
+                ),
+                (int) row.studentCount(),
+                (int) row.assignedStudentCount(),
+                row.activityStatus()
+        );
+    }
+}
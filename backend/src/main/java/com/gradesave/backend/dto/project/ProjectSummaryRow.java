@@ -0,0 +1,26 @@
+package com.gradesave.backend.dto.project;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Aggregated project columns of the project summary query. Teacher columns
+ * are null for courses without a class teacher.
+ */
+public record ProjectSummaryRow(
+        UUID projectId,
+        String projectName,
+        LocalDate projectStart,
+        QuestionnaireActivityStatus activityStatus,
+        UUID courseId,
+        String courseName,
+        UUID teacherId,
+        String teacherFirstName,
+        String teacherLastName,
+        long groupCount,
+        long studentCount,
+        long assignedStudentCount,
+        long questionCount,
+        long submittedStudentCount
+) {
+}
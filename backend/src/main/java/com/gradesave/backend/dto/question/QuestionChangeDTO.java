@@ -0,0 +1,15 @@
+package com.gradesave.backend.dto.question;
+
+import java.util.UUID;
+
+/**
+ * What saving the questionnaire did to one question, all flags false if nothing changed
+ */
+public record QuestionChangeDTO(
+        UUID questionId,
+        boolean created,
+        boolean updated,
+        boolean linked,
+        boolean unlinked
+) {
+}
@@ -0,0 +1,15 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.UUID;
+
+/**
+ * Questionnaire grade averages of one student in one project
+ */
+public record AssessmentAverageRow(
+        UUID studentId,
+        UUID projectId,
+        Double averageGrade,
+        Double selfAssessment,
+        Double peerAssessment
+) {
+}
@@ -0,0 +1,12 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CourseReportCardsDTO(
+        UUID courseId,
+        String courseName,
+        String classTeacherName,
+        List<StudentReportCardDTO> students
+) {
+}
@@ -0,0 +1,9 @@
+package com.gradesave.backend.dto.report;
+
+public record PerformanceReportDTO(
+        String name,
+        String shortName,
+        Double weight,
+        Double grade
+) {
+}
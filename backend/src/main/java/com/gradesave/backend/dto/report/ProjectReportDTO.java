@@ -0,0 +1,16 @@
+package com.gradesave.backend.dto.report;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record ProjectReportDTO(
+        UUID projectId,
+        String projectName,
+        LocalDate projectStart,
+        List<SubjectReportDTO> subjects,
+        Double averageAssessment,
+        Double selfAssessment,
+        Double peerAssessment
+) {
+}
@@ -0,0 +1,9 @@
+package com.gradesave.backend.dto.report;
+
+/**
+ * Output format of a report card batch
+ */
+public enum ReportCardFormat {
+    PDF,
+    ZIP
+}
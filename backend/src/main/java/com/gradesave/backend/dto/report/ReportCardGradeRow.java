@@ -0,0 +1,15 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.UUID;
+
+/**
+ * Projection of a grade used to build report cards. Performance grades carry
+ * the performance id, subject grades only the project subject id.
+ */
+public record ReportCardGradeRow(
+        UUID studentId,
+        UUID performanceId,
+        UUID projectSubjectId,
+        Double grade
+) {
+}
@@ -0,0 +1,15 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.UUID;
+
+/**
+ * Projection of a performance used to build report cards
+ */
+public record ReportCardPerformanceRow(
+        UUID performanceId,
+        UUID projectSubjectId,
+        String name,
+        String shortName,
+        Double weight
+) {
+}
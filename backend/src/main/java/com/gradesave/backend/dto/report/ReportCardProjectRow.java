@@ -0,0 +1,10 @@
+package com.gradesave.backend.dto.report;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection of a course project used to build report cards
+ */
+public record ReportCardProjectRow(UUID projectId, String projectName, LocalDate projectStart) {
+}
@@ -0,0 +1,16 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.UUID;
+
+/**
+ * Projection of a project subject used to build report cards
+ */
+public record ReportCardSubjectRow(
+        UUID projectSubjectId,
+        UUID projectId,
+        String subjectName,
+        String shortName,
+        boolean isLearningField,
+        Double duration
+) {
+}
@@ -0,0 +1,12 @@
+package com.gradesave.backend.dto.report;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StudentReportCardDTO(
+        UUID studentId,
+        String firstName,
+        String lastName,
+        List<ProjectReportDTO> projects
+) {
+}
@@ -0,0 +1,14 @@
+package com.gradesave.backend.dto.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record SubjectReportDTO(
+        String subjectName,
+        String shortName,
+        boolean isLearningField,
+        Double duration,
+        BigDecimal subjectGrade,
+        List<PerformanceReportDTO> performances
+) {
+}
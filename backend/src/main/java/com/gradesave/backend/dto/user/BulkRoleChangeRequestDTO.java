@@ -0,0 +1,10 @@
+package com.gradesave.backend.dto.user;
+
+import com.gradesave.backend.models.Role;
+import jakarta.validation.constraints.NotNull;
+
+public record BulkRoleChangeRequestDTO(
+        @NotNull BulkUserSelectionDTO selection,
+        @NotNull Role role
+) {
+}
@@ -0,0 +1,15 @@
+package com.gradesave.backend.dto.user;
+
+import java.util.Map;
+
+/**
+ * Outcome of a bulk operation
+ *
+ * @param matched  number of existing users the selection resolved to
+ * @param affected rows changed per table or column
+ */
+public record BulkUserResultDTO(
+        int matched,
+        Map<String, Integer> affected
+) {
+}
@@ -0,0 +1,18 @@
+package com.gradesave.backend.dto.user;
+
+import com.gradesave.backend.models.Role;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Users targeted by a bulk operation. An explicit list of ids takes
+ * precedence over the filter fields; a filter needs at least one field.
+ */
+public record BulkUserSelectionDTO(
+        List<UUID> ids,
+        Role role,
+        UUID courseId,
+        Boolean unassigned
+) {
+}
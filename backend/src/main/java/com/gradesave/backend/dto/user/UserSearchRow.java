@@ -0,0 +1,11 @@
+package com.gradesave.backend.dto.user;
+
+import com.gradesave.backend.models.Role;
+
+import java.util.UUID;
+
+/**
+ * Projection of the user columns held by the search index
+ */
+public record UserSearchRow(UUID id, String username, String firstName, String lastName, Role role) {
+}
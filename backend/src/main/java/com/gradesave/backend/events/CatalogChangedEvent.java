@@ -0,0 +1,7 @@
+package com.gradesave.backend.events;
+
+/**
+ * Published whenever a subject, a question or the subjects of a question change
+ */
+public record CatalogChangedEvent() {
+}
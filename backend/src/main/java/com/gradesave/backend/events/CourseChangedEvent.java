@@ -0,0 +1,9 @@
+package com.gradesave.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a course, its class teacher or its members change
+ */
+public record CourseChangedEvent(UUID courseId) {
+}
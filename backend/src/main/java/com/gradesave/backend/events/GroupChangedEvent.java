@@ -0,0 +1,10 @@
+package com.gradesave.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a group is created, updated or deleted. The project
+ * id is null when it was not loaded.
+ */
+public record GroupChangedEvent(UUID groupId, UUID projectId) {
+}
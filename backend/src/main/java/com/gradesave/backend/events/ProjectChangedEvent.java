@@ -0,0 +1,10 @@
+package com.gradesave.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a project is created, updated or deleted. The course
+ * id is null when it was not loaded.
+ */
+public record ProjectChangedEvent(UUID projectId, UUID courseId) {
+}
@@ -0,0 +1,9 @@
+package com.gradesave.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user is updated or deleted
+ */
+public record UserChangedEvent(UUID userId, boolean deleted) {
+}
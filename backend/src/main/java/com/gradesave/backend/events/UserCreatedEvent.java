@@ -0,0 +1,9 @@
+package com.gradesave.backend.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user is created
+ */
+public record UserCreatedEvent(UUID userId) {
+}
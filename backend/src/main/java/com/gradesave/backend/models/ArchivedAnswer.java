@@ -0,0 +1,101 @@
+package com.gradesave.backend.models;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * <p>
+ * Creates answer_archive table. Holds the answers of archived projects with
+ * their original ids; rows are only written by the archive statements and
+ * follow their project, question and users on delete.
+ * </p>
+ *
+ *
+ */
+@Entity
+@Immutable
+@Table(name = "answer_archive", indexes = @Index(name = "idx_answer_archive_project", columnList = "project_id"))
+public class ArchivedAnswer {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "project_question_id", nullable = false)
+    private ProjectQuestion projectQuestion;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "author_id", nullable = false)
+    private User author;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "recipient_id", nullable = false)
+    private User recipient;
+
+    @Column(name = "answer_grade")
+    private Integer answerGrade;
+
+    @Column(name = "answer_text")
+    private String answerText;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public ProjectQuestion getProjectQuestion() {
+        return projectQuestion;
+    }
+
+    public User getAuthor() {
+        return author;
+    }
+
+    public User getRecipient() {
+        return recipient;
+    }
+
+    public Integer getAnswerGrade() {
+        return answerGrade;
+    }
+
+    public String getAnswerText() {
+        return answerText;
+    }
+
+    /**
+     * Detached answer with the archived values, for the read paths shared with live projects
+     */
+    public Answer toAnswer() {
+        Answer answer = new Answer();
+        answer.setId(id);
+        answer.setProjectQuestion(projectQuestion);
+        answer.setAuthor(author);
+        answer.setRecipient(recipient);
+        answer.setAnswerGrade(answerGrade);
+        answer.setAnswerText(answerText);
+        return answer;
+    }
+}
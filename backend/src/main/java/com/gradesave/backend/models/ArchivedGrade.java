@@ -0,0 +1,91 @@
+package com.gradesave.backend.models;
+
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * <p>
+ * Creates grade_archive table. Holds the grades of archived projects with
+ * their original ids; rows are only written by the archive statements and
+ * follow their project, performance and student on delete.
+ * </p>
+ *
+ *
+ */
+@Entity
+@Immutable
+@Table(name = "grade_archive", indexes = @Index(name = "idx_grade_archive_project", columnList = "project_id"))
+public class ArchivedGrade {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "performance_id")
+    private Performance performance;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "project_subject_id")
+    private ProjectSubject projectSubject;
+
+    private Double grade;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "student_id", nullable = false)
+    private User student;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public Performance getPerformance() {
+        return performance;
+    }
+
+    public ProjectSubject getProjectSubject() {
+        return projectSubject;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    public User getStudent() {
+        return student;
+    }
+
+    /**
+     * Detached grade with the archived values, for the read paths shared with live projects
+     */
+    public Grade toGrade() {
+        Grade copy = new Grade();
+        copy.setId(id);
+        copy.setPerformance(performance);
+        copy.setProjectSubject(projectSubject);
+        copy.setGrade(grade);
+        copy.setStudent(student);
+        return copy;
+    }
+}
@@ -5,18 +5,24 @@ import java.util.Set;
 import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @author: Michael Holl
@@ -26,9 +32,14 @@ import jakarta.validation.constraints.Size;
  */
 
 @Entity
-@Table(name = "course")
+@NamedEntityGraph(name = Course.GRAPH_USERS, attributeNodes = @NamedAttributeNode("users"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
+@Table(name = "course", indexes = @Index(name = "idx_course_name_id", columnList = "course_name, id"))
 public class Course {
 
+    public static final String GRAPH_USERS = "Course.users";
+
     @Id
     @GeneratedValue
     private UUID id;
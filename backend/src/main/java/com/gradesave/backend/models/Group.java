@@ -11,8 +11,11 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.SQLInsert;
 
 /**
  * @author: Michael Holl
@@ -23,9 +26,12 @@ import jakarta.validation.constraints.NotBlank;
  *
  */
 @Entity
+@NamedEntityGraph(name = Group.GRAPH_USERS, attributeNodes = @NamedAttributeNode("users"))
 @Table(name = "\"group\"")
 public class Group {
 
+    public static final String GRAPH_USERS = "Group.users";
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -37,7 +43,13 @@ public class Group {
     @NotBlank
     private String name;
 
+    // also writes the project of the group, see GroupMembership
     @ManyToMany
+    @SQLInsert(sql = """
+            INSERT INTO group_membership (group_id, user_id, project_id)
+            SELECT g.id, u.id, g.project_id FROM "group" g, "user" u
+            WHERE g.id = ? AND u.id = ?
+            """)
     @JoinTable(
             name = "group_membership",
             joinColumns = @JoinColumn(name = "group_id"),
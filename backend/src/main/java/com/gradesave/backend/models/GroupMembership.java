@@ -0,0 +1,75 @@
+package com.gradesave.backend.models;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * <p>
+ * Maps the group_membership join table of {@link Group#getUsers()} to add the
+ * project of the group to every row. The unique key on project and user keeps
+ * a student in at most one group per project. Rows are written through the
+ * users collection and the native membership statements, which fill in the
+ * project themselves.
+ * </p>
+ *
+ *
+ */
+@Entity
+@Immutable
+@Table(name = "group_membership", uniqueConstraints = @UniqueConstraint(
+        name = GroupMembership.UK_PROJECT_USER, columnNames = {"project_id", "user_id"}))
+public class GroupMembership {
+
+    public static final String UK_PROJECT_USER = "uk_group_membership_project_user";
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "group_id")
+        private UUID groupId;
+
+        @Column(name = "user_id")
+        private UUID userId;
+
+        public UUID getGroupId() {
+            return groupId;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && groupId.equals(other.groupId) && userId.equals(other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * groupId.hashCode() + userId.hashCode();
+        }
+    }
+
+    @EmbeddedId
+    private Key id;
+
+    // nullable, rows written before this column existed are filled in on startup
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    public Key getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gradesave.backend.models;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -22,9 +23,41 @@ import jakarta.validation.constraints.Size;
  *
  */
 @Entity
-@Table(name = "project")
+@NamedEntityGraph(name = Project.GRAPH_GROUPS,
+        attributeNodes = @NamedAttributeNode(value = "groups", subgraph = "members"),
+        subgraphs = @NamedSubgraph(name = "members", attributeNodes = @NamedAttributeNode("users")))
+@NamedEntityGraph(name = Project.GRAPH_QUESTIONNAIRE,
+        attributeNodes = {
+                @NamedAttributeNode(value = "groups", subgraph = "members"),
+                @NamedAttributeNode(value = "projectQuestions", subgraph = "question")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "members", attributeNodes = @NamedAttributeNode("users")),
+                @NamedSubgraph(name = "question", attributeNodes = @NamedAttributeNode("question"))
+        })
+@NamedEntityGraph(name = Project.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "groups", subgraph = "members"),
+                @NamedAttributeNode(value = "projectSubjects", subgraph = "subject")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "members", attributeNodes = @NamedAttributeNode("users")),
+                @NamedSubgraph(name = "subject", attributeNodes = @NamedAttributeNode("subject"))
+        })
+@Table(name = "project", indexes = {
+        @Index(name = "idx_project_name_id", columnList = "name, id"),
+        @Index(name = "idx_project_start_id", columnList = "project_start, id"),
+        @Index(name = "idx_project_course_name_id", columnList = "course_id, name, id")
+})
 public class Project {
 
+    /**
+     * Fetch plans per use case, so no collection is loaded lazily after the service returned
+     */
+    public static final String GRAPH_GROUPS = "Project.groups";
+    public static final String GRAPH_QUESTIONNAIRE = "Project.questionnaire";
+    public static final String GRAPH_DETAIL = "Project.detail";
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -58,6 +91,12 @@ public class Project {
     @Enumerated(EnumType.STRING)
     private QuestionnaireActivityStatus activityStatus = QuestionnaireActivityStatus.EDITING;
 
+    /**
+     * Set once the answers and grades of the project were moved to the archive tables
+     */
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
     public UUID getId() {
         return id;
     }
@@ -121,4 +160,16 @@ public class Project {
     public void setActivityStatus(QuestionnaireActivityStatus activityStatus) {
         this.activityStatus = activityStatus;
     }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public boolean isArchived() {
+        return archivedAt != null;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -15,11 +16,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @author: Michael Holl
@@ -30,9 +35,14 @@ import jakarta.validation.constraints.Size;
  *
  */
 @Entity
+@NamedEntityGraph(name = Question.GRAPH_SUBJECTS, attributeNodes = @NamedAttributeNode("subjects"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 @Table(name = "question")
 public class Question {
 
+    public static final String GRAPH_SUBJECTS = "Question.subjects";
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -46,6 +56,7 @@ public class Question {
     private QuestionType type;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question.subjects")
     @JoinTable(
             name = "question_subject",
             joinColumns = @JoinColumn(name = "question_id"),
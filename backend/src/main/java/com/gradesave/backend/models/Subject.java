@@ -6,16 +6,20 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @author: Michael Holl
@@ -26,13 +30,21 @@ import jakarta.validation.constraints.Size;
  *
  */
 @Entity
-@Table(name = "subject")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subject")
+@Table(name = "subject", indexes = {
+        @Index(name = "idx_subject_name_id", columnList = "name, id"),
+        @Index(name = "idx_subject_short_name_id", columnList = "short_name, id")
+})
 public class Subject {
 
     @Id
     @GeneratedValue
     private UUID id;
 
+    // ddl-auto=update does not add NOT NULL to an existing column; SubjectNameBackfill names the old rows
+    @NotBlank(message = "name is required")
+    @Column(nullable = false)
     @Size(max = 100, message = "name must not exceed 100 characters")
     private String name;
 
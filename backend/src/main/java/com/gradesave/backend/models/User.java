@@ -22,9 +22,16 @@ import java.util.UUID;
 
 
 @Entity
-@Table(name = "\"user\"")
+@NamedEntityGraph(name = User.GRAPH_COURSES, attributeNodes = @NamedAttributeNode("courses"))
+// not in the second-level cache, the shared regions would hold every password hash
+@Table(name = "\"user\"", indexes = {
+        @Index(name = "idx_user_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_user_role_last_name_id", columnList = "role, last_name, id")
+})
 public class User {
 
+    public static final String GRAPH_COURSES = "User.courses";
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -59,6 +66,7 @@ public class User {
     private Set<Group> groups = new HashSet<>();
 
     @OneToMany(mappedBy = "assignedTeacher")
+    @JsonIgnore
     private List<Performance> performances;
 
     private boolean changedDefaultPassword = false;
@@ -1,9 +1,12 @@
 package com.gradesave.backend.repositories;
 
+import com.gradesave.backend.dto.report.AssessmentAverageRow;
 import com.gradesave.backend.models.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,6 +14,36 @@ public interface AnswerRepository extends JpaRepository<Answer, UUID> {
     @Query("SELECT a FROM Answer a WHERE a.author.id = ?1 AND a.projectQuestion.project.id = ?2")
     List<Answer> findByAuthorIdAndProjectId(UUID userId, UUID projectId);
 
+    @Query("SELECT DISTINCT a.projectQuestion.project.id FROM Answer a WHERE a.author.id = ?1")
+    List<UUID> findProjectIdsByAuthorId(UUID userId);
+
     @Query("SELECT a FROM Answer a WHERE a.projectQuestion.project.id = ?1")
     List<Answer> findByProjectId(UUID projectId);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.AssessmentAverageRow(
+        a.recipient.id,
+        p.id,
+        AVG(a.answerGrade),
+        AVG(CASE WHEN a.author.id = a.recipient.id THEN a.answerGrade ELSE NULL END),
+        AVG(CASE WHEN a.author.id <> a.recipient.id THEN a.answerGrade ELSE NULL END))
+    FROM Answer a
+    JOIN a.projectQuestion pq
+    JOIN pq.project p
+    JOIN pq.question q
+    WHERE p.course.id = :courseId
+        AND q.type = com.gradesave.backend.models.QuestionType.GRADE
+        AND a.answerGrade IS NOT NULL
+        AND a.answerGrade <> :noGradeSelected
+    GROUP BY a.recipient.id, p.id
+    """)
+    List<AssessmentAverageRow> findAssessmentAveragesByCourseId(UUID courseId, int noGradeSelected);
+
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.projectQuestion.id IN (SELECT pq.id FROM ProjectQuestion pq WHERE pq.project.id = ?1)")
+    int deleteByProjectId(UUID projectId);
+
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.author.id IN :userIds OR a.recipient.id IN :userIds")
+    int deleteByAuthorOrRecipientIdIn(Collection<UUID> userIds);
 }
@@ -0,0 +1,58 @@
+package com.gradesave.backend.repositories;
+
+import com.gradesave.backend.dto.report.AssessmentAverageRow;
+import com.gradesave.backend.models.ArchivedAnswer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read access to the answers of archived projects, mirrors the project queries of {@link AnswerRepository}
+ */
+@Repository
+public interface ArchivedAnswerRepository extends JpaRepository<ArchivedAnswer, UUID> {
+    boolean existsByAuthorIdAndProjectId(UUID userId, UUID projectId);
+
+    @Query("SELECT DISTINCT a.project.id FROM ArchivedAnswer a WHERE a.author.id = ?1")
+    List<UUID> findProjectIdsByAuthorId(UUID userId);
+
+    @Query("SELECT a FROM ArchivedAnswer a WHERE a.project.id = ?1")
+    List<ArchivedAnswer> findByProjectId(UUID projectId);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.AssessmentAverageRow(
+        a.recipient.id,
+        p.id,
+        AVG(a.answerGrade),
+        AVG(CASE WHEN a.author.id = a.recipient.id THEN a.answerGrade ELSE NULL END),
+        AVG(CASE WHEN a.author.id <> a.recipient.id THEN a.answerGrade ELSE NULL END))
+    FROM ArchivedAnswer a
+    JOIN a.project p
+    JOIN a.projectQuestion pq
+    JOIN pq.question q
+    WHERE p.course.id = :courseId
+        AND q.type = com.gradesave.backend.models.QuestionType.GRADE
+        AND a.answerGrade IS NOT NULL
+        AND a.answerGrade <> :noGradeSelected
+    GROUP BY a.recipient.id, p.id
+    """)
+    List<AssessmentAverageRow> findAssessmentAveragesByCourseId(UUID courseId, int noGradeSelected);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "answer_archive"))
+    @Query(value = """
+    INSERT INTO answer_archive (id, project_id, project_question_id, author_id, recipient_id, answer_grade, answer_text)
+    SELECT a.id, pq.project_id, a.project_question_id, a.author_id, a.recipient_id, a.answer_grade, a.answer_text
+    FROM answer a
+    JOIN project_question pq ON pq.id = a.project_question_id
+    WHERE pq.project_id = :projectId
+    """, nativeQuery = true)
+    int copyFromProject(UUID projectId);
+}
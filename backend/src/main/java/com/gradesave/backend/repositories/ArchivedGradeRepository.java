@@ -0,0 +1,51 @@
+package com.gradesave.backend.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.gradesave.backend.dto.report.ReportCardGradeRow;
+import com.gradesave.backend.models.ArchivedGrade;
+
+/**
+ * <p>
+ * Read access to the grades of archived projects, mirrors the project queries of {@link GradeRepository}
+ * </p>
+ *
+ *
+ **/
+
+@Repository
+public interface ArchivedGradeRepository extends JpaRepository<ArchivedGrade, UUID> {
+    @Query("SELECT g FROM ArchivedGrade g WHERE g.project.id = ?1")
+    List<ArchivedGrade> findByProjectId(UUID projectId);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.ReportCardGradeRow(g.student.id, p.id, gps.id, g.grade)
+    FROM ArchivedGrade g
+    LEFT JOIN g.performance p
+    LEFT JOIN g.projectSubject gps
+    WHERE g.project.course.id = :courseId
+    """)
+    List<ReportCardGradeRow> findReportCardRowsByCourseId(UUID courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "grade_archive"))
+    @Query(value = """
+    INSERT INTO grade_archive (id, project_id, performance_id, project_subject_id, grade, student_id)
+    SELECT g.id, :projectId, g.performance_id, g.project_subject_id, g.grade, g.student_id
+    FROM grade g
+    LEFT JOIN performance p ON p.id = g.performance_id
+    LEFT JOIN project_subject ps ON ps.id = p.project_subject_id
+    LEFT JOIN project_subject gps ON gps.id = g.project_subject_id
+    WHERE ps.project_id = :projectId OR gps.project_id = :projectId
+    """, nativeQuery = true)
+    int copyFromProject(UUID projectId);
+}
@@ -0,0 +1,30 @@
+package com.gradesave.backend.repositories;
+
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the logged in user that is kept in the security
+ * context instead of the entity. {@code loadedAt} is used to detect snapshots
+ * that were taken before the user was changed.
+ */
+public record AuthenticatedUser(
+        UUID id,
+        String username,
+        Role role,
+        boolean changedDefaultPassword,
+        long loadedAt
+) implements Serializable {
+
+    public static AuthenticatedUser fromEntity(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                user.getChangedDefaultPassword(),
+                System.currentTimeMillis());
+    }
+}
@@ -1,9 +1,19 @@
 package com.gradesave.backend.repositories;
 
+import com.gradesave.backend.dto.course.CourseMemberRow;
+import com.gradesave.backend.dto.course.NavigationRow;
 import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,12 +30,89 @@ import org.springframework.stereotype.Repository;
 
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, UUID> {
+public interface CourseRepository extends JpaRepository<Course, UUID>, JpaSpecificationExecutor<Course> {
     Optional<Course> findByCourseName(String courseName);
 
+    @EntityGraph(Course.GRAPH_USERS)
+    Optional<Course> findWithUsersById(UUID id);
+
     @Query("select c from Course c join c.users u where u.id = ?1")
     List<Course> findAllByUserId(UUID userId);
 
+    @Query("select new com.gradesave.backend.dto.course.CourseMemberRow(c.id, u.id) from Course c join c.users u")
+    List<CourseMemberRow> findAllMemberRows();
+
+    @Query("select new com.gradesave.backend.dto.course.CourseMemberRow(c.id, u.id) from Course c join c.users u where c.id in ?1")
+    List<CourseMemberRow> findMemberRowsByCourseIdIn(Collection<UUID> courseIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_membership"))
+    @Query(value = """
+    INSERT INTO course_membership (course_id, user_id)
+    SELECT :courseId, u.id FROM "user" u
+    WHERE u.id IN (:userIds)
+        AND u.role IN (:roles)
+        AND NOT EXISTS (SELECT 1 FROM course_membership m WHERE m.course_id = :courseId AND m.user_id = u.id)
+    """, nativeQuery = true)
+    int insertMembers(UUID courseId, Collection<UUID> userIds, Collection<String> roles);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_membership"))
+    @Query(value = """
+    DELETE FROM course_membership
+    WHERE course_id = :courseId
+        AND user_id IN (:userIds)
+        AND user_id IN (SELECT u.id FROM "user" u WHERE u.role IN (:roles))
+    """, nativeQuery = true)
+    int deleteMembers(UUID courseId, Collection<UUID> userIds, Collection<String> roles);
+
+    @Query("select u.id from Course c join c.users u where c.id = ?1")
+    List<UUID> findMemberIds(UUID courseId);
+
+    @Query("select u.id from Course c join c.users u where c.id = ?1 and u.role = ?2 and u.id in ?3")
+    List<UUID> findMemberIdsByRoleAndIdIn(UUID courseId, Role role, Collection<UUID> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_membership"))
+    @Query(value = "DELETE FROM course_membership WHERE user_id IN (?1)", nativeQuery = true)
+    int deleteMembershipsByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying
+    @Query("update Course c set c.classTeacher = null where c.classTeacher.id in ?1")
+    int clearClassTeacherByIdIn(Collection<UUID> userIds);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.course.NavigationRow(
+        c.id, c.courseName, ct.id, p.id, p.name, p.projectStart, g.id, g.name)
+    FROM Course c
+    LEFT JOIN c.classTeacher ct
+    LEFT JOIN c.projects p
+    LEFT JOIN p.groups g
+    ORDER BY c.courseName, c.id, p.projectStart, p.name, p.id, g.name
+    """)
+    List<NavigationRow> findNavigationRows();
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.course.NavigationRow(
+        c.id, c.courseName, ct.id, p.id, p.name, p.projectStart, g.id, g.name)
+    FROM Course c
+    LEFT JOIN c.classTeacher ct
+    LEFT JOIN c.projects p
+    LEFT JOIN p.groups g
+    WHERE c.id IN (SELECT m.id FROM Course m JOIN m.users u WHERE u.id = :userId)
+    ORDER BY c.courseName, c.id, p.projectStart, p.name, p.id, g.name
+    """)
+    List<NavigationRow> findNavigationRowsByUserId(UUID userId);
+
     @Query("SELECT c FROM Course c WHERE c.id = ?1")
     Optional<Course> findByIdTest(UUID uuid);
+
+    @Query("""
+    SELECT COUNT(c) > 0
+    FROM Course c
+    WHERE c.id = :courseId
+    AND (c.classTeacher.id = :userId
+         OR :userId IN (SELECT u.id FROM Course m JOIN m.users u WHERE m.id = :courseId))
+    """)
+    boolean existsMemberOrClassTeacher(UUID courseId, UUID userId);
 }
@@ -1,6 +1,7 @@
 package com.gradesave.backend.repositories;
 
 import com.gradesave.backend.models.User;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,28 +9,44 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.Collections;
 
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, CredentialsContainer {
 
-    private final User user;
+    private final AuthenticatedUser user;
+    private String password;
 
     public CustomUserDetails(User user) {
+        this.user = AuthenticatedUser.fromEntity(user);
+        this.password = user.getPassword();
+    }
+
+    public CustomUserDetails(AuthenticatedUser user) {
         this.user = user;
+        this.password = null;
+    }
+
+    public AuthenticatedUser getUser() {
+        return user;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+                new SimpleGrantedAuthority("ROLE_" + user.role().name()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return user.username();
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
     }
 
     @Override
@@ -1,12 +1,15 @@
 package com.gradesave.backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.gradesave.backend.dto.report.ReportCardGradeRow;
 import com.gradesave.backend.models.Grade;
 
 /**
@@ -44,4 +47,40 @@ public interface GradeRepository extends JpaRepository<Grade, UUID> {
     Grade findByStudentIdAndPerformanceIdOrProjectSubjectId(UUID studentId, UUID performanceId, UUID projectSubjectId);
 
     Grade findByPerformanceIdAndStudentId(UUID performanceId, UUID studentId);
+
+    @Query("""
+    SELECT g
+    FROM Grade g
+    LEFT JOIN g.performance p
+    LEFT JOIN g.projectSubject gps
+    WHERE g.student.id IN :studentIds
+        AND (p.id IN :performanceIds OR (p IS NULL AND gps.id IN :projectSubjectIds))
+    """)
+    List<Grade> findByStudentIdInAndPerformanceIdInOrProjectSubjectIdIn(Collection<UUID> studentIds,
+                                                                       Collection<UUID> performanceIds,
+                                                                       Collection<UUID> projectSubjectIds);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.ReportCardGradeRow(g.student.id, p.id, gps.id, g.grade)
+    FROM Grade g
+    LEFT JOIN g.performance p
+    LEFT JOIN p.projectSubject ps
+    LEFT JOIN ps.project pp
+    LEFT JOIN g.projectSubject gps
+    LEFT JOIN gps.project gp
+    WHERE pp.course.id = :courseId OR gp.course.id = :courseId
+    """)
+    List<ReportCardGradeRow> findReportCardRowsByCourseId(UUID courseId);
+
+    @Modifying
+    @Query("""
+    DELETE FROM Grade g
+    WHERE g.performance.id IN (SELECT p.id FROM Performance p WHERE p.projectSubject.project.id = :projectId)
+        OR g.projectSubject.id IN (SELECT ps.id FROM ProjectSubject ps WHERE ps.project.id = :projectId)
+    """)
+    int deleteByProjectId(UUID projectId);
+
+    @Modifying
+    @Query("DELETE FROM Grade g WHERE g.student.id IN :studentIds")
+    int deleteByStudentIdIn(Collection<UUID> studentIds);
 }
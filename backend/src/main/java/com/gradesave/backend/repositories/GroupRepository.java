@@ -1,12 +1,21 @@
 package com.gradesave.backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import com.gradesave.backend.dto.group.GroupMemberRow;
 import com.gradesave.backend.models.Group;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * @author: Paul Geisthardt
@@ -19,6 +28,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface GroupRepository extends JpaRepository<Group, UUID> {
 
+    @EntityGraph(Group.GRAPH_USERS)
+    Optional<Group> findWithUsersById(UUID id);
+
     @Query("""
         SELECT CASE WHEN COUNT(g) > 0 THEN TRUE ELSE FALSE END
         FROM Group g
@@ -30,5 +42,68 @@ public interface GroupRepository extends JpaRepository<Group, UUID> {
 
     List<Group> findAllByProjectId(UUID projectId);
 
+    @Query("select g.id from Group g where g.project.id = ?1")
+    List<UUID> findIdsByProjectId(UUID projectId);
+
     List<Group> findByProjectId(UUID projectId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = "DELETE FROM group_membership WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteMembershipsByUserIdIn(Collection<UUID> userIds);
+
+    @Query("select new com.gradesave.backend.dto.group.GroupMemberRow(g.id, u.id) from Group g join g.users u where g.project.id = ?1")
+    List<GroupMemberRow> findMemberRowsByProjectId(UUID projectId);
+
+    @Query("""
+        SELECT new com.gradesave.backend.dto.group.GroupMemberRow(g.id, u.id)
+        FROM Group g
+        JOIN g.users u
+        WHERE g.project.course.id = ?1
+            AND g.project.id <> ?2
+    """)
+    List<GroupMemberRow> findMemberRowsOfOtherProjects(UUID courseId, UUID projectId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = """
+    INSERT INTO group_membership (group_id, user_id, project_id)
+    SELECT g.id, u.id, g.project_id FROM "group" g, "user" u
+    WHERE g.id = :groupId AND u.id IN (:userIds)
+    """, nativeQuery = true)
+    int insertMembers(UUID groupId, Collection<UUID> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = "DELETE FROM group_membership WHERE group_id = :groupId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteMembers(UUID groupId, Collection<UUID> userIds);
+
+    /**
+     * A student has at most one membership per project, so the user ids are enough to find the rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = "DELETE FROM group_membership WHERE project_id = :projectId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteProjectMembers(UUID projectId, Collection<UUID> userIds);
+
+    /**
+     * Fills in the project of membership rows written before the column existed
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = """
+    UPDATE group_membership SET project_id = (SELECT g.project_id FROM "group" g WHERE g.id = group_membership.group_id)
+    WHERE project_id IS NULL
+    """, nativeQuery = true)
+    int fillMissingProjectIds();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "group_membership"))
+    @Query(value = "DELETE FROM group_membership WHERE group_id IN (:groupIds)", nativeQuery = true)
+    int deleteMembershipsByGroupIdIn(Collection<UUID> groupIds);
+
+    @Modifying
+    @Query("delete from Group g where g.id in ?1")
+    int deleteByIdIn(Collection<UUID> ids);
 }
@@ -0,0 +1,37 @@
+package com.gradesave.backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * <p>
+ *   Dialect specific pieces of native SQL for the custom repository fragments
+ * </p>
+ *
+ **/
+final class NativeSql {
+
+    private NativeSql() {
+    }
+
+    /**
+     * SQL expression generating a random UUID. INSERT … SELECT statements bypass
+     * the id generator of Hibernate, so they have to create the ids themselves.
+     */
+    static String uuidFunction(EntityManager entityManager) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+
+        if (dialect instanceof PostgreSQLDialect)
+            return "gen_random_uuid()";
+        if (dialect instanceof H2Dialect)
+            return "RANDOM_UUID()";
+
+        throw new IllegalStateException("No UUID function known for " + dialect.getClass().getSimpleName());
+    }
+}
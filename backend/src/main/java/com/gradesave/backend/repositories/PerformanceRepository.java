@@ -1,10 +1,13 @@
 package com.gradesave.backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.gradesave.backend.dto.report.ReportCardPerformanceRow;
 import com.gradesave.backend.models.Performance;
 import org.springframework.stereotype.Repository;
 
@@ -21,4 +24,18 @@ import org.springframework.stereotype.Repository;
 public interface PerformanceRepository extends JpaRepository<Performance, UUID> {
     List<Performance> findByProjectSubject_Subject_Id(UUID subjectId);
     List<Performance> findByProjectSubjectId(UUID projectSubjectId);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.ReportCardPerformanceRow(
+        pf.id, ps.id, pf.name, pf.shortName, pf.weight)
+    FROM Performance pf
+    JOIN pf.projectSubject ps
+    JOIN ps.project p
+    WHERE p.course.id = :courseId
+    ORDER BY pf.name
+    """)
+    List<ReportCardPerformanceRow> findReportCardRowsByCourseId(UUID courseId);
+
+    @Query("SELECT COUNT(pf) FROM Performance pf WHERE pf.assignedTeacher.id IN :teacherIds")
+    long countByAssignedTeacherIdIn(Collection<UUID> teacherIds);
 }
@@ -0,0 +1,54 @@
+package com.gradesave.backend.repositories;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ *   Copies the structure of a project into another, already persisted project
+ *   with one INSERT … SELECT statement per table
+ * </p>
+ *
+ **/
+public interface ProjectCloneRepository {
+
+    /**
+     * Copies the subjects with their durations
+     *
+     * @return number of copied rows
+     */
+    int copySubjects(UUID sourceProjectId, UUID targetProjectId);
+
+    /**
+     * Copies the performances with weights and assigned teachers. Has to run after
+     * {@link #copySubjects}, a project has every subject at most once, so the
+     * copied project subject is found by its subject. A teacher who is no member
+     * of the target course is replaced by its class teacher; only a course without
+     * class teacher keeps the teacher of the source.
+     *
+     * @return number of copied rows
+     */
+    int copyPerformances(UUID sourceProjectId, UUID targetProjectId);
+
+    /**
+     * Copies the questionnaire links
+     *
+     * @return number of copied rows
+     */
+    int copyQuestions(UUID sourceProjectId, UUID targetProjectId);
+
+    /**
+     * Copies the groups by name
+     *
+     * @return number of copied rows
+     */
+    int copyGroups(UUID sourceProjectId, UUID targetProjectId);
+
+    /**
+     * Copies the group memberships of all students that are members of the target
+     * course. Has to run after {@link #copyGroups}, the copied group is found by
+     * its name.
+     *
+     * @return number of copied rows
+     */
+    int copyGroupMemberships(UUID sourceProjectId, UUID targetProjectId, UUID targetCourseId);
+}
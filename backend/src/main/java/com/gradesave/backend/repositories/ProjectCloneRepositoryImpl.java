@@ -0,0 +1,99 @@
+package com.gradesave.backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.UUID;
+
+/**
+ * @see ProjectCloneRepository
+ */
+public class ProjectCloneRepositoryImpl implements ProjectCloneRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String uuidFunction;
+
+    @Override
+    public int copySubjects(UUID sourceProjectId, UUID targetProjectId) {
+        return execute("project_subject", """
+            INSERT INTO project_subject (id, project_id, subject_id, duration)
+            SELECT %s, :target, ps.subject_id, ps.duration
+            FROM project_subject ps
+            WHERE ps.project_id = :source
+            """, sourceProjectId, targetProjectId);
+    }
+
+    @Override
+    public int copyPerformances(UUID sourceProjectId, UUID targetProjectId) {
+        return execute("performance", """
+            INSERT INTO performance (id, name, short_name, weight, assigned_teacher_id, project_subject_id)
+            SELECT %s, p.name, p.short_name, p.weight,
+                COALESCE(cm.user_id, c.class_teacher_id, p.assigned_teacher_id), tps.id
+            FROM performance p
+            JOIN project_subject sps ON sps.id = p.project_subject_id
+            JOIN project_subject tps ON tps.subject_id = sps.subject_id AND tps.project_id = :target
+            JOIN project tp ON tp.id = :target
+            JOIN course c ON c.id = tp.course_id
+            LEFT JOIN course_membership cm ON cm.user_id = p.assigned_teacher_id AND cm.course_id = c.id
+            WHERE sps.project_id = :source
+            """, sourceProjectId, targetProjectId);
+    }
+
+    @Override
+    public int copyQuestions(UUID sourceProjectId, UUID targetProjectId) {
+        return execute("project_question", """
+            INSERT INTO project_question (id, project_id, question_id)
+            SELECT %s, :target, pq.question_id
+            FROM project_question pq
+            WHERE pq.project_id = :source
+            """, sourceProjectId, targetProjectId);
+    }
+
+    @Override
+    public int copyGroups(UUID sourceProjectId, UUID targetProjectId) {
+        return execute("group", """
+            INSERT INTO "group" (id, project_id, name)
+            SELECT %s, :target, g.name
+            FROM "group" g
+            WHERE g.project_id = :source
+            """, sourceProjectId, targetProjectId);
+    }
+
+    @Override
+    public int copyGroupMemberships(UUID sourceProjectId, UUID targetProjectId, UUID targetCourseId) {
+        // DISTINCT, groups with the same name end up with the union of their members
+        return entityManager.createNativeQuery("""
+            INSERT INTO group_membership (group_id, user_id, project_id)
+            SELECT DISTINCT tg.id, m.user_id, tg.project_id
+            FROM group_membership m
+            JOIN "group" sg ON sg.id = m.group_id
+            JOIN "group" tg ON tg.name = sg.name AND tg.project_id = :target
+            JOIN "user" u ON u.id = m.user_id
+            JOIN course_membership cm ON cm.user_id = m.user_id AND cm.course_id = :course
+            WHERE sg.project_id = :source
+                AND u.role = 'STUDENT'
+            """)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "group_membership")
+                .setParameter("source", sourceProjectId)
+                .setParameter("target", targetProjectId)
+                .setParameter("course", targetCourseId)
+                .executeUpdate();
+    }
+
+    private int execute(String table, String sql, UUID sourceProjectId, UUID targetProjectId) {
+        return entityManager.createNativeQuery(sql.formatted(uuidFunction()))
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, table)
+                .setParameter("source", sourceProjectId)
+                .setParameter("target", targetProjectId)
+                .executeUpdate();
+    }
+
+    private String uuidFunction() {
+        if (uuidFunction == null)
+            uuidFunction = NativeSql.uuidFunction(entityManager);
+        return uuidFunction;
+    }
+}
@@ -0,0 +1,35 @@
+package com.gradesave.backend.repositories;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ *   Keeps the questionnaire of projects in line with the questions of their
+ *   subjects, each change is a single INSERT … SELECT or DELETE statement
+ * </p>
+ *
+ **/
+public interface ProjectQuestionLinkRepository {
+
+    /**
+     * Links a question to every project in EDITING that has one of its subjects
+     * and does not contain the question yet
+     *
+     * @return number of linked projects
+     */
+    int linkToEditingProjects(UUID questionId);
+
+    /**
+     * Links the questions of a subject the project does not contain yet
+     *
+     * @return number of linked questions
+     */
+    int linkSubjectQuestions(UUID projectId, UUID subjectId);
+
+    /**
+     * Unlinks the questions of a subject that no other subject of the project uses
+     *
+     * @return number of unlinked questions
+     */
+    int unlinkSubjectQuestions(UUID projectId, UUID subjectId);
+}
@@ -0,0 +1,82 @@
+package com.gradesave.backend.repositories;
+
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.UUID;
+
+/**
+ * @see ProjectQuestionLinkRepository
+ */
+public class ProjectQuestionLinkRepositoryImpl implements ProjectQuestionLinkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String uuidFunction;
+
+    @Override
+    public int linkToEditingProjects(UUID questionId) {
+        return entityManager.createNativeQuery("""
+            INSERT INTO project_question (id, project_id, question_id)
+            SELECT %s, p.id, :question
+            FROM project p
+            WHERE p.activity_status = :status
+                AND EXISTS (
+                    SELECT 1 FROM project_subject ps
+                    JOIN question_subject qs ON qs.subject_id = ps.subject_id
+                    WHERE ps.project_id = p.id AND qs.question_id = :question)
+                AND NOT EXISTS (
+                    SELECT 1 FROM project_question pq
+                    WHERE pq.project_id = p.id AND pq.question_id = :question)
+            """.formatted(uuidFunction()))
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "project_question")
+                .setParameter("question", questionId)
+                .setParameter("status", QuestionnaireActivityStatus.EDITING.name())
+                .executeUpdate();
+    }
+
+    @Override
+    public int linkSubjectQuestions(UUID projectId, UUID subjectId) {
+        return entityManager.createNativeQuery("""
+            INSERT INTO project_question (id, project_id, question_id)
+            SELECT %s, :project, qs.question_id
+            FROM question_subject qs
+            WHERE qs.subject_id = :subject
+                AND NOT EXISTS (
+                    SELECT 1 FROM project_question pq
+                    WHERE pq.project_id = :project AND pq.question_id = qs.question_id)
+            """.formatted(uuidFunction()))
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "project_question")
+                .setParameter("project", projectId)
+                .setParameter("subject", subjectId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int unlinkSubjectQuestions(UUID projectId, UUID subjectId) {
+        return entityManager.createNativeQuery("""
+            DELETE FROM project_question
+            WHERE project_id = :project
+                AND question_id IN (
+                    SELECT qs.question_id FROM question_subject qs
+                    WHERE qs.subject_id = :subject)
+                AND question_id NOT IN (
+                    SELECT qs.question_id FROM question_subject qs
+                    JOIN project_subject ps ON ps.subject_id = qs.subject_id
+                    WHERE ps.project_id = :project AND ps.subject_id <> :subject)
+            """)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "project_question")
+                .setParameter("project", projectId)
+                .setParameter("subject", subjectId)
+                .executeUpdate();
+    }
+
+    private String uuidFunction() {
+        if (uuidFunction == null)
+            uuidFunction = NativeSql.uuidFunction(entityManager);
+        return uuidFunction;
+    }
+}
@@ -1,12 +1,17 @@
 package com.gradesave.backend.repositories;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.gradesave.backend.models.ProjectQuestion;
 
 @Repository
-public interface ProjectQuestionRepository extends JpaRepository<ProjectQuestion, UUID> {
+public interface ProjectQuestionRepository extends JpaRepository<ProjectQuestion, UUID>, ProjectQuestionLinkRepository {
+
+    @Query("select pq from ProjectQuestion pq join fetch pq.question where pq.project.id = ?1")
+    List<ProjectQuestion> findWithQuestionByProjectId(UUID projectId);
 }
@@ -1,11 +1,16 @@
 package com.gradesave.backend.repositories;
 
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
 
-import com.gradesave.backend.models.Grade;
+import com.gradesave.backend.dto.project.ProjectSummaryRow;
+import com.gradesave.backend.dto.report.ReportCardProjectRow;
 import com.gradesave.backend.models.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -18,7 +23,54 @@ import org.springframework.stereotype.Repository;
  *
  */
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, UUID> {
+public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project>, ProjectCloneRepository {
+
+    /**
+     * Project summary with all counts as correlated subqueries, so no collection is loaded
+     */
+    String SUMMARY_SELECT = """
+        SELECT new com.gradesave.backend.dto.project.ProjectSummaryRow(
+            p.id, p.name, p.projectStart, p.activityStatus,
+            c.id, c.courseName, t.id, t.firstName, t.lastName,
+            (SELECT COUNT(g) FROM Group g WHERE g.project = p),
+            (SELECT COUNT(s) FROM Course sc JOIN sc.users s
+                WHERE sc = c AND s.role = com.gradesave.backend.models.Role.STUDENT),
+            (SELECT COUNT(DISTINCT m.id) FROM Group mg JOIN mg.users m
+                WHERE mg.project = p AND m.role = com.gradesave.backend.models.Role.STUDENT),
+            (SELECT COUNT(pq) FROM ProjectQuestion pq WHERE pq.project = p),
+            (SELECT COUNT(DISTINCT a.author.id) FROM Answer a
+                WHERE a.projectQuestion.project = p
+                    AND a.author.role = com.gradesave.backend.models.Role.STUDENT
+                    AND EXISTS (SELECT 1 FROM Course ac JOIN ac.users au WHERE ac = c AND au = a.author))
+            + (SELECT COUNT(DISTINCT aa.author.id) FROM ArchivedAnswer aa
+                WHERE aa.project = p
+                    AND aa.author.role = com.gradesave.backend.models.Role.STUDENT
+                    AND EXISTS (SELECT 1 FROM Course ac JOIN ac.users au WHERE ac = c AND au = aa.author)))
+        FROM Project p
+        JOIN p.course c
+        LEFT JOIN c.classTeacher t
+        """;
+
+    boolean existsByIdAndArchivedAtIsNotNull(UUID id);
+
+    @EntityGraph(Project.GRAPH_GROUPS)
+    Optional<Project> findWithGroupsById(UUID id);
+
+    @EntityGraph(Project.GRAPH_QUESTIONNAIRE)
+    Optional<Project> findWithQuestionnaireById(UUID id);
+
+    @EntityGraph(Project.GRAPH_DETAIL)
+    Optional<Project> findDetailById(UUID id);
+
+    @Query(SUMMARY_SELECT + " ORDER BY c.courseName, p.projectStart, p.name")
+    List<ProjectSummaryRow> findSummaryRows();
+
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :projectIds")
+    List<ProjectSummaryRow> findSummaryRowsByIdIn(Collection<UUID> projectIds);
+
+    @Query(SUMMARY_SELECT + " WHERE c.id IN :courseIds ORDER BY p.projectStart, p.name")
+    List<ProjectSummaryRow> findSummaryRowsByCourseIdIn(Collection<UUID> courseIds);
+
     @Query("""
         SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END
         FROM Project p
@@ -30,4 +82,12 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     boolean existsUserInProject(UUID userId, UUID projectId);
 
     List<Project> findByCourseId(UUID courseId);
+
+    @Query("""
+        SELECT new com.gradesave.backend.dto.report.ReportCardProjectRow(p.id, p.name, p.projectStart)
+        FROM Project p
+        WHERE p.course.id = :courseId
+        ORDER BY p.projectStart, p.name
+    """)
+    List<ReportCardProjectRow> findReportCardRowsByCourseId(UUID courseId);
 }
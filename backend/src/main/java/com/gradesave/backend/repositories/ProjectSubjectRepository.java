@@ -1,10 +1,13 @@
 package com.gradesave.backend.repositories;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import com.gradesave.backend.dto.report.ReportCardSubjectRow;
 import com.gradesave.backend.models.ProjectSubject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,4 +21,19 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ProjectSubjectRepository extends JpaRepository<ProjectSubject, UUID> {
     List<ProjectSubject> findByProjectId(UUID projectId);
+
+    boolean existsByProjectIdAndSubjectId(UUID projectId, UUID subjectId);
+
+    Optional<ProjectSubject> findByProjectIdAndSubjectId(UUID projectId, UUID subjectId);
+
+    @Query("""
+    SELECT new com.gradesave.backend.dto.report.ReportCardSubjectRow(
+        ps.id, p.id, s.name, s.shortName, s.learningField, ps.duration)
+    FROM ProjectSubject ps
+    JOIN ps.project p
+    JOIN ps.subject s
+    WHERE p.course.id = :courseId
+    ORDER BY s.learningField, s.name
+    """)
+    List<ReportCardSubjectRow> findReportCardRowsByCourseId(UUID courseId);
 }
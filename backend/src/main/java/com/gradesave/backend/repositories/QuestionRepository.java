@@ -1,7 +1,9 @@
 package com.gradesave.backend.repositories;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,4 +20,10 @@ import com.gradesave.backend.models.Question;
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, UUID> {
 
+    /**
+     * Questions are serialized with their subjects, so these are fetched in the same query
+     */
+    @Override
+    @EntityGraph(Question.GRAPH_SUBJECTS)
+    List<Question> findAll();
 }
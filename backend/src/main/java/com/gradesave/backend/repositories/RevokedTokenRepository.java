@@ -0,0 +1,23 @@
+package com.gradesave.backend.repositories;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.gradesave.backend.models.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * <p>
+ * Handles database requests for revoked session tokens
+ * </p>
+ **/
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
@@ -4,7 +4,11 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.gradesave.backend.models.Subject;
 
@@ -17,6 +21,14 @@ import com.gradesave.backend.models.Subject;
  *
  */
 @Repository
-public interface SubjectRepository extends JpaRepository<Subject, UUID> {
+public interface SubjectRepository extends JpaRepository<Subject, UUID>, JpaSpecificationExecutor<Subject> {
     List<Subject> findByProjectSubjects_Project_Id(UUID projectId);
+
+    /**
+     * Names the subjects stored before a name was required after their short name
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Subject s SET s.name = COALESCE(s.shortName, 'Unnamed subject') WHERE s.name IS NULL")
+    int fillMissingNames();
 }
@@ -1,9 +1,14 @@
 package com.gradesave.backend.repositories;
 
+import com.gradesave.backend.dto.user.UserSearchRow;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 
 import java.util.Optional;
@@ -18,12 +23,19 @@ import java.util.UUID;
  *
  */
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
     @Query("select u from User u where u.username = ?1")
     Optional<User> findByUsername(String username);
 
+    @EntityGraph(User.GRAPH_COURSES)
+    Optional<User> findWithCoursesById(UUID id);
+
+    @EntityGraph(User.GRAPH_COURSES)
+    Optional<User> findWithCoursesByUsername(String username);
+
     boolean existsByUsername(String username);
 
+    // no query cache on users: for an uncached entity it keeps the whole row, password hash included
     List<User> findByRole(Role role);
 
     @Query("select u from User u where u.role = com.gradesave.backend.models.Role.STUDENT and u.courses is empty")
@@ -32,4 +44,31 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findByCourses_Projects_IdAndRole(UUID projectId, Role role);
 
     List<User> findByGroups_IdAndRole(UUID groupId, Role role);
+
+    List<User> findByCourses_IdAndRoleOrderByLastNameAscFirstNameAsc(UUID courseId, Role role);
+
+    @Query("select new com.gradesave.backend.dto.user.UserSearchRow(u.id, u.username, u.firstName, u.lastName, u.role) from User u")
+    List<UserSearchRow> findAllSearchRows();
+
+    @Query("select new com.gradesave.backend.dto.user.UserSearchRow(u.id, u.username, u.firstName, u.lastName, u.role) from User u where u.id in ?1")
+    List<UserSearchRow> findSearchRowsByIdIn(Collection<UUID> ids);
+
+    @Query("""
+    SELECT u.id FROM User u
+    WHERE (:role IS NULL OR u.role = :role)
+        AND (:courseId IS NULL OR EXISTS (SELECT 1 FROM u.courses c WHERE c.id = :courseId))
+        AND (:unassigned = FALSE OR u.courses IS EMPTY)
+    """)
+    List<UUID> findIdsByFilter(Role role, UUID courseId, boolean unassigned);
+
+    @Query("select u.id from User u where u.id in ?1")
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.role = ?2 where u.id in ?1 and u.role <> ?2")
+    int updateRoleByIdIn(Collection<UUID> ids, Role role);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from User u where u.id in ?1")
+    int deleteByIdIn(Collection<UUID> ids);
 }
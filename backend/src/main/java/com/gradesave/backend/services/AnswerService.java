@@ -3,6 +3,7 @@ package com.gradesave.backend.services;
 import com.gradesave.backend.dto.project.*;
 import com.gradesave.backend.models.*;
 import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.ArchivedAnswerRepository;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,33 +17,65 @@ import java.util.stream.Collectors;
 @Transactional
 public class AnswerService {
     private static final Logger log = LoggerFactory.getLogger(AnswerService.class);
-    private static final int NO_GRADE_SELECTED = 255;
+    static final int NO_GRADE_SELECTED = 255;
 
     private final AnswerRepository answerRepository;
+    private final ArchivedAnswerRepository archivedAnswerRepository;
     private final QuestionService questionService;
     private final UserService userService;
 
-    public AnswerService(AnswerRepository answerRepository, QuestionService questionService, UserService userService) {
+    public AnswerService(AnswerRepository answerRepository, ArchivedAnswerRepository archivedAnswerRepository,
+                         QuestionService questionService, UserService userService) {
         this.answerRepository = answerRepository;
+        this.archivedAnswerRepository = archivedAnswerRepository;
         this.questionService = questionService;
         this.userService = userService;
     }
 
 
     public boolean hasUserSubmitted(Project project, User user) {
-        List<Answer> answers = answerRepository.findByAuthorIdAndProjectId(user.getId(), project.getId());
+        return hasUserSubmitted(project, user.getId());
+    }
+
+    public boolean hasUserSubmitted(Project project, UUID userId) {
+        if (project.isArchived())
+            return archivedAnswerRepository.existsByAuthorIdAndProjectId(userId, project.getId());
+
+        List<Answer> answers = answerRepository.findByAuthorIdAndProjectId(userId, project.getId());
 
         return !answers.isEmpty();
     }
 
+    /**
+     * Ids of all projects the user has answered questions for, read with one query
+     */
+    public Set<UUID> getSubmittedProjectIds(UUID userId) {
+        Set<UUID> projectIds = new HashSet<>(answerRepository.findProjectIdsByAuthorId(userId));
+        projectIds.addAll(archivedAnswerRepository.findProjectIdsByAuthorId(userId));
+        return projectIds;
+    }
+
+    /**
+     * All answers of the project, read from the archive once the project is archived
+     */
+    private List<Answer> getProjectAnswers(Project project) {
+        if (project.isArchived())
+            return archivedAnswerRepository.findByProjectId(project.getId()).stream()
+                    .map(ArchivedAnswer::toAnswer)
+                    .toList();
+
+        return answerRepository.findByProjectId(project.getId());
+    }
+
     public boolean answerQuestions(Project project, User user, @Valid ProjectQuestionAnswersDTO req) {
 
-        if (hasUserSubmitted(project, user)) {
+        if (project.isArchived() || hasUserSubmitted(project, user)) {
             return false;
         }
 
         Optional<Group> myGroupOpt = project.getGroups().stream()
-                .filter(g -> g.getUsers().contains(user)).findFirst();
+                .filter(g -> g.getUsers().stream().anyMatch(u -> u.getId().equals(user.getId())))
+                .findFirst();
 
         if (myGroupOpt.isEmpty()) {
             return false;
@@ -113,7 +146,7 @@ public class AnswerService {
     }
 
     public DetailedProjectQuestionAnswersDTO getDetailedAnswersForGroup(Project project, Group group) {
-        List<Answer> projectAnswers = answerRepository.findByProjectId(project.getId());
+        List<Answer> projectAnswers = getProjectAnswers(project);
 
         Set<UUID> groupMemberIds = group.getUsers().stream()
                 .map(User::getId)
@@ -188,7 +221,7 @@ public class AnswerService {
     }
 
     public ProjectGradeAveragesDTO getGradeAveragesForProject(Project project) {
-        List<Answer> projectAnswers = answerRepository.findByProjectId(project.getId());
+        List<Answer> projectAnswers = getProjectAnswers(project);
 
         List<Answer> gradeAnswers = projectAnswers.stream()
                 .filter(a -> a.getProjectQuestion().getQuestion().getType() == QuestionType.GRADE)
@@ -252,7 +285,7 @@ public class AnswerService {
                 .map(User::getId)
                 .toList();
 
-        List<Answer> gradeAnswers = answerRepository.findByProjectId(project.getId()).stream()
+        List<Answer> gradeAnswers = getProjectAnswers(project).stream()
                 .filter(a -> a.getProjectQuestion().getQuestion().getType() == QuestionType.GRADE)
                 .filter(a -> groupMemberIds.contains(a.getRecipient().getId()))
                 .toList();
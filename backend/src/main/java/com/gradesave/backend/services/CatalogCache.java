@@ -0,0 +1,82 @@
+package com.gradesave.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gradesave.backend.events.CatalogChangedEvent;
+import com.gradesave.backend.models.Question;
+import com.gradesave.backend.models.Subject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *   Application-wide cache of the subject and question catalogue, read on
+ *   almost every teacher page but changed a few times per term. Every load
+ *   gets a new ETag, so clients can revalidate without a query or payload.
+ *   Entries are dropped after commit when a subject or question changes and
+ *   expire after a while as a safety net for writes outside the services.
+ * </p>
+ *
+ **/
+@Component
+public class CatalogCache {
+
+    /**
+     * An immutable list of detached entities and the ETag it is served with
+     */
+    public record Snapshot<T>(List<T> items, String etag) {
+    }
+
+    /**
+     * Browsers keep the catalogue but revalidate it on every use
+     */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private enum Kind {
+        SUBJECTS, QUESTIONS
+    }
+
+    // ETags of an earlier process must not match, the generation starts at zero again
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Cache<Kind, Snapshot<?>> cache;
+
+    public CatalogCache(@Value("${app.catalog.cache-ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(Kind.values().length)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public Snapshot<Subject> getSubjects(Supplier<List<Subject>> loader) {
+        return (Snapshot<Subject>) cache.get(Kind.SUBJECTS, kind -> snapshot(loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Snapshot<Question> getQuestions(Supplier<List<Question>> loader) {
+        return (Snapshot<Question>) cache.get(Kind.QUESTIONS, kind -> snapshot(loader));
+    }
+
+    /**
+     * Questions carry their subjects, so both lists are dropped together
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private <T> Snapshot<T> snapshot(Supplier<List<T>> loader) {
+        String etag = "\"" + instance + "-" + generation.incrementAndGet() + "\"";
+        return new Snapshot<>(List.copyOf(loader.get()), etag);
+    }
+}
@@ -2,32 +2,44 @@ package com.gradesave.backend.services;
 
 import com.gradesave.backend.dto.course.CoursePatchRequestDTO;
 import com.gradesave.backend.dto.course.CourseSelectionWithMembersDto;
+import com.gradesave.backend.dto.course.NavigationRow;
 import com.gradesave.backend.dto.group.GroupMembersDTO;
+import com.gradesave.backend.dto.page.CursorPage;
 import com.gradesave.backend.dto.project.ProjectSelectionWithMembersDto;
 import com.gradesave.backend.dto.user.StudentDTO;
 import com.gradesave.backend.dto.user.TeacherDTO;
+import com.gradesave.backend.events.CourseChangedEvent;
 import com.gradesave.backend.models.Course;
 import com.gradesave.backend.dto.course.UpdateCourseRequest;
 import com.gradesave.backend.dto.course.CourseSelectionDto;
 import com.gradesave.backend.dto.group.GroupSelectionDto;
 import com.gradesave.backend.dto.project.ProjectSelectionDto;
-import com.gradesave.backend.models.Project;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AuthenticatedUser;
 import com.gradesave.backend.repositories.CourseRepository;
-import com.gradesave.backend.repositories.GroupRepository;
-import com.gradesave.backend.repositories.ProjectRepository;
 
 import com.gradesave.backend.repositories.UserRepository;
 import jakarta.validation.Valid;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * @author: Noah Bach, Daniel Hess
@@ -42,17 +54,23 @@ import java.util.UUID;
 @Transactional
 public class CourseService {
 
+    private static final Map<String, CursorPaging.SortKey> PAGE_SORT_KEYS = Map.of(
+            "courseName", CursorPaging.SortKey.text("courseName"));
+
+    // keeps the IN lists well below the bind parameter limit of the drivers
+    private static final int MEMBERSHIP_CHUNK_SIZE = 1000;
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepo;
-    private final ProjectRepository projectRepository;
-    private final GroupRepository groupRepository;
+    private final NavigationTreeCache navigationTreeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CourseService(CourseRepository repo, UserRepository userRepo, ProjectRepository projectRepository,
-            GroupRepository groupRepository) {
+    public CourseService(CourseRepository repo, UserRepository userRepo, NavigationTreeCache navigationTreeCache,
+            ApplicationEventPublisher eventPublisher) {
         this.courseRepository = repo;
         this.userRepo = userRepo;
-        this.projectRepository = projectRepository;
-        this.groupRepository = groupRepository;
+        this.navigationTreeCache = navigationTreeCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<Course> getByIdTest(UUID id) {
@@ -60,7 +78,9 @@ public class CourseService {
     }
 
     public Course createOrUpdate(Course entity) {
-        return courseRepository.save(entity);
+        Course saved = courseRepository.save(entity);
+        eventPublisher.publishEvent(new CourseChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -68,11 +88,59 @@ public class CourseService {
         return courseRepository.findById(id);
     }
 
+    /**
+     * The course with its members, for callers that read them after the transaction
+     */
+    @Transactional(readOnly = true)
+    public Optional<Course> getWithUsers(UUID id) {
+        return courseRepository.findWithUsersById(id);
+    }
+
+    /**
+     * Those of the given ids that belong to students of the course, resolved with one query
+     */
+    public Set<UUID> getStudentIds(UUID courseId, Collection<UUID> userIds) {
+        if (userIds.isEmpty())
+            return Set.of();
+        return new HashSet<>(courseRepository.findMemberIdsByRoleAndIdIn(courseId, Role.STUDENT, userIds));
+    }
+
+    /**
+     * Whether the user may read the data of the whole course: admins always,
+     * teachers as member or class teacher of the course
+     */
+    @Transactional(readOnly = true)
+    public boolean canAccessCourse(UUID courseId, AuthenticatedUser user) {
+        if (user.role() == Role.ADMIN)
+            return true;
+        return user.role() == Role.TEACHER && courseRepository.existsMemberOrClassTeacher(courseId, user.id());
+    }
+
     @Transactional(readOnly = true)
     public List<Course> getAll() {
         return courseRepository.findAll();
     }
 
+    /**
+     * Reads one page of courses with a keyset query
+     *
+     * @param query case-insensitive prefix of the course name, optional
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> getPage(String cursor, Integer limit, String sort, String query) {
+        CursorPaging.Request request = CursorPaging.request(cursor, limit, sort, PAGE_SORT_KEYS, "courseName");
+
+        Specification<Course> spec = (root, q, cb) -> cb.conjunction();
+        if (query != null && !query.isBlank()) {
+            String pattern = CursorPaging.prefixPattern(query);
+            spec = spec.and((root, q, cb) -> cb.like(cb.lower(root.<String>get("courseName")), pattern, '\\'));
+        }
+
+        return request.toPage(courseRepository.findBy(spec, q -> q.sortBy(request.toSort())
+                .limit(request.limit())
+                .scroll(request.position())));
+    }
+
     public Course update(UUID id, UpdateCourseRequest req) {
         var existing = courseRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found: " + id));
@@ -90,7 +158,11 @@ public class CourseService {
 
         existing.setCourseName(req.courseName());
 
-        return courseRepository.save(existing);
+        Course saved = courseRepository.save(existing);
+        // the course is returned as JSON including its members
+        Hibernate.initialize(saved.getUsers());
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
+        return saved;
     }
 
     public boolean addStudent(Course course, User student) {
@@ -99,15 +171,85 @@ public class CourseService {
         if (!courseRepository.existsById(course.getId()))
             return false;
 
-        course.getUsers().add(student);
-        courseRepository.save(course);
+        addMembers(course.getId(), List.of(student.getId()));
         return true;
     }
 
+    /**
+     * Adds users to a course with one insert per chunk of ids, without loading users or the member set. Unknown
+     * users and existing members are skipped.
+     *
+     * @return number of added memberships
+     */
+    public int addMembers(UUID courseId, Collection<UUID> userIds) {
+        return addMembers(courseId, userIds, EnumSet.allOf(Role.class));
+    }
+
+    /**
+     * Adds the users with one of the given roles to a course, see {@link #addMembers(UUID, Collection)}
+     */
+    public int addMembers(UUID courseId, Collection<UUID> userIds, Collection<Role> roles) {
+        List<String> roleNames = roles.stream().map(Role::name).toList();
+        int added = 0;
+        for (List<UUID> chunk : chunks(userIds)) {
+            added += courseRepository.insertMembers(courseId, chunk, roleNames);
+        }
+        if (added > 0) {
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        }
+        return added;
+    }
+
+    /**
+     * Removes users with one of the given roles from a course with one delete per chunk of ids. Users that are not
+     * members are skipped.
+     *
+     * @return number of removed memberships
+     */
+    public int removeMembers(UUID courseId, Collection<UUID> userIds, Collection<Role> roles) {
+        List<String> roleNames = roles.stream().map(Role::name).toList();
+        int removed = 0;
+        for (List<UUID> chunk : chunks(userIds)) {
+            removed += courseRepository.deleteMembers(courseId, chunk, roleNames);
+        }
+        if (removed > 0) {
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        }
+        return removed;
+    }
+
+    public int removeMembers(UUID courseId, Collection<UUID> userIds) {
+        return removeMembers(courseId, userIds, EnumSet.allOf(Role.class));
+    }
+
+    /**
+     * Makes the given users the members of a course. Only the difference to the current member ids is written.
+     */
+    public void replaceMembers(UUID courseId, Collection<UUID> userIds) {
+        Set<UUID> wanted = new HashSet<>(userIds);
+        Set<UUID> current = new HashSet<>(courseRepository.findMemberIds(courseId));
+
+        List<UUID> toRemove = current.stream().filter(id -> !wanted.contains(id)).toList();
+        List<UUID> toAdd = wanted.stream().filter(id -> !current.contains(id)).toList();
+
+        removeMembers(courseId, toRemove);
+        addMembers(courseId, toAdd);
+    }
+
+    private static List<List<UUID>> chunks(Collection<UUID> ids) {
+        List<UUID> list = ids instanceof List<UUID> l ? l : new ArrayList<>(ids);
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += MEMBERSHIP_CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(list.size(), i + MEMBERSHIP_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
     public void deleteById(UUID id) {
         if (!courseRepository.existsById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found: " + id);
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
     public Optional<Course> getByName(String name) {
@@ -142,6 +284,7 @@ public class CourseService {
                 removed = false;
 
             courseRepository.save(course);
+            eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         }
 
         return removed;
@@ -174,57 +317,76 @@ public class CourseService {
         }
 
         courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
     }
 
+    /**
+     * Builds the course/project/group tree of the grade overview for a user. Admins see all courses, everybody else
+     * the courses they are a member of. The tree is read with one join query and cached per user.
+     */
     public List<CourseSelectionDto> findGradeOverviewOptions(UUID userId) {
+        return navigationTreeCache.get(userId, this::loadGradeOverviewOptions);
+    }
+
+    private List<CourseSelectionDto> loadGradeOverviewOptions(UUID userId) {
         User currentUser = userRepo.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + userId));
 
-        List<Course> courses;
         // admins can select all classes
-        if (currentUser.getRole() == Role.ADMIN) {
-            courses = getAll();
-        } else {
-            courses = courseRepository.findAllByUserId(currentUser.getId());
-        }
-
-        return courses.stream().map(course -> {
-
-            List<ProjectSelectionDto> projectDtos = projectRepository.findByCourseId(course.getId()).stream()
-                    .map(project -> {
-                        List<GroupSelectionDto> groupDtos = groupRepository.findByProjectId(project.getId()).stream()
-                                .map(group -> new GroupSelectionDto(
-                                        group.getId(),
-                                        group.getName()))
+        List<NavigationRow> rows = currentUser.getRole() == Role.ADMIN
+                ? courseRepository.findNavigationRows()
+                : courseRepository.findNavigationRowsByUserId(userId);
+
+        // rows are ordered by course and project, so each level can be grouped in order
+        Map<UUID, List<NavigationRow>> rowsByCourse = rows.stream()
+                .collect(Collectors.groupingBy(NavigationRow::courseId, LinkedHashMap::new, Collectors.toList()));
+
+        return rowsByCourse.values().stream().map(courseRows -> {
+            NavigationRow course = courseRows.getFirst();
+            boolean canEdit = canEditGrades(currentUser, course.classTeacherId());
+
+            List<ProjectSelectionDto> projectDtos = courseRows.stream()
+                    .filter(row -> row.projectId() != null)
+                    .collect(Collectors.groupingBy(NavigationRow::projectId, LinkedHashMap::new, Collectors.toList()))
+                    .values().stream()
+                    .map(projectRows -> {
+                        NavigationRow project = projectRows.getFirst();
+                        List<GroupSelectionDto> groupDtos = projectRows.stream()
+                                .filter(row -> row.groupId() != null)
+                                .map(row -> new GroupSelectionDto(row.groupId(), row.groupName()))
                                 .toList();
 
                         return new ProjectSelectionDto(
-                                project.getId(),
-                                project.getName(),
-                                project.getProjectStart(),
+                                project.projectId(),
+                                project.projectName(),
+                                project.projectStart(),
                                 groupDtos,
-                                canEditGrades(currentUser, project));
+                                canEdit);
                     }).toList();
 
             return new CourseSelectionDto(
-                    course.getId(),
-                    course.getCourseName(),
+                    course.courseId(),
+                    course.courseName(),
                     projectDtos);
 
         }).toList();
     }
 
-    private boolean canEditGrades(User user, Project project) {
+    private boolean canEditGrades(User user, UUID classTeacherId) {
         if (user.getRole() != Role.ADMIN && user.getRole() != Role.TEACHER)
             return false;
 
-        if (user.getRole() == Role.TEACHER && project.getCourse().getClassTeacher().getId() != user.getId())
+        if (user.getRole() == Role.TEACHER && !user.getId().equals(classTeacherId))
             return false;
 
         return true;
     }
 
     public List<Course> getAllWithUser(User user) {
-        return courseRepository.findAllByUserId(user.getId());
+        return getAllWithUser(user.getId());
+    }
+
+    public List<Course> getAllWithUser(UUID userId) {
+        return courseRepository.findAllByUserId(userId);
     }
 
     public List<TeacherDTO> getTeachers(Course course) {
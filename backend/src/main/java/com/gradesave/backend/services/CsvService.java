@@ -4,8 +4,13 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -15,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.gradesave.backend.models.Course;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
 
@@ -51,6 +57,10 @@ public class CsvService {
             CSVParser parser = format.parse(reader);
 
             Map<User, String> usersWithPasswords = new HashMap<>();
+            // course id -> new members, inserted with one statement per course after parsing
+            Map<UUID, List<UUID>> membersByCourse = new LinkedHashMap<>();
+            // class name -> course, every class is looked up once per import
+            Map<String, Optional<Course>> coursesByName = new HashMap<>();
 
             for (CSVRecord record : parser) {
                 String firstName = record.get("name");
@@ -110,24 +120,24 @@ public class CsvService {
                         String[] courseNames = className.split(",");
                         for (String courseName : courseNames) {
                             String trimmedCourseName = courseName.trim();
-                            if (!courseService.isExistedByName(trimmedCourseName)) {
+                            Optional<Course> course = findCourse(trimmedCourseName, coursesByName);
+                            if (course.isEmpty()) {
                                 log.warn("Course '{}' does not exist for user {} {}", trimmedCourseName, firstName,
                                         lastName);
                             } else {
-                                courseService.getByName(trimmedCourseName).ifPresent(course -> {
-                                    courseService.addStudent(course, savedUser);
-                                    savedUser.getCourses().add(course);
-                                });
+                                membersByCourse.computeIfAbsent(course.get().getId(), id -> new ArrayList<>())
+                                        .add(savedUser.getId());
+                                savedUser.getCourses().add(course.get());
                             }
                         }
                     } else {
-                        if (!courseService.isExistedByName(className)) {
+                        Optional<Course> course = findCourse(className.trim(), coursesByName);
+                        if (course.isEmpty()) {
                             log.warn("Course '{}' does not exist for user {} {}", className, firstName, lastName);
                         } else {
-                            courseService.getByName(className.trim()).ifPresent(course -> {
-                                courseService.addStudent(course, savedUser);
-                                savedUser.getCourses().add(course);
-                            });
+                            membersByCourse.computeIfAbsent(course.get().getId(), id -> new ArrayList<>())
+                                    .add(savedUser.getId());
+                            savedUser.getCourses().add(course.get());
                         }
                     }
                 }
@@ -136,6 +146,8 @@ public class CsvService {
 
             }
 
+            membersByCourse.forEach(courseService::addMembers);
+
             log.info("Successfully parsed {} users from CSV", usersWithPasswords.size());
 
             if (!usersWithPasswords.isEmpty()) {
@@ -151,6 +163,10 @@ public class CsvService {
         }
     }
 
+    private Optional<Course> findCourse(String name, Map<String, Optional<Course>> coursesByName) {
+        return coursesByName.computeIfAbsent(name, courseService::getByName);
+    }
+
     private String generateRandomPassword(int length) {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*";
         StringBuilder password = new StringBuilder();
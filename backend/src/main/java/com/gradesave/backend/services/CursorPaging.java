@@ -0,0 +1,153 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.page.CursorPage;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *   Shared contract of the paginated list endpoints: an opaque cursor, a
+ *   limit, a sort key out of a fixed set per endpoint (prefix "-" for
+ *   descending) and endpoint specific filters. Pages are read with keyset
+ *   queries on (sort property, id), so every page costs the same no matter
+ *   how far the client has scrolled.
+ * </p>
+ *
+ **/
+public final class CursorPaging {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String SEPARATOR = "\n";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * A sort key clients may request
+     *
+     * @param property entity property to sort by, must not be null in the table
+     * @param parser   turns the value stored in a cursor back into the property type
+     */
+    public record SortKey(String property, Function<String, Object> parser) {
+
+        public static SortKey text(String property) {
+            return new SortKey(property, value -> value);
+        }
+    }
+
+    /**
+     * A validated page request
+     */
+    public record Request(String sort, SortKey key, Sort.Direction direction, ScrollPosition position, int limit) {
+
+        public Sort toSort() {
+            return Sort.by(direction, key.property()).and(Sort.by(direction, "id"));
+        }
+
+        public <T> CursorPage<T> toPage(Window<T> window) {
+            if (!window.hasNext() || window.isEmpty()) {
+                return new CursorPage<>(window.getContent(), null, false);
+            }
+
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            Object value = last.getKeys().get(key.property());
+            Object id = last.getKeys().get("id");
+            if (value == null) {
+                // a keyset comparison with null matches no row, the next page would silently be empty
+                throw new IllegalStateException("Sort property '" + key.property() + "' is null for id " + id);
+            }
+            return new CursorPage<>(window.getContent(), encode(sort, String.valueOf(value), String.valueOf(id)), true);
+        }
+    }
+
+    private CursorPaging() {
+    }
+
+    /**
+     * Validates the page parameters of a request
+     *
+     * @param cursor      cursor of the previous page, null for the first page
+     * @param limit       requested page size, clamped to {@link #MAX_LIMIT}
+     * @param sort        requested sort key, null for the default
+     * @param keys        sort keys allowed for the endpoint
+     * @param defaultSort sort key used when none was requested
+     * @throws ResponseStatusException 400 for unknown sort keys or malformed cursors
+     */
+    public static Request request(String cursor, Integer limit, String sort, Map<String, SortKey> keys,
+                                  String defaultSort) {
+        String sortParam = sort == null || sort.isBlank() ? defaultSort : sort.trim();
+        boolean descending = sortParam.startsWith("-");
+        SortKey key = keys.get(descending ? sortParam.substring(1) : sortParam);
+        if (key == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown sort key '" + sortParam + "', allowed: " + keys.keySet());
+        }
+
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor, 3);
+            if (!parts[0].equals(sortParam)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor belongs to another sort order");
+            }
+            try {
+                position = ScrollPosition.forward(Map.of(
+                        key.property(), key.parser().apply(parts[1]),
+                        "id", UUID.fromString(parts[2])));
+            } catch (RuntimeException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        return new Request(sortParam, key, descending ? Sort.Direction.DESC : Sort.Direction.ASC, position,
+                limit(limit));
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, requested));
+    }
+
+    public static String encode(String... parts) {
+        return ENCODER.encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ResponseStatusException 400 if the cursor does not have the expected number of parts
+     */
+    public static String[] decode(String cursor, int parts) {
+        try {
+            String[] decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (decoded.length != parts) {
+                throw new IllegalArgumentException("Unexpected cursor length");
+            }
+            return decoded;
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Escapes LIKE wildcards of user input and appends the prefix wildcard.
+     * The filters compare lower(column), which the (sort property, id) indexes
+     * do not cover: they are checked against the rows the sorted index scan reads.
+     */
+    public static String prefixPattern(String query) {
+        return query.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
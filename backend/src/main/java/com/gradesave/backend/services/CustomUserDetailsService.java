@@ -4,12 +4,14 @@ import com.gradesave.backend.models.User;
 import com.gradesave.backend.repositories.CustomUserDetails;
 import com.gradesave.backend.repositories.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -24,4 +26,20 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by the authentication provider after a successful login when
+     * {@link org.springframework.security.crypto.password.PasswordEncoder#upgradeEncoding}
+     * reports the stored hash as outdated: no {bcrypt} prefix or a cost below the
+     * configured one
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+        User user = userRepository.findByUsername(details.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + details.getUsername()));
+
+        user.setPassword(newPassword);
+        return new CustomUserDetails(userRepository.save(user));
+    }
+}
@@ -0,0 +1,484 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.config.DatasetProperties;
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.models.QuestionType;
+import com.gradesave.backend.models.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * <p>
+ *   Fills an empty database with a synthetic school for load tests: students,
+ *   teachers, courses and projects with subjects, performances, groups and
+ *   questionnaires. Every questionnaire is answered by all group members and
+ *   every student is graded. Runs on startup with the {@code dataset} profile,
+ *   the size is set through {@link DatasetProperties}.
+ * </p>
+ * <p>
+ *   Ids, names and grades all come from one seeded {@link Random}, so the same
+ *   seed gives the same school. The rows are written with JDBC batches in one
+ *   transaction, past Hibernate. A database that already has projects, courses,
+ *   subjects or questions is left alone. Existing users are kept and their
+ *   usernames are skipped.
+ * </p>
+ *
+ **/
+@Component
+@Profile(DatasetGenerator.PROFILE)
+public class DatasetGenerator implements CommandLineRunner {
+
+    public static final String PROFILE = "dataset";
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    // the generator only writes when all of these are empty, otherwise subjects and questions would be duplicated
+    private static final String[] SCHOOL_TABLES = {"project", "course", "subject", "question"};
+
+    private static final LocalDate SCHOOL_YEAR_START = LocalDate.of(2025, 8, 18);
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Clara", "David", "Elif", "Emil", "Finn", "Greta", "Hannah", "Ida",
+            "Jonas", "Lea", "Leon", "Lina", "Luca", "Marie", "Mats", "Mia", "Noah", "Ole",
+            "Paul", "Sophie", "Tim", "Yusuf"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Becker", "Fischer", "Hoffmann", "Klein", "Koch", "Krause", "Lange", "Meyer", "Neumann", "Richter",
+            "Schmidt", "Schneider", "Schulz", "Schwarz", "Wagner", "Weber", "Wolf", "Yilmaz", "Zimmermann"
+    };
+
+    private static final String[] COURSE_PREFIXES = {"FI", "IT", "BE", "KM", "EL"};
+
+    private static final String[] PROJECT_NAMES = {
+            "Webshop", "Netzwerkplanung", "Kundendatenbank", "Messestand", "Smart Home", "Lagerverwaltung",
+            "Schulhomepage", "Marktanalyse", "Serverumzug", "Ticketsystem"
+    };
+
+    private record SubjectTemplate(String name, String shortName, boolean learningField) {
+    }
+
+    private static final SubjectTemplate[] SUBJECTS = {
+            new SubjectTemplate("Lernfeld 1: Das Unternehmen und die eigene Rolle", "LF1", true),
+            new SubjectTemplate("Lernfeld 2: Arbeitsplätze ausstatten", "LF2", true),
+            new SubjectTemplate("Lernfeld 3: Clients in Netzwerke einbinden", "LF3", true),
+            new SubjectTemplate("Lernfeld 4: Schutzbedarf analysieren", "LF4", true),
+            new SubjectTemplate("Lernfeld 5: Software zur Verwaltung von Daten", "LF5", true),
+            new SubjectTemplate("Lernfeld 6: Serviceanfragen bearbeiten", "LF6", true),
+            new SubjectTemplate("Lernfeld 7: Cyber-physische Systeme", "LF7", true),
+            new SubjectTemplate("Lernfeld 8: Daten systemübergreifend bereitstellen", "LF8", true),
+            new SubjectTemplate("Deutsch", "D", false),
+            new SubjectTemplate("Englisch", "E", false),
+            new SubjectTemplate("Politik", "PO", false),
+            new SubjectTemplate("Wirtschaft", "WI", false)
+    };
+
+    private static final String[][] PERFORMANCES = {
+            {"Präsentation", "PRÄ"}, {"Projektbericht", "PB"}, {"Klassenarbeit", "KA"},
+            {"Mitarbeit", "MA"}, {"Dokumentation", "DOK"}, {"Test", "TE"}
+    };
+
+    private static final String[] GRADE_QUESTIONS = {
+            "Wie zuverlässig wurden Absprachen eingehalten?",
+            "Wie war die Beteiligung an der Gruppenarbeit?",
+            "Wie gut wurden Aufgaben selbstständig gelöst?",
+            "Wie hilfsbereit war die Person im Team?",
+            "Wie war die Qualität der Arbeitsergebnisse?",
+            "Wie gut wurde die Zeit eingeteilt?",
+            "Wie fachlich sicher war die Person?",
+            "Wie gut wurde die Arbeit dokumentiert?",
+            "Wie konstruktiv wurde mit Kritik umgegangen?",
+            "Wie gut war die Kommunikation in der Gruppe?",
+            "Wie kreativ waren die Lösungsvorschläge?",
+            "Wie gut wurde präsentiert?"
+    };
+
+    private static final String[] TEXT_QUESTIONS = {
+            "Was lief in der Zusammenarbeit besonders gut?",
+            "Was sollte beim nächsten Projekt besser laufen?",
+            "Welchen Beitrag hat die Person geleistet?",
+            "Sonstige Anmerkungen"
+    };
+
+    private static final String[] TEXT_ANSWERS = {
+            "Hat gut mitgearbeitet",
+            "War immer pünktlich und vorbereitet",
+            "Könnte sich mehr einbringen",
+            "Hat die Gruppe gut organisiert",
+            "Keine Anmerkungen"
+    };
+
+    private final DatasetProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DatasetGenerator(DatasetProperties properties, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            PasswordEncoder passwordEncoder, EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(String... args) {
+        for (String table : SCHOOL_TABLES) {
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+            if (rows != null && rows > 0) {
+                log.info("Dataset generation skipped, table {} already contains {} rows", table, rows);
+                return;
+            }
+        }
+
+        validate();
+
+        long start = System.nanoTime();
+        Map<String, Integer> rows = transactionTemplate.execute(status -> new Generation().write());
+        // the rows did not pass through Hibernate
+        entityManagerFactory.getCache().evictAll();
+
+        log.info("Generated dataset with seed {} in {} ms: {}", properties.seed(),
+                (System.nanoTime() - start) / 1_000_000, rows);
+    }
+
+    private void validate() {
+        require(properties.courses() > 0, "app.dataset.courses must be positive");
+        require(properties.students() >= properties.courses(), "app.dataset.students must be at least app.dataset.courses");
+        require(properties.teachers() > 0, "app.dataset.teachers must be positive");
+        require(properties.projects() >= 0, "app.dataset.projects must not be negative");
+        require(properties.teachersPerCourse() > 0, "app.dataset.teachers-per-course must be positive");
+        require(properties.groupSize() > 0, "app.dataset.group-size must be positive");
+        require(properties.performancesPerSubject() > 0, "app.dataset.performances-per-subject must be positive");
+        require(properties.subjectsPerProject() > 0 && properties.subjectsPerProject() <= SUBJECTS.length,
+                "app.dataset.subjects-per-project must be between 1 and " + SUBJECTS.length);
+        require(properties.questionsPerProject() > 0
+                        && properties.questionsPerProject() <= GRADE_QUESTIONS.length + TEXT_QUESTIONS.length,
+                "app.dataset.questions-per-project must be between 1 and " + (GRADE_QUESTIONS.length + TEXT_QUESTIONS.length));
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+
+    private record CourseRows(UUID id, List<UUID> students, List<UUID> teachers) {
+    }
+
+    private record QuestionRow(UUID id, QuestionType type) {
+    }
+
+    /**
+     * Buffered rows of one insert statement, written in batches on flush
+     */
+    private final class Inserts {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+        private int written;
+
+        private Inserts(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+        }
+
+        void flush() {
+            for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+            }
+            written += rows.size();
+            rows.clear();
+        }
+    }
+
+    /**
+     * State of one run, the statements are declared in foreign key order and flushed in that order
+     */
+    private final class Generation {
+
+        private final Random random = new Random(properties.seed());
+        private final Map<String, Inserts> inserts = new LinkedHashMap<>();
+
+        private final Inserts users = inserts("user", """
+                INSERT INTO "user" (id, username, first_name, last_name, role, password, changed_default_password)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""");
+        private final Inserts subjects = inserts("subject", """
+                INSERT INTO subject (id, name, short_name, is_learning_field) VALUES (?, ?, ?, ?)""");
+        private final Inserts questions = inserts("question", """
+                INSERT INTO question (id, text, type) VALUES (?, ?, ?)""");
+        private final Inserts questionSubjects = inserts("question_subject", """
+                INSERT INTO question_subject (question_id, subject_id) VALUES (?, ?)""");
+        private final Inserts courses = inserts("course", """
+                INSERT INTO course (id, course_name, class_teacher_id) VALUES (?, ?, ?)""");
+        private final Inserts courseMembers = inserts("course_membership", """
+                INSERT INTO course_membership (course_id, user_id) VALUES (?, ?)""");
+        private final Inserts projects = inserts("project", """
+                INSERT INTO project (id, course_id, name, project_start, activity_status) VALUES (?, ?, ?, ?, ?)""");
+        private final Inserts projectSubjects = inserts("project_subject", """
+                INSERT INTO project_subject (id, project_id, subject_id, duration) VALUES (?, ?, ?, ?)""");
+        private final Inserts performances = inserts("performance", """
+                INSERT INTO performance (id, name, short_name, weight, assigned_teacher_id, project_subject_id)
+                VALUES (?, ?, ?, ?, ?, ?)""");
+        private final Inserts performanceGrades = inserts("grade (performance)", """
+                INSERT INTO grade (id, performance_id, grade, student_id) VALUES (?, ?, ?, ?)""");
+        private final Inserts subjectGrades = inserts("grade (subject)", """
+                INSERT INTO grade (id, project_subject_id, grade, student_id) VALUES (?, ?, ?, ?)""");
+        private final Inserts groups = inserts("group", """
+                INSERT INTO "group" (id, project_id, name) VALUES (?, ?, ?)""");
+        private final Inserts groupMembers = inserts("group_membership", """
+                INSERT INTO group_membership (group_id, user_id, project_id) VALUES (?, ?, ?)""");
+        private final Inserts projectQuestions = inserts("project_question", """
+                INSERT INTO project_question (id, project_id, question_id) VALUES (?, ?, ?)""");
+        private final Inserts gradeAnswers = inserts("answer (grade)", """
+                INSERT INTO answer (id, project_question_id, author_id, recipient_id, answer_grade) VALUES (?, ?, ?, ?, ?)""");
+        private final Inserts textAnswers = inserts("answer (text)", """
+                INSERT INTO answer (id, project_question_id, author_id, recipient_id, answer_text) VALUES (?, ?, ?, ?, ?)""");
+
+        // every student has an ability the grades scatter around, so averages differ between students
+        private final Map<UUID, Double> abilities = new HashMap<>();
+        private final Set<String> usernames = new HashSet<>();
+
+        private Inserts inserts(String table, String sql) {
+            Inserts statement = new Inserts(sql);
+            inserts.put(table, statement);
+            return statement;
+        }
+
+        Map<String, Integer> write() {
+            usernames.addAll(jdbcTemplate.queryForList("SELECT username FROM \"user\"", String.class));
+            // one hash for everybody, encoding thousands of passwords would take minutes
+            String password = passwordEncoder.encode(properties.password());
+
+            List<UUID> students = users(properties.students(), Role.STUDENT, password);
+            List<UUID> teachers = users(properties.teachers(), Role.TEACHER, password);
+            List<UUID> subjectIds = subjects();
+            List<QuestionRow> questionRows = questions(subjectIds);
+            List<CourseRows> courseRows = courses(students, teachers);
+            flush();
+
+            for (int i = 0; i < properties.projects(); i++) {
+                CourseRows course = courseRows.get(i % courseRows.size());
+                project(course, i / courseRows.size(), subjectIds, questionRows);
+                flush();
+            }
+
+            Map<String, Integer> written = new LinkedHashMap<>();
+            inserts.forEach((table, statement) -> written.put(table, statement.written));
+            return written;
+        }
+
+        private void flush() {
+            inserts.values().forEach(Inserts::flush);
+        }
+
+        private List<UUID> users(int count, Role role, String password) {
+            List<UUID> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = uuid();
+                String firstName = pick(FIRST_NAMES);
+                String lastName = pick(LAST_NAMES);
+
+                // same scheme as the CSV import
+                String baseUsername = firstName.toLowerCase() + "." + lastName.toLowerCase();
+                String username = baseUsername;
+                int counter = 1;
+                while (!usernames.add(username)) {
+                    username = baseUsername + counter;
+                    counter++;
+                }
+
+                users.add(id, username, firstName, lastName, role.name(), password, true);
+                if (role == Role.STUDENT)
+                    abilities.put(id, 1.5 + random.nextDouble() * 3);
+                ids.add(id);
+            }
+            return ids;
+        }
+
+        private List<UUID> subjects() {
+            List<UUID> ids = new ArrayList<>(SUBJECTS.length);
+            for (SubjectTemplate template : SUBJECTS) {
+                UUID id = uuid();
+                subjects.add(id, template.name(), template.shortName(), template.learningField());
+                ids.add(id);
+            }
+            return ids;
+        }
+
+        private List<QuestionRow> questions(List<UUID> subjectIds) {
+            List<QuestionRow> rows = new ArrayList<>(GRADE_QUESTIONS.length + TEXT_QUESTIONS.length);
+            for (String text : GRADE_QUESTIONS)
+                rows.add(question(text, QuestionType.GRADE, subjectIds));
+            for (String text : TEXT_QUESTIONS)
+                rows.add(question(text, QuestionType.TEXT, subjectIds));
+            return rows;
+        }
+
+        private QuestionRow question(String text, QuestionType type, List<UUID> subjectIds) {
+            UUID id = uuid();
+            questions.add(id, text, type.name());
+            for (UUID subjectId : sample(subjectIds, 1 + random.nextInt(2)))
+                questionSubjects.add(id, subjectId);
+            return new QuestionRow(id, type);
+        }
+
+        private List<CourseRows> courses(List<UUID> students, List<UUID> teachers) {
+            int count = properties.courses();
+            List<CourseRows> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = uuid();
+                String name = "%s%02d".formatted(COURSE_PREFIXES[i % COURSE_PREFIXES.length], i / COURSE_PREFIXES.length + 1);
+
+                List<UUID> courseStudents = new ArrayList<>();
+                for (int s = i; s < students.size(); s += count)
+                    courseStudents.add(students.get(s));
+
+                UUID classTeacher = teachers.get(i % teachers.size());
+                List<UUID> courseTeachers = new ArrayList<>();
+                courseTeachers.add(classTeacher);
+                List<UUID> others = new ArrayList<>(teachers);
+                others.remove(classTeacher);
+                courseTeachers.addAll(sample(others, Math.min(properties.teachersPerCourse() - 1, others.size())));
+
+                courses.add(id, name, classTeacher);
+                courseTeachers.forEach(teacher -> courseMembers.add(id, teacher));
+                courseStudents.forEach(student -> courseMembers.add(id, student));
+                rows.add(new CourseRows(id, courseStudents, courseTeachers));
+            }
+            return rows;
+        }
+
+        private void project(CourseRows course, int number, List<UUID> subjectIds, List<QuestionRow> questionRows) {
+            UUID projectId = uuid();
+            projects.add(projectId, course.id(), pick(PROJECT_NAMES) + " " + (number + 1),
+                    SCHOOL_YEAR_START.plusWeeks(random.nextInt(40)), QuestionnaireActivityStatus.READY_FOR_ANSWERING.name());
+
+            for (UUID subjectId : sample(subjectIds, properties.subjectsPerProject()))
+                projectSubject(projectId, subjectId, course);
+
+            List<QuestionRow> projectQuestionRows = sample(questionRows, properties.questionsPerProject());
+            List<UUID> projectQuestionIds = new ArrayList<>(projectQuestionRows.size());
+            for (QuestionRow question : projectQuestionRows) {
+                UUID id = uuid();
+                projectQuestions.add(id, projectId, question.id());
+                projectQuestionIds.add(id);
+            }
+
+            for (List<UUID> group : groups(projectId, course.students())) {
+                for (UUID author : group) {
+                    for (UUID recipient : group) {
+                        for (int q = 0; q < projectQuestionRows.size(); q++) {
+                            UUID projectQuestionId = projectQuestionIds.get(q);
+                            if (projectQuestionRows.get(q).type() == QuestionType.TEXT) {
+                                textAnswers.add(uuid(), projectQuestionId, author, recipient, pick(TEXT_ANSWERS));
+                            } else {
+                                int grade = random.nextInt(20) == 0
+                                        ? AnswerService.NO_GRADE_SELECTED
+                                        : (int) Math.round(grade(recipient));
+                                gradeAnswers.add(uuid(), projectQuestionId, author, recipient, grade);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void projectSubject(UUID projectId, UUID subjectId, CourseRows course) {
+            UUID projectSubjectId = uuid();
+            projectSubjects.add(projectSubjectId, projectId, subjectId, 10.0 + 5 * random.nextInt(7));
+
+            int count = properties.performancesPerSubject();
+            List<UUID> performanceIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = uuid();
+                String[] performance = PERFORMANCES[(i + random.nextInt(PERFORMANCES.length)) % PERFORMANCES.length];
+                performances.add(id, performance[0], performance[1], 100.0 / count, pickFrom(course.teachers()), projectSubjectId);
+                performanceIds.add(id);
+            }
+
+            // all performances weigh the same, so the subject grade is the plain average
+            for (UUID student : course.students()) {
+                double sum = 0;
+                for (UUID performanceId : performanceIds) {
+                    double grade = Math.round(grade(student) * 10) / 10.0;
+                    performanceGrades.add(uuid(), performanceId, grade, student);
+                    sum += grade;
+                }
+                subjectGrades.add(uuid(), projectSubjectId, Math.round(sum / count * 10) / 10.0, student);
+            }
+        }
+
+        private List<List<UUID>> groups(UUID projectId, List<UUID> students) {
+            List<UUID> shuffled = new ArrayList<>(students);
+            Collections.shuffle(shuffled, random);
+
+            int count = Math.max(1, Math.round((float) shuffled.size() / properties.groupSize()));
+            List<List<UUID>> members = new ArrayList<>(count);
+            List<UUID> groupIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = uuid();
+                groups.add(id, projectId, "Gruppe " + (i + 1));
+                groupIds.add(id);
+                members.add(new ArrayList<>());
+            }
+            for (int i = 0; i < shuffled.size(); i++) {
+                groupMembers.add(groupIds.get(i % count), shuffled.get(i), projectId);
+                members.get(i % count).add(shuffled.get(i));
+            }
+            return members;
+        }
+
+        private double grade(UUID student) {
+            return Math.clamp(abilities.get(student) + random.nextGaussian() * 0.7, 1.0, 6.0);
+        }
+
+        private <T> List<T> sample(List<T> values, int count) {
+            List<T> shuffled = new ArrayList<>(values);
+            Collections.shuffle(shuffled, random);
+            return shuffled.subList(0, count);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private <T> T pickFrom(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        /**
+         * Random version 4 UUID from the seeded generator
+         */
+        private UUID uuid() {
+            long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+            long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(mostSigBits, leastSigBits);
+        }
+    }
+}
@@ -3,10 +3,15 @@ package com.gradesave.backend.services;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.gradesave.backend.dto.grade.*;
 import com.gradesave.backend.dto.performance.PerformanceDto;
@@ -32,6 +37,7 @@ import org.springframework.web.server.ResponseStatusException;
 public class GradeService implements CrudService<Grade, UUID>{
 
     private final GradeRepository gradeRepository;
+    private final ArchivedGradeRepository archivedGradeRepository;
     private final PerformanceRepository performanceRepository;
     private final UserRepository userRepository;
     private final SubjectRepository subjectRepository;
@@ -44,9 +50,11 @@ public class GradeService implements CrudService<Grade, UUID>{
                         GradeRepository gradeRepository,
                         UserRepository userRepository,
                         SubjectRepository subjectRepository,
-                        ProjectSubjectRepository projectSubjectRepository, ProjectRepository projectRepository, CourseService courseService, UserService userService) {
+                        ProjectSubjectRepository projectSubjectRepository, ProjectRepository projectRepository, CourseService courseService, UserService userService,
+                        ArchivedGradeRepository archivedGradeRepository) {
         this.performanceRepository = performanceRepository;
         this.gradeRepository = gradeRepository;
+        this.archivedGradeRepository = archivedGradeRepository;
         this.userRepository = userRepository;
         this.subjectRepository = subjectRepository;
         this.projectSubjectRepository = projectSubjectRepository;
@@ -104,7 +112,8 @@ public class GradeService implements CrudService<Grade, UUID>{
         return gradeRepository.count();
     }
 
-
+    // one read-only transaction, the groups of the students and the teachers of the course are loaded lazily
+    @Transactional(readOnly = true)
     public GradeOverviewDto loadGradeOverview(UUID projectId, UUID groupId, UUID userId) {
         List<SubjectDto> subjects = loadSubjectsWithPerformances(projectId);
 
@@ -159,8 +168,25 @@ public class GradeService implements CrudService<Grade, UUID>{
         return userRepository.findByCourses_Projects_IdAndRole(projectId, Role.STUDENT);
     }
 
+    /**
+     * All grades of the project, read from the archive once the project is archived
+     */
+    private List<Grade> getProjectGrades(UUID projectId) {
+        if (projectRepository.existsByIdAndArchivedAtIsNotNull(projectId))
+            return archivedGradeRepository.findByProjectId(projectId).stream()
+                    .map(ArchivedGrade::toGrade)
+                    .toList();
+
+        return gradeRepository.findByProjectId(projectId);
+    }
+
+    private static void checkNotArchived(ProjectSubject projectSubject) {
+        if (projectSubject != null)
+            ProjectArchiveService.checkNotArchived(projectSubject.getProject());
+    }
+
     public List<UserGradeDto> getGradesForUsers(UUID projectId, List<User> users) {
-        List<Grade> allGrades = gradeRepository.findByProjectId(projectId);
+        List<Grade> allGrades = getProjectGrades(projectId);
         //collect every grade for a performance
         return users.stream()
                 .map(user -> {
@@ -187,37 +213,84 @@ public class GradeService implements CrudService<Grade, UUID>{
                 .toList();
     }
 
+    /**
+     * Saves the grades of the overview. The students, performances, project subjects
+     * and existing grades of the whole request are loaded up front with one query
+     * each, so the number of selects does not grow with the number of students.
+     */
     @Transactional
     public void saveGradeOverview(List<UpdateGradeRequest> newGradeRequest) {
-        newGradeRequest.forEach(r -> {
-            // Skip if studentId is null
-            if (r.studentId() == null) {
-                return;
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal().orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in"));
+
+        // Skip if studentId is null
+        List<UpdateGradeRequest> requests = newGradeRequest.stream()
+                .filter(r -> r.studentId() != null)
+                .toList();
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> studentIds = new HashSet<>();
+        Set<UUID> performanceIds = new HashSet<>();
+        Set<UUID> projectSubjectIds = new HashSet<>();
+        Set<UUID> subjectGradeIds = new HashSet<>();
+        for (UpdateGradeRequest r : requests) {
+            studentIds.add(r.studentId());
+            for (GradeDto g : r.grades()) {
+                if (g.performanceId() != null) {
+                    performanceIds.add(g.performanceId());
+                    if (g.projectSubjectId() != null) {
+                        projectSubjectIds.add(g.projectSubjectId());
+                    }
+                } else if (g.projectSubjectId() != null) {
+                    projectSubjectIds.add(g.projectSubjectId());
+                    subjectGradeIds.add(g.projectSubjectId());
+                }
             }
+        }
 
-            User currentUser = userService.getCurrentUser().orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in"));
+        Map<UUID, User> students = byId(studentIds, userRepository::findAllById, User::getId);
+        Map<UUID, Performance> performances = byId(performanceIds, performanceRepository::findAllById, Performance::getId);
+        Map<UUID, ProjectSubject> projectSubjects = byId(projectSubjectIds, projectSubjectRepository::findAllById, ProjectSubject::getId);
+
+        // existing grades by "student:performance" and "student:projectSubject" for subject grades
+        Map<String, Grade> existingGrades = new HashMap<>();
+        if (!performances.isEmpty() || !subjectGradeIds.isEmpty()) {
+            for (Grade grade : gradeRepository.findByStudentIdInAndPerformanceIdInOrProjectSubjectIdIn(
+                    studentIds, performances.keySet(), subjectGradeIds)) {
+                UUID targetId = grade.getPerformance() != null
+                        ? grade.getPerformance().getId()
+                        : grade.getProjectSubject().getId();
+                existingGrades.put(gradeKey(grade.getStudent().getId(), targetId), grade);
+            }
+        }
 
-            User student = userService.getById(r.studentId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in"));
+        requests.forEach(r -> {
+            User student = students.get(r.studentId());
+            if (student == null) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in");
+            }
 
             r.grades().forEach(g -> {
                 // Try to find an existing grade for this student and performance
 
                 if (g.performanceId() == null) {
 
-                    Optional<ProjectSubject> projectSubjectOpt = projectSubjectRepository.findById(g.projectSubjectId());
-                    if (projectSubjectOpt.isEmpty()) {
+                    ProjectSubject projectSubject = g.projectSubjectId() == null ? null : projectSubjects.get(g.projectSubjectId());
+                    if (projectSubject == null) {
                         return;
                     }
 
-                    ProjectSubject projectSubject = projectSubjectOpt.get();
+                    checkNotArchived(projectSubject);
 
-                    Grade myGrade = gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(student.getId(), UUID.randomUUID(), projectSubject.getId());
+                    Grade myGrade = existingGrades.get(gradeKey(student.getId(), projectSubject.getId()));
 
                     Grade grade;
                     if (myGrade == null) {
                         grade = new Grade();
                         grade.setProjectSubject(projectSubject);
                         grade.setStudent(student);
+                        existingGrades.put(gradeKey(student.getId(), projectSubject.getId()), grade);
                     } else {
                         grade = myGrade;
                     }
@@ -227,39 +300,36 @@ public class GradeService implements CrudService<Grade, UUID>{
                     return;
                 }
 
+                Performance performance = performances.get(g.performanceId());
 
-
-                Optional<Performance> performanceOpt = performanceRepository.findById(g.performanceId());
-
-                if (performanceOpt.isEmpty())
+                if (performance == null)
                     return;
 
-                Performance performance = performanceOpt.get();
+                checkNotArchived(performance.getProjectSubject());
 
-                if (performance.getAssignedTeacher().getId() != currentUser.getId())
+                if (!performance.getAssignedTeacher().getId().equals(currentUser.id()))
                     return;
 
-                Grade grade = gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(r.studentId(), g.performanceId(), g.projectSubjectId());
+                String key = gradeKey(student.getId(), performance.getId());
+                Grade grade = existingGrades.get(key);
                 if (grade != null && g.grade() == null) {
                     gradeRepository.deleteById(grade.getId());
+                    existingGrades.remove(key);
                     return;
                 }
                 // If no existing grade is found, create a new one
                 if (grade == null) {
                     grade = new Grade();
-                    grade.setPerformance(
-                            performanceRepository.findById(g.performanceId())
-                                    .orElseThrow(() -> new RuntimeException("performance id not found"))
-                    );
+                    grade.setPerformance(performance);
                     if (g.projectSubjectId() != null) {
-                        grade.setProjectSubject(projectSubjectRepository.findById(g.projectSubjectId())
-                                .orElseThrow(() -> new RuntimeException("project subject id not found"))
-                        );
+                        ProjectSubject projectSubject = projectSubjects.get(g.projectSubjectId());
+                        if (projectSubject == null) {
+                            throw new RuntimeException("project subject id not found");
+                        }
+                        grade.setProjectSubject(projectSubject);
                     }
-                    grade.setStudent(
-                            userRepository.findById(r.studentId())
-                                    .orElseThrow(() -> new RuntimeException("student id not found"))
-                    );
+                    grade.setStudent(student);
+                    existingGrades.put(key, grade);
                 }
                 grade.setGrade(g.grade());
                 // Save or update the grade in the repository
@@ -268,6 +338,17 @@ public class GradeService implements CrudService<Grade, UUID>{
         });
     }
 
+    private static String gradeKey(UUID studentId, UUID targetId) {
+        return studentId + ":" + targetId;
+    }
+
+    private static <T> Map<UUID, T> byId(Set<UUID> ids, Function<Set<UUID>, List<T>> loader, Function<T, UUID> id) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
     public BigDecimal calculateSubjectGrade(List<CalculateSubjectGradeDto> newGrades) {
         BigDecimal total = BigDecimal.ZERO;
         BigDecimal totalWeight = BigDecimal.ZERO;
@@ -0,0 +1,190 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.group.GroupCreationFromCourseRequestDTO;
+import com.gradesave.backend.dto.group.GroupMemberRow;
+import com.gradesave.backend.dto.group.StudentPairDTO;
+import com.gradesave.backend.dto.report.ReportCardGradeRow;
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.ArchivedGradeRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.GroupRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *   Builds the input of the {@link GroupFormationSolver} for a course: its
+ *   students, the keep-apart and keep-together wishes, how often two students
+ *   already shared a group in the other projects of the course and every
+ *   student's average grade, including archived projects.
+ * </p>
+ * <p>
+ *   Only the number of groups can be chosen, the sizes always differ by at
+ *   most one. Keep-apart and keep-together wishes are weights the search
+ *   tries to honour, so the result is checked afterwards and rejected if
+ *   any of them is not met.
+ * </p>
+ *
+ **/
+@Service
+@Transactional(readOnly = true)
+public class GroupFormationService {
+
+    /**
+     * Pair weight per earlier project in which two students already shared a group
+     */
+    static final double REPEAT_WEIGHT = 1.0;
+
+    /**
+     * Weight of the squared distance between a group's average grade and the course average
+     */
+    static final double GRADE_WEIGHT = 4.0;
+
+    private final GroupRepository groupRepository;
+    private final GradeRepository gradeRepository;
+    private final ArchivedGradeRepository archivedGradeRepository;
+
+    public GroupFormationService(GroupRepository groupRepository, GradeRepository gradeRepository,
+                                 ArchivedGradeRepository archivedGradeRepository) {
+        this.groupRepository = groupRepository;
+        this.gradeRepository = gradeRepository;
+        this.archivedGradeRepository = archivedGradeRepository;
+    }
+
+    /**
+     * Splits the students of the course into groups for the project
+     *
+     * @param course    the course with its members loaded
+     * @param projectId the project the groups are for, its own groups are not counted as history
+     * @param req       group amount, constraints and seed
+     * @return the members of every group, groupAmount lists
+     * @throws ResponseStatusException BAD_REQUEST if a pair names a non-student of the course or one student
+     *                                 twice, CONFLICT if a keep-apart or keep-together pair is not met
+     */
+    public List<List<User>> formGroups(Course course, UUID projectId, GroupCreationFromCourseRequestDTO req) {
+        // a stable order, so the same seed gives the same groups
+        List<User> students = course.getUsers().stream()
+                .filter(u -> u.getRole() == Role.STUDENT)
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+
+        int n = students.size();
+        Map<UUID, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            index.put(students.get(i).getId(), i);
+        }
+
+        double[] weights = new double[n * n];
+        if (!Boolean.FALSE.equals(req.avoidRepeatedPairs())) {
+            addHistory(weights, n, index, course.getId(), projectId);
+        }
+        List<StudentPairDTO> keepApart = checkedPairs(index, req.keepApart());
+        List<StudentPairDTO> keepTogether = checkedPairs(index, req.keepTogether());
+        addPairs(weights, n, index, keepApart, GroupFormationSolver.CONSTRAINT_WEIGHT);
+        addPairs(weights, n, index, keepTogether, -GroupFormationSolver.CONSTRAINT_WEIGHT);
+
+        double[] scores = null;
+        if (!Boolean.FALSE.equals(req.balanceGrades())) {
+            scores = averageGrades(course.getId(), students);
+        }
+
+        long seed = req.seed() != null ? req.seed() : ThreadLocalRandom.current().nextLong();
+        int[] assignment = GroupFormationSolver.solve(req.groupAmount(), weights, scores, GRADE_WEIGHT, seed);
+
+        List<String> unmet = new ArrayList<>();
+        for (StudentPairDTO pair : keepApart) {
+            if (assignment[index.get(pair.first())] == assignment[index.get(pair.second())])
+                unmet.add("apart " + pair.first() + "/" + pair.second());
+        }
+        for (StudentPairDTO pair : keepTogether) {
+            if (assignment[index.get(pair.first())] != assignment[index.get(pair.second())])
+                unmet.add("together " + pair.first() + "/" + pair.second());
+        }
+        if (!unmet.isEmpty())
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "This number of groups cannot meet every pair, unmet: " + String.join(", ", unmet));
+
+        List<List<User>> groups = new ArrayList<>(req.groupAmount());
+        for (int g = 0; g < req.groupAmount(); g++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            groups.get(assignment[i]).add(students.get(i));
+        }
+        return groups;
+    }
+
+    private void addHistory(double[] weights, int n, Map<UUID, Integer> index, UUID courseId, UUID projectId) {
+        Map<UUID, List<Integer>> membersByGroup = groupRepository.findMemberRowsOfOtherProjects(courseId, projectId).stream()
+                .filter(row -> index.containsKey(row.userId()))
+                .collect(Collectors.groupingBy(GroupMemberRow::groupId,
+                        Collectors.mapping(row -> index.get(row.userId()), Collectors.toList())));
+
+        for (List<Integer> members : membersByGroup.values()) {
+            for (int x = 0; x < members.size(); x++) {
+                for (int y = x + 1; y < members.size(); y++) {
+                    int i = members.get(x);
+                    int j = members.get(y);
+                    weights[i * n + j] += REPEAT_WEIGHT;
+                    weights[j * n + i] += REPEAT_WEIGHT;
+                }
+            }
+        }
+    }
+
+    private static List<StudentPairDTO> checkedPairs(Map<UUID, Integer> index, List<StudentPairDTO> pairs) {
+        if (pairs == null)
+            return List.of();
+
+        for (StudentPairDTO pair : pairs) {
+            if (!index.containsKey(pair.first()) || !index.containsKey(pair.second()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Pair names a user who is not a student of the course: " + pair.first() + "/" + pair.second());
+            if (pair.first().equals(pair.second()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pair names one student twice: " + pair.first());
+        }
+        return pairs;
+    }
+
+    private static void addPairs(double[] weights, int n, Map<UUID, Integer> index, List<StudentPairDTO> pairs, double weight) {
+        for (StudentPairDTO pair : pairs) {
+            int i = index.get(pair.first());
+            int j = index.get(pair.second());
+            weights[i * n + j] += weight;
+            weights[j * n + i] += weight;
+        }
+    }
+
+    private double[] averageGrades(UUID courseId, List<User> students) {
+        List<ReportCardGradeRow> rows = new ArrayList<>(gradeRepository.findReportCardRowsByCourseId(courseId));
+        rows.addAll(archivedGradeRepository.findReportCardRowsByCourseId(courseId));
+
+        Map<UUID, Double> averages = rows.stream()
+                .filter(row -> row.grade() != null)
+                .collect(Collectors.groupingBy(ReportCardGradeRow::studentId,
+                        Collectors.averagingDouble(ReportCardGradeRow::grade)));
+
+        double[] scores = new double[students.size()];
+        Arrays.fill(scores, Double.NaN);
+        for (int i = 0; i < students.size(); i++) {
+            Double average = averages.get(students.get(i).getId());
+            if (average != null)
+                scores[i] = average;
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,182 @@
+package com.gradesave.backend.services;
+
+import java.util.Random;
+
+/**
+ * <p>
+ *   Splits students into groups whose sizes differ by at most one. The
+ *   search starts from a seeded random deal and then runs simulated
+ *   annealing over swaps of two students, so the sizes never change and a
+ *   given seed always produces the same result.
+ * </p>
+ * <p>
+ *   Students are numbered 0..n-1. Keep-apart and keep-together wishes and
+ *   earlier shared groups are folded into one symmetric n*n matrix of pair
+ *   weights: the cost of placing two students in the same group. The search
+ *   keeps, per student and group, the sum of the weights to the members of
+ *   that group, which makes the cost change of a swap a constant-time lookup.
+ *   The score term keeps the mean score of every group close to the overall
+ *   mean.
+ * </p>
+ *
+ **/
+public final class GroupFormationSolver {
+
+    /**
+     * Pair weight of a keep-apart wish; keep-together uses the negative value
+     */
+    public static final double CONSTRAINT_WEIGHT = 1_000;
+
+    static final int ITERATIONS_PER_STUDENT_AND_GROUP = 200;
+    static final int MIN_ITERATIONS = 20_000;
+
+    private static final double START_TEMPERATURE = 2.0;
+    private static final double END_TEMPERATURE = 0.01;
+
+    private GroupFormationSolver() {
+    }
+
+    /**
+     * @param groups      number of groups, at least one
+     * @param pairWeights n*n row-major matrix, cost of placing i and j in the same group, zero on the diagonal
+     * @param scores      score per student to balance the groups on, NaN if unknown, may be null
+     * @param scoreWeight weight of the squared deviation of each group mean from the overall mean
+     * @param seed        seed of the random deal and the search
+     * @return group index per student
+     */
+    public static int[] solve(int groups, double[] pairWeights, double[] scores, double scoreWeight, long seed) {
+        int n = (int) Math.round(Math.sqrt(pairWeights.length));
+        if (n * n != pairWeights.length)
+            throw new IllegalArgumentException("pairWeights must be a square matrix");
+        if (groups < 1)
+            throw new IllegalArgumentException("groups must be at least 1");
+
+        int k = Math.min(groups, Math.max(n, 1));
+        Random random = new Random(seed);
+
+        int[] assignment = new int[n];
+        int[] size = new int[k];
+        int[] order = shuffledRange(n, random);
+        for (int i = 0; i < n; i++) {
+            assignment[order[i]] = i % k;
+            size[i % k]++;
+        }
+        if (k == 1 || n < 2)
+            return assignment;
+
+        double[] w = pairWeights;
+        double[] load = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j)
+                    load[i * k + assignment[j]] += w[i * n + j];
+            }
+        }
+
+        double[] s = filledScores(scores, n);
+        double mean = 0;
+        for (double value : s) {
+            mean += value;
+        }
+        mean /= n;
+        double[] groupScore = new double[k];
+        for (int i = 0; i < n; i++) {
+            groupScore[assignment[i]] += s[i];
+        }
+
+        double cost = 0;
+        for (int i = 0; i < n; i++) {
+            cost += load[i * k + assignment[i]] / 2;
+        }
+        for (int g = 0; g < k; g++) {
+            cost += scoreWeight * square(groupScore[g] / size[g] - mean);
+        }
+
+        double bestCost = cost;
+        int[] best = assignment.clone();
+
+        int iterations = Math.max(MIN_ITERATIONS, ITERATIONS_PER_STUDENT_AND_GROUP * n * k);
+        double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / iterations);
+        double temperature = START_TEMPERATURE;
+
+        for (int iteration = 0; iteration < iterations; iteration++, temperature *= cooling) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            int ga = assignment[a];
+            int gb = assignment[b];
+            if (ga == gb)
+                continue;
+
+            // b is still counted in gb and a in ga, so their own pair is taken out
+            double delta = load[a * k + gb] - w[a * n + b] - load[a * k + ga]
+                    + load[b * k + ga] - w[b * n + a] - load[b * k + gb];
+
+            double newScoreA = groupScore[ga] - s[a] + s[b];
+            double newScoreB = groupScore[gb] - s[b] + s[a];
+            delta += scoreWeight * (square(newScoreA / size[ga] - mean) + square(newScoreB / size[gb] - mean)
+                    - square(groupScore[ga] / size[ga] - mean) - square(groupScore[gb] / size[gb] - mean));
+
+            if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature))
+                continue;
+
+            for (int i = 0; i < n; i++) {
+                double moved = w[i * n + b] - w[i * n + a];
+                load[i * k + ga] += moved;
+                load[i * k + gb] -= moved;
+            }
+            assignment[a] = gb;
+            assignment[b] = ga;
+            groupScore[ga] = newScoreA;
+            groupScore[gb] = newScoreB;
+            cost += delta;
+
+            if (cost < bestCost - 1e-9) {
+                bestCost = cost;
+                System.arraycopy(assignment, 0, best, 0, n);
+            }
+        }
+
+        return best;
+    }
+
+    private static int[] shuffledRange(int n, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Unknown scores count as the mean of the known ones, so they do not pull a group either way
+     */
+    private static double[] filledScores(double[] scores, int n) {
+        double[] filled = new double[n];
+        if (scores == null)
+            return filled;
+
+        double sum = 0;
+        int known = 0;
+        for (double score : scores) {
+            if (!Double.isNaN(score)) {
+                sum += score;
+                known++;
+            }
+        }
+        double fallback = known == 0 ? 0 : sum / known;
+        for (int i = 0; i < n; i++) {
+            filled[i] = Double.isNaN(scores[i]) ? fallback : scores[i];
+        }
+        return filled;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
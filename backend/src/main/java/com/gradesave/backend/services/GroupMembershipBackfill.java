@@ -0,0 +1,42 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.models.GroupMembership;
+import com.gradesave.backend.repositories.GroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ *   Fills in the project of group memberships that were written before the
+ *   column existed. Only rows without a project are touched, so after the
+ *   first start this is a single no-op statement.
+ * </p>
+ *
+ **/
+@Component
+public class GroupMembershipBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipBackfill.class);
+
+    private final GroupRepository groupRepository;
+
+    public GroupMembershipBackfill(GroupRepository groupRepository) {
+        this.groupRepository = groupRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingProjectIds() {
+        try {
+            int rows = groupRepository.fillMissingProjectIds();
+            if (rows > 0)
+                log.info("Filled in the project of {} group memberships", rows);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Some students are in more than one group of a project, their memberships are left without a project "
+                    + "until that is resolved ({})", GroupMembership.UK_PROJECT_USER, e);
+        }
+    }
+}
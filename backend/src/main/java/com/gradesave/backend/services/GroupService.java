@@ -1,13 +1,32 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.group.GroupLayout;
+import com.gradesave.backend.dto.group.GroupMemberRow;
+import com.gradesave.backend.dto.group.GroupMembershipChangeDTO;
+import com.gradesave.backend.dto.group.GroupMembershipDTO;
+import com.gradesave.backend.events.GroupChangedEvent;
 import com.gradesave.backend.models.Group;
+import com.gradesave.backend.models.GroupMembership;
+import com.gradesave.backend.models.Project;
 import com.gradesave.backend.repositories.GroupRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -21,14 +40,19 @@ import java.util.UUID;
 @Transactional
 public class GroupService implements CrudService<Group, UUID> {
     private final GroupRepository repo;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public GroupService(GroupRepository repo) {
+    public GroupService(GroupRepository repo, ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Group create(Group entity) {
-        return repo.save(entity);
+        ProjectArchiveService.checkNotArchived(entity.getProject());
+        Group saved = repo.save(entity);
+        publishChanged(saved);
+        return saved;
     }
 
     @Override
@@ -36,6 +60,13 @@ public class GroupService implements CrudService<Group, UUID> {
         return repo.findById(uuid);
     }
 
+    /**
+     * The group with its members, for callers that read them after the transaction
+     */
+    public Optional<Group> getWithUsers(UUID uuid) {
+        return repo.findWithUsersById(uuid);
+    }
+
     @Override
     public List<Group> getAll() {
         return repo.findAll();
@@ -44,21 +75,27 @@ public class GroupService implements CrudService<Group, UUID> {
     @Override
     public Group update(UUID uuid, Group entity) {
         Group existing = repo.findById(uuid).orElseThrow(() -> new EntityNotFoundException("Group not found: " + uuid));
+        ProjectArchiveService.checkNotArchived(existing.getProject());
+        ProjectArchiveService.checkNotArchived(entity.getProject());
 
         existing.setName(entity.getName());
 
         if (entity.getProject() != null)
             existing.setProject(entity.getProject());
 
-        if (entity.getUsers() != null)
-            existing.setUsers(entity.getUsers());
+        // copy, the given set may still belong to the session that loaded it
+        if (entity.getUsers() != null && entity.getUsers() != existing.getUsers())
+            existing.setUsers(new HashSet<>(entity.getUsers()));
 
-        return repo.save(existing);
+        Group saved = repo.save(existing);
+        publishChanged(saved);
+        return saved;
     }
 
     @Override
     public void deleteById(UUID uuid) {
         repo.deleteById(uuid);
+        eventPublisher.publishEvent(new GroupChangedEvent(uuid, null));
     }
 
     @Override
@@ -67,7 +104,9 @@ public class GroupService implements CrudService<Group, UUID> {
         if (group.isEmpty())
             return false;
 
+        ProjectArchiveService.checkNotArchived(group.get().getProject());
         repo.delete(group.get());
+        publishChanged(group.get());
 
         return true;
     }
@@ -83,7 +122,164 @@ public class GroupService implements CrudService<Group, UUID> {
     }
 
     public List<Group> createGroups(List<Group> groups) {
-        return repo.saveAll(groups);
+        groups.forEach(group -> ProjectArchiveService.checkNotArchived(group.getProject()));
+        List<Group> saved = repo.saveAll(groups);
+        saved.forEach(this::publishChanged);
+        return saved;
+    }
+
+    /**
+     * Brings the groups of a project in line with the layout of the project editor.
+     * Groups missing from the layout are deleted, new groups are inserted and renamed
+     * ones updated in one flush; memberships are diffed against the join table, so
+     * only groups whose members changed cost a statement.
+     *
+     * @param project          the project, only its id and archive state are read
+     * @param layout           the wanted groups
+     * @param allowedMemberIds member ids outside this set are ignored
+     */
+    public void applyLayout(Project project, List<GroupLayout> layout, Set<UUID> allowedMemberIds) {
+        ProjectArchiveService.checkNotArchived(project);
+
+        Map<UUID, Group> removed = new HashMap<>();
+        repo.findAllByProjectId(project.getId()).forEach(group -> removed.put(group.getId(), group));
+
+        Map<UUID, Set<UUID>> currentMembers = new HashMap<>();
+        for (GroupMemberRow row : repo.findMemberRowsByProjectId(project.getId())) {
+            currentMembers.computeIfAbsent(row.groupId(), id -> new HashSet<>()).add(row.userId());
+        }
+
+        Map<Group, Set<UUID>> wantedMembers = new LinkedHashMap<>();
+        List<Group> created = new ArrayList<>();
+        Set<Group> changed = new HashSet<>();
+        for (GroupLayout entry : layout) {
+            Group group = entry.groupId() != null ? removed.remove(entry.groupId()) : null;
+            if (group == null) {
+                group = new Group();
+                group.setProject(project);
+                created.add(group);
+                changed.add(group);
+            } else if (!Objects.equals(entry.name(), group.getName())) {
+                changed.add(group);
+            }
+            group.setName(entry.name());
+
+            Set<UUID> members = new HashSet<>();
+            if (entry.memberIds() != null) {
+                entry.memberIds().stream().filter(allowedMemberIds::contains).forEach(members::add);
+            }
+            wantedMembers.put(group, members);
+        }
+
+        if (!removed.isEmpty()) {
+            repo.deleteMembershipsByGroupIdIn(removed.keySet());
+            repo.deleteByIdIn(removed.keySet());
+        }
+        repo.saveAll(created);
+        // the group rows have to exist before membership rows reference them
+        repo.flush();
+
+        // all deletes first, a student moving between groups must leave the old one
+        // before the one-group-per-project key lets them into the new one
+        Map<Group, Set<UUID>> addedMembers = new LinkedHashMap<>();
+        wantedMembers.forEach((group, members) -> {
+            Set<UUID> current = currentMembers.getOrDefault(group.getId(), Set.of());
+
+            Set<UUID> added = new HashSet<>(members);
+            added.removeAll(current);
+            Set<UUID> dropped = new HashSet<>(current);
+            dropped.removeAll(members);
+
+            if (!dropped.isEmpty())
+                repo.deleteMembers(group.getId(), dropped);
+            if (!added.isEmpty())
+                addedMembers.put(group, added);
+            if (!added.isEmpty() || !dropped.isEmpty())
+                changed.add(group);
+        });
+        addedMembers.forEach((group, added) -> repo.insertMembers(group.getId(), added));
+
+        changed.forEach(this::publishChanged);
+        removed.values().forEach(this::publishChanged);
+    }
+
+    /**
+     * Sets the members of the listed groups of a project. The wanted members are
+     * diffed against the join table: one delete for every student that leaves a
+     * group, one insert per group that gains students. Whether a student is
+     * already in another group of the project is left to the unique key of
+     * {@link GroupMembership}, so moving students costs no query per student.
+     *
+     * @param project          the project, only its id and archive state are read
+     * @param groups           the wanted members per group, groups not listed are left alone
+     * @param allowedMemberIds the students of the course among the requested members
+     * @return the number of inserted and deleted rows and the changed groups
+     * @throws ResponseStatusException BAD_REQUEST for groups outside the project, members
+     *                                 that are no students of the course or students listed
+     *                                 twice, CONFLICT if a student is still in a group that
+     *                                 is not listed or the project is archived
+     */
+    public GroupMembershipChangeDTO applyMemberships(Project project, List<GroupMembershipDTO> groups, Set<UUID> allowedMemberIds) {
+        ProjectArchiveService.checkNotArchived(project);
+        UUID projectId = project.getId();
+        Set<UUID> projectGroupIds = new HashSet<>(repo.findIdsByProjectId(projectId));
+
+        Map<UUID, Set<UUID>> wantedMembers = new LinkedHashMap<>();
+        Set<UUID> listed = new HashSet<>();
+        for (GroupMembershipDTO entry : groups) {
+            if (!projectGroupIds.contains(entry.groupId()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Group " + entry.groupId() + " does not belong to project " + projectId);
+
+            Set<UUID> members = new HashSet<>(entry.memberIds());
+            if (!allowedMemberIds.containsAll(members))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only students of the course can be group members");
+            if (wantedMembers.put(entry.groupId(), members) != null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Group " + entry.groupId() + " is listed more than once");
+            for (UUID member : members) {
+                if (!listed.add(member))
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Student " + member + " is listed in more than one group");
+            }
+        }
+
+        Map<UUID, Set<UUID>> currentMembers = new HashMap<>();
+        for (GroupMemberRow row : repo.findMemberRowsByProjectId(projectId)) {
+            currentMembers.computeIfAbsent(row.groupId(), id -> new HashSet<>()).add(row.userId());
+        }
+
+        Set<UUID> dropped = new HashSet<>();
+        Map<UUID, Set<UUID>> addedMembers = new LinkedHashMap<>();
+        Set<UUID> changed = new LinkedHashSet<>();
+        wantedMembers.forEach((groupId, members) -> {
+            Set<UUID> current = currentMembers.getOrDefault(groupId, Set.of());
+
+            Set<UUID> added = new HashSet<>(members);
+            added.removeAll(current);
+            if (!added.isEmpty()) {
+                addedMembers.put(groupId, added);
+                changed.add(groupId);
+            }
+
+            for (UUID member : current) {
+                if (!members.contains(member)) {
+                    dropped.add(member);
+                    changed.add(groupId);
+                }
+            }
+        });
+
+        int removed = dropped.isEmpty() ? 0 : repo.deleteProjectMembers(projectId, dropped);
+
+        int added = 0;
+        try {
+            for (Map.Entry<UUID, Set<UUID>> entry : addedMembers.entrySet()) {
+                added += repo.insertMembers(entry.getKey(), entry.getValue());
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A student is already in another group of this project", e);
+        }
+
+        changed.forEach(groupId -> eventPublisher.publishEvent(new GroupChangedEvent(groupId, projectId)));
+        return new GroupMembershipChangeDTO(projectId, added, removed, List.copyOf(changed));
     }
 
     public boolean existsUserInProject(UUID userId, UUID projectId) {
@@ -92,11 +288,18 @@ public class GroupService implements CrudService<Group, UUID> {
 
     public void deleteGroupsByProject(UUID projectId) {
         List<Group> groups = repo.findAllByProjectId(projectId);
+        groups.forEach(group -> ProjectArchiveService.checkNotArchived(group.getProject()));
 
         for (Group g : groups) {
             g.getUsers().clear();
         }
 
         repo.deleteAll(groups);
+        groups.forEach(this::publishChanged);
+    }
+
+    private void publishChanged(Group group) {
+        UUID projectId = group.getProject() != null ? group.getProject().getId() : null;
+        eventPublisher.publishEvent(new GroupChangedEvent(group.getId(), projectId));
     }
 }
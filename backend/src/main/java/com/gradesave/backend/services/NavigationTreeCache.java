@@ -0,0 +1,98 @@
+package com.gradesave.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gradesave.backend.dto.course.CourseSelectionDto;
+import com.gradesave.backend.dto.group.GroupSelectionDto;
+import com.gradesave.backend.dto.project.ProjectSelectionDto;
+import com.gradesave.backend.events.CourseChangedEvent;
+import com.gradesave.backend.events.GroupChangedEvent;
+import com.gradesave.backend.events.ProjectChangedEvent;
+import com.gradesave.backend.events.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *   Per-user cache of the grade overview navigation tree. Entries expire
+ *   after a short time and are evicted after commit when a course, project
+ *   or group they contain changes.
+ * </p>
+ *
+ **/
+@Component
+public class NavigationTreeCache {
+
+    /**
+     * A cached tree together with the ids of all nodes, to find affected entries
+     */
+    private record Entry(List<CourseSelectionDto> tree, Set<UUID> ids) {
+    }
+
+    private final Cache<UUID, Entry> cache;
+
+    public NavigationTreeCache(@Value("${app.navigation.cache-ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    public List<CourseSelectionDto> get(UUID userId, Function<UUID, List<CourseSelectionDto>> loader) {
+        return cache.get(userId, id -> {
+            List<CourseSelectionDto> tree = loader.apply(id);
+            return new Entry(tree, collectIds(tree));
+        }).tree();
+    }
+
+    /**
+     * Course changes can add or remove members, which affects trees that do
+     * not contain the course yet, so every entry is dropped
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        evictContaining(event.projectId(), event.courseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        evictContaining(event.groupId(), event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    private void evictContaining(UUID id, UUID parentId) {
+        cache.asMap().values().removeIf(entry -> entry.ids().contains(id)
+                || (parentId != null && entry.ids().contains(parentId)));
+    }
+
+    private static Set<UUID> collectIds(List<CourseSelectionDto> tree) {
+        Set<UUID> ids = new HashSet<>();
+        for (CourseSelectionDto course : tree) {
+            ids.add(course.id());
+            for (ProjectSelectionDto project : course.projects()) {
+                ids.add(project.id());
+                for (GroupSelectionDto group : project.groups()) {
+                    ids.add(group.id());
+                }
+            }
+        }
+        return ids;
+    }
+}
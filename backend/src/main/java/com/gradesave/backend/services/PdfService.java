@@ -1,45 +1,71 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.dto.pdf.PdfBundleRequestDTO;
+import com.gradesave.backend.dto.report.CourseReportCardsDTO;
+import com.gradesave.backend.dto.report.ProjectReportDTO;
+import com.gradesave.backend.dto.report.StudentReportCardDTO;
+import com.gradesave.backend.dto.report.SubjectReportDTO;
 import com.gradesave.backend.models.Course;
 import com.gradesave.backend.models.User;
 import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfCopy;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfReader;
 import com.lowagie.text.pdf.PdfWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 
 import java.awt.Color;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
- * Service for generating PDF documents for user credentials
+ * Service for generating PDF documents for user credentials and report cards
  * 
  * @author Daniel Hess
  */
 @Service
 public class PdfService {
 
-    private static final String PDF_OUTPUT_DIR = "pdfs/";
     private static final Logger log = LoggerFactory.getLogger(PdfService.class);
 
+    private final String outputDir;
+
+    public PdfService(@Value("${app.pdf.output-dir:pdfs/}") String outputDir) {
+        this.outputDir = outputDir;
+    }
+
     /**
      * Generates a PDF document containing user credentials
      * 
@@ -49,10 +75,10 @@ public class PdfService {
     public void generateUserCredentialsPdf(User user, String plainPassword) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String filename = String.format("user_credentials_%s_%s.pdf", user.getUsername(), timestamp);
-        String filepath = PDF_OUTPUT_DIR + filename;
+        String filepath = outputDir + filename;
 
         try {
-            File directory = new File(PDF_OUTPUT_DIR);
+            File directory = new File(outputDir);
             if (!directory.exists()) {
                 directory.mkdirs();
             }
@@ -121,85 +147,16 @@ public class PdfService {
 
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String filename = String.format("bulk_user_credentials_%s.pdf", timestamp);
-        String filepath = PDF_OUTPUT_DIR + filename;
+        String filepath = outputDir + filename;
 
         try {
-            File directory = new File(PDF_OUTPUT_DIR);
+            File directory = new File(outputDir);
             if (!directory.exists()) {
                 directory.mkdirs();
             }
 
-            Document document = new Document(PageSize.A4);
             try (FileOutputStream fos = new FileOutputStream(filepath)) {
-                PdfWriter.getInstance(document, fos);
-                document.open();
-
-                Font mainTitleFont = new Font(Font.HELVETICA, 24, Font.BOLD);
-                Paragraph mainTitle = new Paragraph("GradeSave - Bulk User Credentials", mainTitleFont);
-                mainTitle.setAlignment(Element.ALIGN_CENTER);
-                mainTitle.setSpacingAfter(10);
-                document.add(mainTitle);
-
-                Font dateFont = new Font(Font.HELVETICA, 10);
-                Paragraph date = new Paragraph(
-                        "Created: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss")),
-                        dateFont);
-                date.setAlignment(Element.ALIGN_CENTER);
-                date.setSpacingAfter(20);
-                document.add(date);
-
-                Font countFont = new Font(Font.HELVETICA, 12, Font.BOLD);
-                Paragraph userCount = new Paragraph("Total Users: " + usersWithPasswords.size(), countFont);
-                userCount.setAlignment(Element.ALIGN_CENTER);
-                userCount.setSpacingAfter(30);
-                document.add(userCount);
-
-                int index = 1;
-                int row = 1;
-                for (Map.Entry<User, String> entry : usersWithPasswords.entrySet()) {
-                    User user = entry.getKey();
-                    String plainPassword = entry.getValue();
-
-                    Font userTitleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
-                    Paragraph userTitle = new Paragraph("User " + index + " of " + usersWithPasswords.size(),
-                            userTitleFont);
-                    userTitle.setSpacingBefore(10);
-                    userTitle.setSpacingAfter(10);
-                    document.add(userTitle);
-
-                    PdfPTable table = new PdfPTable(2);
-                    table.setWidthPercentage(100);
-                    table.setWidths(new float[] { 30, 70 });
-
-                    addTableRow(table, "Username:", user.getUsername());
-                    addTableRow(table, "Password:", plainPassword);
-                    addTableRow(table, "First Name:", user.getFirstName());
-                    addTableRow(table, "Last Name:", user.getLastName());
-
-                    if (user.getCourses().size() == 1) {
-                        addTableRow(table, "Course:", user.getCourses().iterator().next().getCourseName());
-                    } else if (user.getCourses().size() > 1) {
-                        String result = user.getCourses()
-                                .stream()
-                                .map(Course::getCourseName)
-                                .collect(Collectors.joining(","));
-                        addTableRow(table, "Courses:", result);
-
-                    } else {
-                        addTableRow(table, "Courses:", "None");
-                    }
-
-                    document.add(table);
-
-                    index++;
-                    row++;
-                    if (row == 4) {
-                        document.newPage();
-                        row = 1;
-                    }
-                }
-
-                document.close();
+                writeBulkUserCredentialsPdf(usersWithPasswords, fos);
 
                 log.info("Bulk PDF generated successfully: {}", filepath);
             }
@@ -209,6 +166,194 @@ public class PdfService {
         }
     }
 
+    /**
+     * Renders the credentials of several users into one PDF document, three
+     * users per page
+     *
+     * @param usersWithPasswords The users with their plain text passwords
+     * @param out                Stream the document is written to, it is closed with the document
+     * @throws DocumentException if the document cannot be built
+     */
+    public void writeBulkUserCredentialsPdf(Map<User, String> usersWithPasswords, OutputStream out)
+            throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        Font mainTitleFont = new Font(Font.HELVETICA, 24, Font.BOLD);
+        Paragraph mainTitle = new Paragraph("GradeSave - Bulk User Credentials", mainTitleFont);
+        mainTitle.setAlignment(Element.ALIGN_CENTER);
+        mainTitle.setSpacingAfter(10);
+        document.add(mainTitle);
+
+        Font dateFont = new Font(Font.HELVETICA, 10);
+        Paragraph date = new Paragraph(
+                "Created: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss")),
+                dateFont);
+        date.setAlignment(Element.ALIGN_CENTER);
+        date.setSpacingAfter(20);
+        document.add(date);
+
+        Font countFont = new Font(Font.HELVETICA, 12, Font.BOLD);
+        Paragraph userCount = new Paragraph("Total Users: " + usersWithPasswords.size(), countFont);
+        userCount.setAlignment(Element.ALIGN_CENTER);
+        userCount.setSpacingAfter(30);
+        document.add(userCount);
+
+        int index = 1;
+        int row = 1;
+        for (Map.Entry<User, String> entry : usersWithPasswords.entrySet()) {
+            User user = entry.getKey();
+            String plainPassword = entry.getValue();
+
+            Font userTitleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
+            Paragraph userTitle = new Paragraph("User " + index + " of " + usersWithPasswords.size(),
+                    userTitleFont);
+            userTitle.setSpacingBefore(10);
+            userTitle.setSpacingAfter(10);
+            document.add(userTitle);
+
+            PdfPTable table = new PdfPTable(2);
+            table.setWidthPercentage(100);
+            table.setWidths(new float[] { 30, 70 });
+
+            addTableRow(table, "Username:", user.getUsername());
+            addTableRow(table, "Password:", plainPassword);
+            addTableRow(table, "First Name:", user.getFirstName());
+            addTableRow(table, "Last Name:", user.getLastName());
+
+            if (user.getCourses().size() == 1) {
+                addTableRow(table, "Course:", user.getCourses().iterator().next().getCourseName());
+            } else if (user.getCourses().size() > 1) {
+                String result = user.getCourses()
+                        .stream()
+                        .map(Course::getCourseName)
+                        .collect(Collectors.joining(","));
+                addTableRow(table, "Courses:", result);
+
+            } else {
+                addTableRow(table, "Courses:", "None");
+            }
+
+            document.add(table);
+
+            index++;
+            row++;
+            if (row == 4) {
+                document.newPage();
+                row = 1;
+            }
+        }
+
+        document.close();
+    }
+
+    /**
+     * Renders the report card of one student into an in-memory PDF document.
+     * Only uses the given DTOs, so it is safe to call from worker threads.
+     *
+     * @param course  The course the report card belongs to
+     * @param student Grades and questionnaire averages of the student
+     * @return The rendered PDF document
+     * @throws DocumentException if the document cannot be built
+     */
+    public byte[] generateReportCardPdf(CourseReportCardsDTO course, StudentReportCardDTO student)
+            throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        Font titleFont = new Font(Font.HELVETICA, 20, Font.BOLD);
+        Paragraph title = new Paragraph("GradeSave - Report Card", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+        document.add(title);
+
+        PdfPTable info = new PdfPTable(2);
+        info.setWidthPercentage(100);
+        info.setWidths(new float[] { 30, 70 });
+        addTableRow(info, "Student:", student.firstName() + " " + student.lastName());
+        addTableRow(info, "Course:", course.courseName());
+        addTableRow(info, "Class Teacher:", course.classTeacherName());
+        document.add(info);
+
+        Font projectFont = new Font(Font.HELVETICA, 14, Font.BOLD);
+        Font headerFont = new Font(Font.HELVETICA, 11, Font.BOLD);
+        Font cellFont = new Font(Font.HELVETICA, 10);
+
+        if (student.projects().isEmpty()) {
+            Paragraph empty = new Paragraph("No projects in this course yet", cellFont);
+            empty.setSpacingBefore(20);
+            document.add(empty);
+        }
+
+        for (ProjectReportDTO project : student.projects()) {
+            Paragraph projectTitle = new Paragraph(project.projectName() + " ("
+                    + project.projectStart().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) + ")", projectFont);
+            projectTitle.setSpacingBefore(20);
+            projectTitle.setSpacingAfter(8);
+            document.add(projectTitle);
+
+            PdfPTable table = new PdfPTable(3);
+            table.setWidthPercentage(100);
+            table.setWidths(new float[] { 35, 50, 15 });
+            addHeaderCell(table, "Subject", headerFont);
+            addHeaderCell(table, "Performances", headerFont);
+            addHeaderCell(table, "Grade", headerFont);
+
+            for (SubjectReportDTO subject : project.subjects()) {
+                String performances = subject.performances().stream()
+                        .map(p -> p.shortName() + " (" + formatNumber(p.weight()) + "%): " + formatGrade(p.grade()))
+                        .collect(Collectors.joining("\n"));
+
+                addCell(table, subject.subjectName(), cellFont);
+                addCell(table, performances.isEmpty() ? "-" : performances, cellFont);
+                addCell(table, subject.subjectGrade() != null ? formatNumber(subject.subjectGrade().doubleValue()) : "-",
+                        cellFont);
+            }
+
+            document.add(table);
+
+            Paragraph assessment = new Paragraph(
+                    "Questionnaire average: " + formatGrade(project.averageAssessment())
+                            + "   Self assessment: " + formatGrade(project.selfAssessment())
+                            + "   Peer assessment: " + formatGrade(project.peerAssessment()),
+                    cellFont);
+            assessment.setSpacingBefore(6);
+            document.add(assessment);
+        }
+
+        document.close();
+        return out.toByteArray();
+    }
+
+    /**
+     * Appends the pages of several PDF documents into one document
+     *
+     * @param documents The documents in output order
+     * @param out       Stream the merged document is written to, it is not closed
+     * @throws IOException       if a document cannot be read
+     * @throws DocumentException if the merged document cannot be written
+     */
+    public void mergePdfs(List<byte[]> documents, OutputStream out) throws IOException, DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfCopy copy = new PdfCopy(document, out);
+        copy.setCloseStream(false);
+        document.open();
+
+        for (byte[] pdf : documents) {
+            PdfReader reader = new PdfReader(pdf);
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                copy.addPage(copy.getImportedPage(reader, page));
+            }
+            copy.freeReader(reader);
+            reader.close();
+        }
+
+        document.close();
+    }
+
     /**
      * Lists all PDF files in the PDF directory
      * 
@@ -216,7 +361,7 @@ public class PdfService {
      * @throws IOException if directory cannot be read
      */
     public List<Map<String, Object>> listAllPdfFiles() throws IOException {
-        Path pdfStorageLocation = Paths.get(PDF_OUTPUT_DIR).toAbsolutePath().normalize();
+        Path pdfStorageLocation = Paths.get(outputDir).toAbsolutePath().normalize();
         List<Map<String, Object>> pdfFiles = new ArrayList<>();
 
         if (!Files.exists(pdfStorageLocation)) {
@@ -238,6 +383,63 @@ public class PdfService {
         return pdfFiles;
     }
 
+    /**
+     * Lists one page of PDF files ordered by name. The directory is scanned
+     * once while only the next {@code limit} names are kept, so memory stays
+     * bounded by the page size rather than the number of files.
+     *
+     * @param cursor Cursor of the previous page, null for the first page
+     * @param limit  Requested page size
+     * @param prefix Only files whose name starts with this prefix, optional
+     * @return The page with name, size and last modification of each file
+     * @throws IOException if the directory cannot be read
+     */
+    public CursorPage<Map<String, Object>> listPdfFilesPage(String cursor, Integer limit, String prefix)
+            throws IOException {
+        Path pdfStorageLocation = Paths.get(outputDir).toAbsolutePath().normalize();
+        int pageSize = CursorPaging.limit(limit);
+        String after = cursor == null || cursor.isBlank() ? null : CursorPaging.decode(cursor, 1)[0];
+
+        if (!Files.exists(pdfStorageLocation)) {
+            log.warn("PDF directory does not exist: {}", pdfStorageLocation);
+            return new CursorPage<>(List.of(), null, false);
+        }
+
+        // max-heap of the smallest pageSize + 1 names after the cursor
+        PriorityQueue<String> names = new PriorityQueue<>(pageSize + 1, Comparator.reverseOrder());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(pdfStorageLocation, "*.pdf")) {
+            for (Path entry : stream) {
+                String name = entry.getFileName().toString();
+                if ((after != null && name.compareTo(after) <= 0)
+                        || (prefix != null && !prefix.isBlank() && !name.startsWith(prefix))) {
+                    continue;
+                }
+                names.offer(name);
+                if (names.size() > pageSize + 1) {
+                    names.poll();
+                }
+            }
+        }
+
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(null);
+        boolean hasMore = sorted.size() > pageSize;
+        List<String> pageNames = hasMore ? sorted.subList(0, pageSize) : sorted;
+
+        List<Map<String, Object>> items = new ArrayList<>(pageNames.size());
+        for (String name : pageNames) {
+            Path entry = pdfStorageLocation.resolve(name);
+            Map<String, Object> fileInfo = new HashMap<>();
+            fileInfo.put("name", name);
+            fileInfo.put("size", Files.size(entry));
+            fileInfo.put("lastModified", Files.getLastModifiedTime(entry).toMillis());
+            items.add(fileInfo);
+        }
+
+        String nextCursor = hasMore ? CursorPaging.encode(pageNames.getLast()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
     /**
      * Retrieves a PDF file as a Resource
      * 
@@ -247,13 +449,8 @@ public class PdfService {
      * @throws SecurityException if file is outside the PDF directory
      */
     public Resource getPdfFile(String filename) throws IOException, SecurityException {
-        Path pdfStorageLocation = Paths.get(PDF_OUTPUT_DIR).toAbsolutePath().normalize();
-        Path filePath = pdfStorageLocation.resolve(filename).normalize();
-
-        if (!filePath.startsWith(pdfStorageLocation)) {
-            log.warn("Attempted to access file outside PDF directory: {}", filename);
-            throw new SecurityException("Access denied: File is outside PDF directory");
-        }
+        Path pdfStorageLocation = Paths.get(outputDir).toAbsolutePath().normalize();
+        Path filePath = resolvePdfPath(pdfStorageLocation, filename);
 
         Resource resource = new UrlResource(filePath.toUri());
 
@@ -265,6 +462,151 @@ public class PdfService {
         return resource;
     }
 
+    /**
+     * Checks that every explicitly requested file of a bundle lies inside the PDF
+     * directory, so a bad request is rejected before the response is committed
+     *
+     * @param filter The bundle filter
+     * @throws SecurityException if a file is outside the PDF directory
+     */
+    public void validatePdfBundleRequest(PdfBundleRequestDTO filter) throws SecurityException {
+        if (filter.filenames() == null) {
+            return;
+        }
+
+        Path pdfStorageLocation = Paths.get(outputDir).toAbsolutePath().normalize();
+        for (String filename : filter.filenames()) {
+            resolvePdfPath(pdfStorageLocation, filename);
+        }
+    }
+
+    /**
+     * Writes all PDF files matching the filter as a ZIP archive to the given stream.
+     * Files are read from disk one at a time and copied straight into the archive,
+     * so heap usage stays the same no matter how many files are bundled.
+     *
+     * @param filter Date range and name prefix, or an explicit list of file names
+     * @param out    Stream the archive is written to, it is not closed
+     * @return Number of files written to the archive
+     * @throws IOException       if a file or the output stream fails
+     * @throws SecurityException if a requested file is outside the PDF directory
+     */
+    public int writePdfBundle(PdfBundleRequestDTO filter, OutputStream out) throws IOException, SecurityException {
+        Path pdfStorageLocation = Paths.get(outputDir).toAbsolutePath().normalize();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDFs are compressed already, a higher level only costs CPU time
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        int count = 0;
+        // an entry name may only be used once, otherwise putNextEntry fails halfway through the response
+        Set<String> usedNames = new HashSet<>();
+        if (filter.filenames() != null && !filter.filenames().isEmpty()) {
+            Set<Path> bundled = new HashSet<>();
+            for (String filename : filter.filenames()) {
+                Path filePath = resolvePdfPath(pdfStorageLocation, filename);
+                if (!Files.isRegularFile(filePath)) {
+                    log.warn("PDF file not found, skipping in bundle: {}", filename);
+                    continue;
+                }
+                if (!bundled.add(filePath)) {
+                    continue;
+                }
+
+                addZipEntry(zip, filePath, usedNames);
+                count++;
+            }
+        } else if (Files.exists(pdfStorageLocation)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(pdfStorageLocation,
+                    entry -> matchesBundleFilter(entry, filter))) {
+                for (Path entry : stream) {
+                    addZipEntry(zip, entry, usedNames);
+                    count++;
+                }
+            }
+        }
+
+        zip.finish();
+        zip.flush();
+
+        log.info("Streamed PDF bundle with {} files", count);
+        return count;
+    }
+
+    private boolean matchesBundleFilter(Path entry, PdfBundleRequestDTO filter) throws IOException {
+        String name = entry.getFileName().toString();
+        if (!name.endsWith(".pdf") || !Files.isRegularFile(entry)) {
+            return false;
+        }
+
+        if (filter.prefix() != null && !filter.prefix().isBlank() && !name.startsWith(filter.prefix())) {
+            return false;
+        }
+
+        if (filter.from() == null && filter.to() == null) {
+            return true;
+        }
+
+        LocalDate modified = LocalDate.ofInstant(Files.getLastModifiedTime(entry).toInstant(), ZoneId.systemDefault());
+        if (filter.from() != null && modified.isBefore(filter.from())) {
+            return false;
+        }
+
+        return filter.to() == null || !modified.isAfter(filter.to());
+    }
+
+    private void addZipEntry(ZipOutputStream zip, Path file, Set<String> usedNames) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(uniqueEntryName(file.getFileName().toString(), usedNames));
+        zipEntry.setTime(Files.getLastModifiedTime(file).toMillis());
+        zip.putNextEntry(zipEntry);
+        Files.copy(file, zip);
+        zip.closeEntry();
+    }
+
+    private String uniqueEntryName(String fileName, Set<String> usedNames) {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+
+        String name = fileName;
+        for (int n = 2; !usedNames.add(name); n++) {
+            name = baseName + "_" + n + extension;
+        }
+        return name;
+    }
+
+    private Path resolvePdfPath(Path pdfStorageLocation, String filename) throws SecurityException {
+        Path filePath = pdfStorageLocation.resolve(filename).normalize();
+
+        if (!filePath.startsWith(pdfStorageLocation)) {
+            log.warn("Attempted to access file outside PDF directory: {}", filename);
+            throw new SecurityException("Access denied: File is outside PDF directory");
+        }
+
+        return filePath;
+    }
+
+    private String formatGrade(Double grade) {
+        return grade != null ? formatNumber(grade) : "-";
+    }
+
+    private String formatNumber(Double value) {
+        return value != null ? String.format(Locale.GERMANY, "%.2f", value) : "-";
+    }
+
+    private void addHeaderCell(PdfPTable table, String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setBackgroundColor(new Color(240, 240, 240));
+        cell.setPadding(6);
+        table.addCell(cell);
+    }
+
+    private void addCell(PdfPTable table, String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setPadding(6);
+        table.addCell(cell);
+    }
+
     private void addTableRow(PdfPTable table, String label, String value) {
         Font labelFont = new Font(Font.HELVETICA, 12, Font.BOLD);
         Font valueFont = new Font(Font.HELVETICA, 12);
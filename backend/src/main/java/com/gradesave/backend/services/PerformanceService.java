@@ -31,6 +31,7 @@ public class PerformanceService implements CrudService<Performance, UUID> {
 
     @Override
     public Performance create(Performance entity) {
+        checkNotArchived(entity);
         return performanceRepository.save(entity);
     }
 
@@ -53,7 +54,7 @@ public class PerformanceService implements CrudService<Performance, UUID> {
                         HttpStatus.NOT_FOUND,
                         "Performance not found: " + id
                 ));
-
+        checkNotArchived(existing);
 
         if (patch.getName() != null) {
             existing.setName(patch.getName());
@@ -92,6 +93,7 @@ public class PerformanceService implements CrudService<Performance, UUID> {
         if (performanceOpt.isEmpty())
             return false;
 
+        checkNotArchived(performanceOpt.get());
         performanceRepository.delete(performanceOpt.get());
 
         return true;
@@ -113,4 +115,9 @@ public class PerformanceService implements CrudService<Performance, UUID> {
         return performanceRepository.findById(performanceId);
     }
 
+    private static void checkNotArchived(Performance performance) {
+        if (performance.getProjectSubject() != null)
+            ProjectArchiveService.checkNotArchived(performance.getProjectSubject().getProject());
+    }
+
 }
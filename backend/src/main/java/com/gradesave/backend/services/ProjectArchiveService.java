@@ -0,0 +1,96 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.project.ProjectArchiveResultDTO;
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.events.ProjectChangedEvent;
+import com.gradesave.backend.models.Project;
+import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.ArchivedAnswerRepository;
+import com.gradesave.backend.repositories.ArchivedGradeRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.ProjectRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * <p>
+ *   Moves the answers and grades of finished projects out of the answer and
+ *   grade tables, so those tables and their indexes only hold the current
+ *   projects. Archived rows keep their ids, stay readable through the same
+ *   services and can no longer be changed.
+ * </p>
+ *
+ **/
+@Service
+@Transactional
+public class ProjectArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectArchiveService.class);
+
+    private final ProjectRepository projectRepository;
+    private final AnswerRepository answerRepository;
+    private final GradeRepository gradeRepository;
+    private final ArchivedAnswerRepository archivedAnswerRepository;
+    private final ArchivedGradeRepository archivedGradeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProjectArchiveService(ProjectRepository projectRepository, AnswerRepository answerRepository,
+                                 GradeRepository gradeRepository, ArchivedAnswerRepository archivedAnswerRepository,
+                                 ArchivedGradeRepository archivedGradeRepository, ApplicationEventPublisher eventPublisher) {
+        this.projectRepository = projectRepository;
+        this.answerRepository = answerRepository;
+        this.gradeRepository = gradeRepository;
+        this.archivedAnswerRepository = archivedAnswerRepository;
+        this.archivedGradeRepository = archivedGradeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Copies the answers and grades of the project into the archive tables and
+     * deletes them from the live tables, all in one transaction
+     *
+     * @param projectId the project to archive
+     * @return number of moved answers and grades
+     */
+    public ProjectArchiveResultDTO archive(UUID projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        if (project.isArchived())
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Project is already archived: " + projectId);
+
+        int answers = archivedAnswerRepository.copyFromProject(projectId);
+        answerRepository.deleteByProjectId(projectId);
+        int grades = archivedGradeRepository.copyFromProject(projectId);
+        gradeRepository.deleteByProjectId(projectId);
+
+        project.setArchivedAt(LocalDateTime.now());
+        project.setActivityStatus(QuestionnaireActivityStatus.ARCHIVED);
+
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, project.getCourse().getId()));
+        log.info("Archived project {} with {} answers and {} grades", projectId, answers, grades);
+
+        return new ProjectArchiveResultDTO(projectId, answers, grades);
+    }
+
+    /**
+     * The one check every change to a project and its groups, subjects, performances
+     * and grades goes through. Archived answers and grades are a snapshot of the
+     * project, so nothing of an archived project may change anymore.
+     *
+     * @param project the project about to change, may be null for new rows without project
+     * @throws ResponseStatusException CONFLICT if the project is archived
+     */
+    public static void checkNotArchived(Project project) {
+        if (project != null && project.isArchived())
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Project is archived: " + project.getId());
+    }
+}
@@ -1,17 +1,33 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.dto.project.FragebogenUpdateResultDTO;
+import com.gradesave.backend.dto.project.ProjectSummaryDTO;
+import com.gradesave.backend.dto.project.ProjectSummaryRow;
 import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.dto.question.QuestionChangeDTO;
 import com.gradesave.backend.dto.question.QuestionDTO;
+import com.gradesave.backend.events.CatalogChangedEvent;
+import com.gradesave.backend.events.ProjectChangedEvent;
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Group;
 import com.gradesave.backend.models.Project;
 import com.gradesave.backend.models.ProjectQuestion;
+import com.gradesave.backend.models.ProjectSubject;
 import com.gradesave.backend.models.Question;
+import com.gradesave.backend.models.Subject;
 import com.gradesave.backend.repositories.*;
 import com.gradesave.backend.repositories.ProjectRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,17 +40,33 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class ProjectService implements CrudService<Project, UUID> {
+    private static final Map<String, CursorPaging.SortKey> PAGE_SORT_KEYS = Map.of(
+            "name", CursorPaging.SortKey.text("name"),
+            "projectStart", new CursorPaging.SortKey("projectStart", LocalDate::parse));
+
     private final ProjectRepository projectRepository;
     private final QuestionRepository questionRepository;
+    private final SubjectRepository subjectRepository;
+    private final ProjectSubjectRepository projectSubjectRepository;
+    private final ProjectQuestionRepository projectQuestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProjectService(ProjectRepository projectRepository, QuestionRepository questionRepository) {
+    public ProjectService(ProjectRepository projectRepository, QuestionRepository questionRepository,
+                          SubjectRepository subjectRepository, ProjectSubjectRepository projectSubjectRepository,
+                          ProjectQuestionRepository projectQuestionRepository, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.questionRepository = questionRepository;
+        this.subjectRepository = subjectRepository;
+        this.projectSubjectRepository = projectSubjectRepository;
+        this.projectQuestionRepository = projectQuestionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Project create(Project entity) {
-        return projectRepository.save(entity);
+        Project saved = projectRepository.save(entity);
+        publishChanged(saved);
+        return saved;
     }
 
     @Override
@@ -42,11 +74,91 @@ public class ProjectService implements CrudService<Project, UUID> {
         return projectRepository.findById(uuid);
     }
 
+    /**
+     * The project with its groups and their members
+     */
+    public Optional<Project> getWithGroups(UUID uuid) {
+        return projectRepository.findWithGroupsById(uuid);
+    }
+
+    /**
+     * The project with groups, members and questions, as needed to show or answer the questionnaire
+     */
+    public Optional<Project> getWithQuestionnaire(UUID uuid) {
+        return projectRepository.findWithQuestionnaireById(uuid);
+    }
+
+    /**
+     * The project with groups, members and subjects, as needed for the project detail page
+     */
+    public Optional<Project> getDetail(UUID uuid) {
+        return projectRepository.findDetailById(uuid);
+    }
+
     @Override
     public List<Project> getAll() {
         return projectRepository.findAll();
     }
 
+    /**
+     * Reads one page of projects with a keyset query
+     *
+     * @param courseId only projects of this course, optional
+     * @param query    case-insensitive prefix of the project name, optional
+     */
+    public CursorPage<Project> getPage(String cursor, Integer limit, String sort, UUID courseId, String query) {
+        CursorPaging.Request request = CursorPaging.request(cursor, limit, sort, PAGE_SORT_KEYS, "name");
+
+        Specification<Project> spec = (root, q, cb) -> cb.conjunction();
+        if (courseId != null) {
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("course").get("id"), courseId));
+        }
+        if (query != null && !query.isBlank()) {
+            String pattern = CursorPaging.prefixPattern(query);
+            spec = spec.and((root, q, cb) -> cb.like(cb.lower(root.<String>get("name")), pattern, '\\'));
+        }
+
+        return request.toPage(projectRepository.findBy(spec, q -> q.sortBy(request.toSort())
+                .limit(request.limit())
+                .scroll(request.position())));
+    }
+
+    /**
+     * Summaries of all projects, read with one aggregated query
+     */
+    public List<ProjectSummaryDTO> getSummaries() {
+        return projectRepository.findSummaryRows().stream().map(ProjectSummaryDTO::fromRow).toList();
+    }
+
+    /**
+     * Summaries of the given projects in the order of the ids, read with one aggregated query
+     */
+    public List<ProjectSummaryDTO> getSummaries(List<UUID> projectIds) {
+        if (projectIds.isEmpty())
+            return List.of();
+
+        Map<UUID, ProjectSummaryDTO> byId = projectRepository.findSummaryRowsByIdIn(projectIds).stream()
+                .map(ProjectSummaryDTO::fromRow)
+                .collect(Collectors.toMap(ProjectSummaryDTO::projectId, dto -> dto));
+
+        return projectIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public Optional<ProjectSummaryDTO> getSummary(UUID projectId) {
+        return getSummaries(List.of(projectId)).stream().findFirst();
+    }
+
+    /**
+     * Aggregated summary rows of all projects of the given courses, grouped by course
+     */
+    public Map<UUID, List<ProjectSummaryRow>> getSummaryRowsByCourse(Collection<UUID> courseIds) {
+        if (courseIds.isEmpty())
+            return Map.of();
+
+        return projectRepository.findSummaryRowsByCourseIdIn(courseIds).stream()
+                .collect(Collectors.groupingBy(ProjectSummaryRow::courseId));
+    }
+
     @Override
     public Project update(UUID uuid, Project entity) {
         Optional<Project> existingOpt = projectRepository.findById(uuid);
@@ -55,19 +167,23 @@ public class ProjectService implements CrudService<Project, UUID> {
             throw new EntityNotFoundException("Project not found: " + uuid);
 
         Project existing = existingOpt.get();
+        ProjectArchiveService.checkNotArchived(existing);
 
         existing.setName(entity.getName());
         existing.setProjectStart(entity.getProjectStart());
-        existing.setGroups(entity.getGroups());
-        existing.setProjectSubjects(entity.getProjectSubjects());
-        existing.setProjectQuestions(entity.getProjectQuestions());
+        syncById(existing.getGroups(), entity.getGroups(), Group::getId);
+        syncById(existing.getProjectSubjects(), entity.getProjectSubjects(), ProjectSubject::getId);
+        syncById(existing.getProjectQuestions(), entity.getProjectQuestions(), ProjectQuestion::getId);
 
-        return projectRepository.save(existing);
+        Project saved = projectRepository.save(existing);
+        publishChanged(saved);
+        return saved;
     }
 
     @Override
     public void deleteById(UUID uuid) {
         projectRepository.deleteById(uuid);
+        eventPublisher.publishEvent(new ProjectChangedEvent(uuid, null));
     }
 
     @Override
@@ -77,6 +193,7 @@ public class ProjectService implements CrudService<Project, UUID> {
             return false;
 
         projectRepository.delete(project.get());
+        publishChanged(project.get());
 
         return true;
     }
@@ -91,39 +208,194 @@ public class ProjectService implements CrudService<Project, UUID> {
         return projectRepository.count();
     }
 
-    public void updateFragebogen(Project project, QuestionDTO[] questions, QuestionnaireActivityStatus status) {
+    /**
+     * Copies a project with its subjects, performances and questionnaire into a
+     * course. The rows are copied with one INSERT … SELECT statement per table,
+     * so the number of statements does not depend on the size of the project.
+     *
+     * @param sourceId      the project to copy
+     * @param targetCourse  course of the copy
+     * @param name          name of the copy
+     * @param projectStart  start of the copy
+     * @param includeGroups also copy the groups, with those members that are students of the target course
+     * @return the copy
+     */
+    public Project cloneProject(UUID sourceId, Course targetCourse, String name, LocalDate projectStart, boolean includeGroups) {
+        if (!projectRepository.existsById(sourceId))
+            throw new EntityNotFoundException("Project not found: " + sourceId);
+
+        Project copy = new Project();
+        copy.setName(name);
+        copy.setProjectStart(projectStart);
+        copy.setCourse(targetCourse);
+        // the copy statements reference the new row
+        copy = projectRepository.saveAndFlush(copy);
+
+        projectRepository.copySubjects(sourceId, copy.getId());
+        projectRepository.copyPerformances(sourceId, copy.getId());
+        projectRepository.copyQuestions(sourceId, copy.getId());
+        if (includeGroups) {
+            projectRepository.copyGroups(sourceId, copy.getId());
+            projectRepository.copyGroupMemberships(sourceId, copy.getId(), targetCourse.getId());
+        }
+
+        publishChanged(copy);
+        return copy;
+    }
+
+    /**
+     * Assigns a subject to the project and adds the subject's questions that are not part of the questionnaire yet
+     *
+     * @return false if the subject is already assigned
+     */
+    public boolean addSubject(UUID projectId, UUID subjectId, Double duration) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        ProjectArchiveService.checkNotArchived(project);
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new EntityNotFoundException("Subject not found: " + subjectId));
+
+        if (projectSubjectRepository.existsByProjectIdAndSubjectId(projectId, subjectId))
+            return false;
+
+        ProjectSubject projectSubject = new ProjectSubject();
+        projectSubject.setSubject(subject);
+        projectSubject.setProject(project);
+        projectSubject.setDuration(duration);
+        projectSubjectRepository.save(projectSubject);
+
+        projectQuestionRepository.linkSubjectQuestions(projectId, subjectId);
+
+        publishChanged(project);
+        return true;
+    }
+
+    /**
+     * Removes a subject from the project together with the questions no other assigned subject uses
+     *
+     * @return false if the subject is not assigned to the project
+     */
+    public boolean removeSubject(UUID projectId, UUID subjectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        ProjectArchiveService.checkNotArchived(project);
+
+        Optional<ProjectSubject> projectSubjectOpt = projectSubjectRepository.findByProjectIdAndSubjectId(projectId, subjectId);
+        if (projectSubjectOpt.isEmpty())
+            return false;
+
+        projectQuestionRepository.unlinkSubjectQuestions(projectId, subjectId);
+        projectSubjectRepository.delete(projectSubjectOpt.get());
+
+        publishChanged(project);
+        return true;
+    }
+
+    /**
+     * Saves the questionnaire editor. All linked questions are loaded with one query, questions
+     * from outside the project with a second one. Only new questions and questions whose text
+     * or type differ are written, links are added and removed as a whole; the writes go out in
+     * JDBC batches on flush.
+     *
+     * @param questions the wanted questionnaire, questions without id are created
+     * @return one change entry per requested and per unlinked question
+     */
+    public FragebogenUpdateResultDTO updateFragebogen(UUID projectId, QuestionDTO[] questions, QuestionnaireActivityStatus status) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        ProjectArchiveService.checkNotArchived(project);
+
+        Map<UUID, ProjectQuestion> links = new HashMap<>();
+        Map<UUID, Question> knownQuestions = new HashMap<>();
+        for (ProjectQuestion link : projectQuestionRepository.findWithQuestionByProjectId(projectId)) {
+            links.put(link.getQuestion().getId(), link);
+            knownQuestions.put(link.getQuestion().getId(), link.getQuestion());
+        }
+
         Set<UUID> requestQuestionIds = Arrays.stream(questions)
                 .map(QuestionDTO::id)
                 .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
 
-        project.getProjectQuestions().removeIf(pq -> !requestQuestionIds.contains(pq.getQuestion().getId()));
+        Set<UUID> unknownIds = new HashSet<>(requestQuestionIds);
+        unknownIds.removeAll(knownQuestions.keySet());
+        if (!unknownIds.isEmpty())
+            questionRepository.findAllById(unknownIds).forEach(q -> knownQuestions.put(q.getId(), q));
 
-        for (QuestionDTO questionDTO : questions) {
-            Question question = questionRepository.findById(questionDTO.id()).orElseGet(() -> {
-                Question q = new Question();
-                q.setText(questionDTO.text());
-                q.setType(questionDTO.type());
-                return questionRepository.save(q);
-            });
+        List<ProjectQuestion> unlinked = links.values().stream()
+                .filter(pq -> !requestQuestionIds.contains(pq.getQuestion().getId()))
+                .toList();
 
-            question.setType(questionDTO.type());
-            question.setText(questionDTO.text());
-            questionRepository.save(question);
+        List<Question> created = new ArrayList<>();
+        List<Question> updated = new ArrayList<>();
+        List<ProjectQuestion> linked = new ArrayList<>();
+        List<QuestionChangeDTO> changes = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (QuestionDTO questionDTO : questions) {
+            if (questionDTO.id() != null && !seen.add(questionDTO.id()))
+                continue;
 
-            boolean alreadyLinked = project.getProjectQuestions().stream()
-                    .anyMatch(pq -> pq.getQuestion().getId().equals(question.getId()));
+            Question question = questionDTO.id() != null ? knownQuestions.get(questionDTO.id()) : null;
+            boolean isNew = question == null;
+            boolean isUpdated = false;
+            if (isNew) {
+                question = new Question();
+                question.setText(questionDTO.text());
+                question.setType(questionDTO.type());
+                // assigns the id, the insert itself waits for the flush
+                questionRepository.save(question);
+                created.add(question);
+            } else if (!Objects.equals(question.getText(), questionDTO.text()) || question.getType() != questionDTO.type()) {
+                question.setText(questionDTO.text());
+                question.setType(questionDTO.type());
+                updated.add(question);
+                isUpdated = true;
+            }
 
-            if (!alreadyLinked) {
+            boolean isLinked = isNew || !links.containsKey(question.getId());
+            if (isLinked) {
                 ProjectQuestion projectQuestion = new ProjectQuestion();
                 projectQuestion.setProject(project);
                 projectQuestion.setQuestion(question);
-                project.getProjectQuestions().add(projectQuestion);
+                linked.add(projectQuestion);
             }
+
+            changes.add(new QuestionChangeDTO(question.getId(), isNew, isUpdated, isLinked, false));
         }
 
-        project.setActivityStatus(status);
+        if (!unlinked.isEmpty())
+            projectQuestionRepository.deleteAllInBatch(unlinked);
+        questionRepository.saveAll(updated);
+        projectQuestionRepository.saveAll(linked);
 
+        unlinked.forEach(pq -> changes.add(new QuestionChangeDTO(pq.getQuestion().getId(), false, false, false, true)));
+
+        project.setActivityStatus(status);
         projectRepository.save(project);
+
+        if (!created.isEmpty() || !updated.isEmpty())
+            eventPublisher.publishEvent(new CatalogChangedEvent());
+
+        return new FragebogenUpdateResultDTO(projectId, status,
+                created.size(), updated.size(), linked.size(), unlinked.size(), changes);
+    }
+
+    /**
+     * Brings a managed collection in line with the given one by id. Elements missing
+     * from the given collection are removed, new elements without id are added.
+     * Uninitialized collections were not touched by the caller and are skipped.
+     */
+    private static <T> void syncById(Set<T> target, Set<T> source, Function<T, UUID> idOf) {
+        if (source == null || source == target || !Hibernate.isInitialized(source))
+            return;
+
+        Set<UUID> sourceIds = source.stream().map(idOf).filter(Objects::nonNull).collect(Collectors.toSet());
+        target.removeIf(element -> !sourceIds.contains(idOf.apply(element)));
+        source.stream().filter(element -> idOf.apply(element) == null).forEach(target::add);
+    }
+
+    private void publishChanged(Project project) {
+        UUID courseId = project.getCourse() != null ? project.getCourse().getId() : null;
+        eventPublisher.publishEvent(new ProjectChangedEvent(project.getId(), courseId));
     }
 }
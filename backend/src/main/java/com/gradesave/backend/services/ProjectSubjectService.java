@@ -27,7 +27,10 @@ public class ProjectSubjectService {
 
 
     public void deleteById(UUID projectSubjectId) {
-        projectSubjectRepository.deleteById(projectSubjectId);
+        projectSubjectRepository.findById(projectSubjectId).ifPresent(projectSubject -> {
+            ProjectArchiveService.checkNotArchived(projectSubject.getProject());
+            projectSubjectRepository.delete(projectSubject);
+        });
     }
 
     public Optional<ProjectSubject> findById(UUID projectSubjectId) {
@@ -35,6 +38,7 @@ public class ProjectSubjectService {
     }
 
     public ProjectSubject update(ProjectSubject entity) {
+        ProjectArchiveService.checkNotArchived(entity.getProject());
         return projectSubjectRepository.save(entity);
     }
 
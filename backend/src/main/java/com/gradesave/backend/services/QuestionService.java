@@ -1,10 +1,12 @@
 package com.gradesave.backend.services;
 
 import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.events.CatalogChangedEvent;
 import com.gradesave.backend.models.*;
 import com.gradesave.backend.repositories.ProjectQuestionRepository;
 import com.gradesave.backend.repositories.QuestionRepository;
 import com.gradesave.backend.repositories.SubjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,13 +33,16 @@ public class QuestionService implements CrudService<Question, UUID>{
     private final SubjectRepository subjectRepository;
     private final QuestionRepository questionRepository;
     private final ProjectQuestionRepository projectQuestionRepository;
-    private final ProjectService projectService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public QuestionService(SubjectRepository subjectRepository, QuestionRepository repository, ProjectQuestionRepository projectQuestionRepository, ProjectService projectService) {
+    public QuestionService(SubjectRepository subjectRepository, QuestionRepository repository, ProjectQuestionRepository projectQuestionRepository,
+                           CatalogCache catalogCache, ApplicationEventPublisher eventPublisher) {
         this.subjectRepository = subjectRepository;
         this.questionRepository = repository;
         this.projectQuestionRepository = projectQuestionRepository;
-        this.projectService = projectService;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -57,20 +62,13 @@ public class QuestionService implements CrudService<Question, UUID>{
 
         Question created = questionRepository.save(question);
 
-        for (Subject subject : subjects) {
-            for (ProjectSubject projectSubject : subject.getProjectSubjects()) {
-                Project project = projectSubject.getProject();
-                if (project.getActivityStatus() != QuestionnaireActivityStatus.EDITING) continue;
-
-                ProjectQuestion projectQuestion = new ProjectQuestion();
-                projectQuestion.setProject(project);
-                projectQuestion.setQuestion(question);
-                project.getProjectQuestions().add(projectQuestion);
-
-                projectService.update(project.getId(), project);
-            }
+        if (!subjects.isEmpty()) {
+            // the question_subject rows have to exist for the statement to find the projects
+            questionRepository.flush();
+            projectQuestionRepository.linkToEditingProjects(created.getId());
         }
 
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return created;
     }
 
@@ -84,6 +82,13 @@ public class QuestionService implements CrudService<Question, UUID>{
         return questionRepository.findAll();
     }
 
+    /**
+     * All questions with their subjects from the catalogue cache, for read-only use only
+     */
+    public CatalogCache.Snapshot<Question> getCatalog() {
+        return catalogCache.getQuestions(questionRepository::findAll);
+    }
+
     @Override
     public Question update(UUID id, Question entity) {
         Question existing = questionRepository.findById(id)
@@ -93,7 +98,9 @@ public class QuestionService implements CrudService<Question, UUID>{
         existing.setSubjects(entity.getSubjects());
         existing.setType(entity.getType());
 
-        return questionRepository.save(existing);
+        Question saved = questionRepository.save(existing);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return saved;
     }
 
     @Override
@@ -126,6 +133,7 @@ public class QuestionService implements CrudService<Question, UUID>{
         }
 
         questionRepository.delete(question);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 
     @Override
@@ -135,6 +143,7 @@ public class QuestionService implements CrudService<Question, UUID>{
             return false;
 
         questionRepository.delete(question.get());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return true;
     }
@@ -0,0 +1,335 @@
+package com.gradesave.backend.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.gradesave.backend.dto.grade.CalculateSubjectGradeDto;
+import com.gradesave.backend.dto.report.AssessmentAverageRow;
+import com.gradesave.backend.dto.report.CourseReportCardsDTO;
+import com.gradesave.backend.dto.report.PerformanceReportDTO;
+import com.gradesave.backend.dto.report.ProjectReportDTO;
+import com.gradesave.backend.dto.report.ReportCardGradeRow;
+import com.gradesave.backend.dto.report.ReportCardPerformanceRow;
+import com.gradesave.backend.dto.report.ReportCardProjectRow;
+import com.gradesave.backend.dto.report.ReportCardSubjectRow;
+import com.gradesave.backend.dto.report.StudentReportCardDTO;
+import com.gradesave.backend.dto.report.SubjectReportDTO;
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.ArchivedAnswerRepository;
+import com.gradesave.backend.repositories.ArchivedGradeRepository;
+import com.gradesave.backend.repositories.CourseRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.PerformanceRepository;
+import com.gradesave.backend.repositories.ProjectRepository;
+import com.gradesave.backend.repositories.ProjectSubjectRepository;
+import com.gradesave.backend.repositories.UserRepository;
+import com.lowagie.text.DocumentException;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * @author: Daniel Hess
+ * <p>
+ *   Service to build the report cards of all students of a course. The data is
+ *   read with one query per table for the whole course, the documents are
+ *   rendered in parallel on a bounded pool and written as one merged PDF or
+ *   streamed as a ZIP with one PDF per student.
+ * </p>
+ *
+ **/
+@Service
+public class ReportCardService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportCardService.class);
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectSubjectRepository projectSubjectRepository;
+    private final PerformanceRepository performanceRepository;
+    private final GradeRepository gradeRepository;
+    private final AnswerRepository answerRepository;
+    private final ArchivedGradeRepository archivedGradeRepository;
+    private final ArchivedAnswerRepository archivedAnswerRepository;
+    private final GradeService gradeService;
+    private final PdfService pdfService;
+
+    private final ExecutorService renderPool;
+    // documents rendered ahead of the one written to the ZIP archive
+    private final int renderAhead;
+
+    public ReportCardService(CourseRepository courseRepository,
+                             UserRepository userRepository,
+                             ProjectRepository projectRepository,
+                             ProjectSubjectRepository projectSubjectRepository,
+                             PerformanceRepository performanceRepository,
+                             GradeRepository gradeRepository,
+                             AnswerRepository answerRepository,
+                             ArchivedGradeRepository archivedGradeRepository,
+                             ArchivedAnswerRepository archivedAnswerRepository,
+                             GradeService gradeService,
+                             PdfService pdfService) {
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.projectSubjectRepository = projectSubjectRepository;
+        this.performanceRepository = performanceRepository;
+        this.gradeRepository = gradeRepository;
+        this.answerRepository = answerRepository;
+        this.archivedGradeRepository = archivedGradeRepository;
+        this.archivedAnswerRepository = archivedAnswerRepository;
+        this.gradeService = gradeService;
+        this.pdfService = pdfService;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.renderAhead = threads * 2;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-card-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdown();
+    }
+
+    /**
+     * Loads grades, performances and questionnaire averages of all students of a course
+     *
+     * @param courseId The course to build the report cards for
+     * @return The report card data, or empty if the course does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<CourseReportCardsDTO> loadCourseReportCards(UUID courseId) {
+        Optional<Course> courseOpt = courseRepository.findById(courseId);
+        if (courseOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Course course = courseOpt.get();
+
+        List<User> students = userRepository.findByCourses_IdAndRoleOrderByLastNameAscFirstNameAsc(courseId, Role.STUDENT);
+        List<ReportCardProjectRow> projects = projectRepository.findReportCardRowsByCourseId(courseId);
+
+        Map<UUID, List<ReportCardSubjectRow>> subjectsByProject = projectSubjectRepository
+                .findReportCardRowsByCourseId(courseId).stream()
+                .collect(Collectors.groupingBy(ReportCardSubjectRow::projectId));
+
+        Map<UUID, List<ReportCardPerformanceRow>> performancesBySubject = performanceRepository
+                .findReportCardRowsByCourseId(courseId).stream()
+                .collect(Collectors.groupingBy(ReportCardPerformanceRow::projectSubjectId));
+
+        // student -> performance id or project subject id -> grade
+        Map<UUID, Map<UUID, Double>> performanceGrades = new HashMap<>();
+        Map<UUID, Map<UUID, Double>> subjectGrades = new HashMap<>();
+        // archived projects keep their grades and answers in the archive tables
+        List<ReportCardGradeRow> gradeRows = new ArrayList<>(gradeRepository.findReportCardRowsByCourseId(courseId));
+        gradeRows.addAll(archivedGradeRepository.findReportCardRowsByCourseId(courseId));
+        for (ReportCardGradeRow row : gradeRows) {
+            if (row.performanceId() != null) {
+                performanceGrades.computeIfAbsent(row.studentId(), id -> new HashMap<>())
+                        .put(row.performanceId(), row.grade());
+            } else if (row.projectSubjectId() != null) {
+                subjectGrades.computeIfAbsent(row.studentId(), id -> new HashMap<>())
+                        .put(row.projectSubjectId(), row.grade());
+            }
+        }
+
+        // student -> project -> questionnaire averages
+        Map<UUID, Map<UUID, AssessmentAverageRow>> assessments = new HashMap<>();
+        List<AssessmentAverageRow> assessmentRows = new ArrayList<>(answerRepository.findAssessmentAveragesByCourseId(courseId,
+                AnswerService.NO_GRADE_SELECTED));
+        assessmentRows.addAll(archivedAnswerRepository.findAssessmentAveragesByCourseId(courseId,
+                AnswerService.NO_GRADE_SELECTED));
+        for (AssessmentAverageRow row : assessmentRows) {
+            assessments.computeIfAbsent(row.studentId(), id -> new HashMap<>()).put(row.projectId(), row);
+        }
+
+        List<StudentReportCardDTO> reportCards = new ArrayList<>(students.size());
+        for (User student : students) {
+            Map<UUID, Double> studentPerformanceGrades = performanceGrades.getOrDefault(student.getId(), Map.of());
+            Map<UUID, Double> studentSubjectGrades = subjectGrades.getOrDefault(student.getId(), Map.of());
+            Map<UUID, AssessmentAverageRow> studentAssessments = assessments.getOrDefault(student.getId(), Map.of());
+
+            List<ProjectReportDTO> projectReports = new ArrayList<>(projects.size());
+            for (ReportCardProjectRow project : projects) {
+                List<SubjectReportDTO> subjectReports = subjectsByProject
+                        .getOrDefault(project.projectId(), List.of()).stream()
+                        .map(subject -> buildSubjectReport(subject,
+                                performancesBySubject.getOrDefault(subject.projectSubjectId(), List.of()),
+                                studentPerformanceGrades, studentSubjectGrades))
+                        .toList();
+
+                AssessmentAverageRow assessment = studentAssessments.get(project.projectId());
+                projectReports.add(new ProjectReportDTO(
+                        project.projectId(),
+                        project.projectName(),
+                        project.projectStart(),
+                        subjectReports,
+                        assessment != null ? assessment.averageGrade() : null,
+                        assessment != null ? assessment.selfAssessment() : null,
+                        assessment != null ? assessment.peerAssessment() : null));
+            }
+
+            reportCards.add(new StudentReportCardDTO(
+                    student.getId(), student.getFirstName(), student.getLastName(), projectReports));
+        }
+
+        User classTeacher = course.getClassTeacher();
+        String classTeacherName = classTeacher != null
+                ? classTeacher.getFirstName() + " " + classTeacher.getLastName()
+                : "-";
+
+        return Optional.of(new CourseReportCardsDTO(course.getId(), course.getCourseName(), classTeacherName, reportCards));
+    }
+
+    /**
+     * Renders the report card of every student on the render pool
+     *
+     * @param course The loaded report card data
+     * @return One PDF document per student, in the order of the students
+     */
+    public List<byte[]> renderReportCards(CourseReportCardsDTO course) {
+        List<CompletableFuture<byte[]>> futures = course.students().stream()
+                .map(student -> CompletableFuture.supplyAsync(() -> renderReportCard(course, student), renderPool))
+                .toList();
+
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Writes rendered report cards as one merged PDF
+     *
+     * @param documents The rendered documents, in the order of the students
+     * @param out       Stream to write to
+     * @throws IOException if writing fails
+     */
+    public void writeReportCardPdf(List<byte[]> documents, OutputStream out) throws IOException {
+        try {
+            pdfService.mergePdfs(documents, out);
+        } catch (DocumentException ex) {
+            throw new IOException("Failed to merge report cards", ex);
+        }
+    }
+
+    /**
+     * Renders the report cards on the render pool and streams them into a ZIP
+     * archive in the order of the students. Each document is written as soon as
+     * it is done and dropped afterwards, only the documents rendered ahead are
+     * held in memory.
+     *
+     * @param course The loaded report card data
+     * @param out    Stream to write to, it is not closed
+     * @throws IOException if writing fails
+     */
+    public void writeReportCardZip(CourseReportCardsDTO course, OutputStream out) throws IOException {
+        List<StudentReportCardDTO> students = course.students();
+        Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        Set<String> usedNames = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(out);
+
+        int submitted = 0;
+        try {
+            for (StudentReportCardDTO student : students) {
+                while (submitted < students.size() && pending.size() < renderAhead) {
+                    StudentReportCardDTO next = students.get(submitted++);
+                    pending.add(CompletableFuture.supplyAsync(() -> renderReportCard(course, next), renderPool));
+                }
+
+                byte[] document = pending.remove().join();
+                zip.putNextEntry(new ZipEntry(entryName(student, usedNames)));
+                zip.write(document);
+                zip.closeEntry();
+            }
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        } finally {
+            // only left over if writing failed
+            pending.forEach(future -> future.cancel(true));
+        }
+        zip.finish();
+    }
+
+    private String entryName(StudentReportCardDTO student, Set<String> usedNames) {
+        String baseName = "report_" + sanitize(student.lastName()) + "_" + sanitize(student.firstName());
+        String name = baseName + ".pdf";
+        for (int n = 2; !usedNames.add(name); n++) {
+            name = baseName + "_" + n + ".pdf";
+        }
+        return name;
+    }
+
+    private byte[] renderReportCard(CourseReportCardsDTO course, StudentReportCardDTO student) {
+        try {
+            return pdfService.generateReportCardPdf(course, student);
+        } catch (DocumentException ex) {
+            log.error("Failed to render report card for student {}", student.studentId(), ex);
+            throw new IllegalStateException("Failed to render report card", ex);
+        }
+    }
+
+    private SubjectReportDTO buildSubjectReport(ReportCardSubjectRow subject,
+                                                List<ReportCardPerformanceRow> performances,
+                                                Map<UUID, Double> performanceGrades,
+                                                Map<UUID, Double> subjectGrades) {
+        List<PerformanceReportDTO> performanceReports = new ArrayList<>(performances.size());
+        List<CalculateSubjectGradeDto> gradesWithWeight = new ArrayList<>();
+        for (ReportCardPerformanceRow performance : performances) {
+            Double grade = performanceGrades.get(performance.performanceId());
+            performanceReports.add(new PerformanceReportDTO(
+                    performance.name(), performance.shortName(), performance.weight(), grade));
+            if (grade != null && performance.weight() != null) {
+                gradesWithWeight.add(new CalculateSubjectGradeDto(grade, performance.weight()));
+            }
+        }
+
+        // A stored subject grade wins, otherwise it is derived from the performances
+        Double storedGrade = subjectGrades.get(subject.projectSubjectId());
+        BigDecimal subjectGrade = storedGrade != null
+                ? BigDecimal.valueOf(storedGrade)
+                : gradesWithWeight.isEmpty() ? null : gradeService.calculateSubjectGrade(gradesWithWeight);
+
+        return new SubjectReportDTO(subject.subjectName(), subject.shortName(), subject.isLearningField(),
+                subject.duration(), subjectGrade, performanceReports);
+    }
+
+    private String sanitize(String value) {
+        if (value == null || value.isBlank()) {
+            return "unknown";
+        }
+        return value.replaceAll("[^A-Za-z0-9ÄÖÜäöüß-]", "_");
+    }
+}
@@ -0,0 +1,186 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.config.SessionTokenProperties;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.WebUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <p>
+ *   Issues and verifies the HMAC signed session tokens of the stateless mode.
+ *   A token is {@code base64url(payload).base64url(hmac-sha256(payload))} with
+ *   the payload {@code kid|userId|role|pwChanged|issuedAt|expiresAt|tokenId|username}.
+ *   Verification needs neither the database nor a session store.
+ * </p>
+ *
+ **/
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * A verified token
+     */
+    public record SessionToken(AuthenticatedUser user, String tokenId, long expiresAt) {
+    }
+
+    private final SessionTokenProperties properties;
+    private final TokenRevocationService revocationService;
+    private final Map<String, SecretKeySpec> keys = new HashMap<>();
+
+    public SessionTokenService(SessionTokenProperties properties, TokenRevocationService revocationService) {
+        this.properties = properties;
+        this.revocationService = revocationService;
+
+        properties.keys().forEach((kid, secret) -> {
+            if (secret == null || secret.isBlank()) {
+                return;
+            }
+            byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("Session token key '" + kid + "' must be at least "
+                        + MIN_SECRET_BYTES + " bytes long");
+            }
+            keys.put(kid, new SecretKeySpec(bytes, ALGORITHM));
+        });
+
+        if (properties.stateless() && !keys.containsKey(properties.activeKey())) {
+            throw new IllegalStateException("Stateless sessions need app.security.token.keys."
+                    + properties.activeKey() + " to be set");
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.stateless();
+    }
+
+    public String issue(AuthenticatedUser user) {
+        long issuedAt = System.currentTimeMillis();
+        long expiresAt = issuedAt + properties.ttl().toMillis();
+
+        String payload = String.join("|",
+                properties.activeKey(),
+                user.id().toString(),
+                user.role().name(),
+                user.changedDefaultPassword() ? "1" : "0",
+                Long.toString(issuedAt),
+                Long.toString(expiresAt),
+                UUID.randomUUID().toString(),
+                user.username());
+
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(properties.activeKey(), encodedPayload));
+    }
+
+    /**
+     * Checks signature, expiry and revocation of a token
+     *
+     * @return The token, or empty if it is invalid in any way
+     */
+    public Optional<SessionToken> verify(String token) {
+        try {
+            int dot = token.indexOf('.');
+            if (dot <= 0) {
+                return Optional.empty();
+            }
+
+            String encodedPayload = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", 8);
+            if (fields.length != 8 || !keys.containsKey(fields[0])) {
+                return Optional.empty();
+            }
+
+            if (!MessageDigest.isEqual(signature, sign(fields[0], encodedPayload))) {
+                return Optional.empty();
+            }
+
+            long issuedAt = Long.parseLong(fields[4]);
+            long expiresAt = Long.parseLong(fields[5]);
+            if (expiresAt <= System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+
+            UUID userId = UUID.fromString(fields[1]);
+            String tokenId = fields[6];
+            if (revocationService.isRevoked(tokenId, userId, issuedAt)) {
+                return Optional.empty();
+            }
+
+            AuthenticatedUser user = new AuthenticatedUser(userId, fields[7], Role.valueOf(fields[2]),
+                    "1".equals(fields[3]), issuedAt);
+            return Optional.of(new SessionToken(user, tokenId, expiresAt));
+        } catch (IllegalArgumentException ex) {
+            log.debug("Rejected malformed session token", ex);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<SessionToken> fromRequest(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, properties.cookieName());
+        if (cookie == null || cookie.getValue() == null || cookie.getValue().isBlank()) {
+            return Optional.empty();
+        }
+        return verify(cookie.getValue());
+    }
+
+    /**
+     * Sets a fresh token cookie for the given user
+     */
+    public void writeCookie(AuthenticatedUser user, HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(issue(user), properties.ttl()).toString());
+    }
+
+    /**
+     * Revokes the token of the request and clears the cookie
+     */
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        fromRequest(request).ifPresent(token -> revocationService.revokeToken(token.tokenId(), token.expiresAt()));
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie cookie(String value, Duration maxAge) {
+        return ResponseCookie.from(properties.cookieName(), value)
+                .httpOnly(true)
+                .secure(properties.secureCookie())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private byte[] sign(String kid, String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(keys.get(kid));
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to sign session token", ex);
+        }
+    }
+}
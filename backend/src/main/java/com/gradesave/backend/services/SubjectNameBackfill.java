@@ -0,0 +1,37 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.repositories.SubjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ *   Names the subjects that were stored before a name was required. The
+ *   name is a keyset sort key and must not be null, but ddl-auto=update only
+ *   puts the NOT NULL constraint on new schemas, so existing rows are filled
+ *   in here. Only rows without a name are touched, so after the first start
+ *   this is a single no-op statement.
+ * </p>
+ *
+ **/
+@Component
+public class SubjectNameBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SubjectNameBackfill.class);
+
+    private final SubjectRepository subjectRepository;
+
+    public SubjectNameBackfill(SubjectRepository subjectRepository) {
+        this.subjectRepository = subjectRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingNames() {
+        int rows = subjectRepository.fillMissingNames();
+        if (rows > 0)
+            log.info("Named {} subjects without a name after their short name", rows);
+    }
+}
@@ -1,11 +1,16 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.events.CatalogChangedEvent;
 import com.gradesave.backend.models.Subject;
 import com.gradesave.backend.repositories.SubjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,15 +25,26 @@ import java.util.UUID;
 @Service
 public class SubjectService implements CrudService<Subject, UUID> {
 
+    private static final Map<String, CursorPaging.SortKey> PAGE_SORT_KEYS = Map.of(
+            "name", CursorPaging.SortKey.text("name"),
+            "shortName", CursorPaging.SortKey.text("shortName"));
+
     private final SubjectRepository subjectRepository;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SubjectService(SubjectRepository subjectRepository) {
+    public SubjectService(SubjectRepository subjectRepository, CatalogCache catalogCache,
+                          ApplicationEventPublisher eventPublisher) {
         this.subjectRepository = subjectRepository;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Subject create(Subject subject) {
-        return subjectRepository.save(subject);
+        Subject saved = subjectRepository.save(subject);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return saved;
     }
 
     @Override
@@ -41,18 +57,55 @@ public class SubjectService implements CrudService<Subject, UUID> {
         return subjectRepository.findAll();
     }
 
+    /**
+     * All subjects from the catalogue cache, for read-only use only
+     */
+    public CatalogCache.Snapshot<Subject> getCatalog() {
+        return catalogCache.getSubjects(subjectRepository::findAll);
+    }
+
+    /**
+     * Reads one page of subjects with a keyset query
+     *
+     * @param learningField only learning fields or only regular subjects, optional
+     * @param query         case-insensitive prefix of name or short name, optional
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Subject> getPage(String cursor, Integer limit, String sort, Boolean learningField,
+                                       String query) {
+        CursorPaging.Request request = CursorPaging.request(cursor, limit, sort, PAGE_SORT_KEYS, "name");
+
+        Specification<Subject> spec = (root, q, cb) -> cb.conjunction();
+        if (learningField != null) {
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("learningField"), learningField));
+        }
+        if (query != null && !query.isBlank()) {
+            String pattern = CursorPaging.prefixPattern(query);
+            spec = spec.and((root, q, cb) -> cb.or(
+                    cb.like(cb.lower(root.<String>get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.<String>get("shortName")), pattern, '\\')));
+        }
+
+        return request.toPage(subjectRepository.findBy(spec, q -> q.sortBy(request.toSort())
+                .limit(request.limit())
+                .scroll(request.position())));
+    }
+
     @Override
     public Subject update(UUID id, Subject subject) {
         if (!exists(id)) {
             throw new IllegalArgumentException("Subject with id " + id + " does not exist");
         }
-        return subjectRepository.save(subject);
+        Subject saved = subjectRepository.save(subject);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return saved;
     }
 
 
     @Override
     public void deleteById(UUID id) {
         subjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 
     @Override
@@ -62,6 +115,7 @@ public class SubjectService implements CrudService<Subject, UUID> {
             return false;
 
         subjectRepository.delete(subject.get());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return true;
     }
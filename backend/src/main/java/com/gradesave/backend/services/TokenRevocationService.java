@@ -0,0 +1,124 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.config.SessionTokenProperties;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.models.RevokedToken;
+import com.gradesave.backend.repositories.RevokedTokenRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ *   Revocation list of the stateless session tokens. Checks only use the
+ *   in-memory copy, so verifying a token never waits for the database.
+ * </p>
+ * <p>
+ *   A logout or user change takes effect at once on the instance that handled
+ *   it. Other instances read it from the table on their next refresh, until
+ *   then the revoked token is still accepted there: for at most
+ *   {@code app.security.token.revocation-refresh-ms} (30 seconds by default)
+ *   plus the time of one refresh. Deployments that cannot accept this window
+ *   lower the interval or run a single instance.
+ * </p>
+ *
+ **/
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final SessionTokenProperties properties;
+
+    // token id -> expiry of the token (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // user id -> tokens issued before this point are revoked (epoch millis)
+    private final Map<UUID, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, SessionTokenProperties properties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = properties;
+    }
+
+    public boolean isRevoked(String tokenId, UUID userId, long issuedAt) {
+        if (revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        Long before = revokedBefore.get(userId);
+        return before != null && issuedAt < before;
+    }
+
+    /**
+     * Revokes a single token, used on logout
+     */
+    @Transactional
+    public void revokeToken(String tokenId, long expiresAt) {
+        RevokedToken row = new RevokedToken();
+        row.setTokenId(tokenId);
+        row.setRevokedAt(Instant.now());
+        row.setExpiresAt(Instant.ofEpochMilli(expiresAt));
+        revokedTokenRepository.save(row);
+
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    /**
+     * Revokes every token of a user that was issued until now
+     */
+    @Transactional
+    public void revokeAllForUser(UUID userId) {
+        Instant now = Instant.now();
+
+        RevokedToken row = new RevokedToken();
+        row.setUserId(userId);
+        row.setRevokedAt(now);
+        row.setExpiresAt(now.plus(properties.ttl()));
+        revokedTokenRepository.save(row);
+
+        revokedBefore.merge(userId, now.toEpochMilli(), Math::max);
+    }
+
+    /**
+     * Changed or deleted users have to log in again, so their tokens never
+     * carry an outdated role or password state. Runs after the change has
+     * committed, in a transaction of its own for the revocation row
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onUserChanged(UserChangedEvent event) {
+        if (properties.stateless()) {
+            revokeAllForUser(event.userId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token.revocation-refresh-ms:30000}")
+    @Transactional
+    public void refresh() {
+        if (!properties.stateless()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+
+        for (RevokedToken row : revokedTokenRepository.findAll()) {
+            if (row.getTokenId() != null) {
+                revokedTokens.put(row.getTokenId(), row.getExpiresAt().toEpochMilli());
+            } else if (row.getUserId() != null) {
+                revokedBefore.merge(row.getUserId(), row.getRevokedAt().toEpochMilli(), Math::max);
+            }
+        }
+
+        long nowMillis = now.toEpochMilli();
+        long ttlMillis = properties.ttl().toMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < nowMillis);
+        revokedBefore.values().removeIf(revokedAt -> revokedAt + ttlMillis < nowMillis);
+    }
+}
@@ -0,0 +1,214 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.user.BulkUserResultDTO;
+import com.gradesave.backend.dto.user.BulkUserSelectionDTO;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.repositories.CourseRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.GroupRepository;
+import com.gradesave.backend.repositories.PerformanceRepository;
+import com.gradesave.backend.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * @author: Daniel Hess
+ * <p>
+ *   Bulk administration of users. Every operation resolves the selection to
+ *   a set of ids once and then runs a fixed number of set-based statements
+ *   in one transaction, independent of the number of users.
+ * </p>
+ *
+ **/
+@Service
+@Transactional
+public class UserBulkService {
+
+    public static final int MAX_BULK_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(UserBulkService.class);
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final GroupRepository groupRepository;
+    private final GradeRepository gradeRepository;
+    private final AnswerRepository answerRepository;
+    private final PerformanceRepository performanceRepository;
+    private final UserService userService;
+    private final PdfService pdfService;
+    private final PasswordEncoder encoder;
+    private final SecureRandom secureRandom;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserBulkService(UserRepository userRepository, CourseRepository courseRepository,
+                           GroupRepository groupRepository, GradeRepository gradeRepository,
+                           AnswerRepository answerRepository, PerformanceRepository performanceRepository,
+                           UserService userService, PdfService pdfService, PasswordEncoder encoder,
+                           SecureRandom secureRandom, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.groupRepository = groupRepository;
+        this.gradeRepository = gradeRepository;
+        this.answerRepository = answerRepository;
+        this.performanceRepository = performanceRepository;
+        this.userService = userService;
+        this.pdfService = pdfService;
+        this.encoder = encoder;
+        this.secureRandom = secureRandom;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Deletes the selected users together with their memberships, grades and answers
+     *
+     * @param selection users to delete
+     * @return counts of the deleted rows per table
+     */
+    public BulkUserResultDTO deleteUsers(BulkUserSelectionDTO selection) {
+        List<UUID> ids = resolve(selection);
+        if (ids.isEmpty()) {
+            return new BulkUserResultDTO(0, Map.of());
+        }
+
+        long assignedPerformances = performanceRepository.countByAssignedTeacherIdIn(ids);
+        if (assignedPerformances > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    assignedPerformances + " performances are still assigned to selected teachers");
+        }
+
+        Map<String, Integer> affected = new LinkedHashMap<>();
+        affected.put("answers", answerRepository.deleteByAuthorOrRecipientIdIn(ids));
+        affected.put("grades", gradeRepository.deleteByStudentIdIn(ids));
+        affected.put("groupMemberships", groupRepository.deleteMembershipsByUserIdIn(ids));
+        affected.put("courseMemberships", courseRepository.deleteMembershipsByUserIdIn(ids));
+        affected.put("classTeachers", courseRepository.clearClassTeacherByIdIn(ids));
+        affected.put("users", userRepository.deleteByIdIn(ids));
+
+        ids.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id, true)));
+        log.info("Bulk deleted {} users", affected.get("users"));
+
+        return new BulkUserResultDTO(ids.size(), affected);
+    }
+
+    /**
+     * Sets the role of the selected users
+     *
+     * @param selection users to change
+     * @param role      the new role
+     * @return number of users whose role changed
+     */
+    public BulkUserResultDTO changeRole(BulkUserSelectionDTO selection, Role role) {
+        List<UUID> ids = resolve(selection);
+        if (ids.isEmpty()) {
+            return new BulkUserResultDTO(0, Map.of());
+        }
+
+        int updated = userRepository.updateRoleByIdIn(ids, role);
+        ids.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id, false)));
+
+        return new BulkUserResultDTO(ids.size(), Map.of("users", updated));
+    }
+
+    /**
+     * Gives the selected users a new temporary password and writes one credentials PDF for all of them
+     *
+     * @param selection users to reset
+     * @return number of reset passwords
+     */
+    public BulkUserResultDTO resetPasswords(BulkUserSelectionDTO selection) {
+        List<UUID> ids = resolve(selection);
+        if (ids.isEmpty()) {
+            return new BulkUserResultDTO(0, Map.of());
+        }
+
+        List<User> users = userRepository.findAllById(ids);
+
+        Map<User, String> usersWithPasswords = new LinkedHashMap<>();
+        users.forEach(user -> usersWithPasswords.put(user, generateRandomPassword(12)));
+
+        // hashing dominates, so it runs in parallel; the updates are flushed as one batch
+        Map<User, String> hashes = usersWithPasswords.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> encoder.encode(entry.getValue())));
+        hashes.forEach((user, hash) -> {
+            user.setPassword(hash);
+            user.setChangedDefaultPassword(false);
+        });
+        userRepository.flush();
+
+        users.forEach(user -> eventPublisher.publishEvent(new UserChangedEvent(user.getId(), false)));
+
+        try {
+            pdfService.generateBulkUserCredentialsPdf(usersWithPasswords);
+        } catch (Exception e) {
+            log.error("Failed to generate bulk PDF: {}", e.getMessage(), e);
+        }
+
+        return new BulkUserResultDTO(users.size(), Map.of("passwords", users.size()));
+    }
+
+    /**
+     * Resolves a selection to the ids of existing users, never including the current user
+     */
+    private List<UUID> resolve(BulkUserSelectionDTO selection) {
+        if (selection == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No users selected");
+        }
+
+        List<UUID> ids;
+        if (selection.ids() != null && !selection.ids().isEmpty()) {
+            Set<UUID> requested = new LinkedHashSet<>(selection.ids());
+            checkSize(requested.size());
+            ids = userRepository.findExistingIds(requested);
+        } else {
+            boolean unassigned = Boolean.TRUE.equals(selection.unassigned());
+            if (selection.role() == null && selection.courseId() == null && !unassigned) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selection needs ids or a filter");
+            }
+            ids = userRepository.findIdsByFilter(selection.role(), selection.courseId(), unassigned);
+            checkSize(ids.size());
+        }
+
+        UUID currentUserId = userService.getCurrentPrincipal()
+                .map(AuthenticatedUser::id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "not logged in"));
+        if (ids.contains(currentUserId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selection must not contain the current user");
+        }
+        return ids;
+    }
+
+    private void checkSize(int size) {
+        if (size > MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_SIZE + " users can be changed at once, selection has " + size);
+        }
+    }
+
+    private String generateRandomPassword(int length) {
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*";
+        StringBuilder password = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            password.append(chars.charAt(secureRandom.nextInt(chars.length())));
+        }
+        return password.toString();
+    }
+}
@@ -0,0 +1,338 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.course.CourseMemberRow;
+import com.gradesave.backend.dto.user.UserDto;
+import com.gradesave.backend.dto.user.UserSearchRow;
+import com.gradesave.backend.events.CourseChangedEvent;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.events.UserCreatedEvent;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.CourseRepository;
+import com.gradesave.backend.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>
+ *   In-memory typeahead index over username, first and last name. Every
+ *   name part is a token; the tokens are kept in a sorted map with the ids
+ *   of their users, so a prefix lookup is a range of that map. The users
+ *   are kept sorted by (last name, first name), results are read in that
+ *   order.
+ * </p>
+ * <p>
+ *   Changes only mark users or courses as pending. On the next search the
+ *   pending users and the members of the pending courses are reloaded with
+ *   one query each, and only their entries are replaced; the rest of the
+ *   index stays as it is.
+ * </p>
+ *
+ **/
+@Component
+public class UserSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final Comparator<UserSearchRow> NAME_ORDER =
+            Comparator.comparing((UserSearchRow u) -> nullToEmpty(u.lastName()), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(u -> nullToEmpty(u.firstName()), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(UserSearchRow::id);
+
+    // below this many candidates per result the candidates are sorted, above the sorted users are scanned
+    private static final int SORT_CANDIDATES_FACTOR = 8;
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+
+    // all fields below are guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, UserSearchRow> users = new HashMap<>();
+    private final NavigableSet<UserSearchRow> ordered = new TreeSet<>(NAME_ORDER);
+    private final TreeMap<String, Set<UUID>> tokens = new TreeMap<>();
+    private final Map<UUID, Set<UUID>> membersByCourse = new HashMap<>();
+    private final Map<UUID, Set<UUID>> coursesByUser = new HashMap<>();
+    private volatile boolean loaded;
+
+    private final Set<UUID> pendingUsers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingCourses = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> deletedUsers = ConcurrentHashMap.newKeySet();
+
+    public UserSearchIndex(UserRepository userRepository, CourseRepository courseRepository) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            pendingUsers.clear();
+            pendingCourses.clear();
+            deletedUsers.clear();
+            users.clear();
+            ordered.clear();
+            tokens.clear();
+            membersByCourse.clear();
+            coursesByUser.clear();
+
+            userRepository.findAllSearchRows().forEach(this::put);
+            for (CourseMemberRow row : courseRepository.findAllMemberRows()) {
+                membersByCourse.computeIfAbsent(row.courseId(), id -> new HashSet<>()).add(row.userId());
+                coursesByUser.computeIfAbsent(row.userId(), id -> new HashSet<>()).add(row.courseId());
+            }
+            loaded = true;
+
+            log.info("Built user search index with {} users in {} ms", users.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        pendingUsers.add(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.deleted()) {
+            deletedUsers.add(event.userId());
+        } else {
+            pendingUsers.add(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        pendingCourses.add(event.courseId());
+    }
+
+    /**
+     * Finds users whose name parts start with every word of the query
+     *
+     * @param query      words to match, all users if blank
+     * @param role       only users with this role, optional
+     * @param courseId   only members of this course, optional
+     * @param unassigned only users that are in no course
+     * @param limit      maximum number of results
+     * @return Matching users ordered by last and first name
+     */
+    public List<UserDto> search(String query, Role role, UUID courseId, boolean unassigned, Integer limit) {
+        applyPending();
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+
+        lock.readLock().lock();
+        try {
+            // null stands for all users
+            Set<UUID> candidates = null;
+            if (query != null && !query.isBlank()) {
+                for (String word : query.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+                    Set<UUID> wordMatches = prefixMatches(word);
+                    if (candidates == null) {
+                        candidates = wordMatches;
+                    } else {
+                        candidates.retainAll(wordMatches);
+                    }
+                }
+            }
+
+            if (courseId != null) {
+                Set<UUID> members = membersByCourse.getOrDefault(courseId, Set.of());
+                if (candidates == null) {
+                    candidates = new HashSet<>(members);
+                } else {
+                    candidates.retainAll(members);
+                }
+            }
+
+            Iterable<UserSearchRow> inOrder;
+            if (candidates == null) {
+                inOrder = ordered;
+            } else if (candidates.size() <= max * SORT_CANDIDATES_FACTOR) {
+                List<UserSearchRow> rows = new ArrayList<>(candidates.size());
+                for (UUID id : candidates) {
+                    UserSearchRow row = users.get(id);
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+                rows.sort(NAME_ORDER);
+                inOrder = rows;
+            } else {
+                Set<UUID> matches = candidates;
+                // lazy, the scan stops once the result is full
+                inOrder = ordered.stream().filter(user -> matches.contains(user.id()))::iterator;
+            }
+
+            List<UserDto> result = new ArrayList<>(max);
+            for (UserSearchRow user : inOrder) {
+                if (result.size() >= max) {
+                    break;
+                }
+                if (role != null && user.role() != role) {
+                    continue;
+                }
+                if (unassigned && coursesByUser.containsKey(user.id())) {
+                    continue;
+                }
+                result.add(new UserDto(user.id(), user.username(), user.firstName(), user.lastName(), user.role()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<UUID> prefixMatches(String prefix) {
+        Set<UUID> matches = new HashSet<>();
+        for (Set<UUID> ids : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            matches.addAll(ids);
+        }
+        return matches;
+    }
+
+    /**
+     * Replaces the entries of all users and courses changed since the last search,
+     * with one query for the users and one for the course members
+     */
+    private void applyPending() {
+        if (!loaded) {
+            rebuild();
+            return;
+        }
+        if (pendingUsers.isEmpty() && pendingCourses.isEmpty() && deletedUsers.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<UUID> deleted = drain(deletedUsers);
+            for (UUID userId : deleted) {
+                remove(userId);
+                Set<UUID> courses = coursesByUser.remove(userId);
+                if (courses != null) {
+                    for (UUID courseId : courses) {
+                        Set<UUID> members = membersByCourse.get(courseId);
+                        if (members != null) {
+                            members.remove(userId);
+                        }
+                    }
+                }
+            }
+
+            Set<UUID> changedUsers = drain(pendingUsers);
+            changedUsers.removeAll(deleted);
+            if (!changedUsers.isEmpty()) {
+                changedUsers.forEach(this::remove);
+                userRepository.findSearchRowsByIdIn(changedUsers).forEach(this::put);
+            }
+
+            Set<UUID> changedCourses = drain(pendingCourses);
+            if (!changedCourses.isEmpty()) {
+                reloadMembers(changedCourses);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reloadMembers(Set<UUID> courseIds) {
+        Map<UUID, Set<UUID>> reloaded = new HashMap<>();
+        courseIds.forEach(courseId -> reloaded.put(courseId, new HashSet<>()));
+        for (CourseMemberRow row : courseRepository.findMemberRowsByCourseIdIn(courseIds)) {
+            reloaded.get(row.courseId()).add(row.userId());
+        }
+
+        reloaded.forEach((courseId, members) -> {
+            Set<UUID> previous = membersByCourse.getOrDefault(courseId, Set.of());
+            for (UUID userId : previous) {
+                if (!members.contains(userId)) {
+                    Set<UUID> courses = coursesByUser.get(userId);
+                    courses.remove(courseId);
+                    if (courses.isEmpty()) {
+                        coursesByUser.remove(userId);
+                    }
+                }
+            }
+            members.forEach(userId -> coursesByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(courseId));
+
+            if (members.isEmpty()) {
+                membersByCourse.remove(courseId);
+            } else {
+                membersByCourse.put(courseId, members);
+            }
+        });
+    }
+
+    private void put(UserSearchRow user) {
+        users.put(user.id(), user);
+        ordered.add(user);
+        for (String token : tokensOf(user)) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(user.id());
+        }
+    }
+
+    private void remove(UUID userId) {
+        UserSearchRow user = users.remove(userId);
+        if (user == null) {
+            return;
+        }
+        ordered.remove(user);
+        for (String token : tokensOf(user)) {
+            Set<UUID> ids = tokens.get(token);
+            if (ids != null && ids.remove(userId) && ids.isEmpty()) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    private static Set<String> tokensOf(UserSearchRow user) {
+        Set<String> result = new HashSet<>();
+        for (String field : new String[] { user.username(), user.firstName(), user.lastName() }) {
+            if (field == null) {
+                continue;
+            }
+            for (String token : field.toLowerCase(Locale.ROOT).split("[\\s\\-.]+")) {
+                if (!token.isEmpty()) {
+                    result.add(token);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Set<UUID> drain(Set<UUID> pending) {
+        Set<UUID> ids = new HashSet<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -1,7 +1,14 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.events.UserCreatedEvent;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.repositories.CustomUserDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,17 +26,24 @@ import java.util.UUID;
 @Transactional
 public class UserService implements CrudService<User, UUID> {
 
+    private static final Map<String, CursorPaging.SortKey> PAGE_SORT_KEYS = Map.of(
+            "lastName", CursorPaging.SortKey.text("lastName"),
+            "username", CursorPaging.SortKey.text("username"));
+
     private final com.gradesave.backend.repositories.UserRepository repo;
     private final PasswordEncoder encoder;
     private final CourseService courseService;
     private final PdfService pdfService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(com.gradesave.backend.repositories.UserRepository repo, PasswordEncoder encoder,
-                       CourseService courseService, PdfService pdfService) {
+                       CourseService courseService, PdfService pdfService,
+                       ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.encoder = encoder;
         this.courseService = courseService;
         this.pdfService = pdfService;
+        this.eventPublisher = eventPublisher;
     }
 
     public User findByUsername(String username) {
@@ -54,6 +69,7 @@ public class UserService implements CrudService<User, UUID> {
             }
         }
 
+        eventPublisher.publishEvent(new UserCreatedEvent(saved.getId()));
         return saved;
     }
 
@@ -68,6 +84,19 @@ public class UserService implements CrudService<User, UUID> {
         return repo.findByUsername(name);
     }
 
+    /**
+     * The user with the courses, as needed for the profile of the current user
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> getWithCourses(UUID id) {
+        return repo.findWithCoursesById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<User> getWithCoursesByUsername(String name) {
+        return repo.findWithCoursesByUsername(name);
+    }
+
     @Transactional(readOnly = true)
     public boolean existsByUsername(String name) {
         return repo.existsByUsername(name);
@@ -94,7 +123,9 @@ public class UserService implements CrudService<User, UUID> {
             existing.setPassword(encoder.encode(patch.getPassword()));
         }
 
-        return repo.save(existing);
+        User saved = repo.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, false));
+        return saved;
     }
 
     @Override
@@ -107,6 +138,7 @@ public class UserService implements CrudService<User, UUID> {
                     "Failed to remove User from all courses");
 
         repo.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, true));
     }
 
     @Override
@@ -117,6 +149,7 @@ public class UserService implements CrudService<User, UUID> {
             return false;
 
         repo.delete(user.get());
+        eventPublisher.publishEvent(new UserChangedEvent(uuid, true));
 
         return true;
 
@@ -134,6 +167,33 @@ public class UserService implements CrudService<User, UUID> {
         return repo.count();
     }
 
+    /**
+     * Reads one page of users with a keyset query
+     *
+     * @param role  only users with this role, optional
+     * @param query case-insensitive prefix of username, first or last name, optional
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> getPage(String cursor, Integer limit, String sort, Role role, String query) {
+        CursorPaging.Request request = CursorPaging.request(cursor, limit, sort, PAGE_SORT_KEYS, "lastName");
+
+        Specification<User> spec = (root, q, cb) -> cb.conjunction();
+        if (role != null) {
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("role"), role));
+        }
+        if (query != null && !query.isBlank()) {
+            String pattern = CursorPaging.prefixPattern(query);
+            spec = spec.and((root, q, cb) -> cb.or(
+                    cb.like(cb.lower(root.<String>get("username")), pattern, '\\'),
+                    cb.like(cb.lower(root.<String>get("firstName")), pattern, '\\'),
+                    cb.like(cb.lower(root.<String>get("lastName")), pattern, '\\')));
+        }
+
+        return request.toPage(repo.findBy(spec, q -> q.sortBy(request.toSort())
+                .limit(request.limit())
+                .scroll(request.position())));
+    }
+
     public List<User> GetUsersByRole(Role role) {
         return repo.findByRole(role);
     }
@@ -146,21 +206,27 @@ public class UserService implements CrudService<User, UUID> {
         return repo.findAllById(uuids);
     }
 
-    public Optional<User> getCurrentUser() {
+    /**
+     * Returns the principal stored in the security context without touching the database
+     */
+    public Optional<AuthenticatedUser> getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated() ||
-                authentication.getPrincipal() instanceof String && authentication.getPrincipal().equals("anonymousUser")) {
+                !(authentication.getPrincipal() instanceof CustomUserDetails details)) {
             return Optional.empty();
         }
 
-        String username = authentication.getName();
-        User user = this.findByUsername(username);
-
-        if (user == null)
-            return Optional.empty();
+        return Optional.of(details.getUser());
+    }
 
-        return Optional.of(user);
+    /**
+     * Loads the entity of the logged in user by primary key, only needed when
+     * more than the principal is required
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> getCurrentUser() {
+        return getCurrentPrincipal().flatMap(principal -> repo.findById(principal.id()));
     }
 
     public PasswordEncoder getPasswordEncoder() {
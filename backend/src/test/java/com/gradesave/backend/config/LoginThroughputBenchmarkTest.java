@@ -0,0 +1,86 @@
+package com.gradesave.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures login throughput of the password check behind the admission
+ * limiter for several bcrypt costs. Simulates a class logging in at once.
+ * Only runs with -Dbenchmark=true, costs can be set with
+ * -Dbenchmark.bcrypt-strengths=8,10,12
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThroughputBenchmarkTest.class);
+
+    private static final int CLASS_SIZE = 30;
+    private static final String PASSWORD = "correct horse battery";
+
+    @Test
+    void loginThroughputPerBcryptStrength() throws Exception {
+        int[] strengths = Arrays.stream(System.getProperty("benchmark.bcrypt-strengths", "8,10,12").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        log.info(String.format("%-8s %-8s %-12s %-12s %-12s", "cost", "logins", "logins/s", "avg ms", "max ms"));
+
+        for (int strength : strengths) {
+            PasswordEncoder encoder = new SecureConfig().passwordEncoder(strength);
+            String hash = encoder.encode(PASSWORD);
+            LoginAdmissionLimiter limiter = new LoginAdmissionLimiter(0, 60_000);
+
+            // warm up the JIT before measuring
+            encoder.matches(PASSWORD, hash);
+
+            ExecutorService servletThreads = Executors.newFixedThreadPool(CLASS_SIZE);
+            List<Future<Long>> logins = new ArrayList<>(CLASS_SIZE);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < CLASS_SIZE; i++) {
+                logins.add(servletThreads.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    assertTrue(limiter.tryAcquire());
+                    try {
+                        assertTrue(encoder.matches(PASSWORD, hash));
+                    } finally {
+                        limiter.release();
+                    }
+                    return System.nanoTime() - requestStart;
+                }));
+            }
+
+            long totalLatency = 0;
+            long maxLatency = 0;
+            for (Future<Long> login : logins) {
+                long latency = login.get();
+                totalLatency += latency;
+                maxLatency = Math.max(maxLatency, latency);
+            }
+            long elapsed = System.nanoTime() - start;
+            servletThreads.shutdown();
+
+            assertEquals(0, limiter.getQueueLength());
+            log.info(String.format("%-8d %-8d %-12.1f %-12.1f %-12.1f",
+                    strength,
+                    CLASS_SIZE,
+                    CLASS_SIZE / (elapsed / 1e9),
+                    totalLatency / 1e6 / CLASS_SIZE,
+                    maxLatency / 1e6));
+        }
+    }
+}
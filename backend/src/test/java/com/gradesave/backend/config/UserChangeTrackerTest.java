@@ -0,0 +1,61 @@
+package com.gradesave.backend.config;
+
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserChangeTracker
+ */
+class UserChangeTrackerTest {
+
+    @Test
+    void testIsStale_ChangedAfterLoad() {
+        // Arrange
+        UserChangeTracker tracker = new UserChangeTracker(Duration.ofMinutes(30));
+        AuthenticatedUser user = principal(UUID.randomUUID(), System.currentTimeMillis() - 1_000);
+
+        // Act
+        tracker.onUserChanged(new UserChangedEvent(user.id(), false));
+
+        // Assert
+        assertTrue(tracker.isStale(user));
+    }
+
+    @Test
+    void testIsStale_LoadedAfterChange_NotStale() {
+        // Arrange
+        UserChangeTracker tracker = new UserChangeTracker(Duration.ofMinutes(30));
+        UUID userId = UUID.randomUUID();
+        tracker.onUserChanged(new UserChangedEvent(userId, false));
+
+        // Act & Assert
+        assertFalse(tracker.isStale(principal(userId, System.currentTimeMillis() + 1_000)));
+        assertFalse(tracker.isStale(principal(UUID.randomUUID(), 0L)));
+    }
+
+    @Test
+    void testIsStale_ChangeOlderThanRetention_Forgotten() throws InterruptedException {
+        // Arrange
+        UserChangeTracker tracker = new UserChangeTracker(Duration.ofMillis(20));
+        AuthenticatedUser user = principal(UUID.randomUUID(), 0L);
+        tracker.onUserChanged(new UserChangedEvent(user.id(), false));
+        assertTrue(tracker.isStale(user));
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertFalse(tracker.isStale(user));
+    }
+
+    private static AuthenticatedUser principal(UUID id, long loadedAt) {
+        return new AuthenticatedUser(id, "tracked", Role.STUDENT, true, loadedAt);
+    }
+}
@@ -0,0 +1,204 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints that build their response from entity associations
+ * with Open Session in View turned off and without a test transaction. Any
+ * association that is not part of the fetch plan of the service fails with
+ * a LazyInitializationException.
+ */
+@IntegrationTest
+class FetchPlanIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ProjectSubjectRepository projectSubjectRepository;
+
+    @Autowired
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    private User admin;
+    private User teacher;
+    private User student;
+    private User otherStudent;
+    private Course course;
+    private Project project;
+    private Group group;
+    private Question question;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(newUser("fp_admin", Role.ADMIN));
+        teacher = userRepository.save(newUser("fp_teacher", Role.TEACHER));
+        student = userRepository.save(newUser("fp_student", Role.STUDENT));
+        otherStudent = userRepository.save(newUser("fp_student2", Role.STUDENT));
+
+        course = courseRepository.save(newCourse("FP Course", teacher, Set.of(teacher, student, otherStudent)));
+        project = projectRepository.save(newProject("FP Project", course));
+        Subject subject = subjectRepository.save(newSubject("Mathematics", "MA"));
+
+        question = new Question();
+        question.setText("How was the teamwork?");
+        question.setType(QuestionType.GRADE);
+        question.setSubjects(new HashSet<>(Set.of(subject)));
+        question = questionRepository.save(question);
+
+        ProjectSubject projectSubject = new ProjectSubject();
+        projectSubject.setProject(project);
+        projectSubject.setSubject(subject);
+        projectSubject.setDuration(10.0);
+        projectSubject = projectSubjectRepository.save(projectSubject);
+
+        Performance performance = new Performance();
+        performance.setName("Presentation");
+        performance.setShortName("PR");
+        performance.setWeight(1.0);
+        performance.setProjectSubject(projectSubject);
+        performance.setAssignedTeacher(teacher);
+        performanceRepository.save(performance);
+
+        ProjectQuestion projectQuestion = new ProjectQuestion();
+        projectQuestion.setProject(project);
+        projectQuestion.setQuestion(question);
+        projectQuestionRepository.save(projectQuestion);
+
+        group = groupRepository.save(newGroup("FP Group", project, Set.of(student, otherStudent)));
+    }
+
+    @Test
+    void projectDetail_LoadsGroupsMembersAndSubjects() throws Exception {
+        mockMvc.perform(get("/api/project/{id}", project.getId()).with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].members.length()").value(2))
+                .andExpect(jsonPath("$.subjects.length()").value(1));
+    }
+
+    @Test
+    void projectGroups_LoadsMembersAndQuestions() throws Exception {
+        mockMvc.perform(get("/api/project/{id}/groups", project.getId()).with(user(principal(teacher))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].members.length()").value(2))
+                .andExpect(jsonPath("$.questions.length()").value(1));
+    }
+
+    @Test
+    void myGroup_LoadsOwnGroup() throws Exception {
+        mockMvc.perform(get("/api/project/{id}/myGroup", project.getId()).with(user(principal(student))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups.length()").value(1));
+    }
+
+    @Test
+    void groupAnswers_LoadsGroupMembers() throws Exception {
+        mockMvc.perform(get("/api/project/{projectId}/group/{groupId}/fragebogenAnswers", project.getId(), group.getId())
+                        .with(user(principal(teacher))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void gradeOverview_LoadsSubjectsStudentsAndTeachers() throws Exception {
+        mockMvc.perform(get("/api/grade/overview")
+                        .param("projectId", project.getId().toString())
+                        .param("userId", teacher.getId().toString())
+                        .with(user(principal(teacher))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subjects[0].performances.length()").value(1))
+                .andExpect(jsonPath("$.users.length()").value(2))
+                .andExpect(jsonPath("$.teachers.length()").value(1));
+    }
+
+    @Test
+    void courseDetail_LoadsMembers() throws Exception {
+        mockMvc.perform(get("/api/course/{id}", course.getId()).with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()").value(2))
+                .andExpect(jsonPath("$.teachers.length()").value(1));
+
+        mockMvc.perform(get("/api/course/{id}/students", course.getId()).with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void updateCourse_SerializesMembers() throws Exception {
+        mockMvc.perform(put("/api/course/{id}", course.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseName\":\"FP Course\",\"teacherId\":\"" + teacher.getId() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(3));
+    }
+
+    @Test
+    void me_LoadsCourses() throws Exception {
+        mockMvc.perform(get("/api/users/me").with(user(principal(student))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses.length()").value(1));
+    }
+
+    @Test
+    void removeAndAddGroupMember_UseLoadedMembers() throws Exception {
+        String body = "{\"groupId\":\"" + group.getId() + "\",\"studentId\":\"" + otherStudent.getId() + "\"}";
+
+        mockMvc.perform(post("/api/group/remove")
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(1));
+
+        mockMvc.perform(post("/api/group/add")
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(2));
+    }
+
+    @Test
+    void questions_SerializeSubjects() throws Exception {
+        mockMvc.perform(get("/api/question/findAll").with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '%s')].subjects.length()", question.getId()).value(1));
+    }
+}
@@ -0,0 +1,115 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.dto.group.GroupMemberRow;
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the membership batch against H2, including the one-group-per-project
+ * key on the join table for rows written by Hibernate and by native statements
+ */
+@IntegrationTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GroupMembershipIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    private User admin;
+    private User first;
+    private User second;
+    private Project project;
+    private Group groupA;
+    private Group groupB;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(newUser("gm_admin", Role.ADMIN));
+        User teacher = userRepository.save(newUser("gm_teacher", Role.TEACHER));
+        first = userRepository.save(newUser("gm_student", Role.STUDENT));
+        second = userRepository.save(newUser("gm_student2", Role.STUDENT));
+
+        Course course = courseRepository.save(newCourse("GM Course", teacher, Set.of(teacher, first, second)));
+        project = projectRepository.save(newProject("GM Project", course));
+
+        // members written through the users collection
+        groupA = groupRepository.save(newGroup("Group A", project, Set.of(first)));
+        groupB = groupRepository.save(newGroup("Group B", project, Set.of(second)));
+    }
+
+    @Test
+    @Order(1)
+    void moveStudent_WritesOnlyTheDiff() throws Exception {
+        String body = "{\"groups\":["
+                + "{\"groupId\":\"" + groupA.getId() + "\",\"memberIds\":[]},"
+                + "{\"groupId\":\"" + groupB.getId() + "\",\"memberIds\":[\"" + first.getId() + "\",\"" + second.getId() + "\"]}]}";
+
+        mockMvc.perform(put("/api/group/project/{projectId}/members", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(1))
+                .andExpect(jsonPath("$.removed").value(1))
+                .andExpect(jsonPath("$.changedGroupIds.length()").value(2));
+
+        assertEquals(Set.of(new GroupMemberRow(groupB.getId(), first.getId()), new GroupMemberRow(groupB.getId(), second.getId())),
+                Set.copyOf(groupRepository.findMemberRowsByProjectId(project.getId())));
+    }
+
+    @Test
+    @Order(2)
+    void studentInUnlistedGroup_Conflict() throws Exception {
+        String body = "{\"groups\":[{\"groupId\":\"" + groupA.getId() + "\",\"memberIds\":[\"" + second.getId() + "\"]}]}";
+
+        mockMvc.perform(put("/api/group/project/{projectId}/members", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+
+        assertEquals(2, groupRepository.findMemberRowsByProjectId(project.getId()).size());
+    }
+
+    @Test
+    @Order(3)
+    void nonStudentMember_BadRequest() throws Exception {
+        String body = "{\"groups\":[{\"groupId\":\"" + groupA.getId() + "\",\"memberIds\":[\"" + admin.getId() + "\"]}]}";
+
+        mockMvc.perform(put("/api/group/project/{projectId}/members", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,81 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.UserRepository;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.gradesave.backend.support.TestData.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logins rewrite every hash the password encoder reports as outdated, with
+ * the configured encoder and cost, and leave current hashes alone.
+ */
+@IntegrationTest
+class LoginPasswordUpgradeIntegrationTest {
+
+    private static final String PASSWORD = "correct horse battery";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void login_UnprefixedHash_Rewritten() throws Exception {
+        User user = save("lp_legacy", new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        String hash = loginAndReload(user);
+
+        assertTrue(hash.startsWith("{bcrypt}"), hash);
+        assertFalse(passwordEncoder.upgradeEncoding(hash));
+        assertTrue(passwordEncoder.matches(PASSWORD, hash));
+    }
+
+    @Test
+    void login_LowerCost_Rewritten() throws Exception {
+        String outdated = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        User user = save("lp_low_cost", outdated);
+
+        String hash = loginAndReload(user);
+
+        assertNotEquals(outdated, hash);
+        assertFalse(passwordEncoder.upgradeEncoding(hash));
+        assertTrue(passwordEncoder.matches(PASSWORD, hash));
+    }
+
+    @Test
+    void login_CurrentHash_Kept() throws Exception {
+        String current = passwordEncoder.encode(PASSWORD);
+        User user = save("lp_current", current);
+
+        assertEquals(current, loginAndReload(user));
+    }
+
+    private User save(String username, String hash) {
+        User user = newUser(username, Role.STUDENT);
+        user.setPassword(hash);
+        return userRepository.save(user);
+    }
+
+    private String loginAndReload(User user) throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                        .param("username", user.getUsername())
+                        .param("password", PASSWORD))
+                .andExpect(status().isOk());
+
+        return userRepository.findById(user.getId()).orElseThrow().getPassword();
+    }
+}
@@ -0,0 +1,79 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.config.QueryCountFilter;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.UserRepository;
+import com.gradesave.backend.support.IntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Health probes without login and the statement count of a request in the
+ * response header and the per-endpoint metric
+ */
+@IntegrationTest
+class ObservabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User admin;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(newUser("obs_admin", Role.ADMIN));
+    }
+
+    @Test
+    void readiness_UpWithoutLogin() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void metrics_RequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void request_ReportsStatementCount() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users/count")
+                        .with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        String header = result.getResponse().getHeader(QueryCountFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(Integer.parseInt(header) >= 1, "statements: " + header);
+
+        DistributionSummary summary = meterRegistry.find(QueryCountFilter.METRIC)
+                .tag("uri", "/api/users/count")
+                .tag("method", "GET")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.totalAmount() >= 1);
+    }
+}
@@ -0,0 +1,178 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.jayway.jsonpath.JsonPath;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the INSERT … SELECT statements of the project clone against H2
+ */
+@IntegrationTest
+class ProjectCloneIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ProjectSubjectRepository projectSubjectRepository;
+
+    @Autowired
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    private User admin;
+    private Course sourceCourse;
+    private Course targetCourse;
+    private Course otherCourse;
+    private User otherClassTeacher;
+    private Project project;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(newUser("pc_admin", Role.ADMIN));
+        User teacher = userRepository.save(newUser("pc_teacher", Role.TEACHER));
+        User student = userRepository.save(newUser("pc_student", Role.STUDENT));
+        User leaver = userRepository.save(newUser("pc_leaver", Role.STUDENT));
+
+        sourceCourse = courseRepository.save(newCourse("PC Course 2026", teacher, Set.of(teacher, student, leaver)));
+        targetCourse = courseRepository.save(newCourse("PC Course 2027", teacher, Set.of(teacher, student)));
+        otherClassTeacher = userRepository.save(newUser("pc_other_teacher", Role.TEACHER));
+        otherCourse = courseRepository.save(newCourse("PC Other Course", otherClassTeacher, Set.of(otherClassTeacher)));
+        project = projectRepository.save(newProject("PC Project", sourceCourse));
+        Subject subject = subjectRepository.save(newSubject("Physics", "PH"));
+
+        Question question = new Question();
+        question.setText("How was the planning?");
+        question.setType(QuestionType.GRADE);
+        question.setSubjects(new HashSet<>(Set.of(subject)));
+        question = questionRepository.save(question);
+
+        ProjectSubject projectSubject = new ProjectSubject();
+        projectSubject.setProject(project);
+        projectSubject.setSubject(subject);
+        projectSubject.setDuration(20.0);
+        projectSubject = projectSubjectRepository.save(projectSubject);
+
+        Performance performance = new Performance();
+        performance.setName("Presentation");
+        performance.setShortName("PRES");
+        performance.setWeight(2.0);
+        performance.setAssignedTeacher(teacher);
+        performance.setProjectSubject(projectSubject);
+        performanceRepository.save(performance);
+
+        ProjectQuestion projectQuestion = new ProjectQuestion();
+        projectQuestion.setProject(project);
+        projectQuestion.setQuestion(question);
+        projectQuestionRepository.save(projectQuestion);
+
+        groupRepository.save(newGroup("PC Group", project, Set.of(student, leaver)));
+    }
+
+    @Test
+    void cloneWithGroups_CopiesStructureAndTargetCourseMembers() throws Exception {
+        String body = """
+            {"courseId":"%s","projectName":"PC Project 2027","projectStart":{"year":2027,"month":9,"day":1},"includeGroups":true}
+            """.formatted(targetCourse.getId());
+
+        String response = mockMvc.perform(post("/api/project/{id}/clone", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.projectSummary.groupsAmount").value(1))
+                .andExpect(jsonPath("$.projectSummary.assignedStudentsAmount").value(1))
+                .andReturn().getResponse().getContentAsString();
+
+        UUID copyId = UUID.fromString(JsonPath.read(response, "$.projectSummary.projectId"));
+
+        mockMvc.perform(get("/api/project/{id}", copyId).with(user(principal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId").value(targetCourse.getId().toString()))
+                .andExpect(jsonPath("$.groups[0].members.length()").value(1))
+                .andExpect(jsonPath("$.subjects.length()").value(1));
+
+        assertEquals(1, performanceRepository.findAll().stream()
+                .filter(p -> p.getProjectSubject().getProject().getId().equals(copyId))
+                .count());
+        assertEquals(1, projectQuestionRepository.findAll().stream()
+                .filter(pq -> pq.getProject().getId().equals(copyId))
+                .count());
+    }
+
+    @Test
+    void cloneWithoutGroups_LeavesGroupsOut() throws Exception {
+        String body = """
+            {"courseId":"%s","projectName":"PC Project Template","projectStart":{"year":2027,"month":9,"day":1}}
+            """.formatted(sourceCourse.getId());
+
+        mockMvc.perform(post("/api/project/{id}/clone", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.projectSummary.groupsAmount").value(0));
+    }
+
+    @Test
+    void cloneIntoOtherCourse_AssignsClassTeacherOfTargetCourse() throws Exception {
+        String body = """
+            {"courseId":"%s","projectName":"PC Project Other","projectStart":{"year":2027,"month":9,"day":1}}
+            """.formatted(otherCourse.getId());
+
+        String response = mockMvc.perform(post("/api/project/{id}/clone", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        UUID copyId = UUID.fromString(JsonPath.read(response, "$.projectSummary.projectId"));
+
+        List<Performance> copied = performanceRepository.findAll().stream()
+                .filter(p -> p.getProjectSubject().getProject().getId().equals(copyId))
+                .toList();
+        assertEquals(1, copied.size());
+        assertEquals(otherClassTeacher.getId(), copied.getFirst().getAssignedTeacher().getId());
+    }
+
+}
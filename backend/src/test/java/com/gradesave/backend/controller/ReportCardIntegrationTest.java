@@ -0,0 +1,135 @@
+package com.gradesave.backend.controller;
+
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Downloads the report cards of a course: who may download them and what
+ * the streamed ZIP archive contains.
+ */
+@IntegrationTest
+class ReportCardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private User admin;
+    private User memberTeacher;
+    private User classTeacher;
+    private User otherTeacher;
+    private Course course;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(newUser("rc_admin", Role.ADMIN));
+        memberTeacher = userRepository.save(newUser("rc_teacher", Role.TEACHER));
+        classTeacher = userRepository.save(newUser("rc_class_teacher", Role.TEACHER));
+        otherTeacher = userRepository.save(newUser("rc_other_teacher", Role.TEACHER));
+        // same first and last name, the archive needs two distinct entries
+        User student = userRepository.save(newUser("rc_student", Role.STUDENT));
+        User namesake = userRepository.save(newUser("rc_student", Role.STUDENT));
+        User otherStudent = userRepository.save(newUser("rc_pupil", Role.STUDENT));
+
+        course = courseRepository.save(newCourse("RC Course", classTeacher,
+                Set.of(memberTeacher, student, namesake, otherStudent)));
+        projectRepository.save(newProject("RC Project", course));
+    }
+
+    @Test
+    void otherTeacher_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/report-cards/course/{id}", course.getId())
+                        .param("format", "ZIP")
+                        .with(user(principal(otherTeacher))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void student_Forbidden() throws Exception {
+        User student = userRepository.save(newUser("rc_student_request", Role.STUDENT));
+
+        mockMvc.perform(get("/api/report-cards/course/{id}", course.getId())
+                        .with(user(principal(student))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void memberTeacher_GetsOneZipEntryPerStudent() throws Exception {
+        byte[] archive = download(memberTeacher, "ZIP");
+
+        assertEquals(List.of(
+                        "report_rc_pupil_First.pdf",
+                        "report_rc_student_First.pdf",
+                        "report_rc_student_First_2.pdf"),
+                entryNames(archive));
+    }
+
+    @Test
+    void classTeacher_GetsMergedPdf() throws Exception {
+        byte[] pdf = download(classTeacher, "PDF");
+
+        assertEquals("%PDF", new String(pdf, 0, 4));
+    }
+
+    @Test
+    void admin_UnknownCourse_NotFound() throws Exception {
+        mockMvc.perform(get("/api/report-cards/course/{id}", UUID.randomUUID())
+                        .with(user(principal(admin))))
+                .andExpect(status().isNotFound());
+    }
+
+    private byte[] download(User requester, String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/report-cards/course/{id}", course.getId())
+                        .param("format", format)
+                        .with(user(principal(requester))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<String> entryNames(byte[] archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertEquals("%PDF", new String(zip.readNBytes(4)), entry.getName());
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.events.CatalogChangedEvent;
+import com.gradesave.backend.models.Subject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogCache
+ */
+class CatalogCacheTest {
+
+    @Test
+    void testGetSubjects_LoadsOnce() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Subject>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of(new Subject());
+        };
+
+        // Act
+        CatalogCache.Snapshot<Subject> first = cache.getSubjects(loader);
+        CatalogCache.Snapshot<Subject> second = cache.getSubjects(loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals(1, second.items().size());
+    }
+
+    @Test
+    void testOnCatalogChanged_ReloadsWithNewEtag() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(Duration.ofMinutes(10));
+        CatalogCache.Snapshot<Subject> before = cache.getSubjects(List::of);
+
+        // Act
+        cache.onCatalogChanged(new CatalogChangedEvent());
+        CatalogCache.Snapshot<Subject> after = cache.getSubjects(() -> List.of(new Subject()));
+
+        // Assert
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(1, after.items().size());
+    }
+
+    @Test
+    void testSnapshot_IsImmutable() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(Duration.ofMinutes(10));
+
+        // Act
+        CatalogCache.Snapshot<Subject> snapshot = cache.getSubjects(() -> new ArrayList<>(List.of(new Subject())));
+
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.items().add(new Subject()));
+    }
+}
@@ -2,24 +2,25 @@ package com.gradesave.backend.services;
 
 import com.gradesave.backend.dto.course.CoursePatchRequestDTO;
 import com.gradesave.backend.dto.course.CourseSelectionDto;
+import com.gradesave.backend.dto.course.NavigationRow;
 import com.gradesave.backend.dto.course.UpdateCourseRequest;
+import com.gradesave.backend.events.CourseChangedEvent;
 import com.gradesave.backend.models.Course;
-import com.gradesave.backend.models.Group;
-import com.gradesave.backend.models.Project;
 import com.gradesave.backend.models.Role;
 import com.gradesave.backend.models.User;
 import com.gradesave.backend.repositories.CourseRepository;
-import com.gradesave.backend.repositories.GroupRepository;
-import com.gradesave.backend.repositories.ProjectRepository;
 import com.gradesave.backend.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -41,11 +42,11 @@ class CourseServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private ProjectRepository projectRepository;
+    @Spy
+    private NavigationTreeCache navigationTreeCache = new NavigationTreeCache(Duration.ofMinutes(1));
 
     @Mock
-    private GroupRepository groupRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CourseService courseService;
@@ -178,13 +179,54 @@ class CourseServiceTest {
     void testAddStudent_Success() {
         when(userRepository.existsById(testStudent.getId())).thenReturn(true);
         when(courseRepository.existsById(testCourse.getId())).thenReturn(true);
-        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(courseRepository.insertMembers(eq(testCourseId), eq(List.of(testStudent.getId())), anyCollection()))
+                .thenReturn(1);
 
         boolean result = courseService.addStudent(testCourse, testStudent);
 
         assertTrue(result);
-        assertTrue(testCourse.getUsers().contains(testStudent));
-        verify(courseRepository, times(1)).save(testCourse);
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void testAddMembers_ChunksIdsAndCountsInserted() {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        when(courseRepository.insertMembers(eq(testCourseId), anyList(), eq(List.of("STUDENT"))))
+                .thenReturn(1000, 1000, 400);
+
+        int added = courseService.addMembers(testCourseId, userIds, List.of(Role.STUDENT));
+
+        assertEquals(2400, added);
+        verify(courseRepository, times(3)).insertMembers(eq(testCourseId), anyList(), eq(List.of("STUDENT")));
+        verify(eventPublisher, times(1)).publishEvent(any(CourseChangedEvent.class));
+    }
+
+    @Test
+    void testAddMembers_NothingChanged_NoEvent() {
+        when(courseRepository.insertMembers(eq(testCourseId), anyList(), anyCollection())).thenReturn(0);
+
+        int added = courseService.addMembers(testCourseId, List.of(testStudent.getId()));
+
+        assertEquals(0, added);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testReplaceMembers_WritesOnlyDifference() {
+        UUID keep = UUID.randomUUID();
+        UUID drop = UUID.randomUUID();
+        UUID add = UUID.randomUUID();
+        when(courseRepository.findMemberIds(testCourseId)).thenReturn(List.of(keep, drop));
+        when(courseRepository.deleteMembers(eq(testCourseId), eq(List.of(drop)), anyCollection())).thenReturn(1);
+        when(courseRepository.insertMembers(eq(testCourseId), eq(List.of(add)), anyCollection())).thenReturn(1);
+
+        courseService.replaceMembers(testCourseId, List.of(keep, add));
+
+        verify(courseRepository, times(1)).deleteMembers(eq(testCourseId), eq(List.of(drop)), anyCollection());
+        verify(courseRepository, times(1)).insertMembers(eq(testCourseId), eq(List.of(add)), anyCollection());
     }
 
     @Test
@@ -378,20 +420,16 @@ class CourseServiceTest {
 
     @Test
     void testFindGradeOverviewOptions_Success() {
-        Project project = new Project();
-        project.setId(UUID.randomUUID());
-        project.setName("Test Project");
-        project.setProjectStart(LocalDate.now());
-        project.setCourse(testCourse);
-
-        Group group = new Group();
-        group.setId(UUID.randomUUID());
-        group.setName("Test Group");
+        UUID projectId = UUID.randomUUID();
+        LocalDate projectStart = LocalDate.now();
+        List<NavigationRow> rows = List.of(
+                new NavigationRow(testCourseId, "Test Course", testTeacher.getId(),
+                        projectId, "Test Project", projectStart, UUID.randomUUID(), "Group A"),
+                new NavigationRow(testCourseId, "Test Course", testTeacher.getId(),
+                        projectId, "Test Project", projectStart, UUID.randomUUID(), "Group B"));
 
         when(userRepository.findById(testTeacher.getId())).thenReturn(Optional.of(testTeacher));
-        when(courseRepository.findAllByUserId(testTeacher.getId())).thenReturn(Arrays.asList(testCourse));
-        when(projectRepository.findByCourseId(testCourse.getId())).thenReturn(Arrays.asList(project));
-        when(groupRepository.findByProjectId(project.getId())).thenReturn(Arrays.asList(group));
+        when(courseRepository.findNavigationRowsByUserId(testTeacher.getId())).thenReturn(rows);
 
         List<CourseSelectionDto> result = courseService.findGradeOverviewOptions(testTeacher.getId());
 
@@ -401,25 +439,71 @@ class CourseServiceTest {
         assertEquals(testCourse.getId(), courseDto.id());
         assertEquals(testCourse.getCourseName(), courseDto.name());
         assertEquals(1, courseDto.projects().size());
-        assertEquals(1, courseDto.projects().get(0).groups().size());
+        assertEquals(2, courseDto.projects().get(0).groups().size());
+        assertTrue(courseDto.projects().get(0).canEdit());
 
         verify(userRepository, times(1)).findById(testTeacher.getId());
-        verify(courseRepository, times(1)).findAllByUserId(testTeacher.getId());
-        verify(projectRepository, times(1)).findByCourseId(testCourse.getId());
-        verify(groupRepository, times(1)).findByProjectId(project.getId());
+        verify(courseRepository, times(1)).findNavigationRowsByUserId(testTeacher.getId());
+    }
+
+    @Test
+    void testFindGradeOverviewOptions_TeacherNotClassTeacher_CannotEdit() {
+        List<NavigationRow> rows = List.of(
+                new NavigationRow(testCourseId, "Test Course", null,
+                        UUID.randomUUID(), "Test Project", LocalDate.now(), null, null));
+
+        when(userRepository.findById(testTeacher.getId())).thenReturn(Optional.of(testTeacher));
+        when(courseRepository.findNavigationRowsByUserId(testTeacher.getId())).thenReturn(rows);
+
+        List<CourseSelectionDto> result = courseService.findGradeOverviewOptions(testTeacher.getId());
+
+        assertEquals(1, result.get(0).projects().size());
+        assertTrue(result.get(0).projects().get(0).groups().isEmpty());
+        assertFalse(result.get(0).projects().get(0).canEdit());
+    }
+
+    @Test
+    void testFindGradeOverviewOptions_Admin_ReadsAllCourses() {
+        User admin = new User();
+        admin.setId(UUID.randomUUID());
+        admin.setRole(Role.ADMIN);
+
+        when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+        when(courseRepository.findNavigationRows()).thenReturn(List.of(
+                new NavigationRow(testCourseId, "Test Course", testTeacher.getId(), null, null, null, null, null)));
+
+        List<CourseSelectionDto> result = courseService.findGradeOverviewOptions(admin.getId());
+
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).projects().isEmpty());
+        verify(courseRepository, never()).findNavigationRowsByUserId(any());
+    }
+
+    @Test
+    void testFindGradeOverviewOptions_CachedUntilCourseChanged() {
+        when(userRepository.findById(testTeacher.getId())).thenReturn(Optional.of(testTeacher));
+        when(courseRepository.findNavigationRowsByUserId(testTeacher.getId())).thenReturn(Collections.emptyList());
+
+        courseService.findGradeOverviewOptions(testTeacher.getId());
+        courseService.findGradeOverviewOptions(testTeacher.getId());
+        verify(courseRepository, times(1)).findNavigationRowsByUserId(testTeacher.getId());
+
+        navigationTreeCache.onCourseChanged(new CourseChangedEvent(testCourseId));
+        courseService.findGradeOverviewOptions(testTeacher.getId());
+        verify(courseRepository, times(2)).findNavigationRowsByUserId(testTeacher.getId());
     }
 
     @Test
     void testFindGradeOverviewOptions_EmptyResults() {
         when(userRepository.findById(testTeacher.getId())).thenReturn(Optional.of(testTeacher));
-        when(courseRepository.findAllByUserId(testTeacher.getId())).thenReturn(Collections.emptyList());
+        when(courseRepository.findNavigationRowsByUserId(testTeacher.getId())).thenReturn(Collections.emptyList());
 
         List<CourseSelectionDto> result = courseService.findGradeOverviewOptions(testTeacher.getId());
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
         verify(userRepository, times(1)).findById(testTeacher.getId());
-        verify(courseRepository, times(1)).findAllByUserId(testTeacher.getId());
+        verify(courseRepository, times(1)).findNavigationRowsByUserId(testTeacher.getId());
     }
 
     @Test
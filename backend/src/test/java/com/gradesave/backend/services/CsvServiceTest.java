@@ -75,9 +75,8 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -94,7 +93,7 @@ class CsvServiceTest {
         assertEquals(Role.STUDENT, capturedUser.getRole());
         assertNotNull(capturedUser.getPassword());
 
-        verify(courseService, times(1)).addStudent(eq(testCourse), eq(savedUser));
+        verify(courseService, times(1)).addMembers(testCourse.getId(), List.of(savedUser.getId()));
         verify(pdfService, times(1)).generateBulkUserCredentialsPdf(anyMap());
     }
 
@@ -120,9 +119,8 @@ class CsvServiceTest {
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true)))
             .thenReturn(user1, user2, user3);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -130,7 +128,7 @@ class CsvServiceTest {
 
         // Assert
         verify(userService, times(3)).create(any(User.class), eq(true));
-        verify(courseService, times(3)).addStudent(eq(testCourse), any(User.class));
+        verify(courseService, times(1)).addMembers(eq(testCourse.getId()), argThat(ids -> ids.size() == 3));
         verify(pdfService, times(1)).generateBulkUserCredentialsPdf(anyMap());
     }
 
@@ -157,9 +155,8 @@ class CsvServiceTest {
         when(userService.getByUsername("john.doe1")).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(user1, user2);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -191,9 +188,8 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -224,9 +220,8 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -257,7 +252,7 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Nonexistent Class")).thenReturn(false);
+        when(courseService.getByName("Nonexistent Class")).thenReturn(Optional.empty());
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
@@ -265,7 +260,7 @@ class CsvServiceTest {
 
         // Assert
         verify(userService, times(1)).create(any(User.class), eq(true));
-        verify(courseService, never()).addStudent(any(Course.class), any(User.class));
+        verify(courseService, never()).addMembers(any(UUID.class), anyList());
         verify(pdfService, times(1)).generateBulkUserCredentialsPdf(anyMap());
     }
 
@@ -293,8 +288,8 @@ class CsvServiceTest {
 
         // Assert
         verify(userService, times(1)).create(any(User.class), eq(true));
-        verify(courseService, never()).isExistedByName(anyString());
-        verify(courseService, never()).addStudent(any(Course.class), any(User.class));
+        verify(courseService, never()).getByName(anyString());
+        verify(courseService, never()).addMembers(any(UUID.class), anyList());
     }
 
     @Test
@@ -319,20 +314,19 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
-        when(courseService.isExistedByName("Another Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
         when(courseService.getByName("Another Class")).thenReturn(Optional.of(course2));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
         csvService.importUsersFromCsv(file);
 
         // Assert
-        verify(courseService, times(1)).isExistedByName("Test Class");
-        verify(courseService, times(1)).isExistedByName("Another Class");
-        verify(courseService, times(2)).addStudent(any(Course.class), eq(savedUser));
+        verify(courseService, times(1)).getByName("Test Class");
+        verify(courseService, times(1)).getByName("Another Class");
+        verify(courseService, times(1)).addMembers(testCourse.getId(), List.of(savedUser.getId()));
+        verify(courseService, times(1)).addMembers(course2.getId(), List.of(savedUser.getId()));
     }
 
     @Test
@@ -371,9 +365,8 @@ class CsvServiceTest {
         when(userService.getByUsername(anyString())).thenReturn(Optional.empty());
         when(secureRandom.nextInt(anyInt())).thenReturn(0);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doThrow(new RuntimeException("PDF generation failed"))
             .when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
@@ -403,9 +396,8 @@ class CsvServiceTest {
         // Mock SecureRandom to return specific values
         when(secureRandom.nextInt(anyInt())).thenReturn(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
         when(userService.create(any(User.class), eq(true))).thenReturn(savedUser);
-        when(courseService.isExistedByName("Test Class")).thenReturn(true);
         when(courseService.getByName("Test Class")).thenReturn(Optional.of(testCourse));
-        when(courseService.addStudent(any(Course.class), any(User.class))).thenReturn(true);
+        when(courseService.addMembers(any(UUID.class), anyList())).thenReturn(1);
         doNothing().when(pdfService).generateBulkUserCredentialsPdf(anyMap());
 
         // Act
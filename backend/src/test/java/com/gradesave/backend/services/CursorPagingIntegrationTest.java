@@ -0,0 +1,79 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.page.CursorPage;
+import com.gradesave.backend.models.Subject;
+import com.gradesave.backend.repositories.SubjectRepository;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static com.gradesave.backend.support.TestData.newSubject;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scrolls the subject pages with keyset queries: rows with the same sort
+ * value are neither skipped nor repeated at page borders.
+ */
+@IntegrationTest
+class CursorPagingIntegrationTest {
+
+    private static final int SUBJECTS = 7;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    private final List<UUID> seeded = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        // five subjects share one name, so most page borders fall between equal sort values
+        for (int i = 0; i < SUBJECTS; i++) {
+            Subject subject = newSubject(i < 5 ? "CPG Same" : "CPG Other " + i, "CG" + i);
+            seeded.add(subjectRepository.save(subject).getId());
+        }
+    }
+
+    @Test
+    void scrollByName_EveryRowOnce() {
+        List<Subject> rows = scroll("name");
+
+        assertEquals(SUBJECTS, rows.size());
+        assertEquals(new HashSet<>(seeded), new HashSet<>(rows.stream().map(Subject::getId).toList()));
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getName().compareTo(rows.get(i).getName()) <= 0, "not in name order at " + i);
+        }
+    }
+
+    @Test
+    void scrollByNameDescending_EveryRowOnce() {
+        List<Subject> rows = scroll("-name");
+
+        assertEquals(SUBJECTS, rows.size());
+        assertEquals(new HashSet<>(seeded), new HashSet<>(rows.stream().map(Subject::getId).toList()));
+        assertTrue(rows.getFirst().getName().startsWith("CPG Other"));
+        assertEquals("CPG Same", rows.getLast().getName());
+    }
+
+    private List<Subject> scroll(String sort) {
+        List<Subject> rows = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Subject> page = subjectService.getPage(cursor, 2, sort, null, "cpg ");
+            assertTrue(page.items().size() <= 2);
+            rows.addAll(page.items());
+            cursor = page.nextCursor();
+            assertTrue(++pages <= SUBJECTS, "paging does not end");
+        } while (cursor != null);
+        return rows;
+    }
+}
@@ -0,0 +1,173 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.page.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CursorPaging
+ * Tests the cursor round trip, sort key validation and rejected cursors
+ */
+class CursorPagingTest {
+
+    private static final Map<String, CursorPaging.SortKey> KEYS = Map.of(
+            "name", CursorPaging.SortKey.text("name"),
+            "projectStart", new CursorPaging.SortKey("projectStart", LocalDate::parse));
+
+    @Test
+    void testRequest_Defaults() {
+        // Act
+        CursorPaging.Request request = CursorPaging.request(null, null, null, KEYS, "name");
+
+        // Assert
+        assertEquals("name", request.sort());
+        assertEquals(Sort.Direction.ASC, request.direction());
+        assertEquals(CursorPaging.DEFAULT_LIMIT, request.limit());
+        assertTrue(request.position().isInitial());
+        assertEquals(Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")), request.toSort());
+    }
+
+    @Test
+    void testRequest_Descending_SortsIdDescendingToo() {
+        // Act
+        CursorPaging.Request request = CursorPaging.request(null, 10, "-projectStart", KEYS, "name");
+
+        // Assert
+        assertEquals(Sort.Direction.DESC, request.direction());
+        assertEquals(Sort.by(Sort.Order.desc("projectStart"), Sort.Order.desc("id")), request.toSort());
+    }
+
+    @Test
+    void testRequest_UnknownSortKey_BadRequest() {
+        assertBadRequest(() -> CursorPaging.request(null, null, "password", KEYS, "name"));
+    }
+
+    @Test
+    void testLimit_Clamped() {
+        assertEquals(1, CursorPaging.limit(0));
+        assertEquals(1, CursorPaging.limit(-5));
+        assertEquals(CursorPaging.MAX_LIMIT, CursorPaging.limit(10_000));
+        assertEquals(25, CursorPaging.limit(25));
+    }
+
+    @Test
+    void testCursor_RoundTrip_ContinuesAfterLastRow() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        LocalDate lastStart = LocalDate.of(2026, 9, 1);
+        CursorPaging.Request first = CursorPaging.request(null, 2, "-projectStart", KEYS, "name");
+
+        // Act
+        CursorPage<String> page = first.toPage(window(List.of("a", "b"), "projectStart", lastStart, lastId, true));
+        CursorPaging.Request next = CursorPaging.request(page.nextCursor(), 2, "-projectStart", KEYS, "name");
+
+        // Assert
+        assertTrue(page.hasMore());
+        KeysetScrollPosition position = assertInstanceOf(KeysetScrollPosition.class, next.position());
+        assertEquals(lastStart, position.getKeys().get("projectStart"));
+        assertEquals(lastId, position.getKeys().get("id"));
+        assertEquals(ScrollPosition.Direction.FORWARD, position.getDirection());
+    }
+
+    @Test
+    void testCursor_SameSortValue_IdKeepsRowsApart() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        CursorPaging.Request first = CursorPaging.request(null, 2, "name", KEYS, "name");
+
+        // Act
+        CursorPage<String> page = first.toPage(window(List.of("a", "b"), "name", "Math", lastId, true));
+        KeysetScrollPosition position = (KeysetScrollPosition)
+                CursorPaging.request(page.nextCursor(), 2, "name", KEYS, "name").position();
+
+        // Assert
+        assertEquals(Map.of("name", "Math", "id", lastId), position.getKeys());
+    }
+
+    @Test
+    void testToPage_LastPage_NoCursor() {
+        // Arrange
+        CursorPaging.Request request = CursorPaging.request(null, 2, "name", KEYS, "name");
+
+        // Act
+        CursorPage<String> page = request.toPage(window(List.of("a"), "name", "Math", UUID.randomUUID(), false));
+
+        // Assert
+        assertFalse(page.hasMore());
+        assertNull(page.nextCursor());
+        assertEquals(List.of("a"), page.items());
+    }
+
+    @Test
+    void testToPage_NullSortValue_Throws() {
+        // Arrange
+        CursorPaging.Request request = CursorPaging.request(null, 2, "name", KEYS, "name");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> request.toPage(window(List.of("a", "b"), "name", null, UUID.randomUUID(), true)));
+    }
+
+    @Test
+    void testCursor_OfOtherSortOrder_BadRequest() {
+        // Arrange
+        String cursor = CursorPaging.encode("name", "Math", UUID.randomUUID().toString());
+
+        // Act & Assert
+        assertBadRequest(() -> CursorPaging.request(cursor, null, "-name", KEYS, "name"));
+        assertBadRequest(() -> CursorPaging.request(cursor, null, "projectStart", KEYS, "name"));
+    }
+
+    @Test
+    void testCursor_Tampered_BadRequest() {
+        assertBadRequest(() -> CursorPaging.request("not*base64", null, "name", KEYS, "name"));
+        assertBadRequest(() -> CursorPaging.request(CursorPaging.encode("name", "Math"), null, "name", KEYS, "name"));
+        assertBadRequest(() -> CursorPaging.request(CursorPaging.encode("name", "Math", "not-a-uuid"),
+                null, "name", KEYS, "name"));
+        assertBadRequest(() -> CursorPaging.request(CursorPaging.encode("projectStart", "yesterday",
+                UUID.randomUUID().toString()), null, "projectStart", KEYS, "name"));
+    }
+
+    @Test
+    void testCursor_OfOtherEndpoint_BadRequest() {
+        // Arrange
+        String raw = "lastName\nMueller\n" + UUID.randomUUID() + "\nSTUDENT";
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertBadRequest(() -> CursorPaging.request(cursor, null, "name", KEYS, "name"));
+    }
+
+    @Test
+    void testPrefixPattern_EscapesWildcards() {
+        assertEquals("10\\%\\_a%", CursorPaging.prefixPattern(" 10%_A "));
+    }
+
+    private static <T> Window<T> window(List<T> items, String property, Object lastValue, UUID lastId,
+                                        boolean hasNext) {
+        Map<String, Object> keys = new HashMap<>();
+        keys.put(property, lastValue);
+        keys.put("id", lastId);
+        return Window.from(items, index -> ScrollPosition.forward(keys), hasNext);
+    }
+
+    private static void assertBadRequest(Runnable request) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, request::run);
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,173 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.project.ProjectGradeAveragesDTO;
+import com.gradesave.backend.models.Project;
+import com.gradesave.backend.repositories.ProjectRepository;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A small school from the dataset profile: 40 students in 2 courses, 4 projects
+ * with 2 subjects of 2 performances each, groups of 5 and 6 questions
+ */
+@IntegrationTest
+@ActiveProfiles({"test", DatasetGenerator.PROFILE})
+@TestPropertySource(properties = {
+    // a database of its own, the generator only writes into an empty one
+    "spring.datasource.url=jdbc:h2:mem:dataset",
+    "app.dataset.students=40",
+    "app.dataset.teachers=6",
+    "app.dataset.courses=2",
+    "app.dataset.projects=4",
+    "app.dataset.subjects-per-project=2",
+    "app.dataset.performances-per-subject=2",
+    "app.dataset.teachers-per-course=3",
+    "app.dataset.group-size=5",
+    "app.dataset.questions-per-project=6"
+})
+class DatasetGeneratorIntegrationTest {
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void startup_WritesSchool() {
+        assertEquals(40, count("SELECT COUNT(*) FROM \"user\" WHERE role = 'STUDENT'"));
+        assertEquals(6, count("SELECT COUNT(*) FROM \"user\" WHERE role = 'TEACHER'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM course WHERE class_teacher_id IS NOT NULL"));
+        assertEquals(40 + 2 * 3, count("SELECT COUNT(*) FROM course_membership"));
+        assertEquals(4, count("SELECT COUNT(*) FROM project"));
+        assertEquals(4 * 4, count("SELECT COUNT(*) FROM \"group\""));
+        assertEquals(4 * 20, count("SELECT COUNT(*) FROM group_membership"));
+        assertEquals(4 * 6, count("SELECT COUNT(*) FROM project_question"));
+    }
+
+    @Test
+    void startup_AnswersAndGradesEverything() {
+        // every member of a group of 5 answers the 6 questions for all 5 members, 4 groups in 4 projects
+        assertEquals(4 * 4 * 5 * 5 * 6, count("SELECT COUNT(*) FROM answer"));
+        assertEquals(4 * 2 * 2 * 20, count("SELECT COUNT(*) FROM grade WHERE performance_id IS NOT NULL"));
+        assertEquals(4 * 2 * 20, count("SELECT COUNT(*) FROM grade WHERE project_subject_id IS NOT NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM grade WHERE grade < 1 OR grade > 6"));
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM performance p
+                JOIN "user" u ON u.id = p.assigned_teacher_id
+                WHERE u.role <> 'TEACHER'"""));
+    }
+
+    @Test
+    void generatedProject_ReadableThroughServices() {
+        // Act
+        ProjectGradeAveragesDTO averages = transactionTemplate.execute(status -> {
+            Project project = projectRepository.findAll().getFirst();
+            return answerService.getGradeAveragesForProject(project);
+        });
+
+        // Assert
+        assertNotNull(averages);
+        assertEquals(20, averages.studentAverages().length);
+    }
+
+    @Test
+    void run_SkipsDatabaseWithProjects() {
+        // Arrange
+        int answers = count("SELECT COUNT(*) FROM answer");
+
+        // Act
+        datasetGenerator.run();
+
+        // Assert
+        assertEquals(4, count("SELECT COUNT(*) FROM project"));
+        assertEquals(answers, count("SELECT COUNT(*) FROM answer"));
+    }
+
+    @Test
+    void run_SkipsDatabaseWithSubjectsOnly() {
+        // Arrange
+        clearSchool();
+        jdbcTemplate.update("INSERT INTO subject (id, name, short_name, is_learning_field) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), "Sport", "SP", false);
+
+        // Act
+        datasetGenerator.run();
+
+        // Assert
+        assertEquals(0, count("SELECT COUNT(*) FROM project"));
+        assertEquals(1, count("SELECT COUNT(*) FROM subject"));
+        assertEquals(0, count("SELECT COUNT(*) FROM \"user\" WHERE role IN ('STUDENT', 'TEACHER')"));
+
+        // the other tests expect the generated school
+        jdbcTemplate.update("DELETE FROM subject");
+        datasetGenerator.run();
+        assertEquals(4, count("SELECT COUNT(*) FROM project"));
+    }
+
+    @Test
+    void run_SameSeed_SameSchool() {
+        // Arrange
+        List<String> users = rows("SELECT id, username FROM \"user\" WHERE role IN ('STUDENT', 'TEACHER') ORDER BY id");
+        List<String> projects = rows("SELECT id, course_id, name FROM project ORDER BY id");
+        List<String> grades = rows("SELECT id, student_id, grade FROM grade ORDER BY id");
+        List<String> answers = rows("SELECT id, author_id, recipient_id FROM answer ORDER BY id");
+        clearSchool();
+
+        // Act
+        datasetGenerator.run();
+
+        // Assert
+        assertEquals(40 + 6, users.size());
+        assertEquals(users, rows("SELECT id, username FROM \"user\" WHERE role IN ('STUDENT', 'TEACHER') ORDER BY id"));
+        assertEquals(projects, rows("SELECT id, course_id, name FROM project ORDER BY id"));
+        assertEquals(grades, rows("SELECT id, student_id, grade FROM grade ORDER BY id"));
+        assertEquals(answers, rows("SELECT id, author_id, recipient_id FROM answer ORDER BY id"));
+    }
+
+    /**
+     * Deletes everything the generator wrote, in foreign key order
+     */
+    private void clearSchool() {
+        for (String table : List.of("answer", "grade", "project_question", "group_membership", "\"group\"",
+                "performance", "project_subject", "project", "course_membership", "course", "question_subject",
+                "question", "subject")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE role IN ('STUDENT', 'TEACHER')");
+    }
+
+    private List<String> rows(String sql) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            StringBuilder row = new StringBuilder();
+            for (int column = 1; column <= rs.getMetaData().getColumnCount(); column++) {
+                row.append(rs.getString(column)).append('|');
+            }
+            return row.toString();
+        });
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gradesave.backend.services;
 
 import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.AuthenticatedUser;
 import com.gradesave.backend.repositories.GradeRepository;
 import com.gradesave.backend.repositories.PerformanceRepository;
 import com.gradesave.backend.repositories.UserRepository;
@@ -18,6 +19,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -401,15 +403,15 @@ class GradeServiceTest {
         com.gradesave.backend.dto.grade.UpdateGradeRequest request = new com.gradesave.backend.dto.grade.UpdateGradeRequest(
                 studentId, java.util.Arrays.asList(gradeDto));
 
-        when(userService.getCurrentUser())
-                .thenReturn(Optional.of(currentUser));
-        when(performanceRepository.findById(performanceId))
-                .thenReturn(Optional.of(performance));
-        when(gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(eq(studentId), eq(performanceId),
-                isNull()))
-                .thenReturn(null);
-        when(userRepository.findById(studentId))
-                .thenReturn(Optional.of(student));
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(AuthenticatedUser.fromEntity(currentUser)));
+        when(userRepository.findAllById(Set.of(studentId)))
+                .thenReturn(List.of(student));
+        when(performanceRepository.findAllById(Set.of(performanceId)))
+                .thenReturn(List.of(performance));
+        when(gradeRepository.findByStudentIdInAndPerformanceIdInOrProjectSubjectIdIn(Set.of(studentId),
+                Set.of(performanceId), Set.of()))
+                .thenReturn(List.of());
         when(gradeRepository.save(any(Grade.class)))
                 .thenReturn(testGrade);
 
@@ -434,22 +436,29 @@ class GradeServiceTest {
         performance.setId(performanceId);
         performance.setAssignedTeacher(currentUser);
 
+        User student = new User();
+        student.setId(studentId);
+
         Grade existingGrade = new Grade();
         existingGrade.setId(UUID.randomUUID());
         existingGrade.setGrade(1.5);
+        existingGrade.setStudent(student);
+        existingGrade.setPerformance(performance);
 
         com.gradesave.backend.dto.grade.GradeDto gradeDto = new com.gradesave.backend.dto.grade.GradeDto(performanceId,
                 null, 2.5);
         com.gradesave.backend.dto.grade.UpdateGradeRequest request = new com.gradesave.backend.dto.grade.UpdateGradeRequest(
                 studentId, java.util.Arrays.asList(gradeDto));
 
-        when(userService.getCurrentUser())
-                .thenReturn(Optional.of(currentUser));
-        when(performanceRepository.findById(performanceId))
-                .thenReturn(Optional.of(performance));
-        when(gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(eq(studentId), eq(performanceId),
-                isNull()))
-                .thenReturn(existingGrade);
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(AuthenticatedUser.fromEntity(currentUser)));
+        when(userRepository.findAllById(Set.of(studentId)))
+                .thenReturn(List.of(student));
+        when(performanceRepository.findAllById(Set.of(performanceId)))
+                .thenReturn(List.of(performance));
+        when(gradeRepository.findByStudentIdInAndPerformanceIdInOrProjectSubjectIdIn(Set.of(studentId),
+                Set.of(performanceId), Set.of()))
+                .thenReturn(List.of(existingGrade));
         when(gradeRepository.save(any(Grade.class)))
                 .thenReturn(existingGrade);
 
@@ -469,6 +478,11 @@ class GradeServiceTest {
         com.gradesave.backend.dto.grade.UpdateGradeRequest request = new com.gradesave.backend.dto.grade.UpdateGradeRequest(
                 null, java.util.Arrays.asList(gradeDto));
 
+        User currentUser = new User();
+        currentUser.setId(UUID.randomUUID());
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(AuthenticatedUser.fromEntity(currentUser)));
+
         // Act
         gradeService.saveGradeOverview(java.util.Arrays.asList(request));
 
@@ -490,22 +504,29 @@ class GradeServiceTest {
         performance.setId(performanceId);
         performance.setAssignedTeacher(currentUser);
 
+        User student = new User();
+        student.setId(studentId);
+
         Grade existingGrade = new Grade();
         existingGrade.setId(UUID.randomUUID());
         existingGrade.setGrade(2.0);
+        existingGrade.setStudent(student);
+        existingGrade.setPerformance(performance);
 
         com.gradesave.backend.dto.grade.GradeDto gradeDto = new com.gradesave.backend.dto.grade.GradeDto(performanceId,
                 null, null);
         com.gradesave.backend.dto.grade.UpdateGradeRequest request = new com.gradesave.backend.dto.grade.UpdateGradeRequest(
                 studentId, java.util.Arrays.asList(gradeDto));
 
-        when(userService.getCurrentUser())
-                .thenReturn(Optional.of(currentUser));
-        when(performanceRepository.findById(performanceId))
-                .thenReturn(Optional.of(performance));
-        when(gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(eq(studentId), eq(performanceId),
-                isNull()))
-                .thenReturn(existingGrade);
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(AuthenticatedUser.fromEntity(currentUser)));
+        when(userRepository.findAllById(Set.of(studentId)))
+                .thenReturn(List.of(student));
+        when(performanceRepository.findAllById(Set.of(performanceId)))
+                .thenReturn(List.of(performance));
+        when(gradeRepository.findByStudentIdInAndPerformanceIdInOrProjectSubjectIdIn(Set.of(studentId),
+                Set.of(performanceId), Set.of()))
+                .thenReturn(List.of(existingGrade));
 
         // Act
         gradeService.saveGradeOverview(java.util.Arrays.asList(request));
@@ -519,6 +540,9 @@ class GradeServiceTest {
         // Arrange
         UUID studentId = UUID.randomUUID();
 
+        User student = new User();
+        student.setId(studentId);
+
         User currentUser = new User();
         currentUser.setId(UUID.randomUUID());
         currentUser.setRole(Role.TEACHER);
@@ -528,8 +552,10 @@ class GradeServiceTest {
         com.gradesave.backend.dto.grade.UpdateGradeRequest request = new com.gradesave.backend.dto.grade.UpdateGradeRequest(
                 studentId, java.util.Arrays.asList(gradeDto));
 
-        when(userService.getCurrentUser())
-                .thenReturn(Optional.of(currentUser));
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(AuthenticatedUser.fromEntity(currentUser)));
+        when(userRepository.findAllById(Set.of(studentId)))
+                .thenReturn(List.of(student));
 
         // Act
         gradeService.saveGradeOverview(java.util.Arrays.asList(request));
@@ -0,0 +1,140 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.group.GroupCreationFromCourseRequestDTO;
+import com.gradesave.backend.dto.group.StudentPairDTO;
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.models.User;
+import com.gradesave.backend.repositories.ArchivedGradeRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupFormationService
+ * Tests that pairs are checked and wishes the groups cannot meet are rejected
+ */
+@ExtendWith(MockitoExtension.class)
+class GroupFormationServiceTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private ArchivedGradeRepository archivedGradeRepository;
+
+    @InjectMocks
+    private GroupFormationService groupFormationService;
+
+    private Course course;
+    private List<User> students;
+    private User teacher;
+
+    @BeforeEach
+    void setUp() {
+        students = List.of(user(Role.STUDENT), user(Role.STUDENT), user(Role.STUDENT), user(Role.STUDENT));
+        teacher = user(Role.TEACHER);
+
+        course = new Course();
+        course.setId(UUID.randomUUID());
+        course.setUsers(new HashSet<>(students));
+        course.getUsers().add(teacher);
+    }
+
+    @Test
+    void testFormGroups_WishesMet() {
+        // Arrange
+        GroupCreationFromCourseRequestDTO req = request(2,
+                List.of(pair(0, 1)),
+                List.of(pair(0, 2)));
+
+        // Act
+        List<List<User>> groups = groupFormationService.formGroups(course, UUID.randomUUID(), req);
+
+        // Assert
+        assertEquals(2, groups.size());
+        List<User> first = groups.stream().filter(g -> g.contains(students.get(0))).findFirst().orElseThrow();
+        assertTrue(first.contains(students.get(2)));
+        assertFalse(first.contains(students.get(1)));
+        assertTrue(groups.stream().noneMatch(g -> g.contains(teacher)));
+    }
+
+    @Test
+    void testFormGroups_KeepApartInOneGroup_Conflict() {
+        // Arrange
+        GroupCreationFromCourseRequestDTO req = request(1, List.of(pair(0, 1)), null);
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> groupFormationService.formGroups(course, UUID.randomUUID(), req));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertTrue(ex.getReason().contains(students.get(0).getId().toString()));
+    }
+
+    @Test
+    void testFormGroups_KeepTogetherLargerThanGroup_Conflict() {
+        // Arrange: three students have to share a group of two
+        GroupCreationFromCourseRequestDTO req = request(2, null, List.of(pair(0, 1), pair(1, 2)));
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> groupFormationService.formGroups(course, UUID.randomUUID(), req));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void testFormGroups_PairWithNonStudent_BadRequest() {
+        // Arrange
+        GroupCreationFromCourseRequestDTO req = request(2,
+                List.of(new StudentPairDTO(students.get(0).getId(), teacher.getId())), null);
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> groupFormationService.formGroups(course, UUID.randomUUID(), req));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void testFormGroups_PairOfOneStudent_BadRequest() {
+        // Arrange
+        GroupCreationFromCourseRequestDTO req = request(2, null, List.of(pair(0, 0)));
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> groupFormationService.formGroups(course, UUID.randomUUID(), req));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    private GroupCreationFromCourseRequestDTO request(int groups, List<StudentPairDTO> keepApart,
+                                                      List<StudentPairDTO> keepTogether) {
+        return new GroupCreationFromCourseRequestDTO(course.getId(), UUID.randomUUID(), groups,
+                keepApart, keepTogether, false, false, 5L);
+    }
+
+    private StudentPairDTO pair(int first, int second) {
+        return new StudentPairDTO(students.get(first).getId(), students.get(second).getId());
+    }
+
+    private static User user(Role role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        return user;
+    }
+}
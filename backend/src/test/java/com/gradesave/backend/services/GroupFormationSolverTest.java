@@ -0,0 +1,146 @@
+package com.gradesave.backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupFormationSolver
+ */
+class GroupFormationSolverTest {
+
+    private static double[] emptyWeights(int n) {
+        return new double[n * n];
+    }
+
+    private static void setPair(double[] weights, int n, int i, int j, double weight) {
+        weights[i * n + j] = weight;
+        weights[j * n + i] = weight;
+    }
+
+    private static int[] groupSizes(int[] assignment, int groups) {
+        int[] sizes = new int[groups];
+        for (int group : assignment) {
+            sizes[group]++;
+        }
+        return sizes;
+    }
+
+    @Test
+    void testSolve_BalancedSizes() {
+        // Act
+        int[] assignment = GroupFormationSolver.solve(4, emptyWeights(10), null, 0, 1L);
+
+        // Assert
+        int[] sizes = groupSizes(assignment, 4);
+        assertEquals(10, Arrays.stream(sizes).sum());
+        assertTrue(Arrays.stream(sizes).max().orElseThrow() - Arrays.stream(sizes).min().orElseThrow() <= 1);
+    }
+
+    @Test
+    void testSolve_SameSeed_SameResult() {
+        // Arrange
+        int n = 20;
+        double[] weights = emptyWeights(n);
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a != b)
+                setPair(weights, n, a, b, random.nextInt(3));
+        }
+
+        // Act
+        int[] first = GroupFormationSolver.solve(5, weights, null, 0, 42L);
+        int[] second = GroupFormationSolver.solve(5, weights, null, 0, 42L);
+
+        // Assert
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void testSolve_KeepApartAndKeepTogether() {
+        // Arrange
+        int n = 12;
+        double[] weights = emptyWeights(n);
+        setPair(weights, n, 0, 1, GroupFormationSolver.CONSTRAINT_WEIGHT);
+        setPair(weights, n, 2, 3, GroupFormationSolver.CONSTRAINT_WEIGHT);
+        setPair(weights, n, 4, 5, -GroupFormationSolver.CONSTRAINT_WEIGHT);
+        setPair(weights, n, 6, 7, -GroupFormationSolver.CONSTRAINT_WEIGHT);
+
+        // Act
+        int[] assignment = GroupFormationSolver.solve(3, weights, null, 0, 3L);
+
+        // Assert
+        assertNotEquals(assignment[0], assignment[1]);
+        assertNotEquals(assignment[2], assignment[3]);
+        assertEquals(assignment[4], assignment[5]);
+        assertEquals(assignment[6], assignment[7]);
+    }
+
+    @Test
+    void testSolve_AvoidsEarlierPairs() {
+        // Arrange: 0-1 and 2-3 were together before, two groups of two leave a way around it
+        int n = 4;
+        double[] weights = emptyWeights(n);
+        setPair(weights, n, 0, 1, 1.0);
+        setPair(weights, n, 2, 3, 1.0);
+
+        // Act
+        int[] assignment = GroupFormationSolver.solve(2, weights, null, 0, 11L);
+
+        // Assert
+        assertNotEquals(assignment[0], assignment[1]);
+        assertNotEquals(assignment[2], assignment[3]);
+    }
+
+    @Test
+    void testSolve_BalancesScores() {
+        // Arrange: two strong and two weak students
+        double[] scores = {1.0, 1.0, 5.0, 5.0};
+
+        // Act
+        int[] assignment = GroupFormationSolver.solve(2, emptyWeights(4), scores, 1.0, 5L);
+
+        // Assert
+        assertNotEquals(assignment[0], assignment[1]);
+        assertNotEquals(assignment[2], assignment[3]);
+    }
+
+    @Test
+    void testSolve_MoreGroupsThanStudents() {
+        // Act
+        int[] assignment = GroupFormationSolver.solve(5, emptyWeights(3), null, 0, 1L);
+
+        // Assert
+        assertEquals(3, Arrays.stream(assignment).distinct().count());
+        assertTrue(Arrays.stream(assignment).allMatch(group -> group < 5));
+    }
+
+    @Test
+    void testSolve_LargeCourseFinishesQuickly() {
+        // Arrange: 35 students with years of history
+        int n = 35;
+        double[] weights = emptyWeights(n);
+        double[] scores = new double[n];
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            scores[i] = 1 + random.nextDouble() * 5;
+            for (int j = i + 1; j < n; j++) {
+                setPair(weights, n, i, j, random.nextInt(4));
+            }
+        }
+
+        // Act
+        long start = System.nanoTime();
+        int[] assignment = GroupFormationSolver.solve(7, weights, scores, 4.0, 99L);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertArrayEquals(new int[] {5, 5, 5, 5, 5, 5, 5}, groupSizes(assignment, 7));
+        assertTrue(millis < 1_000, "took " + millis + " ms");
+    }
+}
@@ -1,5 +1,10 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.group.GroupLayout;
+import com.gradesave.backend.dto.group.GroupMemberRow;
+import com.gradesave.backend.dto.group.GroupMembershipChangeDTO;
+import com.gradesave.backend.dto.group.GroupMembershipDTO;
+import com.gradesave.backend.events.GroupChangedEvent;
 import com.gradesave.backend.models.Group;
 import com.gradesave.backend.models.Project;
 import com.gradesave.backend.models.User;
@@ -8,14 +13,21 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,6 +39,9 @@ class GroupServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GroupService groupService;
 
@@ -336,4 +351,162 @@ class GroupServiceTest {
         assertTrue(group1.getUsers().isEmpty());
         assertTrue(group2.getUsers().isEmpty());
     }
+
+    @Test
+    void testApplyLayout_DiffsGroupsAndMemberships() {
+        // Arrange
+        UUID kept = UUID.randomUUID();
+        UUID dropped = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        UUID newGroupMember = UUID.randomUUID();
+        UUID outsider = UUID.randomUUID();
+
+        Group removedGroup = new Group();
+        removedGroup.setId(UUID.randomUUID());
+        removedGroup.setName("Removed Group");
+        removedGroup.setProject(testProject);
+
+        when(groupRepository.findAllByProjectId(testProject.getId())).thenReturn(List.of(testGroup, removedGroup));
+        when(groupRepository.findMemberRowsByProjectId(testProject.getId())).thenReturn(List.of(
+                new GroupMemberRow(testGroupId, kept),
+                new GroupMemberRow(testGroupId, dropped)));
+        when(groupRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Group> groups = invocation.getArgument(0);
+            groups.forEach(group -> group.setId(UUID.randomUUID()));
+            return groups;
+        });
+
+        List<GroupLayout> layout = List.of(
+                new GroupLayout(testGroupId, "Renamed Group", List.of(kept, added)),
+                new GroupLayout(null, "New Group", List.of(newGroupMember, outsider)));
+
+        // Act
+        groupService.applyLayout(testProject, layout, Set.of(kept, dropped, added, newGroupMember));
+
+        // Assert
+        assertEquals("Renamed Group", testGroup.getName());
+        verify(groupRepository).deleteMembershipsByGroupIdIn(Set.of(removedGroup.getId()));
+        verify(groupRepository).deleteByIdIn(Set.of(removedGroup.getId()));
+        verify(groupRepository).deleteMembers(testGroupId, Set.of(dropped));
+        verify(groupRepository).insertMembers(testGroupId, Set.of(added));
+        verify(groupRepository).insertMembers(argThat(id -> !testGroupId.equals(id)), eq(Set.of(newGroupMember)));
+        verify(groupRepository, never()).save(any(Group.class));
+        verify(eventPublisher, times(3)).publishEvent(any(GroupChangedEvent.class));
+    }
+
+    @Test
+    void testApplyLayout_UnchangedLayout_NoMembershipStatements() {
+        // Arrange
+        UUID member = UUID.randomUUID();
+        when(groupRepository.findAllByProjectId(testProject.getId())).thenReturn(List.of(testGroup));
+        when(groupRepository.findMemberRowsByProjectId(testProject.getId()))
+                .thenReturn(List.of(new GroupMemberRow(testGroupId, member)));
+
+        // Act
+        groupService.applyLayout(testProject,
+                List.of(new GroupLayout(testGroupId, "Test Group", List.of(member))), Set.of(member));
+
+        // Assert
+        verify(groupRepository, never()).insertMembers(any(), any());
+        verify(groupRepository, never()).deleteMembers(any(), any());
+        verify(groupRepository, never()).deleteByIdIn(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testApplyMemberships_MovesStudentBetweenGroups() {
+        // Arrange
+        UUID otherGroupId = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        UUID stays = UUID.randomUUID();
+        when(groupRepository.findIdsByProjectId(testProject.getId())).thenReturn(List.of(testGroupId, otherGroupId));
+        when(groupRepository.findMemberRowsByProjectId(testProject.getId())).thenReturn(List.of(
+                new GroupMemberRow(testGroupId, moved),
+                new GroupMemberRow(testGroupId, stays)));
+        when(groupRepository.deleteProjectMembers(testProject.getId(), Set.of(moved))).thenReturn(1);
+        when(groupRepository.insertMembers(otherGroupId, Set.of(moved))).thenReturn(1);
+
+        List<GroupMembershipDTO> groups = List.of(
+                new GroupMembershipDTO(testGroupId, List.of(stays)),
+                new GroupMembershipDTO(otherGroupId, List.of(moved)));
+
+        // Act
+        GroupMembershipChangeDTO result = groupService.applyMemberships(testProject, groups, Set.of(moved, stays));
+
+        // Assert
+        assertEquals(1, result.added());
+        assertEquals(1, result.removed());
+        assertEquals(List.of(testGroupId, otherGroupId), result.changedGroupIds());
+        InOrder inOrder = inOrder(groupRepository);
+        inOrder.verify(groupRepository).deleteProjectMembers(testProject.getId(), Set.of(moved));
+        inOrder.verify(groupRepository).insertMembers(otherGroupId, Set.of(moved));
+        verify(groupRepository, never()).existsUserInProject(any(), any());
+        verify(eventPublisher, times(2)).publishEvent(any(GroupChangedEvent.class));
+    }
+
+    @Test
+    void testApplyMemberships_Unchanged_NoStatements() {
+        // Arrange
+        UUID member = UUID.randomUUID();
+        when(groupRepository.findIdsByProjectId(testProject.getId())).thenReturn(List.of(testGroupId));
+        when(groupRepository.findMemberRowsByProjectId(testProject.getId()))
+                .thenReturn(List.of(new GroupMemberRow(testGroupId, member)));
+
+        // Act
+        GroupMembershipChangeDTO result = groupService.applyMemberships(testProject,
+                List.of(new GroupMembershipDTO(testGroupId, List.of(member))), Set.of(member));
+
+        // Assert
+        assertTrue(result.changedGroupIds().isEmpty());
+        verify(groupRepository, never()).deleteProjectMembers(any(), any());
+        verify(groupRepository, never()).insertMembers(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testApplyMemberships_StudentListedTwice_BadRequest() {
+        // Arrange
+        UUID otherGroupId = UUID.randomUUID();
+        UUID member = UUID.randomUUID();
+        when(groupRepository.findIdsByProjectId(testProject.getId())).thenReturn(List.of(testGroupId, otherGroupId));
+
+        List<GroupMembershipDTO> groups = List.of(
+                new GroupMembershipDTO(testGroupId, List.of(member)),
+                new GroupMembershipDTO(otherGroupId, List.of(member)));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> groupService.applyMemberships(testProject, groups, Set.of(member)));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(groupRepository, never()).findMemberRowsByProjectId(any());
+    }
+
+    @Test
+    void testApplyMemberships_GroupOfOtherProject_BadRequest() {
+        // Arrange
+        when(groupRepository.findIdsByProjectId(testProject.getId())).thenReturn(List.of(testGroupId));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> groupService.applyMemberships(testProject,
+                        List.of(new GroupMembershipDTO(UUID.randomUUID(), List.of())), Set.of()));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void testApplyMemberships_StudentInUnlistedGroup_Conflict() {
+        // Arrange
+        UUID member = UUID.randomUUID();
+        when(groupRepository.findIdsByProjectId(testProject.getId())).thenReturn(List.of(testGroupId));
+        when(groupRepository.findMemberRowsByProjectId(testProject.getId())).thenReturn(List.of());
+        when(groupRepository.insertMembers(testGroupId, Set.of(member)))
+                .thenThrow(new DataIntegrityViolationException("uk_group_membership_project_user"));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> groupService.applyMemberships(testProject,
+                        List.of(new GroupMembershipDTO(testGroupId, List.of(member))), Set.of(member)));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(eventPublisher);
+    }
 }
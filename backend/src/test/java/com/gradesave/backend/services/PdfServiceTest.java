@@ -0,0 +1,107 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.pdf.PdfBundleRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streamed PDF bundle of PdfService
+ */
+class PdfServiceTest {
+
+    @TempDir
+    Path pdfDir;
+
+    private PdfService pdfService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pdfService = new PdfService(pdfDir.toString() + "/");
+        Files.writeString(pdfDir.resolve("Mueller_Max.pdf"), "max");
+        Files.writeString(pdfDir.resolve("Schmidt_Anna.pdf"), "anna");
+        Files.createDirectories(pdfDir.resolve("10a"));
+        Files.writeString(pdfDir.resolve("10a").resolve("Mueller_Max.pdf"), "other max");
+    }
+
+    @Test
+    void testWritePdfBundle_SameFileNames_UniqueEntries() throws Exception {
+        // Arrange
+        PdfBundleRequestDTO request = new PdfBundleRequestDTO(null, null, null,
+                List.of("Mueller_Max.pdf", "10a/Mueller_Max.pdf", "Schmidt_Anna.pdf"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int count = pdfService.writePdfBundle(request, out);
+
+        // Assert
+        Map<String, String> entries = readZip(out.toByteArray());
+        assertEquals(3, count);
+        assertEquals(List.of("Mueller_Max.pdf", "Mueller_Max_2.pdf", "Schmidt_Anna.pdf"), new ArrayList<>(entries.keySet()));
+        assertEquals("max", entries.get("Mueller_Max.pdf"));
+        assertEquals("other max", entries.get("Mueller_Max_2.pdf"));
+    }
+
+    @Test
+    void testWritePdfBundle_SameFileTwice_BundledOnce() throws Exception {
+        // Arrange
+        PdfBundleRequestDTO request = new PdfBundleRequestDTO(null, null, null,
+                List.of("Schmidt_Anna.pdf", "./Schmidt_Anna.pdf", "missing.pdf"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int count = pdfService.writePdfBundle(request, out);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(List.of("Schmidt_Anna.pdf"), new ArrayList<>(readZip(out.toByteArray()).keySet()));
+    }
+
+    @Test
+    void testWritePdfBundle_PrefixFilter_OnlyMatchingFiles() throws Exception {
+        // Arrange
+        PdfBundleRequestDTO request = new PdfBundleRequestDTO(null, null, "Schmidt", null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int count = pdfService.writePdfBundle(request, out);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(List.of("Schmidt_Anna.pdf"), new ArrayList<>(readZip(out.toByteArray()).keySet()));
+    }
+
+    @Test
+    void testWritePdfBundle_OutsideOfPdfDirectory_Rejected() {
+        // Arrange
+        PdfBundleRequestDTO request = new PdfBundleRequestDTO(null, null, null, List.of("../secret.pdf"));
+
+        // Act & Assert
+        assertThrows(SecurityException.class, () -> pdfService.writePdfBundle(request, new ByteArrayOutputStream()));
+    }
+
+    private Map<String, String> readZip(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes()));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,231 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.group.GroupLayout;
+import com.gradesave.backend.dto.group.GroupMembershipDTO;
+import com.gradesave.backend.dto.project.ProjectArchiveResultDTO;
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.dto.question.QuestionDTO;
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Archives a project with the native copy statements and checks that the
+ * archived project can still be read but no longer be changed.
+ */
+@IntegrationTest
+class ProjectArchiveIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectArchiveService projectArchiveService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private ProjectSubjectService projectSubjectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private ProjectSubjectRepository projectSubjectRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private ArchivedAnswerRepository archivedAnswerRepository;
+
+    @Autowired
+    private ArchivedGradeRepository archivedGradeRepository;
+
+    private User admin;
+    private User teacher;
+    private User student;
+    private User otherStudent;
+    private Project project;
+    private Subject subject;
+    private ProjectSubject projectSubject;
+    private Performance performance;
+    private Group group;
+    private ProjectArchiveResultDTO result;
+
+    @BeforeAll
+    void seedAndArchive() {
+        admin = userRepository.save(newUser("pa_admin", Role.ADMIN));
+        teacher = userRepository.save(newUser("pa_teacher", Role.TEACHER));
+        student = userRepository.save(newUser("pa_student", Role.STUDENT));
+        otherStudent = userRepository.save(newUser("pa_student2", Role.STUDENT));
+
+        Course course = courseRepository.save(newCourse("PA Course", teacher, Set.of(teacher, student, otherStudent)));
+        project = projectRepository.save(newProject("PA Project", course));
+        group = groupRepository.save(newGroup("PA Group", project, Set.of(student, otherStudent)));
+        subject = subjectRepository.save(newSubject("PA Subject", "PA"));
+
+        projectSubject = new ProjectSubject();
+        projectSubject.setProject(project);
+        projectSubject.setSubject(subject);
+        projectSubject.setDuration(20.0);
+        projectSubject = projectSubjectRepository.save(projectSubject);
+
+        performance = new Performance();
+        performance.setName("PA Presentation");
+        performance.setShortName("PR");
+        performance.setWeight(1.0);
+        performance.setAssignedTeacher(teacher);
+        performance.setProjectSubject(projectSubject);
+        performance = performanceRepository.save(performance);
+
+        List<Grade> grades = new ArrayList<>();
+        for (User graded : List.of(student, otherStudent)) {
+            Grade grade = new Grade();
+            grade.setStudent(graded);
+            grade.setPerformance(performance);
+            grade.setGrade(1.7);
+            grades.add(grade);
+        }
+        gradeRepository.saveAll(grades);
+
+        Question question = new Question();
+        question.setText("PA Question");
+        question.setType(QuestionType.GRADE);
+        question = questionRepository.save(question);
+
+        ProjectQuestion projectQuestion = new ProjectQuestion();
+        projectQuestion.setProject(project);
+        projectQuestion.setQuestion(question);
+        projectQuestion = projectQuestionRepository.save(projectQuestion);
+
+        Answer answer = new Answer();
+        answer.setAuthor(student);
+        answer.setRecipient(otherStudent);
+        answer.setProjectQuestion(projectQuestion);
+        answer.setAnswerGrade(2);
+        answerRepository.save(answer);
+
+        result = projectArchiveService.archive(project.getId());
+        project = projectRepository.findById(project.getId()).orElseThrow();
+    }
+
+    @Test
+    void archive_MovesAnswersAndGradesIntoTheArchive() {
+        assertEquals(1, result.answers());
+        assertEquals(2, result.grades());
+        assertTrue(project.isArchived());
+
+        assertTrue(gradeRepository.findByProjectId(project.getId()).isEmpty());
+        assertEquals(2, archivedGradeRepository.findByProjectId(project.getId()).size());
+        assertEquals(1, archivedAnswerRepository.findByProjectId(project.getId()).size());
+        assertTrue(archivedAnswerRepository.existsByAuthorIdAndProjectId(student.getId(), project.getId()));
+    }
+
+    @Test
+    void projectChanges_Rejected() {
+        Project patch = newProject("PA Renamed", project.getCourse());
+
+        assertConflict(() -> projectService.update(project.getId(), patch));
+        assertConflict(() -> projectService.addSubject(project.getId(),
+                subjectRepository.save(newSubject("PA Other", "PO")).getId(), 10.0));
+        assertConflict(() -> projectService.removeSubject(project.getId(), subject.getId()));
+        assertConflict(() -> projectService.updateFragebogen(project.getId(),
+                new QuestionDTO[0], QuestionnaireActivityStatus.EDITING));
+
+        assertEquals("PA Project", projectRepository.findById(project.getId()).orElseThrow().getName());
+        assertTrue(projectSubjectRepository.existsByProjectIdAndSubjectId(project.getId(), subject.getId()));
+    }
+
+    @Test
+    void groupChanges_Rejected() {
+        assertConflict(() -> groupService.applyLayout(project,
+                List.of(new GroupLayout(group.getId(), "PA Renamed", List.of(student.getId()))),
+                Set.of(student.getId(), otherStudent.getId())));
+        assertConflict(() -> groupService.applyMemberships(project,
+                List.of(new GroupMembershipDTO(group.getId(), List.of(student.getId()))),
+                Set.of(student.getId(), otherStudent.getId())));
+        assertConflict(() -> groupService.create(newGroup("PA New", project, Set.of())));
+        assertConflict(() -> groupService.deleteIfExists(group.getId()));
+
+        assertEquals(2, groupRepository.findWithUsersById(group.getId()).orElseThrow().getUsers().size());
+    }
+
+    @Test
+    void subjectAndPerformanceChanges_Rejected() {
+        Performance patch = new Performance();
+        patch.setName("PA Changed");
+        patch.setShortName("CH");
+        patch.setWeight(2.0);
+        patch.setAssignedTeacher(teacher);
+
+        assertConflict(() -> performanceService.update(performance.getId(), patch));
+        assertConflict(() -> performanceService.deleteIfExists(performance.getId()));
+        assertConflict(() -> projectSubjectService.deleteById(projectSubject.getId()));
+
+        assertEquals("PA Presentation", performanceRepository.findById(performance.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void updateProjectFull_Conflict() throws Exception {
+        mockMvc.perform(put("/api/project/{id}/full", project.getId())
+                        .with(user(principal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projectName\":\"PA Renamed\",\"projectStartDate\":{\"year\":2026,\"month\":9,\"day\":1}}"))
+                .andExpect(status().isConflict());
+    }
+
+    private static void assertConflict(Executable change) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, change);
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,123 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.project.ProjectArchiveResultDTO;
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.events.ProjectChangedEvent;
+import com.gradesave.backend.models.Course;
+import com.gradesave.backend.models.Project;
+import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.ArchivedAnswerRepository;
+import com.gradesave.backend.repositories.ArchivedGradeRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.ProjectRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectArchiveService
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectArchiveServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private ArchivedAnswerRepository archivedAnswerRepository;
+
+    @Mock
+    private ArchivedGradeRepository archivedGradeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProjectArchiveService projectArchiveService;
+
+    private Project testProject;
+    private UUID testProjectId;
+
+    @BeforeEach
+    void setUp() {
+        testProjectId = UUID.randomUUID();
+
+        Course course = new Course();
+        course.setId(UUID.randomUUID());
+
+        testProject = new Project();
+        testProject.setId(testProjectId);
+        testProject.setName("Test Project");
+        testProject.setProjectStart(LocalDate.now());
+        testProject.setCourse(course);
+    }
+
+    @Test
+    void testArchive_MovesAnswersAndGrades() {
+        // Arrange
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(archivedAnswerRepository.copyFromProject(testProjectId)).thenReturn(12);
+        when(archivedGradeRepository.copyFromProject(testProjectId)).thenReturn(7);
+
+        // Act
+        ProjectArchiveResultDTO result = projectArchiveService.archive(testProjectId);
+
+        // Assert
+        assertEquals(12, result.answers());
+        assertEquals(7, result.grades());
+        assertTrue(testProject.isArchived());
+        assertEquals(QuestionnaireActivityStatus.ARCHIVED, testProject.getActivityStatus());
+
+        InOrder order = inOrder(archivedAnswerRepository, answerRepository, archivedGradeRepository, gradeRepository);
+        order.verify(archivedAnswerRepository).copyFromProject(testProjectId);
+        order.verify(answerRepository).deleteByProjectId(testProjectId);
+        order.verify(archivedGradeRepository).copyFromProject(testProjectId);
+        order.verify(gradeRepository).deleteByProjectId(testProjectId);
+        verify(eventPublisher).publishEvent(any(ProjectChangedEvent.class));
+    }
+
+    @Test
+    void testArchive_AlreadyArchived_Conflict() {
+        // Arrange
+        testProject.setArchivedAt(LocalDateTime.now());
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> projectArchiveService.archive(testProjectId));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verifyNoInteractions(archivedAnswerRepository, archivedGradeRepository);
+    }
+
+    @Test
+    void testArchive_ProjectNotFound() {
+        // Arrange
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> projectArchiveService.archive(testProjectId));
+    }
+}
@@ -1,12 +1,25 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.dto.project.FragebogenUpdateResultDTO;
+import com.gradesave.backend.dto.project.ProjectSummaryDTO;
+import com.gradesave.backend.dto.project.ProjectSummaryRow;
+import com.gradesave.backend.dto.project.QuestionnaireActivityStatus;
+import com.gradesave.backend.dto.question.QuestionDTO;
 import com.gradesave.backend.models.Course;
 import com.gradesave.backend.models.Group;
 import com.gradesave.backend.models.Project;
+import com.gradesave.backend.models.ProjectQuestion;
 import com.gradesave.backend.models.ProjectSubject;
+import com.gradesave.backend.models.Question;
+import com.gradesave.backend.models.QuestionType;
+import com.gradesave.backend.models.Subject;
 import com.gradesave.backend.repositories.CourseRepository;
 import com.gradesave.backend.repositories.GroupRepository;
+import com.gradesave.backend.repositories.ProjectQuestionRepository;
 import com.gradesave.backend.repositories.ProjectRepository;
+import com.gradesave.backend.repositories.ProjectSubjectRepository;
+import com.gradesave.backend.repositories.QuestionRepository;
+import com.gradesave.backend.repositories.SubjectRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +27,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +53,21 @@ class ProjectServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private ProjectSubjectRepository projectSubjectRepository;
+
+    @Mock
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -248,4 +278,224 @@ class ProjectServiceTest {
         assertEquals(10L, count);
         verify(projectRepository, times(1)).count();
     }
+
+    @Test
+    void testGetSummaries_KeepsRequestedOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(projectRepository.findSummaryRowsByIdIn(List.of(first, second))).thenReturn(List.of(
+                summaryRow(second, 10, 4),
+                summaryRow(first, 8, 8)
+        ));
+
+        List<ProjectSummaryDTO> result = projectService.getSummaries(List.of(first, second));
+
+        assertEquals(List.of(first, second), result.stream().map(ProjectSummaryDTO::projectId).toList());
+        assertEquals(0, result.get(0).unassignedStudentsAmount());
+        assertEquals(6, result.get(1).unassignedStudentsAmount());
+        assertEquals("No Class Teacher", result.get(0).teacherName());
+    }
+
+    private ProjectSummaryRow summaryRow(UUID projectId, long students, long assigned) {
+        return new ProjectSummaryRow(projectId, "Project", LocalDate.now(), QuestionnaireActivityStatus.EDITING,
+                testCourse.getId(), testCourse.getCourseName(), null, null, null,
+                2, students, assigned, 0, 0);
+    }
+
+    @Test
+    void testCloneProject_CopiesStructureWithoutGroups() {
+        // Arrange
+        UUID copyId = UUID.randomUUID();
+        when(projectRepository.existsById(testProjectId)).thenReturn(true);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenAnswer(invocation -> {
+            Project copy = invocation.getArgument(0);
+            copy.setId(copyId);
+            return copy;
+        });
+
+        // Act
+        Project copy = projectService.cloneProject(testProjectId, testCourse, "Copy", LocalDate.of(2027, 9, 1), false);
+
+        // Assert
+        assertEquals(copyId, copy.getId());
+        assertEquals("Copy", copy.getName());
+        assertEquals(testCourse, copy.getCourse());
+        verify(projectRepository).copySubjects(testProjectId, copyId);
+        verify(projectRepository).copyPerformances(testProjectId, copyId);
+        verify(projectRepository).copyQuestions(testProjectId, copyId);
+        verify(projectRepository, never()).copyGroups(any(), any());
+        verify(projectRepository, never()).copyGroupMemberships(any(), any(), any());
+    }
+
+    @Test
+    void testCloneProject_WithGroups() {
+        // Arrange
+        UUID copyId = UUID.randomUUID();
+        when(projectRepository.existsById(testProjectId)).thenReturn(true);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenAnswer(invocation -> {
+            Project copy = invocation.getArgument(0);
+            copy.setId(copyId);
+            return copy;
+        });
+
+        // Act
+        projectService.cloneProject(testProjectId, testCourse, "Copy", LocalDate.of(2027, 9, 1), true);
+
+        // Assert
+        verify(projectRepository).copyGroups(testProjectId, copyId);
+        verify(projectRepository).copyGroupMemberships(testProjectId, copyId, testCourse.getId());
+    }
+
+    @Test
+    void testCloneProject_SourceNotFound() {
+        // Arrange
+        when(projectRepository.existsById(testProjectId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> projectService.cloneProject(testProjectId, testCourse, "Copy", LocalDate.now(), true));
+        verify(projectRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testAddSubject_LinksQuestionsInOneStatement() {
+        // Arrange
+        Subject subject = new Subject();
+        subject.setId(UUID.randomUUID());
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(subjectRepository.findById(subject.getId())).thenReturn(Optional.of(subject));
+        when(projectSubjectRepository.existsByProjectIdAndSubjectId(testProjectId, subject.getId())).thenReturn(false);
+
+        // Act
+        boolean added = projectService.addSubject(testProjectId, subject.getId(), 12.0);
+
+        // Assert
+        assertTrue(added);
+        verify(projectSubjectRepository).save(argThat(ps -> ps.getSubject() == subject && ps.getDuration() == 12.0));
+        verify(projectQuestionRepository).linkSubjectQuestions(testProjectId, subject.getId());
+        verify(projectRepository, never()).save(any(Project.class));
+    }
+
+    @Test
+    void testAddSubject_AlreadyAssigned() {
+        // Arrange
+        Subject subject = new Subject();
+        subject.setId(UUID.randomUUID());
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(subjectRepository.findById(subject.getId())).thenReturn(Optional.of(subject));
+        when(projectSubjectRepository.existsByProjectIdAndSubjectId(testProjectId, subject.getId())).thenReturn(true);
+
+        // Act
+        boolean added = projectService.addSubject(testProjectId, subject.getId(), 12.0);
+
+        // Assert
+        assertFalse(added);
+        verify(projectSubjectRepository, never()).save(any());
+        verifyNoInteractions(projectQuestionRepository);
+    }
+
+    @Test
+    void testRemoveSubject_UnlinksQuestionsInOneStatement() {
+        // Arrange
+        UUID subjectId = UUID.randomUUID();
+        ProjectSubject projectSubject = new ProjectSubject();
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(projectSubjectRepository.findByProjectIdAndSubjectId(testProjectId, subjectId)).thenReturn(Optional.of(projectSubject));
+
+        // Act
+        boolean removed = projectService.removeSubject(testProjectId, subjectId);
+
+        // Assert
+        assertTrue(removed);
+        verify(projectQuestionRepository).unlinkSubjectQuestions(testProjectId, subjectId);
+        verify(projectSubjectRepository).delete(projectSubject);
+    }
+
+    @Test
+    void testRemoveSubject_NotAssigned() {
+        // Arrange
+        UUID subjectId = UUID.randomUUID();
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(projectSubjectRepository.findByProjectIdAndSubjectId(testProjectId, subjectId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(projectService.removeSubject(testProjectId, subjectId));
+        verifyNoInteractions(projectQuestionRepository);
+    }
+
+    @Test
+    void testUpdateFragebogen_Unchanged_WritesNoQuestions() {
+        // Arrange
+        Question question = newQuestion("How was the teamwork?", QuestionType.GRADE);
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(projectQuestionRepository.findWithQuestionByProjectId(testProjectId)).thenReturn(List.of(link(question)));
+
+        // Act
+        FragebogenUpdateResultDTO result = projectService.updateFragebogen(testProjectId,
+                new QuestionDTO[] { new QuestionDTO(question.getId(), "How was the teamwork?", QuestionType.GRADE) },
+                QuestionnaireActivityStatus.EDITING);
+
+        // Assert
+        assertEquals(0, result.created() + result.updated() + result.linked() + result.unlinked());
+        assertEquals(1, result.questions().size());
+        verify(questionRepository, never()).findAllById(any());
+        verify(questionRepository, never()).save(any());
+        verify(questionRepository).saveAll(List.of());
+        verify(projectQuestionRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void testUpdateFragebogen_WritesOnlyTheDiff() {
+        // Arrange
+        Question unchanged = newQuestion("Unchanged", QuestionType.TEXT);
+        Question edited = newQuestion("Old text", QuestionType.TEXT);
+        Question dropped = newQuestion("Dropped", QuestionType.TEXT);
+        Question fromCatalog = newQuestion("From the catalog", QuestionType.GRADE);
+        ProjectQuestion droppedLink = link(dropped);
+
+        when(projectRepository.findById(testProjectId)).thenReturn(Optional.of(testProject));
+        when(projectQuestionRepository.findWithQuestionByProjectId(testProjectId))
+                .thenReturn(List.of(link(unchanged), link(edited), droppedLink));
+        when(questionRepository.findAllById(Set.of(fromCatalog.getId()))).thenReturn(List.of(fromCatalog));
+
+        QuestionDTO[] questions = {
+                new QuestionDTO(unchanged.getId(), "Unchanged", QuestionType.TEXT),
+                new QuestionDTO(edited.getId(), "New text", QuestionType.TEXT),
+                new QuestionDTO(fromCatalog.getId(), "From the catalog", QuestionType.GRADE),
+                new QuestionDTO(null, "Brand new", QuestionType.TEXT)
+        };
+
+        // Act
+        FragebogenUpdateResultDTO result = projectService.updateFragebogen(testProjectId, questions,
+                QuestionnaireActivityStatus.READY_FOR_ANSWERING);
+
+        // Assert
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        assertEquals(2, result.linked());
+        assertEquals(1, result.unlinked());
+        assertEquals(5, result.questions().size());
+        assertEquals("New text", edited.getText());
+        verify(questionRepository).save(argThat(q -> "Brand new".equals(q.getText())));
+        verify(questionRepository).saveAll(List.of(edited));
+        verify(projectQuestionRepository).deleteAllInBatch(List.of(droppedLink));
+        verify(projectQuestionRepository).saveAll(argThat(links -> links instanceof List<?> list && list.size() == 2));
+        assertEquals(QuestionnaireActivityStatus.READY_FOR_ANSWERING, testProject.getActivityStatus());
+    }
+
+    private static Question newQuestion(String text, QuestionType type) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setText(text);
+        question.setType(type);
+        return question;
+    }
+
+    private ProjectQuestion link(Question question) {
+        ProjectQuestion projectQuestion = new ProjectQuestion();
+        projectQuestion.setId(UUID.randomUUID());
+        projectQuestion.setProject(testProject);
+        projectQuestion.setQuestion(question);
+        return projectQuestion;
+    }
 }
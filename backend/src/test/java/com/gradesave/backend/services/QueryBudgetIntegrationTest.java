@@ -0,0 +1,318 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.course.CourseSelectionDto;
+import com.gradesave.backend.dto.grade.GradeDto;
+import com.gradesave.backend.dto.grade.GradeOverviewDto;
+import com.gradesave.backend.dto.grade.UpdateGradeRequest;
+import com.gradesave.backend.dto.project.DetailedProjectQuestionAnswersDTO;
+import com.gradesave.backend.dto.project.ProjectGradeAveragesDTO;
+import com.gradesave.backend.dto.project.ProjectQuestionAnswerDTO;
+import com.gradesave.backend.dto.project.ProjectQuestionAnswersDTO;
+import com.gradesave.backend.dto.project.StudentAnswerDTO;
+import com.gradesave.backend.dto.project.StudentGradeAverageDTO;
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.*;
+import com.gradesave.backend.support.QueryBudget;
+import com.gradesave.backend.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for the main read and write paths. The course has more
+ * students than any budget allows statements, so a query per student fails
+ * the budget and the failure lists the repeated SQL.
+ */
+@IntegrationTest
+class QueryBudgetIntegrationTest {
+
+    private static final int STUDENTS = 12;
+    private static final int SUBJECTS = 3;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private ProjectSubjectRepository projectSubjectRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    private User teacher;
+    private final List<User> students = new ArrayList<>();
+    private Course course;
+    private Course importCourse;
+    private Project project;
+    private Group answeredGroup;
+    private Group openGroup;
+    private final List<Performance> performances = new ArrayList<>();
+    private final List<Question> questions = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        teacher = userRepository.save(newUser("qb_teacher", Role.TEACHER));
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(userRepository.save(newUser("qb_student" + i, Role.STUDENT)));
+        }
+
+        Set<User> members = new HashSet<>(students);
+        members.add(teacher);
+        course = courseRepository.save(newCourse("QB Course", teacher, members));
+        importCourse = courseRepository.save(newCourse("QB Import", null, Set.of()));
+        project = projectRepository.save(newProject("QB Project", course));
+
+        answeredGroup = groupRepository.save(newGroup("Group A", project, students.subList(0, STUDENTS / 2)));
+        openGroup = groupRepository.save(newGroup("Group B", project, students.subList(STUDENTS / 2, STUDENTS)));
+
+        for (int i = 0; i < SUBJECTS; i++) {
+            Subject subject = subjectRepository.save(newSubject("QB Subject " + i, "QB" + i));
+
+            ProjectSubject projectSubject = new ProjectSubject();
+            projectSubject.setProject(project);
+            projectSubject.setSubject(subject);
+            projectSubject.setDuration(40.0);
+            projectSubject = projectSubjectRepository.save(projectSubject);
+
+            Performance performance = new Performance();
+            performance.setName("Performance " + i);
+            performance.setShortName("P" + i);
+            performance.setWeight(100.0);
+            performance.setAssignedTeacher(teacher);
+            performance.setProjectSubject(projectSubject);
+            performances.add(performanceRepository.save(performance));
+        }
+
+        List<Grade> grades = new ArrayList<>();
+        for (User student : students) {
+            for (Performance performance : performances) {
+                Grade grade = new Grade();
+                grade.setStudent(student);
+                grade.setPerformance(performance);
+                grade.setGrade(2.0);
+                grades.add(grade);
+            }
+        }
+        gradeRepository.saveAll(grades);
+
+        List<ProjectQuestion> projectQuestions = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Question question = new Question();
+            question.setText("QB Question " + i);
+            question.setType(QuestionType.GRADE);
+            question = questionRepository.save(question);
+            questions.add(question);
+
+            ProjectQuestion projectQuestion = new ProjectQuestion();
+            projectQuestion.setProject(project);
+            projectQuestion.setQuestion(question);
+            projectQuestions.add(projectQuestionRepository.save(projectQuestion));
+        }
+
+        // every member of the first group graded every member on every question
+        List<Answer> answers = new ArrayList<>();
+        for (User author : answeredGroup.getUsers()) {
+            for (User recipient : answeredGroup.getUsers()) {
+                for (ProjectQuestion projectQuestion : projectQuestions) {
+                    Answer answer = new Answer();
+                    answer.setAuthor(author);
+                    answer.setRecipient(recipient);
+                    answer.setProjectQuestion(projectQuestion);
+                    answer.setAnswerGrade(2);
+                    answers.add(answer);
+                }
+            }
+        }
+        answerRepository.saveAll(answers);
+    }
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loadGradeOverview_WithinBudget() {
+        // Act: one query per subject for its performances, everything else per project
+        GradeOverviewDto overview = QueryBudget.atMost().selects(12).inserts(0).updates(0).deletes(0)
+                .check(() -> gradeService.loadGradeOverview(project.getId(), null, teacher.getId()));
+
+        // Assert
+        assertEquals(SUBJECTS, overview.subjects().size());
+        assertEquals(STUDENTS, overview.users().size());
+        assertTrue(overview.users().stream().allMatch(user -> user.grades().size() == SUBJECTS));
+    }
+
+    @Test
+    void saveGradeOverview_WithinBudget() {
+        // Arrange
+        loginAs(teacher);
+        Performance performance = performances.getFirst();
+        List<UpdateGradeRequest> request = students.stream()
+                .map(student -> new UpdateGradeRequest(student.getId(),
+                        List.of(new GradeDto(performance.getId(), null, 1.0))))
+                .toList();
+
+        // Act: students, performances and existing grades are loaded with one query each, only the writes are per student
+        QueryBudget.atMost().selects(8).inserts(0).updates(STUDENTS).deletes(0)
+                .check(() -> gradeService.saveGradeOverview(request));
+
+        // Assert
+        assertEquals(1.0, gradeRepository.findByStudentIdAndPerformanceIdOrProjectSubjectId(
+                students.getFirst().getId(), performance.getId(), null).getGrade());
+    }
+
+    @Test
+    void findGradeOverviewOptions_WithinBudget() {
+        // Act
+        List<CourseSelectionDto> first = QueryBudget.atMost().selects(2).inserts(0).updates(0).deletes(0)
+                .check(() -> courseService.findGradeOverviewOptions(teacher.getId()));
+        List<CourseSelectionDto> second = QueryBudget.atMost().selects(0)
+                .check(() -> courseService.findGradeOverviewOptions(teacher.getId()));
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.stream().anyMatch(option -> option.id().equals(course.getId())));
+    }
+
+    @Test
+    void answerQuestions_WithinBudget() {
+        // Arrange
+        Project questionnaire = projectService.getWithQuestionnaire(project.getId()).orElseThrow();
+        User author = students.getLast();
+        ProjectQuestionAnswerDTO[] answers = questions.stream()
+                .map(question -> new ProjectQuestionAnswerDTO(question.getId(), openGroup.getUsers().stream()
+                        .map(recipient -> new StudentAnswerDTO(recipient.getId(), 3))
+                        .toArray(StudentAnswerDTO[]::new)))
+                .toArray(ProjectQuestionAnswerDTO[]::new);
+
+        // Act: the answers are written in one batch
+        boolean saved = QueryBudget.atMost().selects(3).inserts(1).updates(0).deletes(0)
+                .check(() -> answerService.answerQuestions(questionnaire, author, new ProjectQuestionAnswersDTO(answers)));
+
+        // Assert
+        assertTrue(saved);
+        assertTrue(answerService.hasUserSubmitted(questionnaire, author));
+    }
+
+    @Test
+    void gradeAverages_WithinBudget() {
+        // Arrange
+        Project loaded = projectService.getById(project.getId()).orElseThrow();
+
+        // Act
+        ProjectGradeAveragesDTO averages = QueryBudget.atMost().selects(3).inserts(0).updates(0).deletes(0)
+                .check(() -> answerService.getGradeAveragesForProject(loaded));
+
+        // Assert: every member of the first group got 2 grades from each of its members, all of them 2,
+        // and the second group shows up once a member of it has answered
+        int answeredRecipients = STUDENTS / 2
+                + (answerService.hasUserSubmitted(loaded, students.getLast()) ? STUDENTS / 2 : 0);
+        assertEquals(answeredRecipients, averages.studentAverages().length);
+        StudentGradeAverageDTO first = Arrays.stream(averages.studentAverages())
+                .filter(average -> average.studentId().equals(students.getFirst().getId()))
+                .findFirst().orElseThrow();
+        assertEquals(2.0, first.averageGrade());
+        assertEquals(STUDENTS / 2 * questions.size(), first.totalGrades());
+        assertEquals(2.0, first.selfAssessment());
+        assertEquals(2.0, first.peerAssessment());
+    }
+
+    @Test
+    void detailedAnswersForGroup_WithinBudget() {
+        // Arrange
+        Project loaded = projectService.getById(project.getId()).orElseThrow();
+        Group group = groupService.getWithUsers(answeredGroup.getId()).orElseThrow();
+
+        // Act
+        DetailedProjectQuestionAnswersDTO answers = QueryBudget.atMost().selects(3).inserts(0).updates(0).deletes(0)
+                .check(() -> answerService.getDetailedAnswersForGroup(loaded, group));
+
+        // Assert
+        assertEquals(questions.size(), answers.questions().length);
+    }
+
+    @Test
+    void importUsersFromCsv_WithinBudget() {
+        // Arrange
+        int rows = 4;
+        StringBuilder csv = new StringBuilder("name;lastname;classname;role\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Import").append(i).append(";Budget;QB Import;STUDENT\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Act: each class is looked up once and the memberships are inserted once per course. Known N+1:
+        // the free username is still probed per row, a taken name needs the next candidate checked;
+        // imports are rare admin actions, so this stays linear in the rows on purpose.
+        QueryBudget.atMost().selects(rows + 3).inserts(rows + 1).updates(0).deletes(0)
+                .check(() -> csvService.importUsersFromCsv(file));
+
+        // Assert
+        assertTrue(userRepository.existsByUsername("import0.budget"));
+        assertTrue(courseRepository.findMemberIds(importCourse.getId()).contains(
+                userRepository.findByUsername("import0.budget").orElseThrow().getId()));
+    }
+
+    private void loginAs(User user) {
+        CustomUserDetails details = principal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+}
@@ -1,8 +1,10 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.events.CatalogChangedEvent;
 import com.gradesave.backend.models.Question;
 import com.gradesave.backend.models.QuestionType;
 import com.gradesave.backend.models.Subject;
+import com.gradesave.backend.repositories.ProjectQuestionRepository;
 import com.gradesave.backend.repositories.QuestionRepository;
 import com.gradesave.backend.repositories.SubjectRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -32,6 +35,12 @@ class QuestionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private ProjectQuestionRepository projectQuestionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private QuestionService questionService;
 
@@ -74,6 +83,8 @@ class QuestionServiceTest {
         assertEquals(2, result.getSubjects().size());
         verify(subjectRepository, times(1)).findAllById(subjectIds);
         verify(questionRepository, times(1)).save(testQuestion);
+        verify(projectQuestionRepository, times(1)).linkToEditingProjects(testQuestionId);
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogChangedEvent.class));
     }
 
     @Test
@@ -100,6 +111,7 @@ class QuestionServiceTest {
 
         assertNotNull(result);
         verify(questionRepository, times(1)).save(testQuestion);
+        verifyNoInteractions(projectQuestionRepository);
     }
 
     @Test
@@ -0,0 +1,174 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.UserRepository;
+import com.gradesave.backend.support.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.gradesave.backend.support.TestData.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads reference entities through the second-level cache and changes them
+ * through the services, the next read has to see the change. Users stay out
+ * of every region.
+ */
+@IntegrationTest
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Cache cache;
+
+    @BeforeAll
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        cache = sessionFactory.getCache();
+    }
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    void getById_SecondReadComesFromCache() {
+        // Arrange
+        Subject subject = subjectService.create(newSubject("Mathe", "M"));
+        subjectService.getById(subject.getId());
+        statistics.clear();
+
+        // Act
+        Subject read = subjectService.getById(subject.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("Mathe", read.getName());
+        assertTrue(cache.containsEntity(Subject.class, subject.getId()));
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void subjectUpdate_NextReadSeesChange() {
+        // Arrange
+        Subject subject = subjectService.create(newSubject("Deutsch", "D"));
+        subjectService.getById(subject.getId());
+
+        // Act
+        Subject patch = newSubject("Deutsch LK", "DLK");
+        patch.setId(subject.getId());
+        subjectService.update(subject.getId(), patch);
+        statistics.clear();
+        Subject read = subjectService.getById(subject.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("Deutsch LK", read.getName());
+        assertEquals("DLK", read.getShortName());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    void subjectDelete_EvictsEntry() {
+        // Arrange
+        Subject subject = subjectService.create(newSubject("Kunst", "KU"));
+        subjectService.getById(subject.getId());
+
+        // Act
+        subjectService.deleteById(subject.getId());
+
+        // Assert
+        assertFalse(cache.containsEntity(Subject.class, subject.getId()));
+        assertTrue(subjectService.getById(subject.getId()).isEmpty());
+    }
+
+    @Test
+    void questionUpdate_NextReadSeesTextAndSubjects() {
+        // Arrange
+        Subject first = subjectService.create(newSubject("Physik", "PH"));
+        Subject second = subjectService.create(newSubject("Chemie", "CH"));
+        Question question = new Question();
+        question.setText("Wie war die Zusammenarbeit?");
+        question.setType(QuestionType.GRADE);
+        question.setSubjects(new HashSet<>(Set.of(first)));
+        question = questionService.create(question);
+        UUID questionId = question.getId();
+        assertEquals(Set.of(first.getId()), subjectIds(questionId));
+
+        // Act
+        Question patch = new Question();
+        patch.setText("Wie war die Arbeitsteilung?");
+        patch.setType(QuestionType.GRADE);
+        patch.setSubjects(new HashSet<>(Set.of(second)));
+        questionService.update(questionId, patch);
+
+        // Assert
+        assertEquals("Wie war die Arbeitsteilung?", questionService.getById(questionId).orElseThrow().getText());
+        assertEquals(Set.of(second.getId()), subjectIds(questionId));
+        assertTrue(cache.containsCollection(Question.class.getName() + ".subjects", questionId));
+    }
+
+    @Test
+    void user_NeitherEntityNorRoleLookupCached() {
+        // Arrange
+        User student = userRepository.save(newUser("cache_student", Role.STUDENT));
+        userService.getById(student.getId());
+        userService.GetUsersByRole(Role.STUDENT);
+        statistics.clear();
+
+        // Act
+        boolean containsStudent = userService.GetUsersByRole(Role.STUDENT).stream()
+                .anyMatch(user -> user.getId().equals(student.getId()));
+
+        User patch = newUser("cache_student", Role.TEACHER);
+        patch.setUsername(student.getUsername());
+        userService.update(student.getId(), patch);
+        boolean stillStudent = userService.GetUsersByRole(Role.STUDENT).stream()
+                .anyMatch(user -> user.getId().equals(student.getId()));
+
+        // Assert: the password hash is not kept in a shared region
+        assertTrue(containsStudent);
+        assertFalse(cache.containsEntity(User.class, student.getId()));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getQueryCachePutCount());
+        assertFalse(stillStudent);
+        assertEquals(Role.TEACHER, userService.getById(student.getId()).orElseThrow().getRole());
+    }
+
+    private Set<UUID> subjectIds(UUID questionId) {
+        return transactionTemplate.execute(status -> questionService.getById(questionId).orElseThrow()
+                .getSubjects().stream()
+                .map(Subject::getId)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,229 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.config.SessionTokenProperties;
+import com.gradesave.backend.models.RevokedToken;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.repositories.RevokedTokenRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SessionTokenService and TokenRevocationService
+ * Tests signing, verification, key rotation and revocation across instances
+ */
+@ExtendWith(MockitoExtension.class)
+class SessionTokenServiceTest {
+
+    private static final String KEY_1 = "first-signing-key-with-32-bytes-or-more";
+    private static final String KEY_2 = "second-signing-key-with-32-bytes-or-more";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private AuthenticatedUser user;
+    private TokenRevocationService revocationService;
+    private SessionTokenService sessionTokenService;
+
+    @BeforeEach
+    void setUp() {
+        user = new AuthenticatedUser(UUID.randomUUID(), "teacher", Role.TEACHER, true, 0L);
+
+        SessionTokenProperties properties = properties("k1", Map.of("k1", KEY_1), Duration.ofHours(8));
+        revocationService = new TokenRevocationService(revokedTokenRepository, properties);
+        sessionTokenService = new SessionTokenService(properties, revocationService);
+    }
+
+    @Test
+    void testVerify_IssuedToken_ReturnsUser() {
+        // Act
+        Optional<SessionTokenService.SessionToken> token = sessionTokenService.verify(sessionTokenService.issue(user));
+
+        // Assert
+        assertTrue(token.isPresent());
+        assertEquals(user.id(), token.get().user().id());
+        assertEquals("teacher", token.get().user().username());
+        assertEquals(Role.TEACHER, token.get().user().role());
+        assertTrue(token.get().user().changedDefaultPassword());
+        assertTrue(token.get().expiresAt() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testVerify_TamperedSignature_Rejected() {
+        // Arrange
+        String token = sessionTokenService.issue(user);
+        int flipped = token.indexOf('.') + 5;
+        String tampered = token.substring(0, flipped) + (token.charAt(flipped) == 'A' ? 'B' : 'A') + token.substring(flipped + 1);
+
+        // Act & Assert
+        assertTrue(sessionTokenService.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void testVerify_TamperedPayload_Rejected() {
+        // Arrange
+        String token = sessionTokenService.issue(user);
+        int dot = token.indexOf('.');
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+        String admin = payload.replace("|TEACHER|", "|ADMIN|");
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(admin.getBytes(StandardCharsets.UTF_8))
+                + token.substring(dot);
+
+        // Act & Assert
+        assertTrue(sessionTokenService.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void testVerify_Malformed_Rejected() {
+        assertTrue(sessionTokenService.verify("").isEmpty());
+        assertTrue(sessionTokenService.verify("no-signature").isEmpty());
+        assertTrue(sessionTokenService.verify("!!!.???").isEmpty());
+    }
+
+    @Test
+    void testVerify_Expired_Rejected() {
+        // Arrange
+        SessionTokenProperties properties = properties("k1", Map.of("k1", KEY_1), Duration.ofMillis(-1));
+        SessionTokenService expiring = new SessionTokenService(properties,
+                new TokenRevocationService(revokedTokenRepository, properties));
+
+        // Act & Assert
+        assertTrue(expiring.verify(expiring.issue(user)).isEmpty());
+    }
+
+    @Test
+    void testVerify_KeyRotation_OldTokensValidUntilKeyRemoved() {
+        // Arrange
+        String oldToken = sessionTokenService.issue(user);
+        SessionTokenProperties rotated = properties("k2", Map.of("k1", KEY_1, "k2", KEY_2), Duration.ofHours(8));
+        SessionTokenService afterRotation = new SessionTokenService(rotated, revocationService);
+        SessionTokenProperties retired = properties("k2", Map.of("k2", KEY_2), Duration.ofHours(8));
+        SessionTokenService afterRetirement = new SessionTokenService(retired, revocationService);
+
+        // Act
+        String newToken = afterRotation.issue(user);
+
+        // Assert
+        assertTrue(afterRotation.verify(oldToken).isPresent());
+        assertTrue(afterRotation.verify(newToken).isPresent());
+        assertTrue(sessionTokenService.verify(newToken).isEmpty());
+        assertTrue(afterRetirement.verify(oldToken).isEmpty());
+        assertTrue(afterRetirement.verify(newToken).isPresent());
+    }
+
+    @Test
+    void testConstructor_ShortKey_Throws() {
+        SessionTokenProperties properties = properties("k1", Map.of("k1", "too-short"), Duration.ofHours(8));
+
+        assertThrows(IllegalStateException.class, () -> new SessionTokenService(properties, revocationService));
+    }
+
+    @Test
+    void testConstructor_StatelessWithoutActiveKey_Throws() {
+        SessionTokenProperties properties = properties("k2", Map.of("k1", KEY_1), Duration.ofHours(8));
+
+        assertThrows(IllegalStateException.class, () -> new SessionTokenService(properties, revocationService));
+    }
+
+    @Test
+    void testLogout_RevokesTokenAndClearsCookie() {
+        // Arrange
+        String token = sessionTokenService.issue(user);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("GRADESAVE_SESSION", token));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        sessionTokenService.logout(request, response);
+
+        // Assert
+        assertTrue(sessionTokenService.verify(token).isEmpty());
+        assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).contains("Max-Age=0"));
+        ArgumentCaptor<RevokedToken> row = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(row.capture());
+        assertNotNull(row.getValue().getTokenId());
+        assertNull(row.getValue().getUserId());
+    }
+
+    @Test
+    void testRevokeAllForUser_RejectsEarlierTokensOnly() throws InterruptedException {
+        // Arrange
+        String earlier = sessionTokenService.issue(user);
+        String otherUser = sessionTokenService.issue(new AuthenticatedUser(UUID.randomUUID(), "student", Role.STUDENT, true, 0L));
+
+        // tokens of the same millisecond as the revocation stay valid
+        Thread.sleep(2);
+
+        // Act
+        revocationService.revokeAllForUser(user.id());
+        Thread.sleep(2);
+        String later = sessionTokenService.issue(user);
+
+        // Assert
+        assertTrue(sessionTokenService.verify(earlier).isEmpty());
+        assertTrue(sessionTokenService.verify(otherUser).isPresent());
+        assertTrue(sessionTokenService.verify(later).isPresent());
+    }
+
+    @Test
+    void testRefresh_RevocationOfOtherInstance_AppliedOnRefresh() {
+        // Arrange
+        String token = sessionTokenService.issue(user);
+        String tokenId = sessionTokenService.verify(token).orElseThrow().tokenId();
+
+        // the other instance only wrote the row
+        RevokedToken row = new RevokedToken();
+        row.setTokenId(tokenId);
+        row.setRevokedAt(Instant.now());
+        row.setExpiresAt(Instant.now().plus(Duration.ofHours(8)));
+        when(revokedTokenRepository.findAll()).thenReturn(List.of(row));
+
+        // Act & Assert
+        assertTrue(sessionTokenService.verify(token).isPresent(), "accepted until the next refresh");
+        revocationService.refresh();
+        assertTrue(sessionTokenService.verify(token).isEmpty());
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void testRefresh_UserRevocationOfOtherInstance_AppliedOnRefresh() {
+        // Arrange
+        String token = sessionTokenService.issue(user);
+
+        RevokedToken row = new RevokedToken();
+        row.setUserId(user.id());
+        row.setRevokedAt(Instant.now().plusMillis(1));
+        row.setExpiresAt(Instant.now().plus(Duration.ofHours(8)));
+        when(revokedTokenRepository.findAll()).thenReturn(List.of(row));
+
+        // Act
+        revocationService.refresh();
+
+        // Assert
+        assertTrue(sessionTokenService.verify(token).isEmpty());
+    }
+
+    private static SessionTokenProperties properties(String activeKey, Map<String, String> keys, Duration ttl) {
+        return new SessionTokenProperties(true, activeKey, keys, ttl, "GRADESAVE_SESSION", false);
+    }
+}
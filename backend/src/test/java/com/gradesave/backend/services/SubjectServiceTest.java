@@ -1,5 +1,6 @@
 package com.gradesave.backend.services;
 
+import com.gradesave.backend.events.CatalogChangedEvent;
 import com.gradesave.backend.models.Subject;
 import com.gradesave.backend.repositories.SubjectRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +30,9 @@ class SubjectServiceTest {
     @Mock
     private SubjectRepository subjectRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SubjectService subjectService;
 
@@ -54,6 +59,7 @@ class SubjectServiceTest {
         assertEquals("Mathematics", result.getName());
         assertEquals("MATH", result.getShortName());
         verify(subjectRepository, times(1)).save(testSubject);
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,155 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.user.BulkUserResultDTO;
+import com.gradesave.backend.dto.user.BulkUserSelectionDTO;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.AnswerRepository;
+import com.gradesave.backend.repositories.AuthenticatedUser;
+import com.gradesave.backend.repositories.CourseRepository;
+import com.gradesave.backend.repositories.GradeRepository;
+import com.gradesave.backend.repositories.GroupRepository;
+import com.gradesave.backend.repositories.PerformanceRepository;
+import com.gradesave.backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserBulkService
+ */
+@ExtendWith(MockitoExtension.class)
+class UserBulkServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Mock
+    private PerformanceRepository performanceRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserBulkService userBulkService;
+
+    private UUID adminId;
+
+    @BeforeEach
+    void setUp() {
+        adminId = UUID.randomUUID();
+    }
+
+    private void stubCurrentAdmin() {
+        when(userService.getCurrentPrincipal())
+                .thenReturn(Optional.of(new AuthenticatedUser(adminId, "admin", Role.ADMIN, true, 0L)));
+    }
+
+    @Test
+    void testDeleteUsers_RunsSetBasedStatements() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(userRepository.findExistingIds(any())).thenReturn(ids);
+        stubCurrentAdmin();
+        when(performanceRepository.countByAssignedTeacherIdIn(ids)).thenReturn(0L);
+        when(answerRepository.deleteByAuthorOrRecipientIdIn(ids)).thenReturn(5);
+        when(gradeRepository.deleteByStudentIdIn(ids)).thenReturn(3);
+        when(groupRepository.deleteMembershipsByUserIdIn(ids)).thenReturn(2);
+        when(courseRepository.deleteMembershipsByUserIdIn(ids)).thenReturn(2);
+        when(courseRepository.clearClassTeacherByIdIn(ids)).thenReturn(0);
+        when(userRepository.deleteByIdIn(ids)).thenReturn(2);
+
+        // Act
+        BulkUserResultDTO result = userBulkService.deleteUsers(new BulkUserSelectionDTO(ids, null, null, null));
+
+        // Assert
+        assertEquals(2, result.matched());
+        assertEquals(5, result.affected().get("answers"));
+        assertEquals(3, result.affected().get("grades"));
+        assertEquals(2, result.affected().get("users"));
+        verify(eventPublisher, times(2)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteUsers_AssignedTeacher_Conflict() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(userRepository.findExistingIds(any())).thenReturn(ids);
+        stubCurrentAdmin();
+        when(performanceRepository.countByAssignedTeacherIdIn(ids)).thenReturn(4L);
+
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> userBulkService.deleteUsers(new BulkUserSelectionDTO(ids, null, null, null)));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(userRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testDeleteUsers_ContainsCurrentUser_Rejected() {
+        // Arrange
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(adminId));
+        stubCurrentAdmin();
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class,
+                () -> userBulkService.deleteUsers(new BulkUserSelectionDTO(List.of(adminId), null, null, null)));
+        verify(userRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testChangeRole_EmptyFilter_Rejected() {
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> userBulkService.changeRole(new BulkUserSelectionDTO(null, null, null, false), Role.TEACHER));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testChangeRole_ByFilter() {
+        // Arrange
+        UUID courseId = UUID.randomUUID();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(userRepository.findIdsByFilter(Role.STUDENT, courseId, false)).thenReturn(ids);
+        stubCurrentAdmin();
+        when(userRepository.updateRoleByIdIn(ids, Role.TEACHER)).thenReturn(3);
+
+        // Act
+        BulkUserResultDTO result = userBulkService.changeRole(
+                new BulkUserSelectionDTO(null, Role.STUDENT, courseId, null), Role.TEACHER);
+
+        // Assert
+        assertEquals(3, result.matched());
+        assertEquals(3, result.affected().get("users"));
+    }
+}
@@ -0,0 +1,189 @@
+package com.gradesave.backend.services;
+
+import com.gradesave.backend.dto.course.CourseMemberRow;
+import com.gradesave.backend.dto.user.UserDto;
+import com.gradesave.backend.dto.user.UserSearchRow;
+import com.gradesave.backend.events.CourseChangedEvent;
+import com.gradesave.backend.events.UserChangedEvent;
+import com.gradesave.backend.events.UserCreatedEvent;
+import com.gradesave.backend.models.Role;
+import com.gradesave.backend.repositories.CourseRepository;
+import com.gradesave.backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserSearchIndex
+ * Tests prefix search, filters and the incremental updates after change events
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private UserSearchIndex userSearchIndex;
+
+    private UUID courseId;
+    private UserSearchRow anna;
+    private UserSearchRow annika;
+    private UserSearchRow bernd;
+    private UserSearchRow teacher;
+
+    @BeforeEach
+    void setUp() {
+        courseId = UUID.randomUUID();
+        anna = new UserSearchRow(UUID.randomUUID(), "anna.schmidt", "Anna", "Schmidt", Role.STUDENT);
+        annika = new UserSearchRow(UUID.randomUUID(), "annika.meyer", "Annika", "Meyer", Role.STUDENT);
+        bernd = new UserSearchRow(UUID.randomUUID(), "bernd.adler", "Bernd", "Adler", Role.STUDENT);
+        teacher = new UserSearchRow(UUID.randomUUID(), "t.anders", "Thomas", "Anders", Role.TEACHER);
+
+        when(userRepository.findAllSearchRows()).thenReturn(List.of(anna, annika, bernd, teacher));
+        when(courseRepository.findAllMemberRows()).thenReturn(List.of(
+                new CourseMemberRow(courseId, anna.id()),
+                new CourseMemberRow(courseId, teacher.id())));
+        userSearchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_Prefix_MatchesAnyNamePartInNameOrder() {
+        // Act
+        List<UserDto> result = userSearchIndex.search("an", null, null, false, null);
+
+        // Assert
+        assertEquals(List.of(teacher.id(), annika.id(), anna.id()), ids(result));
+    }
+
+    @Test
+    void testSearch_SeveralWords_AllHaveToMatch() {
+        // Act
+        List<UserDto> result = userSearchIndex.search("ann schm", null, null, false, null);
+
+        // Assert
+        assertEquals(List.of(anna.id()), ids(result));
+    }
+
+    @Test
+    void testSearch_RoleFilter() {
+        // Act
+        List<UserDto> students = userSearchIndex.search("an", Role.STUDENT, null, false, null);
+        List<UserDto> teachers = userSearchIndex.search(null, Role.TEACHER, null, false, null);
+
+        // Assert
+        assertEquals(List.of(annika.id(), anna.id()), ids(students));
+        assertEquals(List.of(teacher.id()), ids(teachers));
+    }
+
+    @Test
+    void testSearch_CourseAndUnassignedFilter() {
+        // Act
+        List<UserDto> members = userSearchIndex.search(null, null, courseId, false, null);
+        List<UserDto> unassigned = userSearchIndex.search(null, null, null, true, null);
+
+        // Assert
+        assertEquals(List.of(teacher.id(), anna.id()), ids(members));
+        assertEquals(List.of(bernd.id(), annika.id()), ids(unassigned));
+        assertTrue(userSearchIndex.search(null, null, UUID.randomUUID(), false, null).isEmpty());
+    }
+
+    @Test
+    void testSearch_Limit() {
+        // Act
+        List<UserDto> result = userSearchIndex.search(null, null, null, false, 2);
+
+        // Assert
+        assertEquals(List.of(bernd.id(), teacher.id()), ids(result));
+    }
+
+    @Test
+    void testOnUserChanged_ReloadsOnlyThatUser() {
+        // Arrange
+        UserSearchRow renamed = new UserSearchRow(anna.id(), "anna.zander", "Anna", "Zander", Role.STUDENT);
+        when(userRepository.findSearchRowsByIdIn(Set.of(anna.id()))).thenReturn(List.of(renamed));
+
+        // Act
+        userSearchIndex.onUserChanged(new UserChangedEvent(anna.id(), false));
+
+        // Assert
+        assertTrue(userSearchIndex.search("schmidt", null, null, false, null).isEmpty());
+        assertEquals(List.of(anna.id()), ids(userSearchIndex.search("zan", null, null, false, null)));
+        assertEquals("Zander", userSearchIndex.search(null, null, courseId, false, null).getLast().lastName());
+        verify(userRepository, times(1)).findAllSearchRows();
+        verify(courseRepository, never()).findMemberRowsByCourseIdIn(any());
+    }
+
+    @Test
+    void testOnUserCreated_AddsUser() {
+        // Arrange
+        UserSearchRow created = new UserSearchRow(UUID.randomUUID(), "carla.anton", "Carla", "Anton", Role.STUDENT);
+        when(userRepository.findSearchRowsByIdIn(Set.of(created.id()))).thenReturn(List.of(created));
+
+        // Act
+        userSearchIndex.onUserCreated(new UserCreatedEvent(created.id()));
+
+        // Assert
+        assertEquals(List.of(teacher.id(), created.id(), annika.id(), anna.id()),
+                ids(userSearchIndex.search("an", null, null, false, null)));
+    }
+
+    @Test
+    void testOnUserChanged_Deleted_RemovesUserAndMembership() {
+        // Act
+        userSearchIndex.onUserChanged(new UserChangedEvent(anna.id(), true));
+
+        // Assert
+        assertEquals(List.of(teacher.id()), ids(userSearchIndex.search(null, null, courseId, false, null)));
+        assertFalse(ids(userSearchIndex.search("anna", null, null, false, null)).contains(anna.id()));
+        verify(userRepository, never()).findSearchRowsByIdIn(any());
+    }
+
+    @Test
+    void testOnCourseChanged_ReloadsOnlyThatCourse() {
+        // Arrange
+        when(courseRepository.findMemberRowsByCourseIdIn(Set.of(courseId))).thenReturn(List.of(
+                new CourseMemberRow(courseId, bernd.id()),
+                new CourseMemberRow(courseId, teacher.id())));
+
+        // Act
+        userSearchIndex.onCourseChanged(new CourseChangedEvent(courseId));
+
+        // Assert
+        assertEquals(List.of(bernd.id(), teacher.id()), ids(userSearchIndex.search(null, null, courseId, false, null)));
+        assertEquals(List.of(annika.id(), anna.id()), ids(userSearchIndex.search(null, null, null, true, null)));
+        verify(courseRepository, times(1)).findAllMemberRows();
+        verify(userRepository, never()).findSearchRowsByIdIn(any());
+    }
+
+    @Test
+    void testOnCourseChanged_DeletedCourse_MembersBecomeUnassigned() {
+        // Arrange
+        when(courseRepository.findMemberRowsByCourseIdIn(Set.of(courseId))).thenReturn(List.of());
+
+        // Act
+        userSearchIndex.onCourseChanged(new CourseChangedEvent(courseId));
+
+        // Assert
+        assertTrue(userSearchIndex.search(null, null, courseId, false, null).isEmpty());
+        assertEquals(4, userSearchIndex.search(null, null, null, true, null).size());
+    }
+
+    private static List<UUID> ids(List<UserDto> users) {
+        return users.stream().map(UserDto::id).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.gradesave.backend.support;
+
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Spring Boot test against the in-memory H2 database of the {@code test}
+ * profile. Every class with this annotation and nothing else on top runs in
+ * the same application context, so seed data has to use unique names, see
+ * {@link TestData}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementRecording.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public @interface IntegrationTest {
+}
@@ -0,0 +1,132 @@
+package com.gradesave.backend.support;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Upper bounds for the statements a call may send to the database, kinds
+ * without a bound are not checked. Needs {@link StatementRecording} in the
+ * test context.
+ *
+ * <pre>
+ * GradeOverviewDto overview = QueryBudget.atMost().selects(12).inserts(0)
+ *         .check(() -&gt; gradeService.loadGradeOverview(projectId, null, teacherId));
+ * </pre>
+ *
+ * On failure all statements of the call are listed, grouped by SQL and most
+ * repeated first, so an N+1 shows up at the top.
+ */
+public final class QueryBudget {
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private final Map<Kind, Integer> limits = new EnumMap<>(Kind.class);
+
+    private QueryBudget() {
+    }
+
+    public static QueryBudget atMost() {
+        return new QueryBudget();
+    }
+
+    public QueryBudget selects(int max) {
+        return limit(Kind.SELECT, max);
+    }
+
+    public QueryBudget inserts(int max) {
+        return limit(Kind.INSERT, max);
+    }
+
+    public QueryBudget updates(int max) {
+        return limit(Kind.UPDATE, max);
+    }
+
+    public QueryBudget deletes(int max) {
+        return limit(Kind.DELETE, max);
+    }
+
+    private QueryBudget limit(Kind kind, int max) {
+        limits.put(kind, max);
+        return this;
+    }
+
+    public void check(Runnable action) {
+        check(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T check(Supplier<T> action) {
+        AtomicReference<T> result = new AtomicReference<>();
+        List<String> statements = StatementRecording.record(() -> result.set(action.get()));
+
+        Map<Kind, Long> counts = statements.stream()
+                .collect(Collectors.groupingBy(QueryBudget::kindOf, () -> new EnumMap<>(Kind.class), Collectors.counting()));
+
+        List<String> exceeded = new ArrayList<>();
+        limits.forEach((kind, max) -> {
+            long count = counts.getOrDefault(kind, 0L);
+            if (count > max)
+                exceeded.add(kind + " " + count + " > " + max);
+        });
+
+        if (!exceeded.isEmpty())
+            fail(report(exceeded, counts, statements));
+
+        return result.get();
+    }
+
+    static Kind kindOf(String sql) {
+        String statement = sql.stripLeading();
+        // skip leading comments and the parentheses of set operations
+        while (true) {
+            if (statement.startsWith("/*") && statement.contains("*/"))
+                statement = statement.substring(statement.indexOf("*/") + 2).stripLeading();
+            else if (statement.startsWith("("))
+                statement = statement.substring(1).stripLeading();
+            else
+                break;
+        }
+
+        String keyword = statement.split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "SELECT", "WITH", "VALUES" -> Kind.SELECT;
+            case "INSERT" -> Kind.INSERT;
+            case "UPDATE", "MERGE" -> Kind.UPDATE;
+            case "DELETE" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    private String report(List<String> exceeded, Map<Kind, Long> counts, List<String> statements) {
+        StringBuilder report = new StringBuilder("Query budget exceeded: ")
+                .append(String.join(", ", exceeded))
+                .append(System.lineSeparator());
+
+        counts.forEach((kind, count) -> report.append("  ").append(kind).append(": ").append(count)
+                .append(limits.containsKey(kind) ? " (at most " + limits.get(kind) + ")" : "")
+                .append(System.lineSeparator()));
+
+        report.append("Statements, most repeated first:").append(System.lineSeparator());
+        statements.stream()
+                .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> report.append(String.format("  %3dx %s%n", entry.getValue(), entry.getKey())));
+
+        return report.toString();
+    }
+}
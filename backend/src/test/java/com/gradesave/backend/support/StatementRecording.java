@@ -0,0 +1,130 @@
+package com.gradesave.backend.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wraps the data source of the test context so that the statements a thread
+ * sends to the database can be recorded for {@link QueryBudget}, part of every
+ * {@link IntegrationTest}. A statement is recorded once per execution, a JDBC
+ * batch counts as one execution.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementRecording {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    @Bean
+    static BeanPostProcessor statementRecordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    /**
+     * Runs the action and returns the SQL of every statement it executed on this thread
+     */
+    static List<String> record(Runnable action) {
+        List<String> outer = RECORDED.get();
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            action.run();
+        } finally {
+            if (outer == null) {
+                RECORDED.remove();
+            } else {
+                outer.addAll(statements);
+                RECORDED.set(outer);
+            }
+        }
+        return statements;
+    }
+
+    private static DataSource wrap(DataSource dataSource) {
+        // all interfaces, so that close() and the pool MXBean still reach the pool
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(dataSource);
+        return (DataSource) proxy(interfaces, dataSource, (method, result, args) ->
+                result instanceof Connection connection && method.getName().equals("getConnection")
+                        ? wrap(connection) : result);
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) proxy(new Class<?>[] {Connection.class}, connection, (method, result, args) -> {
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepared statements carry their SQL from here, plain statements pass it on execution
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(statement, method.getReturnType(), sql);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrap(Statement statement, Class<?> type, String preparedSql) {
+        return (Statement) proxy(new Class<?>[] {type}, statement, (method, result, args) -> result,
+                (method, args) -> {
+                    if (!EXECUTE_METHODS.contains(method.getName()))
+                        return;
+                    List<String> statements = RECORDED.get();
+                    if (statements == null)
+                        return;
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    statements.add(sql == null ? "<batch>" : sql);
+                });
+    }
+
+    private interface ResultMapper {
+        Object map(Method method, Object result, Object[] args) throws Exception;
+    }
+
+    private interface CallListener {
+        void beforeCall(Method method, Object[] args);
+    }
+
+    private static Object proxy(Class<?>[] interfaces, Object target, ResultMapper mapper) {
+        return proxy(interfaces, target, mapper, (method, args) -> { });
+    }
+
+    private static Object proxy(Class<?>[] interfaces, Object target, ResultMapper mapper, CallListener listener) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1)
+                        return proxy == args[0];
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0)
+                        return System.identityHashCode(proxy);
+                    break;
+                default:
+                    break;
+            }
+            listener.beforeCall(method, args);
+            try {
+                return mapper.map(method, method.invoke(target, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return Proxy.newProxyInstance(StatementRecording.class.getClassLoader(), interfaces, handler);
+    }
+}
@@ -0,0 +1,64 @@
+package com.gradesave.backend.support;
+
+import com.gradesave.backend.models.*;
+import com.gradesave.backend.repositories.CustomUserDetails;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.UUID;
+
+/**
+ * Unsaved entities for seeding the integration tests. The integration tests
+ * share one database, usernames get a random suffix so that they stay unique.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username + "_" + UUID.randomUUID().toString().substring(0, 8));
+        user.setFirstName("First");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setPassword("not-used");
+        return user;
+    }
+
+    public static Course newCourse(String name, User classTeacher, Collection<User> members) {
+        Course course = new Course();
+        course.setCourseName(name);
+        course.setClassTeacher(classTeacher);
+        course.setUsers(new HashSet<>(members));
+        return course;
+    }
+
+    public static Project newProject(String name, Course course) {
+        Project project = new Project();
+        project.setName(name);
+        project.setProjectStart(LocalDate.of(2026, 9, 1));
+        project.setCourse(course);
+        return project;
+    }
+
+    public static Subject newSubject(String name, String shortName) {
+        Subject subject = new Subject();
+        subject.setName(name);
+        subject.setShortName(shortName);
+        return subject;
+    }
+
+    public static Group newGroup(String name, Project project, Collection<User> members) {
+        Group group = new Group();
+        group.setName(name);
+        group.setProject(project);
+        group.setUsers(new HashSet<>(members));
+        return group;
+    }
+
+    public static CustomUserDetails principal(User user) {
+        return new CustomUserDetails(user);
+    }
+}